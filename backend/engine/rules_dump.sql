@@ -130,6 +130,8 @@ DROP TABLE IF EXISTS `rules_rule`;
 CREATE TABLE `rules_rule` (
   `id` bigint NOT NULL AUTO_INCREMENT,
   `name` varchar(30) NOT NULL,
+  `expression` longtext NOT NULL,
+  `priority` int NOT NULL,
   PRIMARY KEY (`id`)
 ) ENGINE=InnoDB AUTO_INCREMENT=4 DEFAULT CHARSET=utf8mb3;
 /*!40101 SET character_set_client = @saved_cs_client */;
@@ -140,7 +142,7 @@ CREATE TABLE `rules_rule` (
 
 LOCK TABLES `rules_rule` WRITE;
 /*!40000 ALTER TABLE `rules_rule` DISABLE KEYS */;
-INSERT INTO `rules_rule` VALUES (1,'Sample Rule #1'),(2,'Sample Rule #2'),(3,'Sample Rule #3');
+INSERT INTO `rules_rule` VALUES (1,'Sample Rule #1','',0),(2,'Sample Rule #2','',0),(3,'Sample Rule #3','',0);
 /*!40000 ALTER TABLE `rules_rule` ENABLE KEYS */;
 UNLOCK TABLES;
 
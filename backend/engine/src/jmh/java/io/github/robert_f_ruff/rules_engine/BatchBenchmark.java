@@ -0,0 +1,109 @@
+package io.github.robert_f_ruff.rules_engine;
+
+import static io.github.robert_f_ruff.rules_engine.loader.CriterionBuilder.aCriterion;
+import static io.github.robert_f_ruff.rules_engine.loader.LogicBuilder.aLogic;
+import static io.github.robert_f_ruff.rules_engine.loader.RuleBuilder.aRule;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.NOPLogger;
+
+import io.github.robert_f_ruff.rules_engine.actions.ActionStub;
+import io.github.robert_f_ruff.rules_engine.loader.Criterion;
+import io.github.robert_f_ruff.rules_engine.loader.Rule;
+import io.github.robert_f_ruff.rules_engine.loader.RuleRepository;
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+
+/*
+ * Columnar batch evaluation against evaluating each record of the batch on its own, per record.
+ * The columns are compared with SIMD instructions only when the benchmark is built with the vector
+ * profile and its JVM adds the incubating vector module, through
+ * -Djmh.options="-prof gc -jvmArgsAppend --add-modules=jdk.incubator.vector".
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(BatchBenchmark.BATCH_SIZE)
+public class BatchBenchmark {
+  static final int BATCH_SIZE = 1024;
+  Engine engine;
+  List<ObservationData> facts;
+
+  @Setup
+  public void setUp() throws Exception {
+    ArrayList<Criterion> criteria = new ArrayList<>();
+    HashMap<Long, Rule> rules = new HashMap<>();
+    for (int threshold = 0; threshold < 8; threshold++) {
+      String weight = String.valueOf(150 + threshold * 20);
+      String glucose = String.valueOf(60 + threshold * 15);
+      Criterion bodyWeightGreaterThan = aCriterion()
+        .withName("Body weight greater than " + weight)
+        .withLogicClass(aLogic().withObservationClass())
+        .withLogicMethod("BodyWeightGreaterThan")
+        .withCheckValue(weight)
+        .build();
+      Criterion bloodGlucoseLessThan = aCriterion()
+        .withName("Blood glucose less than " + glucose)
+        .withLogicClass(aLogic().withObservationClass())
+        .withLogicMethod("BloodGlucoseLessThan")
+        .withCheckValue(glucose)
+        .build();
+      criteria.add(bodyWeightGreaterThan);
+      criteria.add(bloodGlucoseLessThan);
+      long id = threshold + 1;
+      rules.put(id, aRule()
+        .withID(id)
+        .withName("Rule #" + id)
+        .withCriterion(bodyWeightGreaterThan)
+        .withCriterion(bloodGlucoseLessThan)
+        .withAction(1, new ActionStub())
+        .build());
+    }
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    engine = new Engine(new RuleRepository() {
+      @Override
+      public RuleSet getRuleSet() {
+        return ruleSet;
+      }
+    });
+    engine.logger = NOPLogger.NOP_LOGGER;
+    Random random = new Random(BATCH_SIZE);
+    facts = new ArrayList<>(BATCH_SIZE);
+    for (int fact = 0; fact < BATCH_SIZE; fact++) {
+      facts.add(new ObservationData(BigDecimal.valueOf(800 + random.nextInt(3000), 1),
+          BigDecimal.valueOf(30 + random.nextInt(200))));
+    }
+  }
+
+  @Benchmark
+  public void perRecord() {
+    for (int fact = 0; fact < facts.size(); fact++) {
+      engine.run(facts.get(fact));
+    }
+  }
+
+  @Benchmark
+  public void batch() {
+    engine.runBatch(facts);
+  }
+}
@@ -0,0 +1,118 @@
+package io.github.robert_f_ruff.rules_engine;
+
+import static io.github.robert_f_ruff.rules_engine.EngineBuilder.anEngine;
+import static io.github.robert_f_ruff.rules_engine.loader.CriterionBuilder.aCriterion;
+import static io.github.robert_f_ruff.rules_engine.loader.LogicBuilder.aLogic;
+import static io.github.robert_f_ruff.rules_engine.loader.RuleBuilder.aRule;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.NOPLogger;
+
+import io.github.robert_f_ruff.rules_engine.actions.ActionStub;
+import io.github.robert_f_ruff.rules_engine.loader.Criterion;
+import io.github.robert_f_ruff.rules_engine.loader.EvaluationContext;
+import io.github.robert_f_ruff.rules_engine.loader.Rule;
+import io.github.robert_f_ruff.rules_engine.loader.RuleRepository;
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+
+/*
+ * A large synthetic rule set whose rules all start with the same criterion, each followed by a
+ * threshold of its own. tree is Engine.run, which walks the discrimination tree; everyCriterion
+ * judges every criterion, resolves every rule and performs the actions of the applicable ones, as
+ * Engine.run did before the tree. The observation passes only the lowest four thresholds, so that
+ * judging rather than firing dominates; with a false shared prefix, the tree judges a single
+ * criterion.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscriminationTreeBenchmark {
+  @Param({ "50", "500" })
+  int ruleCount;
+  @Param({ "false", "true" })
+  boolean prefix;
+  RuleSet ruleSet;
+  Engine engine;
+  EvaluationContext context;
+  ObservationData observation;
+
+  @Setup
+  public void setUp() throws Exception {
+    ArrayList<Criterion> criteria = new ArrayList<>();
+    HashMap<Long, Rule> rules = new HashMap<>();
+    Criterion glucoseBelow100 = aCriterion()
+      .withName("Blood glucose less than 100")
+      .withLogicClass(aLogic().withObservationClass())
+      .withLogicMethod("BloodGlucoseLessThan")
+      .withCheckValue("100")
+      .build();
+    criteria.add(glucoseBelow100);
+    for (int rule = 1; rule <= ruleCount; rule++) {
+      String weight = String.valueOf(100 + rule);
+      Criterion weightAbove = aCriterion()
+        .withName("Body weight greater than " + weight)
+        .withLogicClass(aLogic().withObservationClass())
+        .withLogicMethod("BodyWeightGreaterThan")
+        .withCheckValue(weight)
+        .build();
+      criteria.add(weightAbove);
+      rules.put((long) rule, aRule()
+        .withID((long) rule)
+        .withName("Rule #" + rule)
+        .withCriterion(glucoseBelow100)
+        .withCriterion(weightAbove)
+        .withAction(1, new ActionStub())
+        .build());
+    }
+    ruleSet = new RuleSet(criteria, rules);
+    engine = anEngine(new RuleRepository() {
+      @Override
+      public RuleSet getRuleSet() {
+        return ruleSet;
+      }
+    }).build();
+    engine.logger = NOPLogger.NOP_LOGGER;
+    context = new EvaluationContext(ruleSet.getCriterionCount());
+    observation = new ObservationData(new BigDecimal(105), new BigDecimal(prefix ? 90 : 120));
+  }
+
+  @Benchmark
+  public void tree() {
+    engine.run(observation);
+  }
+
+  @Benchmark
+  public int everyCriterion() throws Exception {
+    context.reset(ruleSet);
+    for (int index = 0; index < ruleSet.getCriterionCount(); index++) {
+      context.setResult(index, ruleSet.getCriterion(index).test(observation));
+    }
+    int applicable = 0;
+    for (int index = 0; index < ruleSet.getRuleCount(); index++) {
+      if (ruleSet.resolve(index, context) == Rule.Applicability.APPLICABLE) {
+        ruleSet.executeActions(index, context, null);
+        applicable++;
+      }
+    }
+    return applicable;
+  }
+}
@@ -1,26 +1,45 @@
 package io.github.robert_f_ruff.rules_engine;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import io.github.robert_f_ruff.rules_engine.actions.Action;
 import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.dispatch.ActionDispatcher;
+import io.github.robert_f_ruff.rules_engine.events.EngineRunEvent;
 import io.github.robert_f_ruff.rules_engine.loader.Criterion;
-import io.github.robert_f_ruff.rules_engine.loader.CriterionNotEvaluatedException;
+import io.github.robert_f_ruff.rules_engine.loader.CriterionIndex;
+import io.github.robert_f_ruff.rules_engine.loader.DiscriminationTree;
+import io.github.robert_f_ruff.rules_engine.loader.EvaluationContext;
+import io.github.robert_f_ruff.rules_engine.loader.ExpressionGraph;
 import io.github.robert_f_ruff.rules_engine.loader.Rule;
 import io.github.robert_f_ruff.rules_engine.loader.RuleRepository;
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
+import io.github.robert_f_ruff.rules_engine.loader.ThresholdColumns;
 import io.github.robert_f_ruff.rules_engine.logic.LogicCriterionException;
 import io.github.robert_f_ruff.rules_engine.logic.LogicDataTypeException;
+import io.github.robert_f_ruff.rules_engine.logic.PatientObservation;
+import io.github.robert_f_ruff.rules_engine.logic.WindowedObservation;
+import io.github.robert_f_ruff.rules_engine.memory.WorkingMemory;
+import io.github.robert_f_ruff.rules_engine.metrics.EngineMetrics;
+import io.github.robert_f_ruff.rules_engine.metrics.RuleSetMeters;
+import io.github.robert_f_ruff.rules_engine.suppression.NotificationSuppressor;
+import io.github.robert_f_ruff.rules_engine.trace.EvaluationTracer;
+import io.github.robert_f_ruff.rules_engine.window.WindowStore;
 
 /**
  * Given a set of criteria and a piece of data, the engine identifies which rules are applicable
  * and executes the actions of all the applicable rules.
  * @author Robert F. Ruff
- * @version 1.1
+ * @version 1.2
  */
 @Service
 public class Engine {
@@ -40,9 +59,52 @@ public class Engine {
 		 */
 		RUNNING
 	}
+	/**
+	 * Identifies which applicable rules have their actions executed. Except under {@code ALL},
+	 * rules are visited in priority order, each judging its own criteria until one is not true,
+	 * and evaluation stops once enough rules have been found applicable.
+	 * @since 1.2
+	 */
+	public static enum Mode {
+		/**
+		 * Every applicable rule.
+		 * @since 1.2
+		 */
+		ALL,
+		/**
+		 * Only the applicable rule with the highest priority.
+		 * @since 1.2
+		 */
+		FIRST_MATCH,
+		/**
+		 * The applicable rules with the highest priorities, up to the configured number.
+		 * @since 1.2
+		 */
+		TOP_N
+	}
+	/**
+	 * Number of criteria each thread's evaluation context initially reserves storage for.
+	 * @since 1.2
+	 */
+	public static final int INITIAL_CRITERION_CAPACITY = 64;
+	/**
+	 * Number of windows each thread's aggregates of recent observations initially reserve slots for.
+	 * @since 1.2
+	 */
+	public static final int INITIAL_WINDOW_CAPACITY = 8;
 	RuleRepository repository;
+	EvaluationTracer tracer;
+	EngineMetrics metrics;
+	NotificationSuppressor suppressor;
+	ActionDispatcher dispatcher;
+	WindowStore windows;
+	WorkingMemory memory;
+	Mode mode;
+	int limit;
 	Logger logger;
 	Status status;
+	ThreadLocal<EvaluationContext> contexts;
+	ThreadLocal<WindowedObservation> observations;
 
 	/**
 	 * Returns the current state of the engine.
@@ -54,44 +116,276 @@ public class Engine {
 	}
 
 	/**
-	 * Perform the evaluation of the rule set.
+	 * Perform the evaluation of the rule set against the repository's current snapshot, performing
+	 * the actions of the rules found applicable.
 	 * @param rawData The data object instance to evalutate
-   * @since 1.0
+	 * @since 1.0
 	 */
 	public void run(Object rawData) {
+		evaluate(rawData, null, null, 0);
+	}
+
+	/**
+	 * Perform the evaluation of the rule set for each data object of a batch, in order, against the
+	 * same snapshot. Threshold criteria are first judged for the whole batch by
+	 * {@code ThresholdColumns}; each record then only judges its remaining criteria one by one.
+	 * @param facts The data object instances to evaluate, in order
+	 * @since 1.2
+	 */
+	public void runBatch(List<?> facts) {
+		if (facts.isEmpty()) return;
+		RuleSet ruleSet = repository.getRuleSet();
+		ThresholdColumns columns = new ThresholdColumns(ruleSet, facts);
+		for (int record = 0; record < facts.size(); record++) {
+			evaluate(facts.get(record), ruleSet, columns, record);
+		}
+	}
+
+	private void evaluate(Object rawData, RuleSet snapshot, ThresholdColumns columns, int record) {
 		status = Status.RUNNING;
-		logger.info("Engine start; Raw data is " + rawData.toString());
-		ArrayList<Criterion> criteria = repository.getCriteria();
-		logger.info("Evaluating criteria:");
-		criteria.stream().forEach(criterion -> {
+		boolean tracing = tracer.sample();
+		EngineRunEvent event = EngineRunEvent.enabled() ? new EngineRunEvent() : null;
+		if (event != null) event.begin();
+		long start = System.nanoTime();
+		int criteriaEvaluated = 0;
+		int rulesFired = 0;
+		metrics.evaluationStarted();
+		try {
+			RuleSet ruleSet = snapshot == null ? repository.getRuleSet() : snapshot;
+			RuleSetMeters meters = metrics.getMeters(ruleSet);
+			EvaluationContext context = contexts.get();
+			context.reset(ruleSet);
+			if (columns != null) criteriaEvaluated += columns.seed(record, context);
+			WindowedObservation windowed = windows.record(rawData, ruleSet.getWindows(),
+					observations.get());
+			if (mode == Mode.ALL) {
+				DiscriminationTree tree = ruleSet.getDiscriminationTree();
+				int node = 0;
+				while (node < tree.size()) {
+					int index = tree.getCriterion(node);
+					if (context.getResult(index) == EvaluationContext.NOT_EVALUATED) {
+						criteriaEvaluated += judge(ruleSet, index, rawData, windowed, context, meters);
+					}
+					node = tree.next(node, context.getResult(index) == EvaluationContext.TRUE);
+				}
+				ExpressionGraph expressions = ruleSet.getExpressionGraph();
+				for (int index = 0; index < ruleSet.getRuleCount(); index++) {
+					int root = expressions.getRoot(index);
+					if (root < 0) continue;
+					int pending;
+					while ((pending = expressions.evaluate(root, context)) >= 0) {
+						criteriaEvaluated += judge(ruleSet, pending, rawData, windowed, context, meters);
+					}
+				}
+				for (int index = 0; index < ruleSet.getRuleCount(); index++) {
+					if (ruleSet.resolve(index, context) == Rule.Applicability.APPLICABLE) {
+						fire(ruleSet, index, rawData, context, meters);
+						rulesFired++;
+					}
+				}
+			} else {
+				for (int index = 0; index < ruleSet.getRuleCount(); index++) {
+					if (rulesFired == limit) {
+						if (! tracing) break;
+						ruleSet.resolve(index, context);
+						continue;
+					}
+					criteriaEvaluated += judgeRule(ruleSet, index, rawData, windowed, context, meters);
+					if (ruleSet.resolve(index, context) == Rule.Applicability.APPLICABLE) {
+						fire(ruleSet, index, rawData, context, meters);
+						rulesFired++;
+					}
+				}
+			}
+			PatientObservation joined = memory.join(rawData);
+			if (joined != null) {
+				ExpressionGraph expressions = ruleSet.getExpressionGraph();
+				WindowedObservation joinedWindows = joined.observation() == rawData ? windowed
+						: windows.peek(joined.observation(), ruleSet.getWindows(), observations.get());
+				for (int index : ruleSet.getJoinRules()) {
+					if (rulesFired == limit) break;
+					if (context.getApplicability(index) == Rule.Applicability.APPLICABLE) continue;
+					int root = expressions.getRoot(index);
+					if (root >= 0) expressions.clear(root, context);
+					criteriaEvaluated += judgeRule(ruleSet, index, joined, joinedWindows, context, meters);
+					if (ruleSet.resolve(index, context) == Rule.Applicability.APPLICABLE) {
+						fire(ruleSet, index, joined, context, meters);
+						rulesFired++;
+					}
+				}
+			}
+			if (tracing) tracer.record(rawData, ruleSet, context, System.nanoTime() - start);
+		} finally {
+			metrics.evaluationFinished(rawData, System.nanoTime() - start);
+			if (event != null && event.shouldCommit()) {
+				event.factType = rawData.getClass();
+				event.criteriaEvaluated = criteriaEvaluated;
+				event.rulesFired = rulesFired;
+				event.commit();
+			}
+			status = Status.IDLE;
+		}
+	}
+
+	private int judge(RuleSet ruleSet, int index, Object rawData, WindowedObservation windowed,
+			EvaluationContext context, RuleSetMeters meters) {
+		if (ruleSet.isIndexed(index)) {
+			return judgeIndex(ruleSet.getIndex(ruleSet.getIndexOf(index)), rawData, context, meters);
+		}
+		Criterion criterion = ruleSet.getCriterion(index);
+		if (! criterion.accepts(rawData)) return 0;
+		try {
+			long evaluated = System.nanoTime();
+			boolean result = criterion.test(windowed != null && ruleSet.isWindowed(index) ? windowed
+					: rawData);
+			meters.criterionEvaluated(index, result, System.nanoTime() - evaluated);
+			context.setResult(index, result);
+			return 1;
+		} catch (LogicCriterionException e) {
+			logger.warn(e.getMessage());
+			return 0;
+		} catch (LogicDataTypeException e) {
+			return 0;
+		}
+	}
+
+	private int judgeRule(RuleSet ruleSet, int index, Object rawData, WindowedObservation windowed,
+			EvaluationContext context, RuleSetMeters meters) {
+		int criteriaEvaluated = 0;
+		ExpressionGraph expressions = ruleSet.getExpressionGraph();
+		int root = expressions.getRoot(index);
+		if (root >= 0) {
+			int pending;
+			while ((pending = expressions.evaluate(root, context)) >= 0) {
+				criteriaEvaluated += judge(ruleSet, pending, rawData, windowed, context, meters);
+			}
+			return criteriaEvaluated;
+		}
+		int[] positions = ruleSet.getRuleCriteria(index);
+		for (int position = 0; position < positions.length; position++) {
+			if (context.getResult(positions[position]) == EvaluationContext.NOT_EVALUATED) {
+				criteriaEvaluated += judge(ruleSet, positions[position], rawData, windowed, context,
+						meters);
+			}
+			if (context.getResult(positions[position]) != EvaluationContext.TRUE) break;
+		}
+		return criteriaEvaluated;
+	}
+
+	private int judgeIndex(CriterionIndex criterionIndex, Object rawData, EvaluationContext context,
+			RuleSetMeters meters) {
+		if (! criterionIndex.accepts(rawData)) return 0;
+		try {
+			long evaluated = System.nanoTime();
+			criterionIndex.evaluate(rawData, context);
+			long duration = System.nanoTime() - evaluated;
+			for (int member = 0; member < criterionIndex.size(); member++) {
+				int index = criterionIndex.getCriterion(member);
+				meters.criterionEvaluated(index, context.getResult(index) == EvaluationContext.TRUE, duration);
+			}
+			return criterionIndex.size();
+		} catch (LogicDataTypeException e) {
+			return 0;
+		}
+	}
+
+	private void fire(RuleSet ruleSet, int index, Object rawData, EvaluationContext context,
+			RuleSetMeters meters) {
+		meters.ruleFired(index);
+		Rule rule = ruleSet.getRule(index);
+		try {
+			ruleSet.executeActions(index, rawData, context, metrics, suppressor, dispatcher);
+		} catch (ActionException e) {
+			logger.error("Rule " + rule.getName() + " contains an action that failed to execute: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Evaluate the rule set without executing any action, reporting the result and evaluation
+	 * time of every criterion and the applicability of every rule. The data is judged alone, against
+	 * the windows as they stand, and the engine's state and metrics are left untouched.
+	 * @param rawData The data object instance to evaluate
+	 * @return How the rule set judged the data
+	 * @since 1.2
+	 */
+	public Explanation explain(Object rawData) {
+		long start = System.nanoTime();
+		RuleSet ruleSet = repository.getRuleSet();
+		EvaluationContext context = contexts.get();
+		context.reset(ruleSet);
+		WindowedObservation windowed = windows.peek(rawData, ruleSet.getWindows(),
+				observations.get());
+		long[] durations = new long[ruleSet.getCriterionCount()];
+		for (int group = 0; group < ruleSet.getIndexCount(); group++) {
+			CriterionIndex criterionIndex = ruleSet.getIndex(group);
+			if (! criterionIndex.accepts(rawData)) continue;
+			long evaluated = System.nanoTime();
 			try {
-				criterion.evaluate(rawData);
-				logger.info("Criterion " + criterion.getName() + " is " + criterion.getResult());
-			} catch (LogicCriterionException | CriterionNotEvaluatedException e) {
-				logger.info(e.getMessage());
+				criterionIndex.evaluate(rawData, context);
 			} catch (LogicDataTypeException e) {
-				logger.info("Criterion " + criterion.getName() + " is not compatible");
+				continue;
+			}
+			long duration = System.nanoTime() - evaluated;
+			for (int member = 0; member < criterionIndex.size(); member++) {
+				durations[criterionIndex.getCriterion(member)] = duration;
 			}
-		});
-		logger.info("Evaluating rules:");
-		HashMap<Long, Rule> rules = repository.getRules();
-		rules.values().stream().forEach(rule -> {
+		}
+		for (int index = 0; index < ruleSet.getCriterionCount(); index++) {
+			Criterion criterion = ruleSet.getCriterion(index);
+			if (ruleSet.isIndexed(index) || ! criterion.accepts(rawData)) continue;
+			long evaluated = System.nanoTime();
 			try {
-				if (rule.getApplicable()) {
-					logger.info(("Rule " + rule.getName() + " is applicable"));
-					try {
-						rule.executeActions();
-					} catch (ActionException e) {
-						logger.error("Rule " + rule.getName() + " contains an action that failed to execute: " + e.getMessage());
+				context.setResult(index, criterion.test(windowed != null && ruleSet.isWindowed(index)
+						? windowed : rawData));
+			} catch (LogicCriterionException e) {
+				logger.warn(e.getMessage());
+			} catch (LogicDataTypeException e) {
+				continue;
+			} finally {
+				durations[index] = System.nanoTime() - evaluated;
+			}
+		}
+		ArrayList<Explanation.RuleResult> rules = new ArrayList<>(ruleSet.getRuleCount());
+		ExpressionGraph expressions = ruleSet.getExpressionGraph();
+		boolean[] performed = new boolean[ruleSet.getActionCount()];
+		int rulesFired = 0;
+		for (int index = 0; index < ruleSet.getRuleCount(); index++) {
+			Rule rule = ruleSet.getRule(index);
+			Rule.Applicability applicability = ruleSet.resolve(index, context);
+			String decidingCriterion = null;
+			ArrayList<Explanation.ActionDescription> actions = new ArrayList<>();
+			if (applicability == Rule.Applicability.APPLICABLE && rulesFired++ < limit) {
+				int[] distinct = ruleSet.getRuleActions(index);
+				int position = 0;
+				for (Map.Entry<Integer, Action> action : rule.getActions().entrySet()) {
+					actions.add(new Explanation.ActionDescription(action.getKey(),
+							action.getValue().getClass().getSimpleName(), performed[distinct[position]]));
+					performed[distinct[position++]] = true;
+				}
+			} else if (applicability != Rule.Applicability.APPLICABLE && expressions.getRoot(index) >= 0) {
+				decidingCriterion = ruleSet.getCriterion(
+						expressions.getDecidingCriterion(expressions.getRoot(index), context)).getName();
+			} else if (applicability != Rule.Applicability.APPLICABLE) {
+				for (int position : ruleSet.getRuleCriteria(index)) {
+					if (context.getResult(position) != EvaluationContext.TRUE) {
+						decidingCriterion = ruleSet.getCriterion(position).getName();
+						break;
 					}
-				} else {
-					logger.info("Rule " + rule.getName() + " is not applicable");
 				}
-			} catch (CriterionNotEvaluatedException e) {
-				logger.info("Skipping rule " + rule.getName() + "; " + e.getMessage());
 			}
-		});
-		status = Status.IDLE;
+			rules.add(new Explanation.RuleResult(rule.getId(), rule.getName(), applicability.name(),
+					decidingCriterion, actions));
+		}
+		ArrayList<Explanation.CriterionResult> criteria = new ArrayList<>(ruleSet.getCriterionCount());
+		for (int index = 0; index < ruleSet.getCriterionCount(); index++) {
+			byte result = context.getResult(index);
+			criteria.add(new Explanation.CriterionResult(ruleSet.getCriterion(index).getName(),
+					result == EvaluationContext.NOT_EVALUATED ? "not evaluated"
+							: Boolean.toString(result == EvaluationContext.TRUE),
+					durations[index]));
+		}
+		return new Explanation(rawData.getClass().getSimpleName(), System.nanoTime() - start,
+				criteria, rules);
 	}
 
 	/**
@@ -99,10 +393,46 @@ public class Engine {
 	 * @param repository Instance of RuleRepository that will return {@code Rule} instances
    * @since 1.0
 	 */
-	@Autowired
 	public Engine(RuleRepository repository) {
-		this();
+		this(repository, new EvaluationTracer(), new EngineMetrics(), Mode.ALL, 1,
+				new NotificationSuppressor(), new ActionDispatcher(), new WindowStore(),
+				new WorkingMemory());
+	}
+
+	/**
+	 * New instance of Engine.
+	 * @param repository Instance of RuleRepository that will return {@code Rule} instances
+	 * @param tracer Instance of EvaluationTracer that decides which evaluations are traced
+	 * @param metrics Instance of EngineMetrics that records the engine's measurements
+	 * @param mode Which applicable rules have their actions executed
+	 * @param limit Under {@code Mode.TOP_N}, the number of applicable rules whose actions are
+	 *     executed
+	 * @param suppressor Instance of NotificationSuppressor that suppresses actions repeated
+	 *     within their quiet period
+	 * @param dispatcher Instance of ActionDispatcher that performs actions in isolation by type
+	 * @param windows Instance of WindowStore that holds each patient's recent observations
+	 * @param memory Instance of WorkingMemory that joins the latest data of each patient
+	 * @since 1.2
+	 */
+	@Autowired
+	public Engine(RuleRepository repository, EvaluationTracer tracer, EngineMetrics metrics,
+			@Value("${rules_engine.evaluation.mode:ALL}") Mode mode,
+			@Value("${rules_engine.evaluation.top_n:1}") int limit,
+			NotificationSuppressor suppressor, ActionDispatcher dispatcher, WindowStore windows,
+			WorkingMemory memory) {
 		this.repository = repository;
+		this.tracer = tracer;
+		this.metrics = metrics;
+		this.suppressor = suppressor;
+		this.dispatcher = dispatcher;
+		this.windows = windows;
+		this.memory = memory;
+		this.mode = mode;
+		this.limit = mode == Mode.ALL ? Integer.MAX_VALUE : mode == Mode.FIRST_MATCH ? 1 : limit;
+		this.logger = LoggerFactory.getLogger(this.getClass().getName());
+		this.status = Status.IDLE;
+		this.contexts = ThreadLocal.withInitial(() -> new EvaluationContext(INITIAL_CRITERION_CAPACITY));
+		this.observations = ThreadLocal.withInitial(() -> new WindowedObservation(INITIAL_WINDOW_CAPACITY));
 	}
 
 	/**
@@ -110,8 +440,6 @@ public class Engine {
 	 * @since 1.0
 	 */
 	public Engine() {
-		this.repository = null;
-		logger = LoggerFactory.getLogger(this.getClass().getName());
-		status = Status.IDLE;
+		this(null);
 	}
 }
@@ -0,0 +1,51 @@
+package io.github.robert_f_ruff.rules_engine;
+
+import java.util.List;
+
+/**
+ * Describes how the rule set judged a piece of data, without any action having been executed.
+ * @author Robert F. Ruff
+ * @version 1.2
+ * @param factType Simple class name of the evaluated data
+ * @param durationNanos How long the evaluation took, in nanoseconds
+ * @param criteria Result of every criterion in the rule set
+ * @param rules Applicability of every rule in the rule set
+ */
+public record Explanation(String factType, long durationNanos, List<CriterionResult> criteria,
+    List<RuleResult> rules) {
+  /**
+   * Result of a single criterion.
+   * @param name Name of the criterion
+   * @param result {@code "true"}, {@code "false"}, or {@code "not evaluated"} if the criterion
+   *     cannot judge the data
+   * @param durationNanos How long the evaluation took, in nanoseconds
+   * @since 1.2
+   */
+  public record CriterionResult(String name, String result, long durationNanos) { }
+
+  /**
+   * Applicability of a single rule.
+   * @param id The unique identifier number of the rule
+   * @param name Name of the rule
+   * @param applicability One of {@code Rule.Applicability}'s names
+   * @param decidingCriterion For a rule that is not applicable, the first of its criteria that
+   *     is false; for an undetermined rule, the first that was not evaluated; for either with a
+   *     criteria expression, the criterion that decided the expression; otherwise {@code null}
+   * @param actions Actions that would have been executed, in execution order; empty unless the
+   *     rule is applicable and, outside {@code Engine.Mode.ALL}, among the highest priority
+   *     applicable rules
+   * @since 1.2
+   */
+  public record RuleResult(Long id, String name, String applicability, String decidingCriterion,
+      List<ActionDescription> actions) { }
+
+  /**
+   * An action that would have been executed.
+   * @param sequenceNumber Position of the action in the rule's execution order
+   * @param type Simple class name of the action
+   * @param performedEarlier Whether an equal action of an earlier rule would already have been
+   *     executed, so that this one would be skipped
+   * @since 1.2
+   */
+  public record ActionDescription(Integer sequenceNumber, String type, boolean performedEarlier) { }
+}
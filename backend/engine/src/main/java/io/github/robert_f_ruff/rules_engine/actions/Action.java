@@ -3,7 +3,7 @@ package io.github.robert_f_ruff.rules_engine.actions;
 /**
  * Public interface of an act.
  * @author Robert F. Ruff
- * @version 1.0
+ * @version 1.2
  */
 public interface Action {
   /**
@@ -14,6 +14,12 @@ public interface Action {
    * @throws ParameterException Invalid parameter name
    */
   void addParameter(String name, String value) throws ParameterException;
+  /**
+   * Compute whatever does not change from one performance to the next; called once every
+   * parameter has been set. The default does nothing.
+   * @since 1.2
+   */
+  default void prepare() { }
   /**
    * Perform the act.
    * @since 1.0
@@ -0,0 +1,27 @@
+package io.github.robert_f_ruff.rules_engine.actions;
+
+/**
+ * Performs the actions of applicable rules on the engine's behalf.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@FunctionalInterface
+public interface ActionExecutor {
+  /**
+   * Perform an act, returning once it has completed or failed.
+   * @param action The action to perform
+   * @since 1.2
+   * @throws ActionException Error occurred during performance, or the act was not attempted
+   */
+  void execute(Action action) throws ActionException;
+
+  /**
+   * Takes charge of the acts of a rule that were not performed because one of them failed. The
+   * default discards them.
+   * @param rule Name of the rule the acts belong to
+   * @param actions The act that failed and those that were to follow it, in execution order;
+   *     acts skipped as already performed or suppressed are left out
+   * @since 1.2
+   */
+  default void defer(String rule, Action[] actions) { }
+}
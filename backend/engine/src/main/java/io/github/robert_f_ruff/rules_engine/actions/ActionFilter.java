@@ -0,0 +1,19 @@
+package io.github.robert_f_ruff.rules_engine.actions;
+
+/**
+ * Decides whether an action of an applicable rule is performed.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@FunctionalInterface
+public interface ActionFilter {
+  /**
+   * Called before an action is performed.
+   * @param ruleId The unique identifier number of the rule the action belongs to
+   * @param data The data the rule was found applicable to
+   * @param action The action about to be performed
+   * @return Whether the action should be performed
+   * @since 1.2
+   */
+  boolean permits(Long ruleId, Object data, Action action);
+}
@@ -0,0 +1,25 @@
+package io.github.robert_f_ruff.rules_engine.actions;
+
+/**
+ * Receives notice of each action performed or suppressed while executing a rule's actions.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@FunctionalInterface
+public interface ActionListener {
+  /**
+   * Called after an action has been performed.
+   * @param action The action that was performed
+   * @param durationNanos How long the action took, in nanoseconds
+   * @param succeeded Whether the action completed without error
+   * @since 1.2
+   */
+  void actionCompleted(Action action, long durationNanos, boolean succeeded);
+
+  /**
+   * Called instead of performing an action that an action filter suppressed.
+   * @param action The action that was not performed
+   * @since 1.2
+   */
+  default void actionSuppressed(Action action) { }
+}
@@ -18,14 +18,31 @@ import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
 
 /**
- * Defines the act of sending an email message.
+ * Defines the act of sending an email message. The message's headers and body are the same every
+ * time it is sent, so they are assembled once, when the action is prepared, into an immutable
+ * preparator that every send reuses.
  * @author Robert F. Ruff
- * @version 1.1
+ * @version 1.2
  */
 public class SendEmail implements Action {
+  private static final String SUBJECT = "Rules Engine";
+  private static final String BODY = "An applicable rule sent this message.";
+  private record PreparedMessage(InternetAddress from, Message.RecipientType[] types,
+      InternetAddress[][] recipients) implements MimeMessagePreparator {
+    @Override
+    public void prepare(@NonNull MimeMessage mimeMessage) throws Exception {
+      mimeMessage.setFrom(from);
+      for (int index = 0; index < types.length; index++) {
+        mimeMessage.setRecipients(types[index], recipients[index]);
+      }
+      mimeMessage.setSubject(SUBJECT);
+      mimeMessage.setContent(BODY, "text/plain");
+    }
+  }
   private JavaMailSender mailSender;
   private InternetAddress fromAddress;
   private HashMap<Message.RecipientType, List<InternetAddress>> parameters;
+  private volatile PreparedMessage message;
   
   /**
    * Set the recipients of the email message.
@@ -50,6 +67,7 @@ public class SendEmail implements Action {
     try {
       if (! parameters.containsKey(type)) parameters.put(type, new ArrayList<>());
       parameters.get(type).add(new InternetAddress(value, true));
+      message = null;
     } catch (AddressException e) {
       throw new ParameterException("SendEmail - Invalid " + name + " address "
           + value + ": " + e.getMessage());
@@ -57,27 +75,39 @@ public class SendEmail implements Action {
   }
 
   /**
-   * Generate and send the email message.
+   * Assemble the sender, recipients, subject and body of the email message.
+   * @since 1.2
+   */
+  @Override
+  public void prepare() {
+    Message.RecipientType[] types = new Message.RecipientType[parameters.size()];
+    InternetAddress[][] recipients = new InternetAddress[parameters.size()][];
+    int index = 0;
+    Iterator<Map.Entry<Message.RecipientType, List<InternetAddress>>> entries = parameters.entrySet().iterator();
+    while (entries.hasNext()) {
+      Map.Entry<Message.RecipientType, List<InternetAddress>> entry = entries.next();
+      types[index] = entry.getKey();
+      recipients[index] = entry.getValue().toArray(new InternetAddress[entry.getValue().size()]);
+      index++;
+    }
+    message = new PreparedMessage(fromAddress, types, recipients);
+  }
+
+  /**
+   * Send the email message, preparing it first if it has not been prepared since its recipients
+   * last changed.
    * @since 1.0
    * @throws ActionException Error occurred while constructing or sending the email
    */
   @Override
   public void execute() throws ActionException {
-    MimeMessagePreparator message = new MimeMessagePreparator() {
-      public void prepare(@NonNull MimeMessage mimeMessage) throws Exception {
-        mimeMessage.setFrom(fromAddress);
-        Iterator<Map.Entry<Message.RecipientType, List<InternetAddress>>> entries = parameters.entrySet().iterator();
-        while (entries.hasNext()) {
-          Map.Entry<Message.RecipientType, List<InternetAddress>> entry = entries.next();
-          InternetAddress[] addresses = entry.getValue().toArray(new InternetAddress[entry.getValue().size()]);
-          mimeMessage.setRecipients(entry.getKey(), addresses);
-        }
-        mimeMessage.setSubject("Rules Engine");
-        mimeMessage.setContent("An applicable rule sent this message.", "text/plain");
-      }
-    };
+    PreparedMessage prepared = message;
+    if (prepared == null) {
+      prepare();
+      prepared = message;
+    }
     try {
-      this.mailSender.send(message);
+      this.mailSender.send(prepared);
     } catch (MailException e) {
       throw new ActionException("SendEmail - Unable to send the message: " + e.getMessage());
     }
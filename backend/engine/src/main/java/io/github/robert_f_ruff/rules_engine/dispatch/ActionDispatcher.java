@@ -0,0 +1,204 @@
+package io.github.robert_f_ruff.rules_engine.dispatch;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import io.github.robert_f_ruff.rules_engine.actions.Action;
+import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionExecutor;
+import io.github.robert_f_ruff.rules_engine.retry.RetryScheduler;
+
+/**
+ * Performs each action on a bounded pool of threads reserved for its action type, behind a
+ * circuit breaker of its own, so that a slow or failing action target delays only the actions
+ * that use it. The calling thread waits no longer than the configured timeout for an action to
+ * complete; an action whose pool is saturated or whose breaker is open fails at once without
+ * being attempted. A saturated pool is load shed locally and says nothing about the action
+ * target, so it is not counted against the breaker. When isolation is disabled, actions are
+ * performed on the calling thread.
+ * Either way, the actions of a rule left unperformed by a failure are handed to the retry
+ * scheduler.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Component
+public class ActionDispatcher implements ActionExecutor {
+  private record Compartment(ThreadPoolExecutor executor, CircuitBreaker breaker) {}
+  private boolean enabled;
+  private int threads;
+  private int queueSize;
+  private long timeout;
+  private int failureThreshold;
+  private long openDuration;
+  private LongSupplier clock;
+  private RetryScheduler retries;
+  private ConcurrentHashMap<Class<?>, Compartment> compartments;
+  private Logger logger;
+
+  /**
+   * Returns the circuit breaker of an action type.
+   * @param type The class of the action
+   * @return The action type's circuit breaker, or {@code null} if no action of the type has been
+   *     dispatched
+   * @since 1.2
+   */
+  public CircuitBreaker getBreaker(Class<?> type) {
+    Compartment compartment = compartments.get(type);
+    return compartment == null ? null : compartment.breaker();
+  }
+
+  /**
+   * Perform an act on its action type's threads, waiting at most the configured timeout for it
+   * to complete.
+   * @param action The action to perform
+   * @since 1.2
+   * @throws ActionException Error occurred during performance, the act timed out, or the act was
+   *     not attempted because its action type's pool is saturated or its breaker is open
+   */
+  @Override
+  public void execute(Action action) throws ActionException {
+    if (! enabled) {
+      action.execute();
+      return;
+    }
+    String type = action.getClass().getSimpleName();
+    Compartment compartment = compartments.computeIfAbsent(action.getClass(), this::compartment);
+    CircuitBreaker breaker = compartment.breaker();
+    if (! breaker.allowRequest(clock.getAsLong())) {
+      throw new ActionException(type + " - Circuit open; not attempted");
+    }
+    Future<Void> outcome;
+    try {
+      outcome = compartment.executor().submit(() -> {
+        action.execute();
+        return null;
+      });
+    } catch (RejectedExecutionException e) {
+      breaker.recordAbandoned();
+      throw new ActionException(type + " - Too many actions in progress; not attempted");
+    }
+    try {
+      outcome.get(timeout, TimeUnit.MILLISECONDS);
+      breaker.recordSuccess();
+    } catch (ExecutionException e) {
+      failed(type, breaker);
+      if (e.getCause() instanceof ActionException cause) throw cause;
+      throw new ActionException(type + " - " + e.getCause());
+    } catch (TimeoutException e) {
+      outcome.cancel(true);
+      failed(type, breaker);
+      throw new ActionException(type + " - Timed out after " + timeout + " ms");
+    } catch (InterruptedException e) {
+      outcome.cancel(true);
+      breaker.recordAbandoned();
+      Thread.currentThread().interrupt();
+      throw new ActionException(type + " - Interrupted while waiting for completion");
+    }
+  }
+
+  /**
+   * Schedules the retry of the acts of a rule that were not performed because one of them
+   * failed, including those refused by an open circuit breaker.
+   * @param rule Name of the rule the acts belong to
+   * @param actions The act that failed and those that were to follow it, in execution order
+   * @since 1.2
+   */
+  @Override
+  public void defer(String rule, Action[] actions) {
+    retries.schedule(rule, actions, this);
+  }
+
+  private void failed(String type, CircuitBreaker breaker) {
+    if (breaker.recordFailure(clock.getAsLong())) {
+      logger.warn("Circuit for " + type + " actions opened; not attempting them for "
+          + TimeUnit.NANOSECONDS.toMillis(openDuration) + " ms");
+    }
+  }
+
+  private Compartment compartment(Class<?> type) {
+    AtomicInteger count = new AtomicInteger();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueSize), runnable -> {
+          Thread thread = new Thread(runnable, "action-" + type.getSimpleName() + "-"
+              + count.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    return new Compartment(executor, new CircuitBreaker(failureThreshold, openDuration));
+  }
+
+  /**
+   * Stops the threads of every action type, abandoning actions that have not started.
+   * @since 1.2
+   */
+  @PreDestroy
+  public void stop() {
+    for (Compartment compartment : compartments.values()) {
+      compartment.executor().shutdownNow();
+    }
+    compartments.clear();
+  }
+
+  /**
+   * New instance of ActionDispatcher.
+   * @param enabled Whether actions are isolated by type; if not, they run on the calling thread
+   * @param threads Number of threads reserved for each action type
+   * @param queueSize Number of actions of a type waiting for a thread before new ones are refused
+   * @param timeout Milliseconds the calling thread waits for an action to complete
+   * @param failureThreshold Number of consecutive failures of an action type that opens its
+   *     circuit breaker
+   * @param openDuration Milliseconds an open circuit breaker refuses actions before a trial
+   * @param retries Instance of RetryScheduler that retries the actions of a rule after one fails
+   * @since 1.2
+   */
+  @Autowired
+  public ActionDispatcher(@Value("${rules_engine.dispatch.enabled:false}") boolean enabled,
+      @Value("${rules_engine.dispatch.threads:4}") int threads,
+      @Value("${rules_engine.dispatch.queue_size:64}") int queueSize,
+      @Value("${rules_engine.dispatch.timeout:5000}") long timeout,
+      @Value("${rules_engine.dispatch.failure_threshold:5}") int failureThreshold,
+      @Value("${rules_engine.dispatch.open_duration:30000}") long openDuration,
+      RetryScheduler retries) {
+    this(enabled, threads, queueSize, timeout, failureThreshold, openDuration, retries,
+        System::nanoTime);
+  }
+
+  /**
+   * New instance of ActionDispatcher that performs actions on the calling thread and retries
+   * none.
+   * @since 1.2
+   */
+  public ActionDispatcher() {
+    this(false, 1, 1, 0, 1, 0, new RetryScheduler(), System::nanoTime);
+  }
+
+  ActionDispatcher(boolean enabled, int threads, int queueSize, long timeout, int failureThreshold,
+      long openDuration, RetryScheduler retries, LongSupplier clock) {
+    this.enabled = enabled;
+    this.threads = Math.max(threads, 1);
+    this.queueSize = Math.max(queueSize, 1);
+    this.timeout = timeout;
+    this.failureThreshold = failureThreshold;
+    this.openDuration = TimeUnit.MILLISECONDS.toNanos(openDuration);
+    this.clock = clock;
+    this.retries = retries;
+    this.compartments = new ConcurrentHashMap<>();
+    this.logger = LoggerFactory.getLogger(this.getClass().getName());
+  }
+}
@@ -0,0 +1,115 @@
+package io.github.robert_f_ruff.rules_engine.dispatch;
+
+/**
+ * Stops calls to a failing action target. After a number of consecutive failures the breaker
+ * opens and refuses every call until a cool-down has passed; it then lets a single trial call
+ * through, closing again if the trial succeeds and reopening if it fails.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public class CircuitBreaker {
+  /**
+   * Identifies the possible states of a circuit breaker.
+   * @since 1.2
+   */
+  public static enum State {
+    /**
+     * Calls are let through.
+     * @since 1.2
+     */
+    CLOSED,
+    /**
+     * Calls are refused.
+     * @since 1.2
+     */
+    OPEN,
+    /**
+     * A single trial call has been let through and its outcome is awaited.
+     * @since 1.2
+     */
+    HALF_OPEN
+  }
+  private final int failureThreshold;
+  private final long openDuration;
+  private State state;
+  private int failures;
+  private long openedAt;
+
+  /**
+   * Returns the state of the breaker.
+   * @return The breaker's state
+   * @since 1.2
+   */
+  public synchronized State getState() {
+    return state;
+  }
+
+  /**
+   * Decides whether a call may proceed.
+   * @param now The current time, in nanoseconds
+   * @return Whether the call may proceed; the caller must then report its outcome
+   * @since 1.2
+   */
+  public synchronized boolean allowRequest(long now) {
+    switch (state) {
+      case CLOSED:
+        return true;
+      case OPEN:
+        if (now - openedAt < openDuration) return false;
+        state = State.HALF_OPEN;
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Reports a call that succeeded.
+   * @since 1.2
+   */
+  public synchronized void recordSuccess() {
+    failures = 0;
+    state = State.CLOSED;
+  }
+
+  /**
+   * Reports a call that failed.
+   * @param now The current time, in nanoseconds
+   * @return Whether this failure opened the breaker
+   * @since 1.2
+   */
+  public synchronized boolean recordFailure(long now) {
+    failures++;
+    if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= failureThreshold)) {
+      state = State.OPEN;
+      openedAt = now;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Reports a call whose outcome will never be known, such as one whose caller was interrupted
+   * while waiting for it, or one that was never made because the caller shed it. An abandoned
+   * trial call reopens the breaker without counting as a failure, so that the next call after the
+   * cool-down is let through as a new trial.
+   * @since 1.2
+   */
+  public synchronized void recordAbandoned() {
+    if (state == State.HALF_OPEN) state = State.OPEN;
+  }
+
+  /**
+   * New instance of CircuitBreaker.
+   * @param failureThreshold Number of consecutive failures that opens the breaker
+   * @param openDuration How long the breaker stays open before a trial call, in nanoseconds
+   * @since 1.2
+   */
+  public CircuitBreaker(int failureThreshold, long openDuration) {
+    this.failureThreshold = Math.max(failureThreshold, 1);
+    this.openDuration = openDuration;
+    this.state = State.CLOSED;
+    this.failures = 0;
+    this.openedAt = 0;
+  }
+}
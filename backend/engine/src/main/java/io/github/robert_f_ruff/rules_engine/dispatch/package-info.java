@@ -0,0 +1,4 @@
+/**
+ * Isolated, time-limited execution of actions
+ */
+package io.github.robert_f_ruff.rules_engine.dispatch;
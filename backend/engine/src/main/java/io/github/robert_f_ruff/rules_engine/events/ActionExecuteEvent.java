@@ -0,0 +1,47 @@
+package io.github.robert_f_ruff.rules_engine.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event covering the execution of one action.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Name("io.github.robert_f_ruff.rules_engine.ActionExecute")
+@Label("Action Execute")
+@Category("Rules Engine")
+@Description("Execution of an action of an applicable rule")
+public class ActionExecuteEvent extends jdk.jfr.Event {
+  private static final ActionExecuteEvent PROBE = new ActionExecuteEvent();
+
+  /**
+   * Type of the action.
+   * @since 1.2
+   */
+  @Label("Action Type")
+  public Class<?> actionType;
+  /**
+   * Position of the action in the rule's execution order.
+   * @since 1.2
+   */
+  @Label("Sequence Number")
+  public int sequenceNumber;
+  /**
+   * Whether the action completed without error.
+   * @since 1.2
+   */
+  @Label("Succeeded")
+  public boolean succeeded;
+
+  /**
+   * Indicates whether action executions are currently being recorded.
+   * @return Whether the event is enabled in a running recording
+   * @since 1.2
+   */
+  public static boolean enabled() {
+    return PROBE.isEnabled();
+  }
+}
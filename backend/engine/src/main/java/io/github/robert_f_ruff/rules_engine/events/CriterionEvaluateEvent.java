@@ -0,0 +1,46 @@
+package io.github.robert_f_ruff.rules_engine.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the evaluation of one criterion. Disabled by default because it
+ * is emitted for every criterion of every evaluation.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Name("io.github.robert_f_ruff.rules_engine.CriterionEvaluate")
+@Label("Criterion Evaluate")
+@Category("Rules Engine")
+@Description("Evaluation of a criterion against a piece of data")
+@StackTrace(false)
+@Enabled(false)
+public class CriterionEvaluateEvent extends jdk.jfr.Event {
+  private static final CriterionEvaluateEvent PROBE = new CriterionEvaluateEvent();
+
+  /**
+   * Name of the evaluated criterion.
+   * @since 1.2
+   */
+  @Label("Criterion")
+  public String criterion;
+  /**
+   * Result of the evaluation.
+   * @since 1.2
+   */
+  @Label("Result")
+  public boolean result;
+
+  /**
+   * Indicates whether criterion evaluations are currently being recorded.
+   * @return Whether the event is enabled in a running recording
+   * @since 1.2
+   */
+  public static boolean enabled() {
+    return PROBE.isEnabled();
+  }
+}
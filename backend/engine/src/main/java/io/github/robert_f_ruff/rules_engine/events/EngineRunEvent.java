@@ -0,0 +1,49 @@
+package io.github.robert_f_ruff.rules_engine.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering one evaluation of the rule set.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Name("io.github.robert_f_ruff.rules_engine.EngineRun")
+@Label("Engine Run")
+@Category("Rules Engine")
+@Description("Evaluation of the rule set against a piece of data")
+@StackTrace(false)
+public class EngineRunEvent extends jdk.jfr.Event {
+  private static final EngineRunEvent PROBE = new EngineRunEvent();
+
+  /**
+   * Type of the evaluated data.
+   * @since 1.2
+   */
+  @Label("Fact Type")
+  public Class<?> factType;
+  /**
+   * Number of criteria that were evaluated.
+   * @since 1.2
+   */
+  @Label("Criteria Evaluated")
+  public int criteriaEvaluated;
+  /**
+   * Number of rules that were found applicable.
+   * @since 1.2
+   */
+  @Label("Rules Fired")
+  public int rulesFired;
+
+  /**
+   * Indicates whether evaluations are currently being recorded.
+   * @return Whether the event is enabled in a running recording
+   * @since 1.2
+   */
+  public static boolean enabled() {
+    return PROBE.isEnabled();
+  }
+}
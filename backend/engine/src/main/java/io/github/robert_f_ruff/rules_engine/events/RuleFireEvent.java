@@ -0,0 +1,49 @@
+package io.github.robert_f_ruff.rules_engine.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the execution of an applicable rule's actions.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Name("io.github.robert_f_ruff.rules_engine.RuleFire")
+@Label("Rule Fire")
+@Category("Rules Engine")
+@Description("Execution of the actions of an applicable rule")
+@StackTrace(false)
+public class RuleFireEvent extends jdk.jfr.Event {
+  private static final RuleFireEvent PROBE = new RuleFireEvent();
+
+  /**
+   * Identifier of the rule, as stored in the database.
+   * @since 1.2
+   */
+  @Label("Rule Id")
+  public long ruleId;
+  /**
+   * Name of the rule.
+   * @since 1.2
+   */
+  @Label("Rule")
+  public String rule;
+  /**
+   * Number of actions that completed without error.
+   * @since 1.2
+   */
+  @Label("Actions Completed")
+  public int actionsCompleted;
+
+  /**
+   * Indicates whether rule firings are currently being recorded.
+   * @return Whether the event is enabled in a running recording
+   * @since 1.2
+   */
+  public static boolean enabled() {
+    return PROBE.isEnabled();
+  }
+}
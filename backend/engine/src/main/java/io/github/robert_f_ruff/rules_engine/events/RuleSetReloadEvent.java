@@ -0,0 +1,41 @@
+package io.github.robert_f_ruff.rules_engine.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event covering a load of the rule set from the database.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Name("io.github.robert_f_ruff.rules_engine.RuleSetReload")
+@Label("Rule Set Reload")
+@Category("Rules Engine")
+@Description("Load of the rule set from the database")
+public class RuleSetReloadEvent extends jdk.jfr.Event {
+  private static final RuleSetReloadEvent PROBE = new RuleSetReloadEvent();
+
+  /**
+   * Number of rules in the loaded rule set.
+   * @since 1.2
+   */
+  @Label("Rules")
+  public int rules;
+  /**
+   * Number of criteria in the loaded rule set.
+   * @since 1.2
+   */
+  @Label("Criteria")
+  public int criteria;
+
+  /**
+   * Indicates whether rule set loads are currently being recorded.
+   * @return Whether the event is enabled in a running recording
+   * @since 1.2
+   */
+  public static boolean enabled() {
+    return PROBE.isEnabled();
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * JDK Flight Recorder events emitted by the engine's internals. Callers check an event's
+ * {@code enabled()} method before creating it, so that nothing is allocated while no recording
+ * is running
+ */
+package io.github.robert_f_ruff.rules_engine.events;
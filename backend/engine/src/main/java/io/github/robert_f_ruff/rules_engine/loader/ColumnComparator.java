@@ -0,0 +1,37 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import io.github.robert_f_ruff.rules_engine.logic.Threshold;
+
+/**
+ * Judges a threshold against a column of fixed-point measurements, one bit per measurement.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+interface ColumnComparator {
+	/**
+	 * Sets the bit of every measurement that satisfies the threshold's comparison.
+	 * @param column Fixed-point measurements, one per record
+	 * @param length Number of records in the column
+	 * @param threshold The threshold to compare against
+	 * @param bits Bit set of the records, 64 to a word; bits are only ever set
+	 */
+	void compare(long[] column, int length, Threshold threshold, long[] bits);
+
+	/**
+	 * Returns the comparator that uses SIMD instructions if it was built, with the {@code vector}
+	 * profile, and the incubating vector module has been added to the runtime; the scalar
+	 * comparator otherwise.
+	 * @return The fastest comparator available
+	 */
+	static ColumnComparator select() {
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+			try {
+				return (ColumnComparator) Class.forName(ColumnComparator.class.getPackageName()
+						+ ".VectorComparator").getDeclaredConstructor().newInstance();
+			} catch (ReflectiveOperationException | LinkageError e) {
+				return new ScalarComparator();
+			}
+		}
+		return new ScalarComparator();
+	}
+}
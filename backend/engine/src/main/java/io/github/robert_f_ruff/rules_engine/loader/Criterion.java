@@ -1,14 +1,19 @@
 package io.github.robert_f_ruff.rules_engine.loader;
 
 import java.util.Objects;
+
+import io.github.robert_f_ruff.rules_engine.events.CriterionEvaluateEvent;
 import io.github.robert_f_ruff.rules_engine.logic.Logic;
 import io.github.robert_f_ruff.rules_engine.logic.LogicCriterionException;
 import io.github.robert_f_ruff.rules_engine.logic.LogicDataTypeException;
+import io.github.robert_f_ruff.rules_engine.logic.LogicPredicate;
+import io.github.robert_f_ruff.rules_engine.logic.Threshold;
+import io.github.robert_f_ruff.rules_engine.logic.Window;
 
 /**
  * Defines how to judge a given data object.
  * @author Robert F. Ruff
- * @version 1.0
+ * @version 1.2
  */
 public class Criterion {
 	private String name;
@@ -17,6 +22,7 @@ public class Criterion {
 	private String checkValue;
 	private boolean evaluated;
 	private boolean result;
+	private LogicPredicate predicate;
 	
 	/**
 	 * Returns the criterion name.
@@ -41,6 +47,88 @@ public class Criterion {
 		}
 	}
 
+	/**
+	 * Judges the given data without recording the result in this criterion, so that the same
+	 * instance can be shared by concurrent evaluations. The logic is compiled on first use.
+	 * @param data The data to evaluate
+	 * @return Result of the logic evaluation
+	 * @since 1.2
+	 * @throws LogicCriterionException Invalid internal method name to execute
+	 * @throws LogicDataTypeException Invalid data type
+	 */
+	public boolean test(Object data) throws LogicCriterionException, LogicDataTypeException {
+		LogicPredicate compiled = predicate;
+		if (compiled == null) {
+			compiled = logicClass.compile(logicMethodName, checkValue);
+			predicate = compiled;
+		}
+		if (! CriterionEvaluateEvent.enabled()) return compiled.test(data);
+		CriterionEvaluateEvent event = new CriterionEvaluateEvent();
+		event.begin();
+		boolean outcome = compiled.test(data);
+		if (event.shouldCommit()) {
+			event.criterion = name;
+			event.result = outcome;
+			event.commit();
+		}
+		return outcome;
+	}
+
+	/**
+	 * Returns the threshold this criterion's logic compares against, if the logic is a numeric
+	 * comparison.
+	 * @return The threshold, or {@code null} if the logic is not a numeric comparison or the
+	 *     comparison value is invalid
+	 */
+	Threshold threshold() {
+		try {
+			return logicClass.threshold(logicMethodName, checkValue);
+		} catch (LogicCriterionException | NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the window of observations this criterion's logic aggregates over, if the logic
+	 * judges a patient's recent observations.
+	 * @return The window, or {@code null} if the logic does not judge a window of observations or
+	 *     the comparison value is invalid
+	 */
+	Window window() {
+		try {
+			return logicClass.window(logicMethodName, checkValue);
+		} catch (LogicCriterionException | NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the type of data this criterion's logic judges.
+	 * @return The type of data judged; {@code Object} if the logic judges any data
+	 */
+	Class<?> factType() {
+		return logicClass.factType();
+	}
+
+	/**
+	 * Returns a key identifying this criterion's logic and internal method, but not its
+	 * comparison value.
+	 * @return Key shared by criteria that differ only in their comparison value
+	 */
+	String logicKey() {
+		return logicClass.getClass().getName() + "#" + logicMethodName;
+	}
+
+	/**
+	 * Indicates whether this criterion is able to judge the given data.
+	 * @param data The data to evaluate
+	 * @return Whether the data is compatible with this criterion's logic
+	 * @since 1.2
+	 */
+	public boolean accepts(Object data) {
+		return logicClass.accepts(data);
+	}
+
 	/**
 	 * Returns the result of executing the logic.
 	 * @return Result of the logic evaluation
@@ -0,0 +1,42 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import io.github.robert_f_ruff.rules_engine.logic.LogicDataTypeException;
+
+/**
+ * A group of criteria on the same field of the data, judged together by one lookup of the field.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public interface CriterionIndex {
+	/**
+	 * Returns the number of criteria in the group.
+	 * @return Number of criteria
+	 * @since 1.2
+	 */
+	int size();
+
+	/**
+	 * Returns a criterion of the group.
+	 * @param index Position of the criterion in the group
+	 * @return Position of the criterion in the rule set
+	 * @since 1.2
+	 */
+	int getCriterion(int index);
+
+	/**
+	 * Indicates whether the criteria of the group are able to judge the given data.
+	 * @param data The data to evaluate
+	 * @return Whether the data is compatible with the group's logic
+	 * @since 1.2
+	 */
+	boolean accepts(Object data);
+
+	/**
+	 * Judges every criterion of the group and records the results in the context.
+	 * @param data The data to evaluate
+	 * @param context Criterion results of the current evaluation
+	 * @since 1.2
+	 * @throws LogicDataTypeException Invalid data type
+	 */
+	void evaluate(Object data, EvaluationContext context) throws LogicDataTypeException;
+}
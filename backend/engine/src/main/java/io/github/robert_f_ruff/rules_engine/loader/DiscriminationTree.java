@@ -0,0 +1,110 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Discrimination tree over the criteria of a rule set. Every rule is a path from the root, its
+ * criteria taken in one order shared by all rules, so rules that share leading criteria share the
+ * nodes that judge them. A criterion that is not true rules out every rule below its node, and
+ * the criteria that only those rules need are never judged.
+ * <p>Criteria are ordered by the number of rules they could rule out per unit of cost, where a
+ * criterion judged by a criterion index costs its share of the group, so that the criteria most
+ * likely to prune the rule set are judged first. Nodes are stored in depth-first order with the
+ * position that follows each node's subtree, so walking the tree needs no stack.</p>
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public final class DiscriminationTree {
+	private final int[] criteria;
+	private final int[] skips;
+
+	/**
+	 * Returns the number of nodes in the tree; a walk ends when it reaches this position.
+	 * @return Number of nodes
+	 * @since 1.2
+	 */
+	public int size() {
+		return criteria.length;
+	}
+
+	/**
+	 * Returns the criterion a node judges.
+	 * @param node Position of the node in the tree
+	 * @return Position of the criterion in the rule set
+	 * @since 1.2
+	 */
+	public int getCriterion(int node) {
+		return criteria[node];
+	}
+
+	/**
+	 * Returns the node to visit after a node has been judged.
+	 * @param node Position of the node in the tree
+	 * @param result Whether the node's criterion is true; a criterion that could not be judged is
+	 *     not true
+	 * @return Position of the next node, or {@code size()} when the walk is complete
+	 * @since 1.2
+	 */
+	public int next(int node, boolean result) {
+		return result ? node + 1 : skips[node];
+	}
+
+	/**
+	 * New instance of DiscriminationTree.
+	 * @param ruleCriteria Positions of each rule's criteria, by rule position
+	 * @param costs Relative cost of judging each criterion, by criterion position
+	 */
+	DiscriminationTree(int[][] ruleCriteria, double[] costs) {
+		int[] users = new int[costs.length];
+		for (int[] positions : ruleCriteria) {
+			for (int position : Arrays.stream(positions).distinct().toArray()) {
+				users[position]++;
+			}
+		}
+		Integer[] order = IntStream.range(0, costs.length).boxed().toArray(Integer[]::new);
+		Arrays.sort(order, Comparator.comparingDouble((Integer position) -> users[position] / costs[position])
+				.reversed().thenComparing(Comparator.naturalOrder()));
+		int[] ranks = new int[costs.length];
+		for (int rank = 0; rank < order.length; rank++) {
+			ranks[order[rank]] = rank;
+		}
+		Node root = new Node(-1);
+		for (int[] positions : ruleCriteria) {
+			Node node = root;
+			for (int rank : Arrays.stream(positions).map(position -> ranks[position]).distinct().sorted().toArray()) {
+				node = node.children.computeIfAbsent(rank, key -> new Node(order[key]));
+			}
+		}
+		ArrayList<Integer> criteria = new ArrayList<>();
+		ArrayList<Integer> skips = new ArrayList<>();
+		for (Node child : root.children.values()) {
+			flatten(child, criteria, skips);
+		}
+		this.criteria = criteria.stream().mapToInt(Integer::intValue).toArray();
+		this.skips = skips.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private static void flatten(Node node, List<Integer> criteria, List<Integer> skips) {
+		int position = criteria.size();
+		criteria.add(node.criterion);
+		skips.add(null);
+		for (Node child : node.children.values()) {
+			flatten(child, criteria, skips);
+		}
+		skips.set(position, criteria.size());
+	}
+
+	private static final class Node {
+		private final int criterion;
+		private final TreeMap<Integer, Node> children = new TreeMap<>();
+
+		Node(int criterion) {
+			this.criterion = criterion;
+		}
+	}
+}
@@ -0,0 +1,152 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import java.util.Arrays;
+
+/**
+ * Holds the criterion and expression results, rule outcomes and actions performed of a single
+ * evaluation. An instance is reused by one thread for every evaluation it performs, so that
+ * steady-state evaluation does not allocate.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public final class EvaluationContext {
+	/**
+	 * Result code of a criterion that was not evaluated.
+	 * @since 1.2
+	 */
+	public static final byte NOT_EVALUATED = 0;
+	/**
+	 * Result code of a criterion that evaluated to false.
+	 * @since 1.2
+	 */
+	public static final byte FALSE = 1;
+	/**
+	 * Result code of a criterion that evaluated to true.
+	 * @since 1.2
+	 */
+	public static final byte TRUE = 2;
+
+	private static final Rule.Applicability[] APPLICABILITIES = Rule.Applicability.values();
+	private static final byte UNDETERMINED = (byte) Rule.Applicability.UNDETERMINED.ordinal();
+	private byte[] results;
+	private byte[] outcomes;
+	private byte[] nodes;
+	private boolean[] executed;
+	private int pendingCriterion;
+
+	/**
+	 * Prepares the context for a new evaluation, growing the result storage only when the rule
+	 * set is larger than any rule set seen before.
+	 * @param ruleSet The rule set about to be evaluated
+	 * @since 1.2
+	 */
+	public void reset(RuleSet ruleSet) {
+		int criterionCount = ruleSet.getCriterionCount();
+		if (results.length < criterionCount) {
+			results = new byte[criterionCount];
+		} else {
+			Arrays.fill(results, 0, criterionCount, NOT_EVALUATED);
+		}
+		int nodeCount = ruleSet.getExpressionGraph().size();
+		if (nodes.length < nodeCount) {
+			nodes = new byte[nodeCount];
+		} else {
+			Arrays.fill(nodes, 0, nodeCount, NOT_EVALUATED);
+		}
+		int actionCount = ruleSet.getActionCount();
+		if (executed.length < actionCount) {
+			executed = new boolean[actionCount];
+		} else {
+			Arrays.fill(executed, 0, actionCount, false);
+		}
+		int ruleCount = ruleSet.getRuleCount();
+		if (outcomes.length < ruleCount) outcomes = new byte[ruleCount];
+		Arrays.fill(outcomes, 0, ruleCount, UNDETERMINED);
+		pendingCriterion = -1;
+	}
+
+	/**
+	 * Records the result of a criterion.
+	 * @param index Position of the criterion in the rule set
+	 * @param result Result of the logic evaluation
+	 * @since 1.2
+	 */
+	public void setResult(int index, boolean result) {
+		results[index] = result ? TRUE : FALSE;
+	}
+
+	/**
+	 * Returns the recorded result of a criterion.
+	 * @param index Position of the criterion in the rule set
+	 * @return One of {@code NOT_EVALUATED}, {@code FALSE} or {@code TRUE}
+	 * @since 1.2
+	 */
+	public byte getResult(int index) {
+		return results[index];
+	}
+
+	byte getNodeResult(int node) {
+		return nodes[node];
+	}
+
+	void setNodeResult(int node, byte result) {
+		nodes[node] = result;
+	}
+
+	boolean isActionPerformed(int index) {
+		return executed[index];
+	}
+
+	void setActionPerformed(int index) {
+		executed[index] = true;
+	}
+
+	/**
+	 * Returns the criterion that most recently prevented a rule's applicability from being
+	 * determined.
+	 * @return Position of the criterion in the rule set, or -1 if there is none
+	 * @since 1.2
+	 */
+	public int getPendingCriterion() {
+		return pendingCriterion;
+	}
+
+	void setPendingCriterion(int index) {
+		pendingCriterion = index;
+	}
+
+	/**
+	 * Records the outcome of resolving a rule.
+	 * @param index Position of the rule in the rule set
+	 * @param applicability The rule's applicability
+	 * @since 1.2
+	 */
+	public void setApplicability(int index, Rule.Applicability applicability) {
+		outcomes[index] = (byte) applicability.ordinal();
+	}
+
+	/**
+	 * Returns the recorded outcome of resolving a rule.
+	 * @param index Position of the rule in the rule set
+	 * @return The rule's applicability; {@code UNDETERMINED} if the rule has not been resolved
+	 *     during the current evaluation
+	 * @since 1.2
+	 */
+	public Rule.Applicability getApplicability(int index) {
+		return APPLICABILITIES[outcomes[index]];
+	}
+
+	/**
+	 * New instance of EvaluationContext.
+	 * @param capacity Number of criteria and rules to reserve result storage for
+	 * @since 1.2
+	 */
+	public EvaluationContext(int capacity) {
+		this.results = new byte[capacity];
+		this.outcomes = new byte[capacity];
+		Arrays.fill(outcomes, UNDETERMINED);
+		this.nodes = new byte[capacity];
+		this.executed = new boolean[capacity];
+		this.pendingCriterion = -1;
+	}
+}
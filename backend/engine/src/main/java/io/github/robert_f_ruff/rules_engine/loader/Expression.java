@@ -0,0 +1,262 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boolean combination of criteria that decides whether a rule is applicable. Expressions are
+ * written with criterion names in double quotes, the operators {@code AND}, {@code OR} and
+ * {@code NOT}, and parentheses for grouping; {@code NOT} binds tightest and {@code OR} loosest.
+ * For example: {@code "Patient Is Female" AND ("Age Greater Than 40" OR NOT "Body Weight
+ * Greater Than 200")}.
+ * @author Robert F. Ruff
+ * @version 1.2
+ * @param operator How the operands are combined
+ * @param criterion The criterion tested, for an {@code Operator.CRITERION} expression; otherwise
+ *     {@code null}
+ * @param operands The combined expressions; empty for an {@code Operator.CRITERION} expression
+ */
+public record Expression(Operator operator, Criterion criterion, List<Expression> operands) {
+	/**
+	 * Identifies how an expression combines its operands.
+	 * @since 1.2
+	 */
+	public static enum Operator {
+		/**
+		 * The result of a single criterion.
+		 * @since 1.2
+		 */
+		CRITERION,
+		/**
+		 * The negation of the only operand.
+		 * @since 1.2
+		 */
+		NOT,
+		/**
+		 * True when every operand is true.
+		 * @since 1.2
+		 */
+		AND,
+		/**
+		 * True when any operand is true.
+		 * @since 1.2
+		 */
+		OR
+	}
+
+	/**
+	 * New instance of Expression.
+	 * @param operator How the operands are combined
+	 * @param criterion The criterion tested, for an {@code Operator.CRITERION} expression
+	 * @param operands The combined expressions
+	 * @since 1.2
+	 */
+	public Expression {
+		operands = List.copyOf(operands);
+	}
+
+	/**
+	 * Returns an expression that tests a single criterion.
+	 * @param criterion The criterion to test
+	 * @return The expression
+	 * @since 1.2
+	 */
+	public static Expression of(Criterion criterion) {
+		return new Expression(Operator.CRITERION, criterion, List.of());
+	}
+
+	/**
+	 * Returns the negation of an expression.
+	 * @param operand The expression to negate
+	 * @return The expression
+	 * @since 1.2
+	 */
+	public static Expression not(Expression operand) {
+		return new Expression(Operator.NOT, null, List.of(operand));
+	}
+
+	/**
+	 * Returns the conjunction of expressions.
+	 * @param operands The expressions that must all be true
+	 * @return The expression
+	 * @since 1.2
+	 */
+	public static Expression and(List<Expression> operands) {
+		return new Expression(Operator.AND, null, operands);
+	}
+
+	/**
+	 * Returns the disjunction of expressions.
+	 * @param operands The expressions of which one must be true
+	 * @return The expression
+	 * @since 1.2
+	 */
+	public static Expression or(List<Expression> operands) {
+		return new Expression(Operator.OR, null, operands);
+	}
+
+	/**
+	 * Reads an expression.
+	 * @param text The expression, as entered in the rules editor
+	 * @param criteria The criteria the expression may refer to, keyed by name
+	 * @return The expression
+	 * @since 1.2
+	 * @throws ExpressionException The text is not a valid expression or refers to an unknown
+	 *     criterion
+	 */
+	public static Expression parse(String text, Map<String, Criterion> criteria)
+			throws ExpressionException {
+		Parser parser = new Parser(text, criteria);
+		Expression expression = parser.disjunction();
+		parser.skipSpaces();
+		if (parser.position < text.length()) {
+			throw new ExpressionException("Unexpected text at position " + parser.position + ": " + text);
+		}
+		return expression;
+	}
+
+	/**
+	 * Returns the result of the expression from the results of its criteria.
+	 * @return Result of the expression
+	 * @since 1.2
+	 * @throws CriterionNotEvaluatedException Criterion is not yet evaluated
+	 */
+	public boolean evaluate() throws CriterionNotEvaluatedException {
+		switch (operator) {
+			case CRITERION:
+				return criterion.getResult();
+			case NOT:
+				return ! operands.get(0).evaluate();
+			case AND:
+				for (Expression operand : operands) {
+					if (! operand.evaluate()) return false;
+				}
+				return true;
+			default:
+				for (Expression operand : operands) {
+					if (operand.evaluate()) return true;
+				}
+				return false;
+		}
+	}
+
+	/**
+	 * Returns the criteria the expression tests, each once, in the order they first appear.
+	 * @return The tested criteria
+	 * @since 1.2
+	 */
+	public List<Criterion> getCriteria() {
+		ArrayList<Criterion> criteria = new ArrayList<>();
+		collect(criteria);
+		return criteria;
+	}
+
+	private void collect(List<Criterion> criteria) {
+		if (operator == Operator.CRITERION) {
+			if (! criteria.contains(criterion)) criteria.add(criterion);
+			return;
+		}
+		for (Expression operand : operands) {
+			operand.collect(criteria);
+		}
+	}
+
+	/**
+	 * Returns a string representation of the object.
+	 * @return The expression, in the form accepted by {@code parse()}
+	 * @since 1.2
+	 */
+	@Override
+	public String toString() {
+		switch (operator) {
+			case CRITERION:
+				return "\"" + criterion.getName() + "\"";
+			case NOT:
+				return "NOT " + operands.get(0);
+			default:
+				StringBuilder text = new StringBuilder("(");
+				for (int index = 0; index < operands.size(); index++) {
+					if (index > 0) text.append(" ").append(operator).append(" ");
+					text.append(operands.get(index));
+				}
+				return text.append(")").toString();
+		}
+	}
+
+	private static final class Parser {
+		private final String text;
+		private final Map<String, Criterion> criteria;
+		private int position;
+
+		Parser(String text, Map<String, Criterion> criteria) {
+			this.text = text;
+			this.criteria = criteria;
+			this.position = 0;
+		}
+
+		Expression disjunction() throws ExpressionException {
+			ArrayList<Expression> operands = new ArrayList<>();
+			operands.add(conjunction());
+			while (keyword("OR")) {
+				operands.add(conjunction());
+			}
+			return operands.size() == 1 ? operands.get(0) : or(operands);
+		}
+
+		Expression conjunction() throws ExpressionException {
+			ArrayList<Expression> operands = new ArrayList<>();
+			operands.add(negation());
+			while (keyword("AND")) {
+				operands.add(negation());
+			}
+			return operands.size() == 1 ? operands.get(0) : and(operands);
+		}
+
+		Expression negation() throws ExpressionException {
+			if (keyword("NOT")) return not(negation());
+			skipSpaces();
+			if (position >= text.length()) {
+				throw new ExpressionException("Unexpected end of expression: " + text);
+			}
+			if (text.charAt(position) == '(') {
+				position++;
+				Expression grouped = disjunction();
+				skipSpaces();
+				if (position >= text.length() || text.charAt(position) != ')') {
+					throw new ExpressionException("Missing closing parenthesis: " + text);
+				}
+				position++;
+				return grouped;
+			}
+			if (text.charAt(position) != '"') {
+				throw new ExpressionException("Expected a quoted criterion name at position "
+						+ position + ": " + text);
+			}
+			int end = text.indexOf('"', position + 1);
+			if (end < 0) throw new ExpressionException("Unterminated criterion name: " + text);
+			String name = text.substring(position + 1, end);
+			position = end + 1;
+			Criterion criterion = criteria.get(name);
+			if (criterion == null) throw new ExpressionException("Unknown criterion: " + name);
+			return of(criterion);
+		}
+
+		boolean keyword(String keyword) {
+			skipSpaces();
+			int end = position + keyword.length();
+			if (end > text.length() || ! text.regionMatches(true, position, keyword, 0, keyword.length())) {
+				return false;
+			}
+			if (end < text.length() && Character.isLetterOrDigit(text.charAt(end))) return false;
+			position = end;
+			return true;
+		}
+
+		void skipSpaces() {
+			while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+				position++;
+			}
+		}
+	}
+}
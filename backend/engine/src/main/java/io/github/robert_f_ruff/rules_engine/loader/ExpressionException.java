@@ -0,0 +1,17 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+/**
+ * Error occurred while reading a rule's criteria expression.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public class ExpressionException extends Exception {
+	/**
+	 * New instance of ExpressionException.
+	 * @param message The error message to include with the exception
+	 * @since 1.2
+	 */
+	public ExpressionException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,240 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The criteria expressions of every rule in a rule set, compiled into one directed acyclic graph.
+ * Identical subexpressions, within a rule or across rules, share a node, and the result of each
+ * node is kept in the evaluation context, so a subexpression is decided at most once per
+ * evaluation. {@code AND} and {@code OR} stop at the first operand that decides them.
+ * <p>A criterion that cannot judge the data leaves its node unknown: {@code NOT} of unknown is
+ * unknown, {@code AND} is false if any operand is false and otherwise unknown if any is unknown,
+ * and {@code OR} is true if any operand is true and otherwise unknown if any is unknown.</p>
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public final class ExpressionGraph {
+	/**
+	 * Result code of a node whose criteria could not all be judged.
+	 */
+	static final byte UNKNOWN = 3;
+	/**
+	 * Result code of a criterion node whose criterion has been asked for but not yet judged.
+	 */
+	static final byte REQUESTED = 4;
+	private static final Expression.Operator[] OPERATORS = Expression.Operator.values();
+	private final byte[] operators;
+	private final int[][] operands;
+	private final int[] roots;
+
+	/**
+	 * Returns the number of nodes in the graph.
+	 * @return Number of nodes
+	 * @since 1.2
+	 */
+	public int size() {
+		return operators.length;
+	}
+
+	/**
+	 * Returns the node that decides a rule.
+	 * @param rule Position of the rule in the rule set
+	 * @return The rule's node, or -1 if the rule is the conjunction of its criteria
+	 * @since 1.2
+	 */
+	public int getRoot(int rule) {
+		return roots[rule];
+	}
+
+	/**
+	 * Decides a node from the criterion results recorded in the context, as far as they allow.
+	 * When a criterion that has not been judged is needed, evaluation stops and asks for it; the
+	 * caller judges it, or declines to, and calls again. A criterion that is asked for twice
+	 * without being judged is unknown.
+	 * @param node The node to decide
+	 * @param context Criterion and node results of the current evaluation
+	 * @return Position of the criterion to judge before calling again, or -1 once the node is
+	 *     decided
+	 * @since 1.2
+	 */
+	public int evaluate(int node, EvaluationContext context) {
+		byte known = context.getNodeResult(node);
+		if (known != EvaluationContext.NOT_EVALUATED && known != REQUESTED) return -1;
+		int[] children = operands[node];
+		switch (OPERATORS[operators[node]]) {
+			case CRITERION: {
+				byte result = context.getResult(children[0]);
+				if (result != EvaluationContext.NOT_EVALUATED) {
+					context.setNodeResult(node, result);
+				} else if (known == REQUESTED) {
+					context.setNodeResult(node, UNKNOWN);
+				} else {
+					context.setNodeResult(node, REQUESTED);
+					return children[0];
+				}
+				return -1;
+			}
+			case NOT: {
+				int pending = evaluate(children[0], context);
+				if (pending >= 0) return pending;
+				byte result = context.getNodeResult(children[0]);
+				context.setNodeResult(node, result == EvaluationContext.TRUE ? EvaluationContext.FALSE
+						: result == EvaluationContext.FALSE ? EvaluationContext.TRUE : UNKNOWN);
+				return -1;
+			}
+			default: {
+				byte deciding = OPERATORS[operators[node]] == Expression.Operator.AND
+						? EvaluationContext.FALSE : EvaluationContext.TRUE;
+				boolean unknown = false;
+				for (int child = 0; child < children.length; child++) {
+					int pending = evaluate(children[child], context);
+					if (pending >= 0) return pending;
+					byte result = context.getNodeResult(children[child]);
+					if (result == deciding) {
+						context.setNodeResult(node, deciding);
+						return -1;
+					}
+					if (result == UNKNOWN) unknown = true;
+				}
+				context.setNodeResult(node, unknown ? UNKNOWN
+						: deciding == EvaluationContext.FALSE ? EvaluationContext.TRUE : EvaluationContext.FALSE);
+				return -1;
+			}
+		}
+	}
+
+	/**
+	 * Forgets the results of a node and of every node below it, so that they are decided afresh,
+	 * such as against data joined with the data first evaluated.
+	 * @param node The node
+	 * @param context Criterion and node results of the current evaluation
+	 * @since 1.2
+	 */
+	public void clear(int node, EvaluationContext context) {
+		context.setNodeResult(node, EvaluationContext.NOT_EVALUATED);
+		if (OPERATORS[operators[node]] == Expression.Operator.CRITERION) return;
+		int[] children = operands[node];
+		for (int child = 0; child < children.length; child++) {
+			clear(children[child], context);
+		}
+	}
+
+	/**
+	 * Returns the criterion that decided a node. Below an {@code AND} or {@code OR}, this follows
+	 * the first operand that decided it, or the first that is unknown or not yet decided; when
+	 * every operand was needed, it follows the first.
+	 * @param node The node
+	 * @param context Criterion and node results of the current evaluation
+	 * @return Position of the criterion in the rule set
+	 * @since 1.2
+	 */
+	public int getDecidingCriterion(int node, EvaluationContext context) {
+		while (OPERATORS[operators[node]] != Expression.Operator.CRITERION) {
+			int[] children = operands[node];
+			if (OPERATORS[operators[node]] == Expression.Operator.NOT) {
+				node = children[0];
+				continue;
+			}
+			byte deciding = OPERATORS[operators[node]] == Expression.Operator.AND
+					? EvaluationContext.FALSE : EvaluationContext.TRUE;
+			byte result = context.getNodeResult(node);
+			int next = children[0];
+			for (int child = 0; child < children.length; child++) {
+				byte operand = getResult(children[child], context);
+				if (result == deciding ? operand == deciding
+						: result != EvaluationContext.TRUE && result != EvaluationContext.FALSE
+								&& operand == EvaluationContext.NOT_EVALUATED) {
+					next = children[child];
+					break;
+				}
+			}
+			node = next;
+		}
+		return operands[node][0];
+	}
+
+	/**
+	 * Returns the decided result of a node.
+	 * @param node The node
+	 * @param context Criterion and node results of the current evaluation
+	 * @return {@code EvaluationContext.TRUE} or {@code EvaluationContext.FALSE}, or
+	 *     {@code EvaluationContext.NOT_EVALUATED} if the node is unknown or not yet decided
+	 * @since 1.2
+	 */
+	public byte getResult(int node, EvaluationContext context) {
+		byte result = context.getNodeResult(node);
+		return result == EvaluationContext.TRUE || result == EvaluationContext.FALSE ? result
+				: EvaluationContext.NOT_EVALUATED;
+	}
+
+	/**
+	 * New instance of ExpressionGraph.
+	 * @param expressions Criteria expression of each rule, by rule position; {@code null} for a
+	 *     rule that is the conjunction of its criteria
+	 * @param positions Position of every criterion in the rule set
+	 */
+	ExpressionGraph(Expression[] expressions, Map<Criterion, Integer> positions) {
+		Compiler compiler = new Compiler(positions);
+		this.roots = new int[expressions.length];
+		for (int rule = 0; rule < expressions.length; rule++) {
+			roots[rule] = expressions[rule] == null ? -1 : compiler.add(expressions[rule]);
+		}
+		this.operators = new byte[compiler.operators.size()];
+		for (int node = 0; node < operators.length; node++) {
+			operators[node] = (byte) compiler.operators.get(node).ordinal();
+		}
+		this.operands = compiler.operands.toArray(new int[compiler.operands.size()][]);
+	}
+
+	private static final class Compiler {
+		private record Node(Expression.Operator operator, List<Integer> operands) { }
+		private final Map<Criterion, Integer> positions;
+		private final HashMap<Node, Integer> nodes = new HashMap<>();
+		private final ArrayList<Expression.Operator> operators = new ArrayList<>();
+		private final ArrayList<int[]> operands = new ArrayList<>();
+
+		Compiler(Map<Criterion, Integer> positions) {
+			this.positions = positions;
+		}
+
+		int add(Expression expression) {
+			switch (expression.operator()) {
+				case CRITERION:
+					return node(Expression.Operator.CRITERION, List.of(positions.get(expression.criterion())));
+				case NOT: {
+					Expression operand = expression.operands().get(0);
+					if (operand.operator() == Expression.Operator.NOT) return add(operand.operands().get(0));
+					return node(Expression.Operator.NOT, List.of(add(operand)));
+				}
+				default: {
+					ArrayList<Integer> children = new ArrayList<>();
+					flatten(expression.operator(), expression, children);
+					if (children.size() == 1) return children.get(0);
+					return node(expression.operator(), children);
+				}
+			}
+		}
+
+		private void flatten(Expression.Operator operator, Expression expression, List<Integer> children) {
+			for (Expression operand : expression.operands()) {
+				if (operand.operator() == operator) {
+					flatten(operator, operand, children);
+					continue;
+				}
+				int child = add(operand);
+				if (! children.contains(child)) children.add(child);
+			}
+		}
+
+		private int node(Expression.Operator operator, List<Integer> children) {
+			return nodes.computeIfAbsent(new Node(operator, children), key -> {
+				operators.add(operator);
+				operands.add(children.stream().mapToInt(Integer::intValue).toArray());
+				return operators.size() - 1;
+			});
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the rule records with plain JDBC over the pooled data source, as a lighter alternative
+ * to a Hibernate session: each query borrows a connection only while it runs, columns are read
+ * as primitives by position, and no persistence context tracks the rows. Rows are fetched from
+ * the database the configured number at a time; MySQL only honours the fetch size when the
+ * connection URL sets {@code useCursorFetch=true}.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Component
+public class JdbcRuleReader {
+	private final boolean enabled;
+	private final JdbcTemplate template;
+
+	/**
+	 * Indicates whether the rule records are read through this reader rather than Hibernate.
+	 * @return Whether the reader is enabled
+	 * @since 1.2
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Reads every rule with its criteria.
+	 * @return One record per rule and criterion, as selected by
+	 * 		{@code RuleRepository.RULE_CRITERIA_QUERY}
+	 * @since 1.2
+	 * @throws org.springframework.dao.DataAccessException Error occurred while querying the database
+	 */
+	public List<RuleCriterionDataTransfer> readCriteria() {
+		return template.query(RuleRepository.RULE_CRITERIA_QUERY, (row, number) ->
+				new RuleCriterionDataTransfer(row.getLong(1), row.getString(2), row.getString(3),
+						row.getInt(4), row.getString(5), row.getString(6)));
+	}
+
+	/**
+	 * Reads every action parameter of every rule.
+	 * @return One record per rule, action and parameter, as selected by
+	 * 		{@code RuleRepository.RULE_ACTIONS_QUERY}
+	 * @since 1.2
+	 * @throws org.springframework.dao.DataAccessException Error occurred while querying the database
+	 */
+	public List<RuleActionDataTransfer> readActions() {
+		return template.query(RuleRepository.RULE_ACTIONS_QUERY, (row, number) ->
+				new RuleActionDataTransfer(row.getLong(1), row.getShort(2), row.getString(3),
+						row.getString(4), row.getString(5), row.getString(6)));
+	}
+
+	/**
+	 * New instance of JdbcRuleReader.
+	 * @param enabled Whether the rule records are read through this reader rather than Hibernate
+	 * @param dataSource The pooled data source to borrow connections from
+	 * @param fetchSize Number of rows fetched from the database at a time
+	 * @since 1.2
+	 */
+	@Autowired
+	public JdbcRuleReader(@Value("${rules_engine.loader.jdbc:false}") boolean enabled,
+			DataSource dataSource, @Value("${rules_engine.loader.fetch_size:500}") int fetchSize) {
+		this.enabled = enabled;
+		this.template = dataSource == null ? null : new JdbcTemplate(dataSource);
+		if (template != null) template.setFetchSize(fetchSize);
+	}
+
+	/**
+	 * New instance of JdbcRuleReader that is disabled.
+	 * @since 1.2
+	 */
+	public JdbcRuleReader() {
+		this(false, null, 0);
+	}
+}
@@ -1,23 +1,54 @@
 package io.github.robert_f_ruff.rules_engine.loader;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.TreeMap;
 
 import io.github.robert_f_ruff.rules_engine.actions.Action;
 import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionExecutor;
+import io.github.robert_f_ruff.rules_engine.actions.ActionFilter;
+import io.github.robert_f_ruff.rules_engine.actions.ActionListener;
+import io.github.robert_f_ruff.rules_engine.events.ActionExecuteEvent;
+import io.github.robert_f_ruff.rules_engine.events.RuleFireEvent;
 
 /**
  * Defines the set of actions to execute when the set of criteria evaluates to true.
  * @author Robert F. Ruff
- * @version 1.0
+ * @version 1.2
  */
 public class Rule {
+	/**
+	 * Identifies the possible outcomes of resolving a rule against a single evaluation.
+	 * @since 1.2
+	 */
+	public static enum Applicability {
+		/**
+		 * All criteria evaluated to true.
+		 * @since 1.2
+		 */
+		APPLICABLE,
+		/**
+		 * A criterion evaluated to false.
+		 * @since 1.2
+		 */
+		NOT_APPLICABLE,
+		/**
+		 * A criterion was not evaluated before any criterion evaluated to false.
+		 * @since 1.2
+		 */
+		UNDETERMINED
+	}
 	private Long id;
 	private String name;
+	private int priority;
 	private boolean determinedApplicability;
 	private ArrayList<Criterion> criteria;
+	private Expression expression;
 	private TreeMap<Integer, Action> actions;
+	private Integer[] sequenceNumbers;
+	private Action[] sequence;
 	
 	/**
 	 * Returns the rule's unique identifying number.
@@ -37,6 +68,15 @@ public class Rule {
 		return this.name;
 	}
 
+	/**
+	 * Returns the rule's priority.
+	 * @return The priority of this rule; rules with a higher priority are visited first
+	 * @since 1.2
+	 */
+	public int getPriority() {
+		return this.priority;
+	}
+
 	/**
 	 * Returns the criteria set.
 	 * @return The list of criteria for this rule
@@ -55,6 +95,30 @@ public class Rule {
 		this.criteria.add(criterion);
 	}
 
+	/**
+	 * Returns the expression that combines the rule's criteria.
+	 * @return The criteria expression, or {@code null} if the rule is the conjunction of its
+	 *     criteria
+	 * @since 1.2
+	 */
+	public Expression getExpression() {
+		return this.expression;
+	}
+
+	/**
+	 * Combine the rule's criteria with an expression rather than ANDing them; criteria the
+	 * expression tests are added to the criteria set.
+	 * @param expression The criteria expression, or {@code null} to AND the criteria
+	 * @since 1.2
+	 */
+	public void setExpression(Expression expression) {
+		this.expression = expression;
+		if (expression == null) return;
+		for (Criterion criterion : expression.getCriteria()) {
+			if (! criteria.contains(criterion)) criteria.add(criterion);
+		}
+	}
+
 	/**
 	 * Returns the action set.
 	 * @return The list of actions to execute for this rule, in execution sequence order
@@ -75,17 +139,24 @@ public class Rule {
 	public void addAction(Integer sequenceNumber, Action action) {
 		if (! actions.containsKey(sequenceNumber)) {
 			this.actions.put(sequenceNumber, action);
+			this.sequenceNumbers = actions.keySet().toArray(new Integer[actions.size()]);
+			this.sequence = actions.values().toArray(new Action[actions.size()]);
 		}
 	}
 
 	/**
 	 * Returns the rule's applicablity, the logical result of ANDing all criterion in the criteria
-	 * set.
+	 * set, or of the criteria expression if the rule has one.
 	 * @return The rule's applicability
    * @since 1.0
 	 * @throws CriterionNotEvaluatedException Criterion is not yet evaluated
 	 */
 	public boolean getApplicable() throws CriterionNotEvaluatedException {
+		if (expression != null) {
+			boolean applicable = expression.evaluate();
+			determinedApplicability = true;
+			return applicable;
+		}
 		boolean applicable = false;
 		// AND all criteria together
 		for (Criterion criterion : criteria) {
@@ -104,17 +175,102 @@ public class Rule {
 	 * @throws ActionException Error occurred while performing an act
 	 */
 	public void executeActions() throws ActionException {
+		executeActions(null);
+	}
+
+	/**
+	 * Perform the acts defined in the action set in execution order, notifying the listener as
+	 * each act completes.
+	 * @param listener Receives the duration and outcome of each act; may be {@code null}
+	 * @since 1.2
+	 * @throws ActionException Error occurred while performing an act
+	 */
+	public void executeActions(ActionListener listener) throws ActionException {
+		if (actions.size() > 0 && ! determinedApplicability) throw new ActionException("Applicability not determined");
+		executeActions(listener, null, null, null, null, null);
+	}
+
+	/**
+	 * Perform the acts defined in the action set in execution order, skipping any act that an
+	 * equal action has already performed during the current evaluation. The caller vouches that
+	 * the rule is applicable, so the rule's own state is neither checked nor changed.
+	 * @param listener Receives the duration and outcome of each act; may be {@code null}
+	 * @param distinct Position of each act among the rule set's distinct actions, in execution
+	 *     order; {@code null} to perform every act
+	 * @param context Records the distinct actions already performed during the current evaluation
+	 * @param filter Decides whether each act is performed; may be {@code null}
+	 * @param data The data the rule was found applicable to, passed to the filter
+	 * @param executor Performs each act, and takes charge of the failed act and the remaining acts
+	 *     that would have been performed if one fails; {@code null} to perform acts on the calling
+	 *     thread
+	 * @throws ActionException Error occurred while performing an act
+	 */
+	void executeActions(ActionListener listener, int[] distinct, EvaluationContext context,
+			ActionFilter filter, Object data, ActionExecutor executor) throws ActionException {
 		if (actions.size() == 0) throw new ActionException("No actions to execute");
 
-		if (! determinedApplicability) throw new ActionException("Applicability not determined");
+		RuleFireEvent fireEvent = RuleFireEvent.enabled() ? new RuleFireEvent() : null;
+		if (fireEvent != null) fireEvent.begin();
+		int index = 0;
+		try {
+			for (; index < sequence.length; index++) {
+				if (distinct != null && context.isActionPerformed(distinct[index])) continue;
+				if (filter != null && ! filter.permits(id, data, sequence[index])) {
+					if (listener != null) listener.actionSuppressed(sequence[index]);
+					continue;
+				}
+				if (distinct != null) context.setActionPerformed(distinct[index]);
+				ActionExecuteEvent actionEvent = ActionExecuteEvent.enabled() ? new ActionExecuteEvent() : null;
+				if (actionEvent != null) actionEvent.begin();
+				long start = listener == null ? 0 : System.nanoTime();
+				boolean succeeded = false;
+				try {
+					if (executor == null) {
+						sequence[index].execute();
+					} else {
+						executor.execute(sequence[index]);
+					}
+					succeeded = true;
+				} catch (ActionException e) {
+					if (executor != null) {
+						executor.defer(name, remainingActions(index, distinct, context, filter, data, listener));
+					}
+					throw new ActionException("Action #" + sequenceNumbers[index].toString() + " - " + e.getMessage());
+				} finally {
+					if (listener != null) listener.actionCompleted(sequence[index], System.nanoTime() - start, succeeded);
+					if (actionEvent != null && actionEvent.shouldCommit()) {
+						actionEvent.actionType = sequence[index].getClass();
+						actionEvent.sequenceNumber = sequenceNumbers[index];
+						actionEvent.succeeded = succeeded;
+						actionEvent.commit();
+					}
+				}
+			}
+		} finally {
+			if (fireEvent != null && fireEvent.shouldCommit()) {
+				fireEvent.ruleId = id;
+				fireEvent.rule = name;
+				fireEvent.actionsCompleted = index;
+				fireEvent.commit();
+			}
+		}
+	}
 
-		for (Integer sequenceNumber : actions.keySet()) {
-			try {
-				actions.get(sequenceNumber).execute();
-			} catch (ActionException e) {
-				throw new ActionException("Action #" + sequenceNumber.toString() + " - " + e.getMessage());
+	private Action[] remainingActions(int failed, int[] distinct, EvaluationContext context,
+			ActionFilter filter, Object data, ActionListener listener) {
+		Action[] remaining = new Action[sequence.length - failed];
+		int count = 0;
+		remaining[count++] = sequence[failed];
+		for (int index = failed + 1; index < sequence.length; index++) {
+			if (distinct != null && context.isActionPerformed(distinct[index])) continue;
+			if (filter != null && ! filter.permits(id, data, sequence[index])) {
+				if (listener != null) listener.actionSuppressed(sequence[index]);
+				continue;
 			}
+			if (distinct != null) context.setActionPerformed(distinct[index]);
+			remaining[count++] = sequence[index];
 		}
+		return Arrays.copyOf(remaining, count);
 	}
 
 	/**
@@ -124,10 +280,25 @@ public class Rule {
    * @since 1.0
 	 */
 	public Rule(Long id, String name) {
+		this(id, name, 0);
+	}
+
+	/**
+	 * New instance of Rule.
+	 * @param id The unique identifier number for this rule, as stored in the database
+	 * @param name The name of this rule
+	 * @param priority The priority of this rule; rules with a higher priority are visited first
+	 * @since 1.2
+	 */
+	public Rule(Long id, String name, int priority) {
 		this.id = id;
 		this.name = name;
+		this.priority = priority;
 		this.criteria = new ArrayList<>();
+		this.expression = null;
 		this.actions = new TreeMap<>();
+		this.sequenceNumbers = new Integer[0];
+		this.sequence = new Action[0];
 	}
 	
 	/**
@@ -162,6 +333,6 @@ public class Rule {
 	 */
 	@Override
 	public String toString() {
-		return "Rule [id=" + id + ", name=" + name + "]";
+		return "Rule [id=" + id + ", name=" + name + ", priority=" + priority + "]";
 	}
 }
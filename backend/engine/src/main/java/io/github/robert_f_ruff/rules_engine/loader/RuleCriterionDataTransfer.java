@@ -7,11 +7,13 @@ import java.util.regex.Pattern;
 /**
  * Defines a single record returned from the database by the RuleCriteria named query.
  * @author Robert F. Ruff
- * @version 1.0
+ * @version 1.2
  */
 public class RuleCriterionDataTransfer {
   private Long ruleId;
   private String ruleName;
+  private String ruleExpression;
+  private int rulePriority;
   private String criterionName;
   private String criterionLogicClassName;
   private String criterionLogicMethodName;
@@ -35,6 +37,24 @@ public class RuleCriterionDataTransfer {
     return ruleName;
   }
 
+  /**
+   * Returns the rule's criteria expression.
+   * @return The expression combining the rule's criteria, or {@code null} if the rule ANDs them
+   * @since 1.2
+   */
+  public String getRuleExpression() {
+    return ruleExpression;
+  }
+
+  /**
+   * Returns the rule's priority.
+   * @return The priority of this record's rule
+   * @since 1.2
+   */
+  public int getRulePriority() {
+    return rulePriority;
+  }
+
   /**
    * Returns the criterion name.
    * @return The name of this criterion, as presented in the rules editor
@@ -85,8 +105,27 @@ public class RuleCriterionDataTransfer {
    */
   RuleCriterionDataTransfer(Long ruleId, String ruleName, String criterionName,
       String criterionLogic) {
+    this(ruleId, ruleName, null, 0, criterionName, criterionLogic);
+  }
+
+  /**
+   * New instance of RuleCriterionDataTransfer.
+   * @param ruleId The unique identifier number for this record's rule
+   * @param ruleName The name of this rule
+   * @param ruleExpression The expression combining the rule's criteria; {@code null} or blank if
+   *     the rule ANDs them
+   * @param rulePriority The priority of this record's rule
+   * @param criterionName The name of this criterion, as presented in the rules editor
+   * @param criterionLogic The logic for this criterion, formatted as
+   *     {@code ClassName.methodName=checkValue}
+   * @since 1.2
+   */
+  RuleCriterionDataTransfer(Long ruleId, String ruleName, String ruleExpression,
+      int rulePriority, String criterionName, String criterionLogic) {
     this.ruleId = ruleId;
     this.ruleName = ruleName;
+    this.ruleExpression = ruleExpression == null || ruleExpression.isBlank() ? null : ruleExpression;
+    this.rulePriority = rulePriority;
     this.criterionName = criterionName;
     if (criterionLogic != null) {
       Pattern logicPattern = Pattern.compile("\\A([A-za-z]+)\\.{1}([A-Za-z]+)={0,1}(.*)\\z");
@@ -120,6 +159,8 @@ public class RuleCriterionDataTransfer {
 		RuleCriterionDataTransfer dto = (RuleCriterionDataTransfer) o;
 		return Objects.equals(ruleId, dto.getRuleId())
         && Objects.equals(ruleName, dto.getRuleName())
+        && Objects.equals(ruleExpression, dto.getRuleExpression())
+        && rulePriority == dto.getRulePriority()
         && Objects.equals(criterionName, dto.getCriterionName())
         && Objects.equals(criterionLogicClassName, dto.getCriterionLogicClassName())
         && Objects.equals(criterionLogicMethodName, dto.getCriterionLogicMethodName())
@@ -133,7 +174,7 @@ public class RuleCriterionDataTransfer {
    */
   @Override
 	public int hashCode() {
-    return Objects.hash(ruleId, ruleName, criterionName, criterionLogicClassName,
+    return Objects.hash(ruleId, ruleName, ruleExpression, rulePriority, criterionName, criterionLogicClassName,
         criterionLogicMethodName, criterionLogicCheckValue);
   }
 
@@ -145,6 +186,7 @@ public class RuleCriterionDataTransfer {
   @Override
   public String toString() {
     return "RuleCriterionDataTransfer [ruleId=" + ruleId + ", ruleName=" + ruleName
+        + ", ruleExpression=" + ruleExpression + ", rulePriority=" + rulePriority
         + ", criterionName=" + criterionName + ", criterionLogicClassName="
         + criterionLogicClassName + ", criterionLogicMethodName=" + criterionLogicMethodName
         + ", criterionLogicCheckValue=" + criterionLogicCheckValue + "]";
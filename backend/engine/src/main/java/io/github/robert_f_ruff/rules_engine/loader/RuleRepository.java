@@ -1,5 +1,6 @@
 package io.github.robert_f_ruff.rules_engine.loader;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -19,14 +20,17 @@ import io.github.robert_f_ruff.rules_engine.actions.Action;
 import io.github.robert_f_ruff.rules_engine.actions.ActionFactory;
 import io.github.robert_f_ruff.rules_engine.actions.ActionFactoryException;
 import io.github.robert_f_ruff.rules_engine.actions.ParameterException;
+import io.github.robert_f_ruff.rules_engine.events.RuleSetReloadEvent;
 import io.github.robert_f_ruff.rules_engine.logic.Logic;
 import io.github.robert_f_ruff.rules_engine.logic.LogicFactory;
 import io.github.robert_f_ruff.rules_engine.logic.LogicFactoryException;
+import io.github.robert_f_ruff.rules_engine.metrics.EngineMetrics;
+import io.github.robert_f_ruff.rules_engine.warmup.SnapshotWarmer;
 
 /**
  * Builds and stores the rule set (including criteria and actions) used by the engine.
  * @author Robert F. Ruff
- * @version 1.1
+ * @version 1.2
  */
 @Repository
 public class RuleRepository {
@@ -35,7 +39,7 @@ public class RuleRepository {
 	 * @since 1.1
 	 */
 	public static final String RULE_CRITERIA_QUERY = """
-		SELECT rule.id AS rule_id, rule.name AS rule_name,
+		SELECT rule.id AS rule_id, rule.name AS rule_name, rule.expression, rule.priority,
 				criterion.name AS criterion, criterion.logic
 		FROM (rules_rule AS rule LEFT JOIN rules_rule_criteria
 						ON rule.id = rules_rule_criteria.rule_id)
@@ -72,7 +76,11 @@ public class RuleRepository {
 	private Session session;
 	private HashMap<Long, Rule> rules;
 	private ArrayList<Criterion> criteria;
+	private volatile RuleSet ruleSet;
 	private ActionFactory actionFactory;
+	private EngineMetrics metrics;
+	private SnapshotWarmer warmer;
+	private JdbcRuleReader reader;
 	private Logger logger;
 	
 	/**
@@ -97,7 +105,17 @@ public class RuleRepository {
 	}
 
 	/**
-	 * Reloads the rules from the database.
+	 * Returns the snapshot of the rule set that was built by the most recent load.
+	 * @return Rule set to evaluate
+	 * @since 1.2
+	 */
+	public RuleSet getRuleSet() {
+		return ruleSet;
+	}
+
+	/**
+	 * Reloads the rules from the database; the previous rule set stays live until the new one
+	 * has been warmed up.
    * @since 1.0
 	 */
 	public void reloadRules() {
@@ -107,41 +125,58 @@ public class RuleRepository {
 	}
 
 	private void loadRules() {
+		RuleSetReloadEvent event = new RuleSetReloadEvent();
+		event.begin();
+		long start = System.nanoTime();
 		logger.info("Retrieving rule records from data source");
-		List<RuleCriterionDataTransfer> ruleCriteriaRecords = 
-				session.createNativeQuery(RULE_CRITERIA_QUERY, Tuple.class)
-				.setTupleTransformer((tuple, alias) -> {
-					return new RuleCriterionDataTransfer((Long)tuple[0], (String)tuple[1], (String)tuple[2], (String)tuple[3]);
-				})
-				.getResultList();
-		List<RuleActionDataTransfer> ruleActionRecords =
-				session.createNativeQuery(RULE_ACTIONS_QUERY, Tuple.class)
-				.setTupleTransformer((tuple, alias) -> {
-					return new RuleActionDataTransfer((Long)tuple[0], (Short)tuple[1], (String)tuple[2], (String)tuple[3], (String)tuple[4], (String)tuple[5]);
-				})
-				.getResultList();
+		long allocated = allocatedBytes();
+		List<RuleCriterionDataTransfer> ruleCriteriaRecords;
+		List<RuleActionDataTransfer> ruleActionRecords;
+		if (reader.isEnabled()) {
+			ruleCriteriaRecords = reader.readCriteria();
+			ruleActionRecords = reader.readActions();
+		} else {
+			ruleCriteriaRecords = session.createNativeQuery(RULE_CRITERIA_QUERY, Tuple.class)
+					.setTupleTransformer((tuple, alias) -> {
+						return new RuleCriterionDataTransfer((Long)tuple[0], (String)tuple[1], (String)tuple[2], ((Number)tuple[3]).intValue(), (String)tuple[4], (String)tuple[5]);
+					})
+					.getResultList();
+			ruleActionRecords = session.createNativeQuery(RULE_ACTIONS_QUERY, Tuple.class)
+					.setTupleTransformer((tuple, alias) -> {
+						return new RuleActionDataTransfer((Long)tuple[0], (Short)tuple[1], (String)tuple[2], (String)tuple[3], (String)tuple[4], (String)tuple[5]);
+					})
+					.getResultList();
+		}
+		logger.info("Retrieved " + ruleCriteriaRecords.size() + " rule criteria records and "
+				+ ruleActionRecords.size() + " rule action records through "
+				+ (reader.isEnabled() ? "JDBC" : "Hibernate") + " in "
+				+ (System.nanoTime() - start) / 1000000 + " ms, allocating "
+				+ (allocatedBytes() - allocated) / 1024 + " KB");
 		logger.info("Processing returned rule criteria records:");
+		boolean debugging = logger.isDebugEnabled();
 		HashMap<Criterion, List<Rule>> criterionMap = new HashMap<>();
+		HashMap<Rule, String> expressions = new HashMap<>();
 		ruleCriteriaRecords.stream().forEach(record -> {
-			logger.info("  Processing record " + record);
+			if (debugging) logger.debug("  Processing record " + record);
 			Rule rule;
 			if (rules.containsKey(record.getRuleId())) {
-				logger.info("  Retrieving existing rule");
+				if (debugging) logger.debug("  Retrieving existing rule");
 				rule = rules.get(record.getRuleId());
 			} else {
-				logger.info("  Creating new rule");
-				rule = new Rule(record.getRuleId(), record.getRuleName());
+				if (debugging) logger.debug("  Creating new rule");
+				rule = new Rule(record.getRuleId(), record.getRuleName(), record.getRulePriority());
 				rules.put(rule.getId(), rule);
+				if (record.getRuleExpression() != null) expressions.put(rule, record.getRuleExpression());
 			}
 			try {
 				Logic logicClass = LogicFactory.createInstance(record.getCriterionLogicClassName());
 				Criterion criterion = new Criterion(record.getCriterionName(), logicClass,
 						record.getCriterionLogicMethodName(), record.getCriterionLogicCheckValue());
 				if (criteria.contains(criterion)) {
-					logger.info("  Retrieving criterion from collection");
+					if (debugging) logger.debug("  Retrieving criterion from collection");
 					criterion = criteria.get(criteria.indexOf(criterion));
 				}	else {
-					logger.info("  Adding criterion to collection");
+					if (debugging) logger.debug("  Adding criterion to collection");
 					criteria.add(criterion);
 				}
 				rule.addCriterion(criterion);
@@ -151,13 +186,27 @@ public class RuleRepository {
 				logger.error("Could not create criterion " + record.getCriterionName() + ": "
 						+ error.getMessage());
 			}
-			logger.info("  -------");
+			if (debugging) logger.debug("  -------");
 		});
+		ArrayList<Long> invalidRules = new ArrayList<>();
+		for (Map.Entry<Rule, String> expression : expressions.entrySet()) {
+			Rule rule = expression.getKey();
+			HashMap<String, Criterion> ruleCriteria = new HashMap<>();
+			for (Criterion criterion : rule.getCriteria()) {
+				ruleCriteria.put(criterion.getName(), criterion);
+			}
+			try {
+				rule.setExpression(Expression.parse(expression.getValue(), ruleCriteria));
+			} catch (ExpressionException error) {
+				logger.error("Could not read the criteria expression of rule " + rule.getName() + ": "
+						+ error.getMessage());
+				invalidRules.add(rule.getId());
+			}
+		}
 		logger.info("Processing returned rule action records:");
 		HashMap<RuleIdActionSequence, Action> actions = new HashMap<>();
-		ArrayList<Long> invalidRules = new ArrayList<>();
 		ruleActionRecords.stream().forEach((record) -> {
-			logger.info("  Processing record " + record);
+			if (debugging) logger.debug("  Processing record " + record);
 			Rule rule = rules.get(record.getRuleId());
 			try {
 				Action action;
@@ -181,8 +230,11 @@ public class RuleRepository {
 						+ error.getMessage());
 				invalidRules.add(record.getRuleId());
 			}
-			logger.info("  -------");
+			if (debugging) logger.debug("  -------");
 		});
+		for (Action action : actions.values()) {
+			action.prepare();
+		}
 		logger.info("Validating rule set");
 		Iterator<Map.Entry<Long, Rule>> entries = rules.entrySet().iterator();
 		while (entries.hasNext()) {
@@ -219,6 +271,15 @@ public class RuleRepository {
 				criterion.remove();
 			}
 		}
+		RuleSet loaded = new RuleSet(criteria, rules);
+		warmer.warm(loaded);
+		ruleSet = loaded;
+		metrics.ruleSetLoaded(ruleSet, System.nanoTime() - start);
+		if (event.shouldCommit()) {
+			event.rules = ruleSet.getRuleCount();
+			event.criteria = ruleSet.getCriterionCount();
+			event.commit();
+		}
 	}
 
 	/**
@@ -229,11 +290,43 @@ public class RuleRepository {
 	 * 		 implement the Action interface
    * @since 1.1
 	 */
-	@Autowired
 	public RuleRepository(SessionFactory sessionFactory, ActionFactory actionFactory) {
-		this();
-		this.session = sessionFactory.openSession();;
+		this(sessionFactory, actionFactory, new EngineMetrics(), new SnapshotWarmer(),
+				new JdbcRuleReader());
+	}
+
+	private static long allocatedBytes() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads) {
+			return threads.getCurrentThreadAllocatedBytes();
+		}
+		return 0;
+	}
+
+	/**
+	 * New instance of RuleRepository; executes {@code RuleRepository.loadRules()} to
+	 * build the rule set, which goes live once warmed up. When the JDBC reader is enabled, the
+	 * rule records are read through it and no Hibernate session is opened.
+	 * @param sessionFactory Hibernate session to execute queries with
+	 * @param actionFactory Instance of ActionFactory that will return object instances that
+	 * 		 implement the Action interface
+	 * @param metrics Instance of EngineMetrics that records the duration and size of each load
+	 * @param warmer Instance of SnapshotWarmer that warms up each loaded rule set before it is
+	 * 		 published
+	 * @param reader Instance of JdbcRuleReader that reads the rule records with plain JDBC
+	 * @since 1.2
+	 */
+	@Autowired
+	public RuleRepository(SessionFactory sessionFactory, ActionFactory actionFactory,
+			EngineMetrics metrics, SnapshotWarmer warmer, JdbcRuleReader reader) {
+		this.session = reader.isEnabled() ? null : sessionFactory.openSession();
 		this.actionFactory = actionFactory;
+		this.rules = new HashMap<>();
+		this.criteria = new ArrayList<>();
+		this.ruleSet = new RuleSet();
+		this.metrics = metrics;
+		this.warmer = warmer;
+		this.reader = reader;
+		this.logger = LoggerFactory.getLogger(this.getClass().getName());
 		loadRules();
 	}
 
@@ -246,6 +339,10 @@ public class RuleRepository {
 		this.actionFactory = null;
 		this.rules = new HashMap<>();
 		this.criteria = new ArrayList<>();
+		this.ruleSet = new RuleSet();
+		this.metrics = new EngineMetrics();
+		this.warmer = new SnapshotWarmer();
+		this.reader = new JdbcRuleReader();
 		this.logger = LoggerFactory.getLogger(this.getClass().getName());
 	}
 }
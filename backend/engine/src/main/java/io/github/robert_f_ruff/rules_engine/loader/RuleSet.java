@@ -0,0 +1,425 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import io.github.robert_f_ruff.rules_engine.actions.Action;
+import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionExecutor;
+import io.github.robert_f_ruff.rules_engine.actions.ActionFilter;
+import io.github.robert_f_ruff.rules_engine.actions.ActionListener;
+import io.github.robert_f_ruff.rules_engine.logic.Threshold;
+import io.github.robert_f_ruff.rules_engine.logic.Window;
+
+/**
+ * Immutable snapshot of the rule set, arranged for evaluation by the engine. Criteria and rules
+ * are held in arrays, rules in descending order of priority and then by ID, and every rule
+ * refers to its criteria by position.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public class RuleSet {
+	private final Criterion[] criteria;
+	private final Rule[] rules;
+	private final int[][] ruleCriteria;
+	private final int[][] ruleActions;
+	private final int actionCount;
+	private final Threshold[] thresholds;
+	private final CriterionIndex[] indexes;
+	private final int[] indexOf;
+	private final ExpressionGraph expressions;
+	private final DiscriminationTree tree;
+	private final Window[] windows;
+	private final boolean[] windowed;
+	private final int[] joinRules;
+
+	/**
+	 * Returns the number of criteria in the snapshot.
+	 * @return Number of criteria
+	 * @since 1.2
+	 */
+	public int getCriterionCount() {
+		return criteria.length;
+	}
+
+	/**
+	 * Returns a criterion.
+	 * @param index Position of the criterion in the snapshot
+	 * @return The criterion
+	 * @since 1.2
+	 */
+	public Criterion getCriterion(int index) {
+		return criteria[index];
+	}
+
+	/**
+	 * Returns the number of rules in the snapshot.
+	 * @return Number of rules
+	 * @since 1.2
+	 */
+	public int getRuleCount() {
+		return rules.length;
+	}
+
+	/**
+	 * Returns a rule.
+	 * @param index Position of the rule in the snapshot
+	 * @return The rule
+	 * @since 1.2
+	 */
+	public Rule getRule(int index) {
+		return rules[index];
+	}
+
+	/**
+	 * Returns the positions of a rule's criteria, in the order the rule lists them.
+	 * @param index Position of the rule in the snapshot
+	 * @return Positions of the rule's criteria in the snapshot
+	 * @since 1.2
+	 */
+	public int[] getRuleCriteria(int index) {
+		return ruleCriteria[index];
+	}
+
+	/**
+	 * Returns the number of distinct actions in the snapshot; actions that are equal count once.
+	 * @return Number of distinct actions
+	 * @since 1.2
+	 */
+	public int getActionCount() {
+		return actionCount;
+	}
+
+	/**
+	 * Returns the positions of a rule's actions among the distinct actions, in execution order.
+	 * @param index Position of the rule in the snapshot
+	 * @return Positions of the rule's actions among the distinct actions of the snapshot
+	 * @since 1.2
+	 */
+	public int[] getRuleActions(int index) {
+		return ruleActions[index];
+	}
+
+	/**
+	 * Performs a rule's actions in execution order, skipping any action equal to one already
+	 * performed during the current evaluation.
+	 * @param index Position of the rule in the snapshot
+	 * @param context Records the actions performed during the current evaluation
+	 * @param listener Receives the duration and outcome of each action; may be {@code null}
+	 * @since 1.2
+	 * @throws ActionException Error occurred while performing an action
+	 */
+	public void executeActions(int index, EvaluationContext context, ActionListener listener)
+			throws ActionException {
+		executeActions(index, null, context, listener, null, null);
+	}
+
+	/**
+	 * Performs a rule's actions in execution order, skipping any action equal to one already
+	 * performed during the current evaluation and any action the filter does not permit.
+	 * @param index Position of the rule in the snapshot
+	 * @param data The data the rule was found applicable to
+	 * @param context Records the actions performed during the current evaluation
+	 * @param listener Receives the duration and outcome of each action, and notice of each action
+	 *     suppressed; may be {@code null}
+	 * @param filter Decides whether each action is performed; may be {@code null}
+	 * @param executor Performs each action; {@code null} to perform actions on the calling thread
+	 * @since 1.2
+	 * @throws ActionException Error occurred while performing an action
+	 */
+	public void executeActions(int index, Object data, EvaluationContext context,
+			ActionListener listener, ActionFilter filter, ActionExecutor executor)
+			throws ActionException {
+		rules[index].executeActions(listener, ruleActions[index], context, filter, data, executor);
+	}
+
+	/**
+	 * Returns the number of criterion indexes in the snapshot.
+	 * @return Number of groups of criteria judged by a single lookup
+	 * @since 1.2
+	 */
+	public int getIndexCount() {
+		return indexes.length;
+	}
+
+	/**
+	 * Returns a criterion index.
+	 * @param index Position of the criterion index in the snapshot
+	 * @return The criterion index
+	 * @since 1.2
+	 */
+	public CriterionIndex getIndex(int index) {
+		return indexes[index];
+	}
+
+	/**
+	 * Indicates whether a criterion is judged by a criterion index rather than on its own.
+	 * @param index Position of the criterion in the snapshot
+	 * @return Whether the criterion belongs to a criterion index
+	 * @since 1.2
+	 */
+	public boolean isIndexed(int index) {
+		return indexOf[index] >= 0;
+	}
+
+	/**
+	 * Returns the criterion index that judges a criterion.
+	 * @param index Position of the criterion in the snapshot
+	 * @return Position of the criterion index in the snapshot, or -1 if the criterion is judged on
+	 *     its own
+	 * @since 1.2
+	 */
+	public int getIndexOf(int index) {
+		return indexOf[index];
+	}
+
+	/**
+	 * Returns the threshold a criterion compares against.
+	 * @param index Position of the criterion in the snapshot
+	 * @return The threshold, or {@code null} if the criterion is not a numeric comparison
+	 */
+	Threshold getThreshold(int index) {
+		return thresholds[index];
+	}
+
+	/**
+	 * Returns the criteria expressions of the rule set.
+	 * @return The compiled expressions of every rule that has one
+	 * @since 1.2
+	 */
+	public ExpressionGraph getExpressionGraph() {
+		return expressions;
+	}
+
+	/**
+	 * Returns the discrimination tree of the rule set, which judges only the criteria that can
+	 * still make a rule applicable. Rules with a criteria expression are left to the expression
+	 * graph instead.
+	 * @return The discrimination tree
+	 * @since 1.2
+	 */
+	public DiscriminationTree getDiscriminationTree() {
+		return tree;
+	}
+
+	/**
+	 * Returns the windows of observations that the snapshot's criteria aggregate over.
+	 * @return The distinct windows; empty if no criterion judges a window of observations
+	 * @since 1.2
+	 */
+	public Window[] getWindows() {
+		return windows;
+	}
+
+	/**
+	 * Indicates whether a criterion judges a window of observations, and so is judged against the
+	 * aggregates of the observation's patient rather than the observation alone.
+	 * @param index Position of the criterion in the snapshot
+	 * @return Whether the criterion aggregates over a window
+	 * @since 1.2
+	 */
+	public boolean isWindowed(int index) {
+		return windowed[index];
+	}
+
+	/**
+	 * Returns the rules whose criteria judge more than one type of data, so that they can only be
+	 * applicable to data joined with the latest data of the same patient.
+	 * @return Positions of the join rules in the snapshot, in priority order
+	 * @since 1.2
+	 */
+	public int[] getJoinRules() {
+		return joinRules;
+	}
+
+	/**
+	 * Determines a rule's applicability from the criterion results of a single evaluation; the
+	 * logical result of ANDing the rule's criteria, or of the rule's criteria expression. Criteria
+	 * an expression needs that have not been judged leave it undetermined. The outcome is also
+	 * recorded in the context.
+	 * @param index Position of the rule in the snapshot
+	 * @param context Criterion results of the current evaluation
+	 * @return The rule's applicability
+	 * @since 1.2
+	 */
+	public Rule.Applicability resolve(int index, EvaluationContext context) {
+		int root = expressions.getRoot(index);
+		if (root >= 0) {
+			int pending;
+			while ((pending = expressions.evaluate(root, context)) >= 0) {
+				context.setPendingCriterion(pending);
+			}
+			byte result = expressions.getResult(root, context);
+			Rule.Applicability applicability = Rule.Applicability.UNDETERMINED;
+			if (result == EvaluationContext.FALSE) {
+				applicability = Rule.Applicability.NOT_APPLICABLE;
+			} else if (result == EvaluationContext.TRUE) {
+				applicability = Rule.Applicability.APPLICABLE;
+			}
+			context.setApplicability(index, applicability);
+			return applicability;
+		}
+		int[] positions = ruleCriteria[index];
+		for (int position = 0; position < positions.length; position++) {
+			byte result = context.getResult(positions[position]);
+			if (result == EvaluationContext.FALSE) {
+				context.setApplicability(index, Rule.Applicability.NOT_APPLICABLE);
+				return Rule.Applicability.NOT_APPLICABLE;
+			}
+			if (result == EvaluationContext.NOT_EVALUATED) {
+				context.setPendingCriterion(positions[position]);
+				context.setApplicability(index, Rule.Applicability.UNDETERMINED);
+				return Rule.Applicability.UNDETERMINED;
+			}
+		}
+		context.setApplicability(index, Rule.Applicability.APPLICABLE);
+		return Rule.Applicability.APPLICABLE;
+	}
+
+	/**
+	 * New instance of RuleSet. Criteria referenced by a rule but missing from the criteria list
+	 * are added to the snapshot.
+	 * @param criteria The criteria to evaluate
+	 * @param rules The rules to resolve, keyed by rule ID
+	 * @since 1.2
+	 */
+	public RuleSet(List<Criterion> criteria, Map<Long, Rule> rules) {
+		ArrayList<Criterion> allCriteria = new ArrayList<>(criteria);
+		IdentityHashMap<Criterion, Integer> positions = new IdentityHashMap<>();
+		for (int index = 0; index < allCriteria.size(); index++) {
+			positions.putIfAbsent(allCriteria.get(index), index);
+		}
+		this.rules = rules.values().toArray(new Rule[rules.size()]);
+		Arrays.sort(this.rules, Comparator.comparingInt(Rule::getPriority).reversed()
+				.thenComparing(Rule::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+		this.ruleCriteria = new int[this.rules.length][];
+		for (int index = 0; index < this.rules.length; index++) {
+			List<Criterion> ruleCriteria = this.rules[index].getCriteria();
+			int[] references = new int[ruleCriteria.size()];
+			for (int reference = 0; reference < references.length; reference++) {
+				Criterion criterion = ruleCriteria.get(reference);
+				Integer position = positions.get(criterion);
+				if (position == null) {
+					position = allCriteria.size();
+					allCriteria.add(criterion);
+					positions.put(criterion, position);
+				}
+				references[reference] = position;
+			}
+			this.ruleCriteria[index] = references;
+		}
+		HashMap<Action, Integer> distinct = new HashMap<>();
+		this.ruleActions = new int[this.rules.length][];
+		for (int index = 0; index < this.rules.length; index++) {
+			Action[] sequence = this.rules[index].getActions().values().toArray(new Action[0]);
+			this.ruleActions[index] = new int[sequence.length];
+			for (int action = 0; action < sequence.length; action++) {
+				Integer position = distinct.get(sequence[action]);
+				if (position == null) {
+					position = distinct.size();
+					distinct.put(sequence[action], position);
+				}
+				this.ruleActions[index][action] = position;
+			}
+		}
+		this.actionCount = distinct.size();
+		Expression[] expressions = new Expression[this.rules.length];
+		for (int index = 0; index < this.rules.length; index++) {
+			expressions[index] = this.rules[index].getExpression();
+			if (expressions[index] == null) continue;
+			for (Criterion criterion : expressions[index].getCriteria()) {
+				if (positions.containsKey(criterion)) continue;
+				positions.put(criterion, allCriteria.size());
+				allCriteria.add(criterion);
+			}
+		}
+		this.criteria = allCriteria.toArray(new Criterion[allCriteria.size()]);
+		this.expressions = new ExpressionGraph(expressions, positions);
+		this.indexOf = new int[this.criteria.length];
+		Arrays.fill(indexOf, -1);
+		this.thresholds = new Threshold[this.criteria.length];
+		ArrayList<CriterionIndex> indexes = new ArrayList<>();
+		indexThresholds(indexes);
+		this.indexes = indexes.toArray(new CriterionIndex[indexes.size()]);
+		this.tree = compileTree();
+		LinkedHashSet<Window> windows = new LinkedHashSet<>();
+		this.windowed = new boolean[this.criteria.length];
+		for (int index = 0; index < this.criteria.length; index++) {
+			Window window = this.criteria[index].window();
+			if (window == null) continue;
+			windows.add(window);
+			windowed[index] = true;
+		}
+		this.windows = windows.toArray(new Window[windows.size()]);
+		this.joinRules = findJoinRules();
+	}
+
+	/**
+	 * New instance of an empty RuleSet.
+	 * @since 1.2
+	 */
+	public RuleSet() {
+		this.criteria = new Criterion[0];
+		this.rules = new Rule[0];
+		this.ruleCriteria = new int[0][];
+		this.ruleActions = new int[0][];
+		this.actionCount = 0;
+		this.thresholds = new Threshold[0];
+		this.indexes = new CriterionIndex[0];
+		this.indexOf = new int[0];
+		this.expressions = new ExpressionGraph(new Expression[0], Map.of());
+		this.tree = new DiscriminationTree(ruleCriteria, new double[0]);
+		this.windows = new Window[0];
+		this.windowed = new boolean[0];
+		this.joinRules = new int[0];
+	}
+
+	private int[] findJoinRules() {
+		ArrayList<Integer> joins = new ArrayList<>();
+		for (int index = 0; index < rules.length; index++) {
+			HashSet<Class<?>> factTypes = new HashSet<>();
+			for (Criterion criterion : rules[index].getCriteria()) {
+				if (criterion.factType() != Object.class) factTypes.add(criterion.factType());
+			}
+			if (factTypes.size() > 1) joins.add(index);
+		}
+		return joins.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private DiscriminationTree compileTree() {
+		double[] costs = new double[criteria.length];
+		for (int index = 0; index < criteria.length; index++) {
+			costs[index] = isIndexed(index) ? 1.0 / indexes[indexOf[index]].size() : 1.0;
+		}
+		int[][] conjunctions = new int[rules.length][];
+		for (int index = 0; index < rules.length; index++) {
+			conjunctions[index] = expressions.getRoot(index) < 0 ? ruleCriteria[index] : new int[0];
+		}
+		return new DiscriminationTree(conjunctions, costs);
+	}
+
+	private void indexThresholds(List<CriterionIndex> indexes) {
+		LinkedHashMap<String, List<Integer>> groups = new LinkedHashMap<>();
+		for (int index = 0; index < criteria.length; index++) {
+			thresholds[index] = criteria[index].threshold();
+			if (thresholds[index] == null) continue;
+			String key = criteria[index].logicKey() + "#" + thresholds[index].comparison();
+			groups.computeIfAbsent(key, group -> new ArrayList<>()).add(index);
+		}
+		for (List<Integer> members : groups.values()) {
+			if (members.size() < 2) continue;
+			for (Integer member : members) {
+				indexOf[member] = indexes.size();
+			}
+			indexes.add(new ThresholdIndex(criteria, members, thresholds));
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import io.github.robert_f_ruff.rules_engine.logic.Threshold;
+
+/**
+ * Judges a threshold against a column one measurement at a time.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+final class ScalarComparator implements ColumnComparator {
+	/**
+	 * Sets the bit of every measurement that satisfies the threshold's comparison.
+	 * @param column Fixed-point measurements, one per record
+	 * @param length Number of records in the column
+	 * @param threshold The threshold to compare against
+	 * @param bits Bit set of the records, 64 to a word; bits are only ever set
+	 */
+	@Override
+	public void compare(long[] column, int length, Threshold threshold, long[] bits) {
+		for (int record = 0; record < length; record++) {
+			if (threshold.test(column[record])) bits[record >>> 6] |= 1L << record;
+		}
+	}
+}
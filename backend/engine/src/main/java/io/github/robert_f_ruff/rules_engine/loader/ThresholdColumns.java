@@ -0,0 +1,124 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import io.github.robert_f_ruff.rules_engine.logic.LogicDataTypeException;
+import io.github.robert_f_ruff.rules_engine.logic.Threshold;
+
+/**
+ * Results of every threshold criterion of a rule set for a batch of data, judged column by column
+ * rather than record by record. The measurements of the batch are laid out as one column of
+ * fixed-point values per measure, such as body weight or blood glucose, and each criterion that
+ * compares a measure against a threshold is judged across the whole column at once into a bit set
+ * of the records it holds for. The columns are compared with SIMD instructions when the engine is
+ * built with the {@code vector} profile and the runtime includes the incubating vector module
+ * ({@code --add-modules jdk.incubator.vector}), and one measurement at a time otherwise. The
+ * results of a record are then copied into its evaluation context before the rest of the rule set
+ * is evaluated as usual.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public final class ThresholdColumns {
+	private static final ColumnComparator COMPARATOR = ColumnComparator.select();
+	private final int records;
+	private final int[] criteria;
+	private final long[][] results;
+	private final long[][] measured;
+
+	/**
+	 * Indicates whether columns are compared with SIMD instructions.
+	 * @return Whether the incubating vector module is available
+	 * @since 1.2
+	 */
+	public static boolean isVectorized() {
+		return ! (COMPARATOR instanceof ScalarComparator);
+	}
+
+	/**
+	 * Returns the number of records in the batch.
+	 * @return Number of records
+	 * @since 1.2
+	 */
+	public int size() {
+		return records;
+	}
+
+	/**
+	 * Copies the results of a record's threshold criteria into its evaluation context; criteria
+	 * whose logic does not judge the record are left unevaluated.
+	 * @param record Position of the record in the batch
+	 * @param context Criterion results of the record's evaluation, freshly reset
+	 * @return Number of criterion results copied
+	 * @since 1.2
+	 */
+	public int seed(int record, EvaluationContext context) {
+		int word = record >>> 6;
+		long bit = 1L << record;
+		int seeded = 0;
+		for (int criterion = 0; criterion < criteria.length; criterion++) {
+			if ((measured[criterion][word] & bit) == 0) continue;
+			context.setResult(criteria[criterion], (results[criterion][word] & bit) != 0);
+			seeded++;
+		}
+		return seeded;
+	}
+
+	/**
+	 * New instance of ThresholdColumns, judging every threshold criterion of the rule set across
+	 * the batch.
+	 * @param ruleSet The rule set the batch is evaluated against
+	 * @param facts The data of the batch, in order
+	 * @since 1.2
+	 */
+	public ThresholdColumns(RuleSet ruleSet, List<?> facts) {
+		this(ruleSet, facts, COMPARATOR);
+	}
+
+	/**
+	 * New instance of ThresholdColumns. Criteria sharing a measure belong to the same logic, so the
+	 * first of them decides which records the measure's column holds.
+	 * @param ruleSet The rule set the batch is evaluated against
+	 * @param facts The data of the batch, in order
+	 * @param comparator Judges each criterion across its column
+	 */
+	ThresholdColumns(RuleSet ruleSet, List<?> facts, ColumnComparator comparator) {
+		this.records = facts.size();
+		int words = (records + 63) >>> 6;
+		IdentityHashMap<Threshold.Measure, long[]> columns = new IdentityHashMap<>();
+		IdentityHashMap<Threshold.Measure, long[]> accepted = new IdentityHashMap<>();
+		ArrayList<Integer> judged = new ArrayList<>();
+		for (int index = 0; index < ruleSet.getCriterionCount(); index++) {
+			Threshold threshold = ruleSet.getThreshold(index);
+			if (threshold == null) continue;
+			judged.add(index);
+			if (columns.containsKey(threshold.measure())) continue;
+			Criterion criterion = ruleSet.getCriterion(index);
+			long[] column = new long[records];
+			long[] present = new long[words];
+			for (int record = 0; record < records; record++) {
+				Object fact = facts.get(record);
+				if (! criterion.accepts(fact)) continue;
+				try {
+					column[record] = threshold.measure().of(fact);
+					present[record >>> 6] |= 1L << record;
+				} catch (LogicDataTypeException e) {
+					continue;
+				}
+			}
+			columns.put(threshold.measure(), column);
+			accepted.put(threshold.measure(), present);
+		}
+		this.criteria = judged.stream().mapToInt(Integer::intValue).toArray();
+		this.results = new long[criteria.length][];
+		this.measured = new long[criteria.length][];
+		for (int criterion = 0; criterion < criteria.length; criterion++) {
+			Threshold threshold = ruleSet.getThreshold(criteria[criterion]);
+			results[criterion] = new long[words];
+			measured[criterion] = accepted.get(threshold.measure());
+			comparator.compare(columns.get(threshold.measure()), records, threshold,
+					results[criterion]);
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import io.github.robert_f_ruff.rules_engine.logic.FixedPoint;
+import io.github.robert_f_ruff.rules_engine.logic.LogicDataTypeException;
+import io.github.robert_f_ruff.rules_engine.logic.Threshold;
+
+/**
+ * Judges a group of criteria that compare the same measure of the data against different
+ * thresholds. The thresholds are kept sorted, so one binary search of the measured value divides
+ * the group into a range of true criteria and a range of false criteria. Thresholds and measured
+ * values are fixed-point values, so the search compares primitives.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public final class ThresholdIndex implements CriterionIndex {
+	private final Criterion representative;
+	private final Threshold.Comparison comparison;
+	private final Threshold.Measure measure;
+	private final long[] thresholds;
+	private final int[] positions;
+
+	/**
+	 * Returns the number of criteria in the group.
+	 * @return Number of criteria
+	 * @since 1.2
+	 */
+	@Override
+	public int size() {
+		return positions.length;
+	}
+
+	/**
+	 * Returns a criterion of the group, in ascending order of threshold.
+	 * @param index Position of the criterion in the group
+	 * @return Position of the criterion in the rule set
+	 * @since 1.2
+	 */
+	@Override
+	public int getCriterion(int index) {
+		return positions[index];
+	}
+
+	/**
+	 * Indicates whether the criteria of the group are able to judge the given data.
+	 * @param data The data to evaluate
+	 * @return Whether the data is compatible with the group's logic
+	 * @since 1.2
+	 */
+	@Override
+	public boolean accepts(Object data) {
+		return representative.accepts(data);
+	}
+
+	/**
+	 * Judges every criterion of the group and records the results in the context.
+	 * @param data The data to evaluate
+	 * @param context Criterion results of the current evaluation
+	 * @since 1.2
+	 * @throws LogicDataTypeException Invalid data type
+	 */
+	@Override
+	public void evaluate(Object data, EvaluationContext context) throws LogicDataTypeException {
+		long measured = measure.of(data);
+		if (measured == FixedPoint.NONE) {
+			for (int index = 0; index < positions.length; index++) {
+				context.setResult(positions[index], false);
+			}
+			return;
+		}
+		boolean greaterThan = comparison == Threshold.Comparison.GREATER_THAN;
+		int low = 0;
+		int high = thresholds.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (thresholds[middle] < measured || (! greaterThan && thresholds[middle] == measured)) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		for (int index = 0; index < low; index++) {
+			context.setResult(positions[index], greaterThan);
+		}
+		for (int index = low; index < positions.length; index++) {
+			context.setResult(positions[index], ! greaterThan);
+		}
+	}
+
+	/**
+	 * New instance of ThresholdIndex.
+	 * @param criteria Criteria of the rule set, by position
+	 * @param members Positions of the criteria that make up the group
+	 * @param thresholds Thresholds of the grouped criteria, by position in the rule set; all
+	 *     members share the same comparison and measure
+	 */
+	ThresholdIndex(Criterion[] criteria, List<Integer> members, Threshold[] thresholds) {
+		Integer[] sorted = members.toArray(new Integer[members.size()]);
+		Arrays.sort(sorted, Comparator.comparingLong(position -> thresholds[position].value()));
+		Threshold first = thresholds[sorted[0]];
+		this.representative = criteria[sorted[0]];
+		this.comparison = first.comparison();
+		this.measure = first.measure();
+		this.thresholds = new long[sorted.length];
+		this.positions = new int[sorted.length];
+		for (int index = 0; index < sorted.length; index++) {
+			this.thresholds[index] = thresholds[sorted[index]].value();
+			this.positions[index] = sorted[index];
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import io.github.robert_f_ruff.rules_engine.logic.FixedPoint;
+import io.github.robert_f_ruff.rules_engine.logic.Threshold;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Judges a threshold against a column as many measurements at a time as the processor's widest
+ * vector register holds, turning each comparison mask straight into bits of the result. Only
+ * loaded when the incubating vector module has been added to the runtime.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+final class VectorComparator implements ColumnComparator {
+	private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+	/**
+	 * Sets the bit of every measurement that satisfies the threshold's comparison. The number of
+	 * lanes is a power of two no greater than 64, so the lanes of one comparison never straddle two
+	 * words of the bit set.
+	 * @param column Fixed-point measurements, one per record
+	 * @param length Number of records in the column
+	 * @param threshold The threshold to compare against
+	 * @param bits Bit set of the records, 64 to a word; bits are only ever set
+	 */
+	@Override
+	public void compare(long[] column, int length, Threshold threshold, long[] bits) {
+		boolean greaterThan = threshold.comparison() == Threshold.Comparison.GREATER_THAN;
+		long value = threshold.value();
+		int bound = SPECIES.loopBound(length);
+		int record = 0;
+		for (; record < bound; record += SPECIES.length()) {
+			LongVector measured = LongVector.fromArray(SPECIES, column, record);
+			VectorMask<Long> satisfied = greaterThan ? measured.compare(VectorOperators.GT, value)
+					: measured.compare(VectorOperators.LT, value)
+							.and(measured.compare(VectorOperators.NE, FixedPoint.NONE));
+			bits[record >>> 6] |= satisfied.toLong() << record;
+		}
+		for (; record < length; record++) {
+			if (threshold.test(column[record])) bits[record >>> 6] |= 1L << record;
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package io.github.robert_f_ruff.rules_engine.logic;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Converts measurements and comparison values to a fixed-point {@code long}, so that judging a
+ * measurement against a threshold is a primitive comparison. Values are counted in units of
+ * {@code 10^-SCALE} and held doubled: a value with no digits beyond the declared precision is held
+ * as twice its count of units, and a value with finer digits as twice the count it rounds down to,
+ * plus one. Comparison values must fit the declared precision, so they are always even, and
+ * comparing a measurement held this way against them gives the same result as comparing the exact
+ * decimals. Comparison values that do not fit are left to be compared as decimals.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public final class FixedPoint {
+  /**
+   * Number of decimal places a comparison value may have.
+   * @since 1.2
+   */
+  public static final int SCALE = 4;
+  /**
+   * Fixed-point value of a missing measurement; it satisfies no comparison.
+   * @since 1.2
+   */
+  public static final long NONE = Long.MIN_VALUE;
+  private static final BigDecimal LIMIT = BigDecimal.valueOf(1L << 62);
+
+  /**
+   * Converts a measurement, keeping whether it has digits beyond the declared precision.
+   * @param value The measurement; may be {@code null}
+   * @return The fixed-point value, or {@code NONE} if the measurement is {@code null}; a
+   *     measurement too large to count is held as the largest or smallest fixed-point value
+   * @since 1.2
+   */
+  public static long of(BigDecimal value) {
+    if (value == null) return NONE;
+    BigDecimal units = value.movePointRight(SCALE);
+    if (units.compareTo(LIMIT) >= 0) return Long.MAX_VALUE;
+    if (units.compareTo(LIMIT.negate()) <= 0) return Long.MIN_VALUE + 1;
+    BigDecimal whole = units.setScale(0, RoundingMode.FLOOR);
+    return whole.longValue() * 2 + (whole.compareTo(units) == 0 ? 0 : 1);
+  }
+
+  /**
+   * Indicates whether a comparison value can be held as a fixed-point value.
+   * @param checkValue The comparison value
+   * @return Whether the comparison value has no more decimal places than {@code SCALE} and is
+   *     small enough to count
+   * @since 1.2
+   */
+  public static boolean fits(BigDecimal checkValue) {
+    BigDecimal units = checkValue.movePointRight(SCALE);
+    return units.abs().compareTo(LIMIT) < 0 && units.stripTrailingZeros().scale() <= 0;
+  }
+
+  /**
+   * Converts a comparison value.
+   * @param checkValue The comparison value, such as {@code 180.5}
+   * @return The fixed-point value
+   * @since 1.2
+   * @throws NumberFormatException The comparison value is not a number, has more decimal places
+   *     than {@code SCALE}, or is too large to count
+   */
+  public static long parse(String checkValue) {
+    BigDecimal units = new BigDecimal(checkValue).movePointRight(SCALE);
+    if (units.abs().compareTo(LIMIT) >= 0) {
+      throw new NumberFormatException("Comparison value out of range: " + checkValue);
+    }
+    try {
+      return units.longValueExact() * 2;
+    } catch (ArithmeticException e) {
+      throw new NumberFormatException("Comparison value has more than " + SCALE
+          + " decimal places: " + checkValue);
+    }
+  }
+
+  /**
+   * Indicates whether a measurement is greater than a comparison value.
+   * @param measured Fixed-point value of the measurement
+   * @param value Fixed-point value of the comparison value
+   * @return Whether the measurement is present and greater
+   * @since 1.2
+   */
+  public static boolean greaterThan(long measured, long value) {
+    return measured != NONE && measured > value;
+  }
+
+  /**
+   * Indicates whether a measurement is less than a comparison value.
+   * @param measured Fixed-point value of the measurement
+   * @param value Fixed-point value of the comparison value
+   * @return Whether the measurement is present and less
+   * @since 1.2
+   */
+  public static boolean lessThan(long measured, long value) {
+    return measured != NONE && measured < value;
+  }
+
+  // Ensure Jacoco reports accurate code coverage percentage
+  private FixedPoint() {
+
+  }
+}
@@ -3,7 +3,7 @@ package io.github.robert_f_ruff.rules_engine.logic;
 /**
  * Public interface of a unit of logic.
  * @author Robert F. Ruff
- * @version 1.0
+ * @version 1.2
  */
 public interface Logic {
   /**
@@ -19,4 +19,68 @@ public interface Logic {
    */
   boolean evaluate(String criterion, String checkValue, Object data)
       throws LogicCriterionException, LogicDataTypeException;
+
+  /**
+   * Bind an internal method and comparison value into a reusable predicate. The comparison value
+   * is parsed once here rather than on every evaluation.
+   * @param criterion Name of the internal method to execute
+   * @param checkValue Value to use for comparison
+   * @return Predicate that judges data using the internal method and comparison value
+   * @since 1.2
+   * @throws LogicCriterionException Unknown internal method name defined for evaluation
+   */
+  default LogicPredicate compile(String criterion, String checkValue)
+      throws LogicCriterionException {
+    return data -> evaluate(criterion, checkValue, data);
+  }
+
+  /**
+   * Indicates whether this unit of logic is able to judge the given data.
+   * @param data The data to evaluate
+   * @return Whether the data is of a type this logic evaluates
+   * @since 1.2
+   */
+  default boolean accepts(Object data) {
+    return true;
+  }
+
+  /**
+   * Describe an internal method as a comparison of a numeric measure against the comparison
+   * value, so that criteria differing only in their comparison value can be judged together.
+   * @param criterion Name of the internal method to execute
+   * @param checkValue Value to use for comparison
+   * @return The threshold the internal method compares against, or {@code null} if the internal
+   *     method is not a numeric comparison
+   * @since 1.2
+   * @throws LogicCriterionException Unknown internal method name defined for evaluation
+   */
+  default Threshold threshold(String criterion, String checkValue)
+      throws LogicCriterionException {
+    return null;
+  }
+
+  /**
+   * Describe an internal method as a comparison of an aggregate over a patient's recent
+   * observations, so that the engine can maintain the aggregate as observations arrive.
+   * @param criterion Name of the internal method to execute
+   * @param checkValue Value to use for comparison
+   * @return The window the internal method aggregates over, or {@code null} if the internal
+   *     method does not judge a window of observations
+   * @since 1.2
+   * @throws LogicCriterionException Unknown internal method name defined for evaluation
+   */
+  default Window window(String criterion, String checkValue)
+      throws LogicCriterionException {
+    return null;
+  }
+
+  /**
+   * Returns the type of data this unit of logic judges, so that rules combining criteria on
+   * different types of data can be recognised.
+   * @return The type of data judged; {@code Object} if this logic judges any data
+   * @since 1.2
+   */
+  default Class<?> factType() {
+    return Object.class;
+  }
 }
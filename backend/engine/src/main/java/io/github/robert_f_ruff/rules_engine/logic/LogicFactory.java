@@ -3,7 +3,7 @@ package io.github.robert_f_ruff.rules_engine.logic;
 /**
  * Generates instances of units of logic.
  * @author Robert F. Ruff
- * @version 1.0
+ * @version 1.2
  */
 public final class LogicFactory {
   /**
@@ -13,6 +13,7 @@ public final class LogicFactory {
    * <tr><th>Class Identifier</th><th>Class Name</th></tr>
    * <tr><td>Patient</td><td>PatientLogic</td></tr>
    * <tr><td>Observation</td><td>ObservationLogic</td></tr>
+   * <tr><td>ObservationWindow</td><td>ObservationWindowLogic</td></tr>
    * </table>
    * @return An instance of the class implementing the Logic interface
    * @since 1.0
@@ -24,6 +25,8 @@ public final class LogicFactory {
         return new PatientLogic();
       case "Observation":
         return new ObservationLogic();
+      case "ObservationWindow":
+        return new ObservationWindowLogic();
       default:
         throw new LogicFactoryException("Unknown instance type: " + type);
     }
@@ -0,0 +1,20 @@
+package io.github.robert_f_ruff.rules_engine.logic;
+
+/**
+ * A unit of logic bound to one internal method and comparison value, ready to judge data
+ * repeatedly without further parsing.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@FunctionalInterface
+public interface LogicPredicate {
+  /**
+   * Determine the truth value of the logic for the given data.
+   * @param data The data to evaluate
+   * @return The evaluation result
+   * @since 1.2
+   * @throws LogicCriterionException Unknown internal method name defined for evaluation
+   * @throws LogicDataTypeException Invalid data type used for evaluation
+   */
+  boolean test(Object data) throws LogicCriterionException, LogicDataTypeException;
+}
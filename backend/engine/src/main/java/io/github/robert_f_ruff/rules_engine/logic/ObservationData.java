@@ -1,16 +1,25 @@
 package io.github.robert_f_ruff.rules_engine.logic;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Objects;
 
 /**
- * Defines the data associated with an observation of a patient.
+ * Defines the data associated with an observation of a patient. An observation that identifies
+ * its patient is also recorded in the patient's windows of recent observations, whose aggregates
+ * are judged alongside it as a {@code WindowedObservation}. Weight and glucose are also held as
+ * fixed-point values, converted once when they are set, so that comparing them against thresholds
+ * does not allocate.
  * @author Robert F. Ruff
- * @version 1.1
+ * @version 1.2
  */
 public class ObservationData {
   private BigDecimal weight;
   private BigDecimal glucose;
+  private long fixedWeight;
+  private long fixedGlucose;
+  private String patientId;
+  private Instant observedAt;
 
   /**
    * Returns the patient's weight.
@@ -30,6 +39,67 @@ public class ObservationData {
     return glucose;
   }
 
+  /**
+   * Returns the patient's weight as a fixed-point value.
+   * @return The weight, as converted by {@code FixedPoint.of}
+   */
+  long getFixedBodyWeight() {
+    return fixedWeight;
+  }
+
+  /**
+   * Returns the patient's blood glucose amount as a fixed-point value.
+   * @return The amount of glucose in the blood (mg/dL), as converted by {@code FixedPoint.of}
+   */
+  long getFixedBloodGlucose() {
+    return fixedGlucose;
+  }
+
+  // JSON properties bodyWeight and bloodGlucose are bound through these setters
+  private void setBodyWeight(BigDecimal weight) {
+    this.weight = weight;
+    this.fixedWeight = FixedPoint.of(weight);
+  }
+
+  private void setBloodGlucose(BigDecimal glucose) {
+    this.glucose = glucose;
+    this.fixedGlucose = FixedPoint.of(glucose);
+  }
+
+  /**
+   * Returns the identifier of the observed patient.
+   * @return The patient's identifier, or {@code null} if the observation is anonymous
+   * @since 1.2
+   */
+  public String getPatientId() {
+    return patientId;
+  }
+
+  /**
+   * Returns when the observation was made.
+   * @return The time of the observation, or {@code null} if it was made when received
+   * @since 1.2
+   */
+  public Instant getObservedAt() {
+    return observedAt;
+  }
+
+  /**
+   * New instance of Observation Data.
+   * @param weight The weight of the patient
+   * @param glucose The amount of glucose in the patient's blood (mg/dL)
+   * @param patientId The identifier of the observed patient
+   * @param observedAt When the observation was made
+   * @since 1.2
+   */
+  public ObservationData(BigDecimal weight, BigDecimal glucose, String patientId,
+      Instant observedAt) {
+    setBodyWeight(weight);
+    setBloodGlucose(glucose);
+    this.patientId = patientId;
+    this.observedAt = observedAt;
+  }
+
   /**
    * New instance of Observation Data.
    * @param weight The weight of the patient
@@ -37,8 +107,8 @@ public class ObservationData {
    * @since 1.0
    */
   public ObservationData(BigDecimal weight, BigDecimal glucose) {
-    this.weight = weight;
-    this.glucose = glucose;
+    setBodyWeight(weight);
+    setBloodGlucose(glucose);
   }
 
   /**
@@ -46,8 +116,8 @@ public class ObservationData {
    * @since 1.0
    */
   public ObservationData() {
-    this.weight = new BigDecimal(0);
-    this.glucose = new BigDecimal(0);
+    setBodyWeight(new BigDecimal(0));
+    setBloodGlucose(new BigDecimal(0));
   }
 
   /**
@@ -62,7 +132,9 @@ public class ObservationData {
 		if (o == null || getClass() != o.getClass()) return false;
     ObservationData observationData = (ObservationData)o;
     return Objects.equals(weight, observationData.getBodyWeight())
-        && Objects.equals(glucose, observationData.getBloodGlucose());
+        && Objects.equals(glucose, observationData.getBloodGlucose())
+        && Objects.equals(patientId, observationData.getPatientId())
+        && Objects.equals(observedAt, observationData.getObservedAt());
   }
 
   /**
@@ -72,7 +144,7 @@ public class ObservationData {
    */
   @Override
 	public int hashCode() {
-		return Objects.hash(weight, glucose);
+		return Objects.hash(weight, glucose, patientId, observedAt);
   }
 
   /**
@@ -82,6 +154,7 @@ public class ObservationData {
 	 */
   @Override
   public String toString() {
-    return "ObservationData [weight=" + weight + ", glucose=" + glucose + "]";
+    return "ObservationData [weight=" + weight + ", glucose=" + glucose + ", patientId="
+        + patientId + ", observedAt=" + observedAt + "]";
   }
 }
@@ -9,26 +9,36 @@ import java.util.function.Predicate;
 /**
  * Defines the logic associated with an observation of a patient.
  * @author Robert F. Ruff
- * @version 1.0
+ * @version 1.2
  */
 public class ObservationLogic implements Logic {
+  private static final Threshold.Measure BODY_WEIGHT = data -> asObservation(data).getFixedBodyWeight();
+  private static final Threshold.Measure BLOOD_GLUCOSE = data -> asObservation(data).getFixedBloodGlucose();
   private Map<String, Predicate<String>> registry;
   private ObservationData observation;
 
-  private boolean bodyWeightGreaterThan(String checkValue) {
-    BigDecimal value = new BigDecimal(checkValue);
-    if (observation.getBodyWeight().compareTo(value) == 1) {
-      return true;
-    }
-    return false;
+  private static boolean bodyWeightGreaterThan(ObservationData observation, long value) {
+    return FixedPoint.greaterThan(observation.getFixedBodyWeight(), value);
+  }
+
+  private static boolean bloodGlucoseLessThan(ObservationData observation, long value) {
+    return FixedPoint.lessThan(observation.getFixedBloodGlucose(), value);
+  }
+
+  private static boolean bodyWeightGreaterThan(ObservationData observation, BigDecimal value) {
+    return observation.getBodyWeight() != null && observation.getBodyWeight().compareTo(value) > 0;
   }
 
-  private boolean bloodGlucoseLessThan(String checkValue) {
-    BigDecimal value = new BigDecimal(checkValue);
-    if (observation.getBloodGlucose().compareTo(value) < 0) {
-      return true;
+  private static boolean bloodGlucoseLessThan(ObservationData observation, BigDecimal value) {
+    return observation.getBloodGlucose() != null && observation.getBloodGlucose().compareTo(value) < 0;
+  }
+
+  private static ObservationData asObservation(Object data) throws LogicDataTypeException {
+    if (data.getClass() == PatientObservation.class) {
+      return ((PatientObservation)data).observation();
     }
-    return false;
+    if (data.getClass() != ObservationData.class) throw new LogicDataTypeException("ObservationData");
+    return (ObservationData)data;
   }
   
   /**
@@ -43,7 +53,7 @@ public class ObservationLogic implements Logic {
    * </table>
    * @param checkValue Value to use for comparison
    * @param data The data object instance to evalutate; only accepts an instance of
-   * {@code ObservationData}
+   * {@code ObservationData}, or of {@code PatientObservation} whose observation is judged
    * @return The evaluation result of executing the internal method given the data and comparison
    *     value
    * @since 1.0
@@ -55,14 +65,92 @@ public class ObservationLogic implements Logic {
       throws LogicCriterionException, LogicDataTypeException {
     if (! registry.containsKey(criterion)) throw new LogicCriterionException(criterion);
     
-    if (data.getClass() == ObservationData.class) {
-      this.observation = (ObservationData)data;
-      return registry.get(criterion).test(checkValue);
-    } else {
-      throw new LogicDataTypeException("ObservationData");
-    }
+    this.observation = asObservation(data);
+    return registry.get(criterion).test(checkValue);
   }
   
+  /**
+   * Bind an internal method and comparison value into a reusable predicate; the comparison value
+   * is converted to a fixed-point value once, so evaluating the predicate is a primitive
+   * comparison that does not allocate. A comparison value with more decimal places than
+   * {@code FixedPoint.SCALE} is compared as a decimal instead. A missing measurement satisfies
+   * neither comparison.
+   * @param criterion Name of the internal method to execute; see {@code evaluate} for valid names
+   * @param checkValue Value to use for comparison
+   * @return Predicate that judges an instance of {@code ObservationData}
+   * @since 1.2
+   * @throws LogicCriterionException Unknown internal method name defined for evaluation
+   */
+  @Override
+  public LogicPredicate compile(String criterion, String checkValue)
+      throws LogicCriterionException {
+    switch (criterion) {
+      case "BodyWeightGreaterThan": {
+        BigDecimal exact = new BigDecimal(checkValue);
+        if (! FixedPoint.fits(exact)) return data -> bodyWeightGreaterThan(asObservation(data), exact);
+        long value = FixedPoint.parse(checkValue);
+        return data -> bodyWeightGreaterThan(asObservation(data), value);
+      }
+      case "BloodGlucoseLessThan": {
+        BigDecimal exact = new BigDecimal(checkValue);
+        if (! FixedPoint.fits(exact)) return data -> bloodGlucoseLessThan(asObservation(data), exact);
+        long value = FixedPoint.parse(checkValue);
+        return data -> bloodGlucoseLessThan(asObservation(data), value);
+      }
+      default:
+        throw new LogicCriterionException(criterion);
+    }
+  }
+
+  /**
+   * Describe an internal method as a comparison against a threshold; every internal method of
+   * this class compares one measure of the observation.
+   * @param criterion Name of the internal method to execute; see {@code evaluate} for valid names
+   * @param checkValue Value to use for comparison
+   * @return The threshold the internal method compares against, or {@code null} if the comparison
+   *     value has more decimal places than {@code FixedPoint.SCALE}
+   * @since 1.2
+   * @throws LogicCriterionException Unknown internal method name defined for evaluation
+   */
+  @Override
+  public Threshold threshold(String criterion, String checkValue)
+      throws LogicCriterionException {
+    if (registry.containsKey(criterion) && ! FixedPoint.fits(new BigDecimal(checkValue))) return null;
+    switch (criterion) {
+      case "BodyWeightGreaterThan":
+        return new Threshold(Threshold.Comparison.GREATER_THAN, FixedPoint.parse(checkValue),
+            BODY_WEIGHT);
+      case "BloodGlucoseLessThan":
+        return new Threshold(Threshold.Comparison.LESS_THAN, FixedPoint.parse(checkValue),
+            BLOOD_GLUCOSE);
+      default:
+        throw new LogicCriterionException(criterion);
+    }
+  }
+
+  /**
+   * Indicates whether this unit of logic is able to judge the given data.
+   * @param data The data to evaluate
+   * @return Whether the data is an instance of {@code ObservationData}, or of
+   *     {@code PatientObservation}
+   * @since 1.2
+   */
+  @Override
+  public boolean accepts(Object data) {
+    return data.getClass() == ObservationData.class
+        || data.getClass() == PatientObservation.class;
+  }
+
+  /**
+   * Returns the type of data this unit of logic judges.
+   * @return {@code ObservationData}
+   * @since 1.2
+   */
+  @Override
+  public Class<?> factType() {
+    return ObservationData.class;
+  }
+
   /**
    * New instance of ObservationLogic, populating the internal registry of internal
    * method names and method references.
@@ -70,8 +158,10 @@ public class ObservationLogic implements Logic {
    */
   public ObservationLogic() {
     registry = new HashMap<>();
-    registry.put("BodyWeightGreaterThan", this::bodyWeightGreaterThan);
-    registry.put("BloodGlucoseLessThan", this::bloodGlucoseLessThan);
+    registry.put("BodyWeightGreaterThan",
+        checkValue -> bodyWeightGreaterThan(observation, new BigDecimal(checkValue)));
+    registry.put("BloodGlucoseLessThan",
+        checkValue -> bloodGlucoseLessThan(observation, new BigDecimal(checkValue)));
   }
 
   /**
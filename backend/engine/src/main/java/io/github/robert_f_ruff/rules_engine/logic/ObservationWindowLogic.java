@@ -0,0 +1,208 @@
+package io.github.robert_f_ruff.rules_engine.logic;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Defines the logic associated with a patient's recent observations. Each internal method
+ * compares an aggregate of one measure, over a window of the patient's observations up to and
+ * including the one being judged, against the comparison value. The engine judges these criteria
+ * against a {@code WindowedObservation} that carries the aggregates; an observation judged without
+ * them, such as one that does not identify its patient, is judged false.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public class ObservationWindowLogic implements Logic {
+  private static final Pattern METHOD = Pattern.compile(
+      "(BodyWeight|BloodGlucose)(Minimum|Maximum|Average|ChangePercent|Change|CountBelow|CountAbove)"
+      + "(GreaterThan|LessThan|AtLeast|AtMost)");
+
+  private static boolean compare(BigDecimal aggregate, String comparison, BigDecimal value) {
+    if (aggregate == null) return false;
+    int order = aggregate.compareTo(value);
+    switch (comparison) {
+      case "GreaterThan":
+        return order > 0;
+      case "LessThan":
+        return order < 0;
+      case "AtLeast":
+        return order >= 0;
+      default:
+        return order <= 0;
+    }
+  }
+
+  private static BigDecimal aggregate(Object data, Window window) throws LogicDataTypeException {
+    if (data.getClass() == WindowedObservation.class) {
+      return ((WindowedObservation)data).getAggregate(window);
+    }
+    if (data.getClass() != ObservationData.class && data.getClass() != PatientObservation.class) {
+      throw new LogicDataTypeException("ObservationData");
+    }
+    return null;
+  }
+
+  private static Matcher parse(String criterion) throws LogicCriterionException {
+    Matcher method = METHOD.matcher(criterion);
+    if (! method.matches()) throw new LogicCriterionException(criterion);
+    return method;
+  }
+
+  private static Window.Aggregate aggregateOf(String name) {
+    switch (name) {
+      case "Minimum":
+        return Window.Aggregate.MINIMUM;
+      case "Maximum":
+        return Window.Aggregate.MAXIMUM;
+      case "Average":
+        return Window.Aggregate.AVERAGE;
+      case "Change":
+        return Window.Aggregate.CHANGE;
+      case "ChangePercent":
+        return Window.Aggregate.CHANGE_PERCENT;
+      case "CountBelow":
+        return Window.Aggregate.COUNT_BELOW;
+      default:
+        return Window.Aggregate.COUNT_ABOVE;
+    }
+  }
+
+  private static Window windowOf(Matcher method, String[] values) {
+    Window.Aggregate aggregate = aggregateOf(method.group(2));
+    boolean counted = aggregate == Window.Aggregate.COUNT_BELOW
+        || aggregate == Window.Aggregate.COUNT_ABOVE;
+    if (values.length != (counted ? 3 : 2)) {
+      throw new NumberFormatException("Invalid comparison value: " + String.join(",", values));
+    }
+    Window.Field field = method.group(1).equals("BodyWeight") ? Window.Field.BODY_WEIGHT
+        : Window.Field.BLOOD_GLUCOSE;
+    BigDecimal bound = counted ? new BigDecimal(values[0].trim()) : null;
+    String extent = values[values.length - 1].trim();
+    if (extent.chars().allMatch(Character::isDigit)) {
+      int count = Integer.parseInt(extent);
+      if (count < 1) throw new NumberFormatException("Invalid window: " + extent);
+      return new Window(field, aggregate, bound, null, count);
+    }
+    try {
+      Duration span = Duration.parse(extent);
+      if (span.isNegative() || span.isZero()) throw new NumberFormatException("Invalid window: " + extent);
+      return new Window(field, aggregate, bound, span, 0);
+    } catch (DateTimeParseException e) {
+      throw new NumberFormatException("Invalid window: " + extent);
+    }
+  }
+
+  /**
+   * Determine the truth value of the logic.
+   * @param criterion Name of the internal method to execute, made of a measure, an aggregate and
+   *     a comparison
+   * <table><caption>Parts of Internal Method Names</caption>
+   * <tr><th>Part</th><th>Valid Values</th></tr>
+   * <tr><td>Measure</td><td>BodyWeight, BloodGlucose</td></tr>
+   * <tr><td>Aggregate</td><td>Minimum, Maximum, Average, Change, ChangePercent, CountBelow,
+   * CountAbove</td></tr>
+   * <tr><td>Comparison</td><td>GreaterThan, LessThan, AtLeast, AtMost</td></tr>
+   * </table>
+   * For example, {@code BloodGlucoseCountBelowAtLeast}.
+   * @param checkValue Value to use for comparison, followed by the window, separated by a comma;
+   *     for CountBelow and CountAbove, the value each observation is counted against comes
+   *     first. The window is either an ISO-8601 duration, such as {@code PT6H}, or a number of
+   *     observations. For example, {@code 70,3,PT6H} is true when at least three observations
+   *     within six hours were below 70.
+   * @param data The data object instance to evalutate; only accepts an instance of
+   * {@code WindowedObservation}, or of {@code ObservationData} or {@code PatientObservation},
+   * which are judged without aggregates
+   * @return The evaluation result of executing the internal method given the data and comparison
+   *     value
+   * @since 1.2
+   * @throws LogicCriterionException Unknown internal method name defined for evaluation
+   * @throws LogicDataTypeException Invalid data type used for evaluation
+   */
+  @Override
+  public boolean evaluate(String criterion, String checkValue, Object data)
+      throws LogicCriterionException, LogicDataTypeException {
+    return compile(criterion, checkValue).test(data);
+  }
+
+  /**
+   * Bind an internal method and comparison value into a reusable predicate; the comparison value
+   * and window are parsed once, so evaluating the predicate does not allocate.
+   * @param criterion Name of the internal method to execute; see {@code evaluate} for valid names
+   * @param checkValue Value to use for comparison, followed by the window
+   * @return Predicate that judges an instance of {@code WindowedObservation}
+   * @since 1.2
+   * @throws LogicCriterionException Unknown internal method name defined for evaluation
+   */
+  @Override
+  public LogicPredicate compile(String criterion, String checkValue)
+      throws LogicCriterionException {
+    Matcher method = parse(criterion);
+    String[] values = checkValue.split(",");
+    Window window = windowOf(method, values);
+    BigDecimal value = new BigDecimal(values[window.bound() == null ? 0 : 1].trim());
+    String comparison = method.group(3);
+    return data -> compare(aggregate(data, window), comparison, value);
+  }
+
+  /**
+   * Describe an internal method as a comparison of an aggregate over a window of observations.
+   * @param criterion Name of the internal method to execute; see {@code evaluate} for valid names
+   * @param checkValue Value to use for comparison, followed by the window
+   * @return The window the internal method aggregates over
+   * @since 1.2
+   * @throws LogicCriterionException Unknown internal method name defined for evaluation
+   */
+  @Override
+  public Window window(String criterion, String checkValue) throws LogicCriterionException {
+    return windowOf(parse(criterion), checkValue.split(","));
+  }
+
+  /**
+   * Indicates whether this unit of logic is able to judge the given data.
+   * @param data The data to evaluate
+   * @return Whether the data is an instance of {@code ObservationData}, of
+   *     {@code PatientObservation}, or of {@code WindowedObservation}
+   * @since 1.2
+   */
+  @Override
+  public boolean accepts(Object data) {
+    return data.getClass() == ObservationData.class
+        || data.getClass() == PatientObservation.class
+        || data.getClass() == WindowedObservation.class;
+  }
+
+  /**
+   * Returns the type of data this unit of logic judges.
+   * @return {@code ObservationData}
+   * @since 1.2
+   */
+  @Override
+  public Class<?> factType() {
+    return ObservationData.class;
+  }
+
+  /**
+   * Indicates whether some other object is "equal to" this one.
+   * @param o The object instance to compare to this instance
+   * @return Whether the comparison object instance is equal to this instance
+   * @since 1.2
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    return o != null && getClass() == o.getClass();
+  }
+
+  /**
+   * Returns a hash code value for the object.
+   * @return Hash code value for this object instance
+   * @since 1.2
+   */
+  @Override
+  public int hashCode() {
+    return getClass().getName().hashCode();
+  }
+}
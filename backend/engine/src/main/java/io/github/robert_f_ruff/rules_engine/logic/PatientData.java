@@ -5,9 +5,11 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 /**
- * Defines the data associated with a patient.
+ * Defines the data associated with a patient. The birth date is also held as a count of days
+ * since the epoch, converted once when it is set, so that comparing it against a cutoff is a
+ * primitive comparison.
  * @author Robert F. Ruff
- * @version 1.1
+ * @version 1.2
  */
 public class PatientData {
   /**
@@ -27,6 +29,8 @@ public class PatientData {
 
   private Gender gender;
   private LocalDate birthDate;
+  private int birthDay;
+  private String patientId;
 
   /**
    * Returns the patient's birth gender.
@@ -46,6 +50,56 @@ public class PatientData {
     return birthDate;
   }
 
+  /**
+   * Returns the patient's birth date as a count of days since the epoch.
+   * @return The number of days from 1970-01-01 to the date the patient was born, or
+   *     {@code Integer.MIN_VALUE} if the birth date is missing
+   */
+  int getBirthEpochDay() {
+    return birthDay;
+  }
+
+  // JSON property birthDate is bound through this setter
+  private void setBirthDate(LocalDate birthDate) {
+    this.birthDate = birthDate;
+    this.birthDay = birthDate == null ? Integer.MIN_VALUE
+        : (int) Math.clamp(birthDate.toEpochDay(), Integer.MIN_VALUE + 1, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns the patient's identifier.
+   * @return The patient's identifier, or {@code null} if the data is anonymous
+   * @since 1.2
+   */
+  public String getPatientId() {
+    return patientId;
+  }
+
+  /**
+   * New instance of PatientData.
+   * @param gender The enumeration value representing the patient's birth gender
+   * @param birthDate The date the patient was born, formatted as {@code YYYY-MM-DD}
+   * @param patientId The patient's identifier
+   * @since 1.2
+   */
+  public PatientData(Gender gender, String birthDate, String patientId) {
+    this(gender, birthDate);
+    this.patientId = patientId;
+  }
+
+  /**
+   * New instance of PatientData.
+   * @param gender The enumeration value representing the patient's birth gender
+   * @param birthDate The date the patient was born
+   * @param patientId The patient's identifier
+   * @since 1.2
+   */
+  public PatientData(Gender gender, LocalDate birthDate, String patientId) {
+    this.gender = gender;
+    setBirthDate(birthDate);
+    this.patientId = patientId;
+  }
+
   /**
    * New instace of PatientData.
    * @param gender The enumeration value representing the patient's birth gender
@@ -54,7 +108,7 @@ public class PatientData {
    */
   public PatientData(Gender gender, String birthDate) {
     this.gender = gender;
-    this.birthDate = LocalDate.parse(CharBuffer.wrap(birthDate.toCharArray()));
+    setBirthDate(LocalDate.parse(CharBuffer.wrap(birthDate.toCharArray())));
   }
 
   /**
@@ -63,7 +117,7 @@ public class PatientData {
    */
   public PatientData() {
     this.gender = Gender.MALE;
-    this.birthDate = LocalDate.now().plusDays(-1);
+    setBirthDate(LocalDate.now().plusDays(-1));
   }
 
   /**
@@ -78,7 +132,8 @@ public class PatientData {
 		if (o == null || getClass() != o.getClass()) return false;
 		PatientData patientData = (PatientData)o;
     return Objects.equals(gender, patientData.getGender())
-        && Objects.equals(birthDate, patientData.getBirthDate());
+        && Objects.equals(birthDate, patientData.getBirthDate())
+        && Objects.equals(patientId, patientData.getPatientId());
   }
 
   /**
@@ -88,7 +143,7 @@ public class PatientData {
    */
   @Override
 	public int hashCode() {
-		return Objects.hash(gender, birthDate);
+		return Objects.hash(gender, birthDate, patientId);
   }
 
   /**
@@ -98,6 +153,7 @@ public class PatientData {
 	 */
   @Override
   public String toString() {
-    return "PatientData [gender=" + gender + ", birthDate=" + birthDate + "]";
+    return "PatientData [gender=" + gender + ", birthDate=" + birthDate + ", patientId="
+        + patientId + "]";
   }
 }
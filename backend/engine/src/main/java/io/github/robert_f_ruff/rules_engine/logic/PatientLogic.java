@@ -2,6 +2,7 @@ package io.github.robert_f_ruff.rules_engine.logic;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -10,9 +11,43 @@ import java.util.function.Predicate;
 /**
  * Defines the logic associated with a patient.
  * @author Robert F. Ruff
- * @version 1.0
+ * @version 1.2
  */
 public class PatientLogic implements Logic {
+  /**
+   * Latest birth date, as a count of days since the epoch, that still makes a patient older than a
+   * given number of years. The date only changes at midnight, so it is recalculated once per day
+   * instead of on every evaluation.
+   */
+  private static final class BirthDateCutoff {
+    private record Window(int cutoff, long expires) { }
+
+    private final int years;
+    private volatile Window window;
+
+    int get() {
+      Window current = window;
+      if (System.currentTimeMillis() >= current.expires()) {
+        current = refresh();
+      }
+      return current.cutoff();
+    }
+
+    private Window refresh() {
+      LocalDate today = LocalDate.now();
+      long expires = today.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant()
+          .toEpochMilli();
+      Window current = new Window((int) today.minusYears(years).toEpochDay(), expires);
+      window = current;
+      return current;
+    }
+
+    BirthDateCutoff(int years) {
+      this.years = years;
+      this.window = new Window(Integer.MIN_VALUE, Long.MIN_VALUE);
+    }
+  }
+
   private Map<String, Predicate<String>> registry;
   private PatientData patient;
 
@@ -27,6 +62,14 @@ public class PatientLogic implements Logic {
     return age.getYears() > value ? true : false;
   }
 
+  private static PatientData asPatient(Object data) throws LogicDataTypeException {
+    if (data.getClass() == PatientObservation.class) {
+      return ((PatientObservation)data).patient();
+    }
+    if (data.getClass() != PatientData.class) throw new LogicDataTypeException("PatientData");
+    return (PatientData)data;
+  }
+
   /**
    * Determine the truth value of the logic.
    * @param criterion Name of the internal method to execute
@@ -39,7 +82,7 @@ public class PatientLogic implements Logic {
    * </table>
    * @param checkValue Value to use for comparison
    * @param data The data object instance to evalutate; only accepts an instance of
-   * {@code PatientData}
+   * {@code PatientData}, or of {@code PatientObservation} whose patient is judged
    * @return The evaluation result of executing the internal method given the data and comparison
    *     value
    * @since 1.0
@@ -50,14 +93,61 @@ public class PatientLogic implements Logic {
       throws LogicCriterionException, LogicDataTypeException {
     if (! registry.containsKey(criterion)) throw new LogicCriterionException(criterion);
     
-    if (data.getClass() == PatientData.class) {
-      patient = (PatientData)data;
-      return registry.get(criterion).test(checkValue);
-    } else {
-      throw new LogicDataTypeException("PatientData");
+    patient = asPatient(data);
+    return registry.get(criterion).test(checkValue);
+  }
+
+  /**
+   * Bind an internal method and comparison value into a reusable predicate. The age comparison
+   * is converted to a birth date cutoff ({@code age > N} holds when the patient was born on or
+   * before today minus {@code N + 1} years) and compared in days since the epoch, so evaluating
+   * the predicate does not allocate. A patient without a birth date is not older than any age.
+   * @param criterion Name of the internal method to execute; see {@code evaluate} for valid names
+   * @param checkValue Value to use for comparison
+   * @return Predicate that judges an instance of {@code PatientData}
+   * @since 1.2
+   * @throws LogicCriterionException Unknown internal method name defined for evaluation
+   */
+  @Override
+  public LogicPredicate compile(String criterion, String checkValue)
+      throws LogicCriterionException {
+    switch (criterion) {
+      case "IsFemale":
+        return data -> asPatient(data).getGender() == PatientData.Gender.FEMALE;
+      case "AgeGreaterThan": {
+        BirthDateCutoff cutoff = new BirthDateCutoff(Integer.parseInt(checkValue) + 1);
+        return data -> {
+          int birthDay = asPatient(data).getBirthEpochDay();
+          return birthDay != Integer.MIN_VALUE && birthDay <= cutoff.get();
+        };
+      }
+      default:
+        throw new LogicCriterionException(criterion);
     }
   }
 
+  /**
+   * Indicates whether this unit of logic is able to judge the given data.
+   * @param data The data to evaluate
+   * @return Whether the data is an instance of {@code PatientData}, or of
+   *     {@code PatientObservation}
+   * @since 1.2
+   */
+  @Override
+  public boolean accepts(Object data) {
+    return data.getClass() == PatientData.class || data.getClass() == PatientObservation.class;
+  }
+
+  /**
+   * Returns the type of data this unit of logic judges.
+   * @return {@code PatientData}
+   * @since 1.2
+   */
+  @Override
+  public Class<?> factType() {
+    return PatientData.class;
+  }
+
   /**
    * New instance of PatientLogic, populating the internal registry of internal
    * method names and method references.
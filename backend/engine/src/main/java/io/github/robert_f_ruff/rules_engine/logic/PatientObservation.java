@@ -0,0 +1,12 @@
+package io.github.robert_f_ruff.rules_engine.logic;
+
+/**
+ * An observation of a patient joined with the latest data of the same patient, so that a rule can
+ * combine criteria on both. Units of logic that judge either kind of data also judge the
+ * corresponding part of the join.
+ * @author Robert F. Ruff
+ * @version 1.2
+ * @param patient The latest data of the patient
+ * @param observation The latest observation of the patient
+ */
+public record PatientObservation(PatientData patient, ObservationData observation) { }
@@ -0,0 +1,59 @@
+package io.github.robert_f_ruff.rules_engine.logic;
+
+/**
+ * Describes an internal method that compares one numeric measure of the data against the
+ * comparison value. Criteria that share a measure and comparison differ only in their threshold,
+ * so the engine can judge all of them with a single search of the measured value. Both the
+ * threshold and the measured value are fixed-point values, as converted by {@code FixedPoint}.
+ * @author Robert F. Ruff
+ * @version 1.2
+ * @param comparison How the measured value is compared with the threshold
+ * @param value Fixed-point value of the threshold
+ * @param measure Extracts the measured value from the data
+ */
+public record Threshold(Comparison comparison, long value, Measure measure) {
+  /**
+   * Identifies how a measured value is compared with a threshold.
+   * @since 1.2
+   */
+  public static enum Comparison {
+    /**
+     * True when the measured value is greater than the threshold.
+     * @since 1.2
+     */
+    GREATER_THAN,
+    /**
+     * True when the measured value is less than the threshold.
+     * @since 1.2
+     */
+    LESS_THAN
+  }
+
+  /**
+   * Extracts a numeric measure from the data.
+   * @since 1.2
+   */
+  @FunctionalInterface
+  public static interface Measure {
+    /**
+     * Returns the measured value.
+     * @param data The data to measure
+     * @return Fixed-point value of the measurement; {@code FixedPoint.NONE} if it is missing
+     * @since 1.2
+     * @throws LogicDataTypeException Invalid data type used for evaluation
+     */
+    long of(Object data) throws LogicDataTypeException;
+  }
+
+  /**
+   * Determine the truth value of the comparison for a measured value.
+   * @param measured Fixed-point value of the measurement
+   * @return Whether the measured value satisfies the comparison; a missing measurement satisfies
+   *     neither comparison
+   * @since 1.2
+   */
+  public boolean test(long measured) {
+    return comparison == Comparison.GREATER_THAN ? FixedPoint.greaterThan(measured, value)
+        : FixedPoint.lessThan(measured, value);
+  }
+}
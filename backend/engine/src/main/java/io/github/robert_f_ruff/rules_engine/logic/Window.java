@@ -0,0 +1,90 @@
+package io.github.robert_f_ruff.rules_engine.logic;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Describes an aggregate of one measure over a patient's most recent observations. The window
+ * spans either a length of time, ending at the latest observation, or a number of observations.
+ * Criteria that share a window share its aggregate, whatever they compare it against.
+ * @author Robert F. Ruff
+ * @version 1.2
+ * @param field The measure aggregated
+ * @param aggregate How the measured values are combined
+ * @param bound For {@code Aggregate.COUNT_BELOW} and {@code Aggregate.COUNT_ABOVE}, the value
+ *     counted observations are compared against; otherwise {@code null}
+ * @param span Length of time the window covers, or {@code null} if the window covers a number
+ *     of observations
+ * @param count Number of observations the window covers, or zero if the window covers a length
+ *     of time
+ */
+public record Window(Field field, Aggregate aggregate, BigDecimal bound, Duration span, int count) {
+  /**
+   * Identifies the measure of an observation that a window aggregates.
+   * @since 1.2
+   */
+  public static enum Field {
+    /**
+     * The patient's weight.
+     * @since 1.2
+     */
+    BODY_WEIGHT,
+    /**
+     * The amount of glucose in the patient's blood.
+     * @since 1.2
+     */
+    BLOOD_GLUCOSE;
+
+    /**
+     * Returns the measured value.
+     * @param observation The observation to measure
+     * @return The measured value
+     * @since 1.2
+     */
+    public BigDecimal of(ObservationData observation) {
+      return this == BODY_WEIGHT ? observation.getBodyWeight() : observation.getBloodGlucose();
+    }
+  }
+
+  /**
+   * Identifies how the measured values within a window are combined.
+   * @since 1.2
+   */
+  public static enum Aggregate {
+    /**
+     * Number of observations whose value is less than the bound.
+     * @since 1.2
+     */
+    COUNT_BELOW,
+    /**
+     * Number of observations whose value is greater than the bound.
+     * @since 1.2
+     */
+    COUNT_ABOVE,
+    /**
+     * Lowest value.
+     * @since 1.2
+     */
+    MINIMUM,
+    /**
+     * Highest value.
+     * @since 1.2
+     */
+    MAXIMUM,
+    /**
+     * Mean of the values.
+     * @since 1.2
+     */
+    AVERAGE,
+    /**
+     * Latest value less the earliest value.
+     * @since 1.2
+     */
+    CHANGE,
+    /**
+     * Latest value less the earliest value, as a percentage of the earliest value.
+     * @since 1.2
+     */
+    CHANGE_PERCENT
+  }
+}
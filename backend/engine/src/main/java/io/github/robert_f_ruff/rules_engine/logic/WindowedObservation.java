@@ -0,0 +1,78 @@
+package io.github.robert_f_ruff.rules_engine.logic;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * An observation of a patient together with the aggregates of the patient's windows of recent
+ * observations, as they stood when the observation was judged. The engine fills one instance per
+ * thread and reuses it, slot by slot, for every observation that thread judges, so judging a
+ * window does not allocate and the observation itself is left untouched. Not safe for use by
+ * several threads at once.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public final class WindowedObservation {
+  private ObservationData observation;
+  private Window[] windows;
+  private BigDecimal[] aggregates;
+
+  /**
+   * Returns the observation being judged.
+   * @return The observation
+   * @since 1.2
+   */
+  public ObservationData getObservation() {
+    return observation;
+  }
+
+  /**
+   * Returns an aggregate of the patient's recent observations.
+   * @param window The window to aggregate over
+   * @return The aggregate, or {@code null} if the window was not aggregated for this observation
+   *     or has no value
+   * @since 1.2
+   */
+  public BigDecimal getAggregate(Window window) {
+    for (int slot = 0; slot < windows.length; slot++) {
+      if (windows[slot].equals(window)) return aggregates[slot];
+    }
+    return null;
+  }
+
+  /**
+   * Starts filling the aggregates of another observation, all of them initially without a value.
+   * @param observation The observation being judged
+   * @param windows The windows aggregated, each filling the slot of its position
+   * @since 1.2
+   */
+  public void reset(ObservationData observation, Window[] windows) {
+    this.observation = observation;
+    this.windows = windows;
+    if (aggregates.length < windows.length) {
+      aggregates = new BigDecimal[windows.length];
+    } else {
+      Arrays.fill(aggregates, 0, windows.length, null);
+    }
+  }
+
+  /**
+   * Fills the aggregate of a window.
+   * @param slot Position of the window among those given to {@code reset}
+   * @param aggregate The aggregate, or {@code null} if the window has no value
+   * @since 1.2
+   */
+  public void setAggregate(int slot, BigDecimal aggregate) {
+    aggregates[slot] = aggregate;
+  }
+
+  /**
+   * New instance of WindowedObservation.
+   * @param capacity Number of windows initially reserved for
+   * @since 1.2
+   */
+  public WindowedObservation(int capacity) {
+    this.windows = new Window[0];
+    this.aggregates = new BigDecimal[capacity];
+  }
+}
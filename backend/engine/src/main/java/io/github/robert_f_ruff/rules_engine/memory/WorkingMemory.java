@@ -0,0 +1,125 @@
+package io.github.robert_f_ruff.rules_engine.memory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientObservation;
+
+/**
+ * Remembers the latest patient data and the latest observation of every identified patient, and
+ * joins each newly arrived fact with the remembered fact of the other kind. Facts are held in a
+ * hash table keyed by patient identifier, so a join costs the same however many patients are
+ * remembered. A patient is forgotten once no fact of the patient has arrived for the idle timeout,
+ * or, when the memory holds the configured number of patients, once the patient is the one whose
+ * facts arrived least recently.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Component
+public class WorkingMemory {
+  private static final class Facts {
+    private PatientData patient;
+    private ObservationData observation;
+    private long lastSeen;
+  }
+  private final boolean enabled;
+  private final long idleTimeout;
+  private final LinkedHashMap<String, Facts> patients;
+  private final LongSupplier clock;
+
+  /**
+   * Returns the number of patients remembered.
+   * @return Number of patients
+   * @since 1.2
+   */
+  public synchronized int size() {
+    evictIdle(clock.getAsLong());
+    return patients.size();
+  }
+
+  /**
+   * Remembers a fact of an identified patient, replacing the patient's previous fact of the same
+   * kind, and joins it with the patient's remembered fact of the other kind.
+   * @param data The newly arrived fact
+   * @return The fact joined with the patient's latest fact of the other kind, or {@code null} if
+   *     the memory is disabled, the fact does not identify its patient, or no fact of the other
+   *     kind is remembered
+   * @since 1.2
+   */
+  public PatientObservation join(Object data) {
+    if (! enabled) return null;
+    String patientId;
+    if (data.getClass() == PatientData.class) {
+      patientId = ((PatientData) data).getPatientId();
+    } else if (data.getClass() == ObservationData.class) {
+      patientId = ((ObservationData) data).getPatientId();
+    } else {
+      return null;
+    }
+    if (patientId == null) return null;
+    synchronized (this) {
+      long now = clock.getAsLong();
+      evictIdle(now);
+      Facts facts = patients.remove(patientId);
+      if (facts == null) facts = new Facts();
+      patients.put(patientId, facts);
+      facts.lastSeen = now;
+      if (data.getClass() == PatientData.class) {
+        facts.patient = (PatientData) data;
+      } else {
+        facts.observation = (ObservationData) data;
+      }
+      if (facts.patient == null || facts.observation == null) return null;
+      return new PatientObservation(facts.patient, facts.observation);
+    }
+  }
+
+  private void evictIdle(long now) {
+    Iterator<Facts> eldest = patients.values().iterator();
+    while (eldest.hasNext() && now - eldest.next().lastSeen > idleTimeout) {
+      eldest.remove();
+    }
+  }
+
+  /**
+   * New instance of WorkingMemory.
+   * @param enabled Whether facts are remembered and joined
+   * @param idleTimeout Milliseconds without a fact after which a patient is forgotten
+   * @param maxPatients Most patients remembered at once
+   * @since 1.2
+   */
+  @Autowired
+  public WorkingMemory(@Value("${rules_engine.working_memory.enabled:false}") boolean enabled,
+      @Value("${rules_engine.working_memory.idle_timeout:604800000}") long idleTimeout,
+      @Value("${rules_engine.working_memory.max_patients:100000}") int maxPatients) {
+    this(enabled, idleTimeout, maxPatients, System::currentTimeMillis);
+  }
+
+  /**
+   * New instance of WorkingMemory that remembers nothing.
+   * @since 1.2
+   */
+  public WorkingMemory() {
+    this(false, 0, 0);
+  }
+
+  WorkingMemory(boolean enabled, long idleTimeout, int maxPatients, LongSupplier clock) {
+    this.enabled = enabled;
+    this.idleTimeout = idleTimeout;
+    this.patients = new LinkedHashMap<>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Facts> eldest) {
+        return size() > maxPatients;
+      }
+    };
+    this.clock = clock;
+  }
+}
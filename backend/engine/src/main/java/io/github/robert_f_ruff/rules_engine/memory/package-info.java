@@ -0,0 +1,4 @@
+/**
+ * Working memory joining the latest facts of each patient
+ */
+package io.github.robert_f_ruff.rules_engine.memory;
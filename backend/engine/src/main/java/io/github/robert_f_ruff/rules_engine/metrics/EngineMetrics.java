@@ -0,0 +1,259 @@
+package io.github.robert_f_ruff.rules_engine.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import io.github.robert_f_ruff.rules_engine.actions.Action;
+import io.github.robert_f_ruff.rules_engine.actions.ActionListener;
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
+
+/**
+ * Records the engine's measurements with Micrometer. Meters are tagged only by fact type,
+ * criterion, rule and action type, all of which are bounded by the loaded rule set; meters are
+ * registered ahead of use so that recording a measurement does not allocate.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Component
+public class EngineMetrics implements ActionListener {
+  /**
+   * Name of the timer measuring complete evaluations.
+   * @since 1.2
+   */
+  public static final String EVALUATION_TIMER = "rules_engine.evaluation";
+  /**
+   * Name of the gauge reporting evaluations in progress.
+   * @since 1.2
+   */
+  public static final String EVALUATIONS_ACTIVE = "rules_engine.evaluations.active";
+  /**
+   * Name of the timer measuring criterion evaluations.
+   * @since 1.2
+   */
+  public static final String CRITERION_TIMER = "rules_engine.criterion";
+  /**
+   * Name of the counter of criterion evaluations by result.
+   * @since 1.2
+   */
+  public static final String CRITERION_RESULTS = "rules_engine.criterion.results";
+  /**
+   * Name of the counter of applicable rules.
+   * @since 1.2
+   */
+  public static final String RULE_FIRED = "rules_engine.rule.fired";
+  /**
+   * Name of the timer measuring action execution.
+   * @since 1.2
+   */
+  public static final String ACTION_TIMER = "rules_engine.action";
+  /**
+   * Name of the counter of actions suppressed within their quiet period.
+   * @since 1.2
+   */
+  public static final String ACTION_SUPPRESSED = "rules_engine.action.suppressed";
+  /**
+   * Name of the timer measuring rule set loads.
+   * @since 1.2
+   */
+  public static final String RELOAD_TIMER = "rules_engine.reload";
+  /**
+   * Name of the gauge reporting the number of rules in the rule set.
+   * @since 1.2
+   */
+  public static final String RULE_COUNT = "rules_engine.rules";
+  /**
+   * Name of the gauge reporting the number of criteria in the rule set.
+   * @since 1.2
+   */
+  public static final String CRITERION_COUNT = "rules_engine.criteria";
+  /**
+   * Tag identifying the type of data evaluated.
+   * @since 1.2
+   */
+  public static final String FACT_TAG = "fact";
+  /**
+   * Tag identifying a criterion by name.
+   * @since 1.2
+   */
+  public static final String CRITERION_TAG = "criterion";
+  /**
+   * Tag identifying a criterion result.
+   * @since 1.2
+   */
+  public static final String RESULT_TAG = "result";
+  /**
+   * Tag identifying a rule by name.
+   * @since 1.2
+   */
+  public static final String RULE_TAG = "rule";
+  /**
+   * Tag identifying the type of an action.
+   * @since 1.2
+   */
+  public static final String TYPE_TAG = "type";
+  /**
+   * Tag identifying whether an action succeeded.
+   * @since 1.2
+   */
+  public static final String OUTCOME_TAG = "outcome";
+  private MeterRegistry registry;
+  private AtomicInteger active;
+  private volatile RuleSet ruleSet;
+  private volatile RuleSetMeters ruleSetMeters;
+  private ClassValue<Timer> evaluationTimers;
+  private ClassValue<Timer[]> actionTimers;
+  private ClassValue<Counter> suppressedCounters;
+  private Timer reloadTimer;
+
+  /**
+   * Records the start of an evaluation.
+   * @since 1.2
+   */
+  public void evaluationStarted() {
+    active.incrementAndGet();
+  }
+
+  /**
+   * Records the end of an evaluation.
+   * @param data The evaluated data; only its type is recorded
+   * @param durationNanos How long the evaluation took, in nanoseconds
+   * @since 1.2
+   */
+  public void evaluationFinished(Object data, long durationNanos) {
+    active.decrementAndGet();
+    evaluationTimers.get(data.getClass()).record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns the criterion and rule meters of a rule set, registering them when the rule set is
+   * seen for the first time. The meters of the rule set it replaces that it does not share are
+   * removed from the registry.
+   * @param ruleSet The rule set being evaluated
+   * @return Meters of the rule set's criteria and rules
+   * @since 1.2
+   */
+  public RuleSetMeters getMeters(RuleSet ruleSet) {
+    RuleSetMeters meters = ruleSetMeters;
+    if (meters == null || meters.getRuleSet() != ruleSet) {
+      synchronized (this) {
+        meters = ruleSetMeters;
+        if (meters == null || meters.getRuleSet() != ruleSet) {
+          RuleSetMeters replaced = meters;
+          meters = new RuleSetMeters(registry, ruleSet);
+          if (replaced != null) replaced.removeReplaced(registry, meters);
+          ruleSetMeters = meters;
+        }
+      }
+    }
+    return meters;
+  }
+
+  /**
+   * Records the load of a rule set.
+   * @param ruleSet The rule set that was loaded
+   * @param durationNanos How long the load took, in nanoseconds
+   * @since 1.2
+   */
+  public void ruleSetLoaded(RuleSet ruleSet, long durationNanos) {
+    this.ruleSet = ruleSet;
+    reloadTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Records the execution of an action.
+   * @param action The action that was performed
+   * @param durationNanos How long the action took, in nanoseconds
+   * @param succeeded Whether the action completed without error
+   * @since 1.2
+   */
+  @Override
+  public void actionCompleted(Action action, long durationNanos, boolean succeeded) {
+    actionTimers.get(action.getClass())[succeeded ? 0 : 1].record(durationNanos,
+        TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Records an action that was suppressed instead of performed.
+   * @param action The action that was not performed
+   * @since 1.2
+   */
+  @Override
+  public void actionSuppressed(Action action) {
+    suppressedCounters.get(action.getClass()).increment();
+  }
+
+  /**
+   * New instance of EngineMetrics.
+   * @param registry Registry the engine's meters are registered with
+   * @since 1.2
+   */
+  @Autowired
+  public EngineMetrics(MeterRegistry registry) {
+    this.registry = registry;
+    this.active = new AtomicInteger();
+    this.ruleSet = new RuleSet();
+    this.ruleSetMeters = null;
+    this.evaluationTimers = new ClassValue<>() {
+      @Override
+      protected Timer computeValue(Class<?> type) {
+        return Timer.builder(EVALUATION_TIMER)
+            .description("Time taken to evaluate the rule set against a piece of data")
+            .tag(FACT_TAG, type.getSimpleName())
+            .publishPercentileHistogram()
+            .register(registry);
+      }
+    };
+    this.actionTimers = new ClassValue<>() {
+      @Override
+      protected Timer[] computeValue(Class<?> type) {
+        return new Timer[] {actionTimer(type, "success"), actionTimer(type, "failure")};
+      }
+    };
+    this.suppressedCounters = new ClassValue<>() {
+      @Override
+      protected Counter computeValue(Class<?> type) {
+        return Counter.builder(ACTION_SUPPRESSED)
+            .description("Number of actions suppressed within their quiet period")
+            .tag(TYPE_TAG, type.getSimpleName())
+            .register(registry);
+      }
+    };
+    this.reloadTimer = Timer.builder(RELOAD_TIMER)
+        .description("Time taken to load the rule set from the database")
+        .register(registry);
+    Gauge.builder(EVALUATIONS_ACTIVE, active, AtomicInteger::get)
+        .description("Number of evaluations in progress")
+        .register(registry);
+    Gauge.builder(RULE_COUNT, this, metrics -> metrics.ruleSet.getRuleCount())
+        .description("Number of rules in the loaded rule set")
+        .register(registry);
+    Gauge.builder(CRITERION_COUNT, this, metrics -> metrics.ruleSet.getCriterionCount())
+        .description("Number of criteria in the loaded rule set")
+        .register(registry);
+  }
+
+  /**
+   * New instance of EngineMetrics whose meters record nothing.
+   * @since 1.2
+   */
+  public EngineMetrics() {
+    this(new CompositeMeterRegistry());
+  }
+
+  private Timer actionTimer(Class<?> type, String outcome) {
+    return Timer.builder(ACTION_TIMER)
+        .description("Time taken to perform an action")
+        .tag(TYPE_TAG, type.getSimpleName())
+        .tag(OUTCOME_TAG, outcome)
+        .register(registry);
+  }
+}
@@ -0,0 +1,119 @@
+package io.github.robert_f_ruff.rules_engine.metrics;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
+
+/**
+ * Holds the meters of each criterion and rule in a rule set, indexed by position, so that
+ * recording a measurement during evaluation needs no lookup.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public final class RuleSetMeters {
+  private final RuleSet ruleSet;
+  private final Timer[] criterionTimers;
+  private final Counter[] criterionPassed;
+  private final Counter[] criterionFailed;
+  private final Counter[] rulesFired;
+
+  /**
+   * Returns the rule set these meters belong to.
+   * @return The instrumented rule set
+   * @since 1.2
+   */
+  public RuleSet getRuleSet() {
+    return ruleSet;
+  }
+
+  /**
+   * Records the evaluation of a criterion.
+   * @param index Position of the criterion in the rule set
+   * @param result Result of the logic evaluation
+   * @param durationNanos How long the evaluation took, in nanoseconds
+   * @since 1.2
+   */
+  public void criterionEvaluated(int index, boolean result, long durationNanos) {
+    criterionTimers[index].record(durationNanos, TimeUnit.NANOSECONDS);
+    (result ? criterionPassed : criterionFailed)[index].increment();
+  }
+
+  /**
+   * Records that a rule was found applicable.
+   * @param index Position of the rule in the rule set
+   * @since 1.2
+   */
+  public void ruleFired(int index) {
+    rulesFired[index].increment();
+  }
+
+  /**
+   * Removes from the registry the meters of criteria and rules that the replacing rule set no
+   * longer has, such as those renamed or removed by a reload.
+   * @param registry Registry the meters are registered with
+   * @param replacement Meters of the rule set that replaces this one
+   */
+  void removeReplaced(MeterRegistry registry, RuleSetMeters replacement) {
+    Set<Meter> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+    replacement.addMeters(kept);
+    Set<Meter> replaced = Collections.newSetFromMap(new IdentityHashMap<>());
+    addMeters(replaced);
+    for (Meter meter : replaced) {
+      if (! kept.contains(meter)) registry.remove(meter);
+    }
+  }
+
+  private void addMeters(Set<Meter> meters) {
+    Collections.addAll(meters, criterionTimers);
+    Collections.addAll(meters, criterionPassed);
+    Collections.addAll(meters, criterionFailed);
+    Collections.addAll(meters, rulesFired);
+  }
+
+  /**
+   * New instance of RuleSetMeters; registers the meters of every criterion and rule in the rule
+   * set that are not already registered.
+   * @param registry Registry the meters are registered with
+   * @param ruleSet The rule set to instrument
+   * @since 1.2
+   */
+  public RuleSetMeters(MeterRegistry registry, RuleSet ruleSet) {
+    this.ruleSet = ruleSet;
+    int criterionCount = ruleSet.getCriterionCount();
+    this.criterionTimers = new Timer[criterionCount];
+    this.criterionPassed = new Counter[criterionCount];
+    this.criterionFailed = new Counter[criterionCount];
+    for (int index = 0; index < criterionCount; index++) {
+      String name = ruleSet.getCriterion(index).getName();
+      criterionTimers[index] = Timer.builder(EngineMetrics.CRITERION_TIMER)
+          .description("Time taken to evaluate a criterion")
+          .tag(EngineMetrics.CRITERION_TAG, name)
+          .register(registry);
+      criterionPassed[index] = Counter.builder(EngineMetrics.CRITERION_RESULTS)
+          .description("Number of criterion evaluations by result")
+          .tag(EngineMetrics.CRITERION_TAG, name)
+          .tag(EngineMetrics.RESULT_TAG, "true")
+          .register(registry);
+      criterionFailed[index] = Counter.builder(EngineMetrics.CRITERION_RESULTS)
+          .description("Number of criterion evaluations by result")
+          .tag(EngineMetrics.CRITERION_TAG, name)
+          .tag(EngineMetrics.RESULT_TAG, "false")
+          .register(registry);
+    }
+    this.rulesFired = new Counter[ruleSet.getRuleCount()];
+    for (int index = 0; index < rulesFired.length; index++) {
+      rulesFired[index] = Counter.builder(EngineMetrics.RULE_FIRED)
+          .description("Number of times a rule was found applicable")
+          .tag(EngineMetrics.RULE_TAG, ruleSet.getRule(index).getName())
+          .register(registry);
+    }
+  }
+}
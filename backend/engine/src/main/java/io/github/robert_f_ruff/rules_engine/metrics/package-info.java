@@ -0,0 +1,4 @@
+/**
+ * Micrometer instrumentation of evaluations, criteria, rules, actions and rule set loads
+ */
+package io.github.robert_f_ruff.rules_engine.metrics;
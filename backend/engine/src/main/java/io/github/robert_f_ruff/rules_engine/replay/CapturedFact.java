@@ -0,0 +1,10 @@
+package io.github.robert_f_ruff.rules_engine.replay;
+
+/**
+ * A fact read back from a traffic log.
+ * @author Robert F. Ruff
+ * @version 1.2
+ * @param capturedAt When the fact was received, in milliseconds since the epoch
+ * @param fact An instance of {@code PatientData} or {@code ObservationData}
+ */
+public record CapturedFact(long capturedAt, Object fact) { }
@@ -0,0 +1,97 @@
+package io.github.robert_f_ruff.rules_engine.replay;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replays a traffic log from the command line, then exits. Started when
+ * {@code rules_engine.replay.log} is set, for example with
+ * {@code --spring.main.web-application-type=none --rules_engine.replay.log=traffic.log}; the rule
+ * set is loaded from the database as usual. The summary and any differences from the baseline
+ * are logged. The application exits with 0 when no fired rules differ, 1 when some do, and 2
+ * when the replay fails.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Component
+@ConditionalOnProperty(name = "rules_engine.replay.log")
+public class ReplayCommand implements ApplicationRunner {
+  private final TrafficReplayer replayer;
+  private final ConfigurableApplicationContext context;
+  private final Path log;
+  private final boolean paced;
+  private final Path report;
+  private final Path baseline;
+  private final Logger logger;
+
+  @Override
+  public void run(ApplicationArguments arguments) {
+    int status = replay();
+    System.exit(SpringApplication.exit(context, () -> status));
+  }
+
+  /**
+   * Replays the traffic log, saving the fired rules and comparing them with the baseline when
+   * either is configured.
+   * @return Exit status of the replay
+   */
+  int replay() {
+    try {
+      ReplayReport replayed = replayer.replay(log, paced);
+      if (report != null) replayed.write(report);
+      List<RuleDifference> differences = List.of();
+      if (baseline != null) differences = replayed.diff(ReplayReport.readFiredRules(baseline));
+      logger.info("Replayed {} facts at {} facts/s; latency p50 {} ns, p95 {} ns, p99 {} ns",
+          replayed.getFacts(), String.format("%.1f", replayed.getThroughput()),
+          replayed.getLatencyPercentile(50), replayed.getLatencyPercentile(95),
+          replayed.getLatencyPercentile(99));
+      for (RuleDifference difference : differences) {
+        logger.info("Fact {} ({}): fired {}, no longer fired {}", difference.fact(),
+            difference.factType(), difference.added(), difference.removed());
+      }
+      return differences.isEmpty() ? 0 : 1;
+    } catch (IOException | NumberFormatException e) {
+      logger.error("Replay of " + log + " failed: " + e.getMessage());
+      return 2;
+    }
+  }
+
+  /**
+   * New instance of ReplayCommand.
+   * @param replayer Instance of TrafficReplayer that replays the log
+   * @param context The application, closed once the replay is done
+   * @param log Path of the traffic log to replay
+   * @param paced Whether facts are replayed at the pace they were received, rather than as fast
+   *     as possible
+   * @param report Path the rules fired for each fact are saved to; empty to not save them
+   * @param baseline Path of the fired rules saved by an earlier replay of the same log, to
+   *     compare with; empty to not compare
+   * @since 1.2
+   */
+  @Autowired
+  public ReplayCommand(TrafficReplayer replayer, ConfigurableApplicationContext context,
+      @Value("${rules_engine.replay.log}") String log,
+      @Value("${rules_engine.replay.paced:false}") boolean paced,
+      @Value("${rules_engine.replay.report:}") String report,
+      @Value("${rules_engine.replay.baseline:}") String baseline) {
+    this.replayer = replayer;
+    this.context = context;
+    this.log = Path.of(log);
+    this.paced = paced;
+    this.report = report.isBlank() ? null : Path.of(report);
+    this.baseline = baseline.isBlank() ? null : Path.of(baseline);
+    this.logger = LoggerFactory.getLogger(this.getClass().getName());
+  }
+}
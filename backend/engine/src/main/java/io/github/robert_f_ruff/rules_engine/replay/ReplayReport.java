@@ -0,0 +1,151 @@
+package io.github.robert_f_ruff.rules_engine.replay;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Outcome of replaying a traffic log: its throughput, the latency of each evaluation, and the
+ * rules fired for each fact. The fired rules can be saved and compared with those of a later
+ * replay of the same log, under another rule set or engine build.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public class ReplayReport {
+  private final String[] factTypes;
+  private final long[] latencies;
+  private final long[][] firedRules;
+  private final long elapsedNanos;
+
+  /**
+   * Returns the number of facts replayed.
+   * @return Number of facts
+   * @since 1.2
+   */
+  public int getFacts() {
+    return firedRules.length;
+  }
+
+  /**
+   * Returns how long the replay took.
+   * @return Duration of the replay in nanoseconds, including any pauses to keep the original pacing
+   * @since 1.2
+   */
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  /**
+   * Returns the rate facts were evaluated at.
+   * @return Facts evaluated per second
+   * @since 1.2
+   */
+  public double getThroughput() {
+    return elapsedNanos == 0 ? 0 : firedRules.length * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * Returns a percentile of evaluation latency.
+   * @param percentile Percentile between 0 and 100, such as 99 for the 99th percentile
+   * @return Latency in nanoseconds at or below which the given percentage of evaluations took;
+   *     zero if no fact was replayed
+   * @since 1.2
+   */
+  public long getLatencyPercentile(double percentile) {
+    if (latencies.length == 0) return 0;
+    int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+    return latencies[Math.min(Math.max(rank, 1), latencies.length) - 1];
+  }
+
+  /**
+   * Returns the rules fired for a fact.
+   * @param fact Position of the fact in the traffic log, starting at zero
+   * @return Identifiers of the fired rules, in ascending order
+   * @since 1.2
+   */
+  public long[] getFiredRules(int fact) {
+    return firedRules[fact].clone();
+  }
+
+  /**
+   * Compares the rules fired for each fact with those of a baseline replay of the same log.
+   * @param baseline Identifiers of the rules fired for each fact by the baseline, as returned
+   *     by {@code readFiredRules}
+   * @return Every fact whose fired rules differ, in log order
+   * @since 1.2
+   */
+  public List<RuleDifference> diff(long[][] baseline) {
+    ArrayList<RuleDifference> differences = new ArrayList<>();
+    long[] none = new long[0];
+    for (int fact = 0; fact < Math.max(firedRules.length, baseline.length); fact++) {
+      long[] current = fact < firedRules.length ? firedRules[fact] : none;
+      long[] previous = fact < baseline.length ? baseline[fact] : none;
+      List<Long> added = missing(current, previous);
+      List<Long> removed = missing(previous, current);
+      if (! added.isEmpty() || ! removed.isEmpty()) {
+        differences.add(new RuleDifference(fact, fact < factTypes.length ? factTypes[fact] : null,
+            added, removed));
+      }
+    }
+    return differences;
+  }
+
+  private static List<Long> missing(long[] from, long[] in) {
+    ArrayList<Long> missing = new ArrayList<>();
+    for (long id : from) {
+      if (Arrays.binarySearch(in, id) < 0) missing.add(id);
+    }
+    return missing;
+  }
+
+  /**
+   * Saves the rules fired for each fact, one line per fact with the rule identifiers separated
+   * by commas.
+   * @param file Path the fired rules are written to
+   * @since 1.2
+   * @throws IOException Error occurred while writing the file
+   */
+  public void write(Path file) throws IOException {
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+      for (long[] fired : firedRules) {
+        for (int index = 0; index < fired.length; index++) {
+          if (index > 0) writer.write(',');
+          writer.write(Long.toString(fired[index]));
+        }
+        writer.newLine();
+      }
+    }
+  }
+
+  /**
+   * Reads the rules fired for each fact, as saved by {@code write}.
+   * @param file Path of the saved fired rules
+   * @return Identifiers of the fired rules of each fact, in ascending order
+   * @since 1.2
+   * @throws IOException Error occurred while reading the file
+   * @throws NumberFormatException The file holds something other than rule identifiers
+   */
+  public static long[][] readFiredRules(Path file) throws IOException {
+    List<String> lines = Files.readAllLines(file, StandardCharsets.US_ASCII);
+    long[][] firedRules = new long[lines.size()][];
+    for (int fact = 0; fact < firedRules.length; fact++) {
+      String line = lines.get(fact).trim();
+      firedRules[fact] = line.isEmpty() ? new long[0]
+          : Arrays.stream(line.split(",")).mapToLong(id -> Long.parseLong(id.trim())).sorted().toArray();
+    }
+    return firedRules;
+  }
+
+  ReplayReport(String[] factTypes, long[] latencies, long[][] firedRules, long elapsedNanos) {
+    this.factTypes = factTypes;
+    this.latencies = latencies.clone();
+    Arrays.sort(this.latencies);
+    this.firedRules = firedRules;
+    this.elapsedNanos = elapsedNanos;
+  }
+}
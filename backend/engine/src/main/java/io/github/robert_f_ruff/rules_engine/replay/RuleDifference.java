@@ -0,0 +1,14 @@
+package io.github.robert_f_ruff.rules_engine.replay;
+
+import java.util.List;
+
+/**
+ * How the rules fired for one replayed fact differ from a baseline replay of the same log.
+ * @author Robert F. Ruff
+ * @version 1.2
+ * @param fact Position of the fact in the traffic log, starting at zero
+ * @param factType Simple class name of the fact, or {@code null} if only the baseline replayed it
+ * @param added Identifiers of the rules fired only in this replay
+ * @param removed Identifiers of the rules fired only in the baseline
+ */
+public record RuleDifference(int fact, String factType, List<Long> added, List<Long> removed) { }
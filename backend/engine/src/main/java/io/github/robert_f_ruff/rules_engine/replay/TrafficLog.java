@@ -0,0 +1,156 @@
+package io.github.robert_f_ruff.rules_engine.replay;
+
+import java.io.BufferedInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+
+/**
+ * Reads and writes the compact binary format of a traffic log. A log starts with a four byte
+ * marker, followed by one record per fact: a kind byte, the time the fact was received, and the
+ * fact's fields. Numbers and dates are written in binary, so an observation takes about forty
+ * bytes plus its patient identifier.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public final class TrafficLog {
+  /**
+   * Marker at the start of every traffic log.
+   * @since 1.2
+   */
+  public static final int MARKER = 0x52454354;
+  private static final byte PATIENT = 1;
+  private static final byte OBSERVATION = 2;
+
+  /**
+   * Writes a received fact.
+   * @param output Where the record is written
+   * @param capturedAt When the fact was received, in milliseconds since the epoch
+   * @param fact An instance of {@code PatientData} or {@code ObservationData}
+   * @since 1.2
+   * @throws IOException Error occurred while writing the record
+   */
+  public static void write(DataOutput output, long capturedAt, Object fact) throws IOException {
+    if (fact instanceof PatientData patient) {
+      output.writeByte(PATIENT);
+      output.writeLong(capturedAt);
+      writeText(output, patient.getPatientId());
+      output.writeByte(patient.getGender() == null ? -1 : patient.getGender().ordinal());
+      output.writeBoolean(patient.getBirthDate() != null);
+      if (patient.getBirthDate() != null) output.writeLong(patient.getBirthDate().toEpochDay());
+    } else if (fact instanceof ObservationData observation) {
+      output.writeByte(OBSERVATION);
+      output.writeLong(capturedAt);
+      writeText(output, observation.getPatientId());
+      writeDecimal(output, observation.getBodyWeight());
+      writeDecimal(output, observation.getBloodGlucose());
+      output.writeBoolean(observation.getObservedAt() != null);
+      if (observation.getObservedAt() != null) {
+        output.writeLong(observation.getObservedAt().getEpochSecond());
+        output.writeInt(observation.getObservedAt().getNano());
+      }
+    } else {
+      throw new IllegalArgumentException("Cannot capture " + fact.getClass().getSimpleName());
+    }
+  }
+
+  /**
+   * Reads the next received fact.
+   * @param input Where the record is read from
+   * @return The fact, or {@code null} at the end of the log
+   * @since 1.2
+   * @throws IOException Error occurred while reading the record, or the record is malformed
+   */
+  public static CapturedFact read(DataInput input) throws IOException {
+    byte kind;
+    try {
+      kind = input.readByte();
+    } catch (EOFException e) {
+      return null;
+    }
+    long capturedAt = input.readLong();
+    String patientId = readText(input);
+    if (kind == PATIENT) {
+      byte gender = input.readByte();
+      LocalDate birthDate = input.readBoolean() ? LocalDate.ofEpochDay(input.readLong()) : null;
+      return new CapturedFact(capturedAt, new PatientData(
+          gender < 0 ? null : PatientData.Gender.values()[gender], birthDate, patientId));
+    }
+    if (kind == OBSERVATION) {
+      BigDecimal weight = readDecimal(input);
+      BigDecimal glucose = readDecimal(input);
+      Instant observedAt = input.readBoolean()
+          ? Instant.ofEpochSecond(input.readLong(), input.readInt()) : null;
+      return new CapturedFact(capturedAt, new ObservationData(weight, glucose, patientId,
+          observedAt));
+    }
+    throw new IOException("Malformed traffic log: unknown record kind " + kind);
+  }
+
+  /**
+   * Reads every fact of a traffic log.
+   * @param file Path of the traffic log
+   * @return The facts in the order they were received
+   * @since 1.2
+   * @throws IOException Error occurred while reading the log, or the log is malformed
+   */
+  public static List<CapturedFact> readAll(Path file) throws IOException {
+    ArrayList<CapturedFact> facts = new ArrayList<>();
+    try (DataInputStream input = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(file)))) {
+      if (input.readInt() != MARKER) throw new IOException("Not a traffic log: " + file);
+      CapturedFact fact;
+      while ((fact = read(input)) != null) {
+        facts.add(fact);
+      }
+    }
+    return facts;
+  }
+
+  private static void writeText(DataOutput output, String text) throws IOException {
+    output.writeBoolean(text != null);
+    if (text != null) output.writeUTF(text);
+  }
+
+  private static String readText(DataInput input) throws IOException {
+    return input.readBoolean() ? input.readUTF() : null;
+  }
+
+  private static void writeDecimal(DataOutput output, BigDecimal value) throws IOException {
+    if (value == null) {
+      output.writeByte(0);
+      return;
+    }
+    byte[] unscaled = value.unscaledValue().toByteArray();
+    if (unscaled.length > 255) throw new IOException("Number too long to capture: " + value);
+    output.writeByte(unscaled.length);
+    output.write(unscaled);
+    output.writeInt(value.scale());
+  }
+
+  private static BigDecimal readDecimal(DataInput input) throws IOException {
+    int length = input.readUnsignedByte();
+    if (length == 0) return null;
+    byte[] unscaled = new byte[length];
+    input.readFully(unscaled);
+    return new BigDecimal(new BigInteger(unscaled), input.readInt());
+  }
+
+  // Ensure Jacoco reports accurate code coverage percentage
+  private TrafficLog() {
+
+  }
+}
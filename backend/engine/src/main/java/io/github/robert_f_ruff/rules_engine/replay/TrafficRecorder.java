@@ -0,0 +1,152 @@
+package io.github.robert_f_ruff.rules_engine.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Appends every received fact to a traffic log, so that the traffic can later be replayed against
+ * another rule set or engine build. Recording is off unless a log file is configured. Records are
+ * buffered in memory and written out by a background thread, so a request pays only for encoding
+ * its fact; a crash loses at most the records of the last flush interval. A failure to write is
+ * logged and never fails the request.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Component
+public class TrafficRecorder {
+  private final Path file;
+  private final long flushInterval;
+  private final LongSupplier clock;
+  private final Logger logger;
+  private DataOutputStream output;
+  private long recorded;
+  private ScheduledExecutorService flusher;
+
+  /**
+   * Returns the number of facts recorded since startup.
+   * @return Number of facts recorded
+   * @since 1.2
+   */
+  public synchronized long getRecorded() {
+    return recorded;
+  }
+
+  /**
+   * Appends a received fact to the traffic log, if recording is on.
+   * @param fact An instance of {@code PatientData} or {@code ObservationData}
+   * @since 1.2
+   */
+  public void record(Object fact) {
+    if (file == null) return;
+    synchronized (this) {
+      try {
+        if (output == null) open();
+        TrafficLog.write(output, clock.getAsLong(), fact);
+        recorded++;
+      } catch (IOException | IllegalArgumentException e) {
+        logger.error("Unable to record fact to " + file + ": " + e.getMessage());
+      }
+    }
+  }
+
+  private void open() throws IOException {
+    boolean fresh = ! Files.exists(file) || Files.size(file) == 0;
+    output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+        StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+    if (fresh) output.writeInt(TrafficLog.MARKER);
+  }
+
+  /**
+   * Writes the buffered records to the traffic log.
+   * @since 1.2
+   */
+  public synchronized void flush() {
+    if (output == null) return;
+    try {
+      output.flush();
+    } catch (IOException e) {
+      logger.error("Unable to flush traffic log " + file + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Starts the background thread that flushes the traffic log, if recording is on.
+   * @since 1.2
+   */
+  @PostConstruct
+  public void start() {
+    if (file == null || flusher != null) return;
+    flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "traffic-recorder");
+      thread.setDaemon(true);
+      return thread;
+    });
+    flusher.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the background thread, then flushes and closes the traffic log.
+   * @since 1.2
+   */
+  @PreDestroy
+  public void stop() {
+    if (flusher != null) {
+      flusher.shutdown();
+      flusher = null;
+    }
+    synchronized (this) {
+      if (output == null) return;
+      try {
+        output.close();
+      } catch (IOException e) {
+        logger.error("Unable to close traffic log " + file + ": " + e.getMessage());
+      }
+      output = null;
+    }
+  }
+
+  /**
+   * New instance of TrafficRecorder.
+   * @param file Path of the traffic log; empty turns recording off
+   * @param flushInterval Milliseconds between writes of buffered records to the log
+   * @since 1.2
+   */
+  @Autowired
+  public TrafficRecorder(@Value("${rules_engine.capture.file:}") String file,
+      @Value("${rules_engine.capture.flush_interval:1000}") long flushInterval) {
+    this(file.isBlank() ? null : Path.of(file), flushInterval, System::currentTimeMillis);
+  }
+
+  /**
+   * New instance of TrafficRecorder that records nothing.
+   * @since 1.2
+   */
+  public TrafficRecorder() {
+    this(null, 1000, System::currentTimeMillis);
+  }
+
+  TrafficRecorder(Path file, long flushInterval, LongSupplier clock) {
+    this.file = file;
+    this.flushInterval = Math.max(flushInterval, 1);
+    this.clock = clock;
+    this.logger = LoggerFactory.getLogger(this.getClass().getName());
+  }
+}
@@ -0,0 +1,164 @@
+package io.github.robert_f_ruff.rules_engine.replay;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.github.robert_f_ruff.rules_engine.Engine;
+import io.github.robert_f_ruff.rules_engine.actions.Action;
+import io.github.robert_f_ruff.rules_engine.dispatch.ActionDispatcher;
+import io.github.robert_f_ruff.rules_engine.loader.EvaluationContext;
+import io.github.robert_f_ruff.rules_engine.loader.Rule;
+import io.github.robert_f_ruff.rules_engine.loader.RuleRepository;
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
+import io.github.robert_f_ruff.rules_engine.memory.WorkingMemory;
+import io.github.robert_f_ruff.rules_engine.metrics.EngineMetrics;
+import io.github.robert_f_ruff.rules_engine.suppression.NotificationSuppressor;
+import io.github.robert_f_ruff.rules_engine.trace.EvaluationTracer;
+import io.github.robert_f_ruff.rules_engine.window.WindowStore;
+
+/**
+ * Replays a traffic log against a rule set, on a private engine whose actions are stubbed out so
+ * that nothing is sent. The engine is configured with the same evaluation mode and working memory
+ * setting as the live engine, and starts each replay with empty windows, working memory and
+ * suppression history, so two replays of the same log are comparable. Facts are replayed one at a
+ * time, either as fast as possible or at the pace they were received. Windows over a span of time
+ * measure observations without their own time by when they are replayed, so only a paced replay
+ * reproduces them.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Component
+public class TrafficReplayer {
+  private final RuleRepository repository;
+  private final Engine.Mode mode;
+  private final int limit;
+  private final boolean joined;
+
+  /**
+   * Records the rules fired by each evaluation; every evaluation is traced.
+   */
+  private static final class FiredRules extends EvaluationTracer {
+    private final int limit;
+    private long[] fired;
+
+    private FiredRules(int limit) {
+      this.limit = limit;
+      this.fired = new long[0];
+    }
+
+    @Override
+    public boolean sample() {
+      return true;
+    }
+
+    @Override
+    public void record(Object data, RuleSet ruleSet, EvaluationContext context, long durationNanos) {
+      long[] ids = new long[ruleSet.getRuleCount()];
+      int count = 0;
+      for (int index = 0; index < ids.length && count < limit; index++) {
+        if (context.getApplicability(index) == Rule.Applicability.APPLICABLE) {
+          ids[count++] = ruleSet.getRule(index).getId();
+        }
+      }
+      fired = Arrays.copyOf(ids, count);
+      Arrays.sort(fired);
+    }
+  }
+
+  /**
+   * Accepts every action without performing it.
+   */
+  private static final class StubDispatcher extends ActionDispatcher {
+    @Override
+    public void execute(Action action) { }
+  }
+
+  /**
+   * Replays a traffic log against the rule set currently loaded.
+   * @param log Path of the traffic log
+   * @param paced Whether facts are replayed at the pace they were received, rather than as fast
+   *     as possible
+   * @return Throughput, latency and fired rules of the replay
+   * @since 1.2
+   * @throws IOException Error occurred while reading the log, or the log is malformed
+   */
+  public ReplayReport replay(Path log, boolean paced) throws IOException {
+    return replay(TrafficLog.readAll(log), repository.getRuleSet(), paced);
+  }
+
+  /**
+   * Replays received facts against a rule set.
+   * @param facts The facts in the order they were received
+   * @param ruleSet The rule set to evaluate the facts against
+   * @param paced Whether facts are replayed at the pace they were received, rather than as fast
+   *     as possible
+   * @return Throughput, latency and fired rules of the replay
+   * @since 1.2
+   */
+  public ReplayReport replay(List<CapturedFact> facts, RuleSet ruleSet, boolean paced) {
+    FiredRules tracer = new FiredRules(limit);
+    Engine engine = new Engine(new RuleRepository() {
+      @Override
+      public RuleSet getRuleSet() {
+        return ruleSet;
+      }
+    }, tracer, new EngineMetrics(), mode, limit, new NotificationSuppressor(),
+        new StubDispatcher(), new WindowStore(),
+        joined ? new WorkingMemory(true, Long.MAX_VALUE, Integer.MAX_VALUE) : new WorkingMemory());
+    String[] factTypes = new String[facts.size()];
+    long[] latencies = new long[facts.size()];
+    long[][] firedRules = new long[facts.size()][];
+    long start = System.nanoTime();
+    for (int fact = 0; fact < factTypes.length; fact++) {
+      CapturedFact captured = facts.get(fact);
+      if (paced) {
+        long due = start + (captured.capturedAt() - facts.get(0).capturedAt()) * 1_000_000;
+        long wait;
+        while ((wait = due - System.nanoTime()) > 0) {
+          LockSupport.parkNanos(wait);
+        }
+      }
+      long evaluated = System.nanoTime();
+      engine.run(captured.fact());
+      latencies[fact] = System.nanoTime() - evaluated;
+      factTypes[fact] = captured.fact().getClass().getSimpleName();
+      firedRules[fact] = tracer.fired;
+    }
+    return new ReplayReport(factTypes, latencies, firedRules, System.nanoTime() - start);
+  }
+
+  /**
+   * New instance of TrafficReplayer.
+   * @param repository Instance of RuleRepository that supplies the rule set currently loaded
+   * @param mode How many applicable rules have their actions executed
+   * @param limit Under {@code Engine.Mode.TOP_N}, how many applicable rules have their actions
+   *     executed
+   * @param joined Whether facts of a patient are joined in working memory
+   * @since 1.2
+   */
+  @Autowired
+  public TrafficReplayer(RuleRepository repository,
+      @Value("${rules_engine.evaluation.mode:ALL}") Engine.Mode mode,
+      @Value("${rules_engine.evaluation.top_n:1}") int limit,
+      @Value("${rules_engine.working_memory.enabled:false}") boolean joined) {
+    this.repository = repository;
+    this.mode = mode;
+    this.limit = mode == Engine.Mode.ALL ? Integer.MAX_VALUE : mode == Engine.Mode.FIRST_MATCH ? 1 : limit;
+    this.joined = joined;
+  }
+
+  /**
+   * New instance of TrafficReplayer that evaluates every rule, without working memory.
+   * @since 1.2
+   */
+  public TrafficReplayer() {
+    this(null, Engine.Mode.ALL, 1, false);
+  }
+}
@@ -0,0 +1,4 @@
+/**
+ * Capture of received facts and their replay against the engine
+ */
+package io.github.robert_f_ruff.rules_engine.replay;
@@ -0,0 +1,50 @@
+package io.github.robert_f_ruff.rules_engine.rest;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Registers the binary Jackson formats with the REST interface, so that clients can send and
+ * receive bodies of type {@code application/x-jackson-smile} or {@code application/cbor} as well
+ * as JSON. Both formats bind the same fields as JSON, using the application's Jackson settings.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Configuration
+public class BinaryFormatConfig {
+  /**
+   * Returns the converter for Smile bodies.
+   * @param builder The application's Jackson settings
+   * @return A converter for {@code application/x-jackson-smile}
+   * @since 1.2
+   */
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+  }
+
+  /**
+   * Returns the converter for CBOR bodies.
+   * @param builder The application's Jackson settings
+   * @return A converter for {@code application/cbor}
+   * @since 1.2
+   */
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+  }
+
+  /**
+   * New instance of BinaryFormatConfig.
+   * @since 1.2
+   */
+  public BinaryFormatConfig() { }
+}
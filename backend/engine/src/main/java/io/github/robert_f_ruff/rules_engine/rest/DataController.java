@@ -7,8 +7,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.github.robert_f_ruff.rules_engine.Engine;
+import io.github.robert_f_ruff.rules_engine.Explanation;
 import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
 import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+import io.github.robert_f_ruff.rules_engine.replay.TrafficRecorder;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -16,45 +18,81 @@ import jakarta.validation.constraints.NotNull;
 /**
  * Provide a REST interface for the rules engine to receive data from external clients.
  * @author Robert F. Ruff
- * @version 1.1
+ * @version 1.2
  */
 @RestController
 @RequestMapping("/rules_engine/data")
 public class DataController {
   Engine engine;
+  TrafficRecorder recorder;
 
   /**
-   * Run the engine with the received data object.
+   * Run the engine with the received data object, recording it first if traffic capture is on.
    * @param patient The data object instance to evaluate
    * @return Status of processing the data
    * @since 1.0
    */
   @PostMapping("/patient")
   public EngineResponse processPatient(@RequestBody @NotNull @Valid PatientData patient) {
+      recorder.record(patient);
       engine.run(patient);
       return new EngineResponse(EngineController.Status.OK);
   }
 
   /**
-   * Run the engine with the received data object.
+   * Run the engine with the received data object, recording it first if traffic capture is on.
    * @param observation The data object instance to evaluate
    * @return Status of processing the data
    * @since 1.0
    */
   @PostMapping("/observation")
   public EngineResponse processObservation(@RequestBody @NotNull @Valid ObservationData observation) {
+      recorder.record(observation);
       engine.run(observation);
       return new EngineResponse(EngineController.Status.OK);
   }
 
+  /**
+   * Evaluate the rule set against the received data object without executing any action.
+   * @param patient The data object instance to evaluate
+   * @return Result of every criterion and applicability of every rule
+   * @since 1.2
+   */
+  @PostMapping("/patient/explain")
+  public Explanation explainPatient(@RequestBody @NotNull @Valid PatientData patient) {
+      return engine.explain(patient);
+  }
+
+  /**
+   * Evaluate the rule set against the received data object without executing any action.
+   * @param observation The data object instance to evaluate
+   * @return Result of every criterion and applicability of every rule
+   * @since 1.2
+   */
+  @PostMapping("/observation/explain")
+  public Explanation explainObservation(@RequestBody @NotNull @Valid ObservationData observation) {
+      return engine.explain(observation);
+  }
+
   /**
    * New instance of DataResource.
    * @param engine Instance of Engine that will process the rule set.
    * @since 1.0
    */
-  @Autowired
   public DataController(Engine engine) {
+    this(engine, new TrafficRecorder());
+  }
+
+  /**
+   * New instance of DataResource.
+   * @param engine Instance of Engine that will process the rule set.
+   * @param recorder Instance of TrafficRecorder that captures received data for replay
+   * @since 1.2
+   */
+  @Autowired
+  public DataController(Engine engine, TrafficRecorder recorder) {
     this.engine = engine;
+    this.recorder = recorder;
   }
 
   /**
@@ -63,5 +101,6 @@ public class DataController {
    */
   public DataController() {
     this.engine = null;
+    this.recorder = new TrafficRecorder();
   }
 }
@@ -0,0 +1,20 @@
+package io.github.robert_f_ruff.rules_engine.retry;
+
+import java.time.Instant;
+import java.util.List;
+
+import io.github.robert_f_ruff.rules_engine.actions.Action;
+
+/**
+ * Actions of a rule that were given up on after every retry failed.
+ * @author Robert F. Ruff
+ * @version 1.2
+ * @param rule Name of the rule the actions belong to
+ * @param actions The action that last failed and those that were to follow it, in execution
+ *     order
+ * @param error Message of the last failure
+ * @param attempts Number of retries made
+ * @param failedAt When the actions were given up on
+ */
+public record DeadLetter(String rule, List<Action> actions, String error, int attempts,
+    Instant failedAt) { }
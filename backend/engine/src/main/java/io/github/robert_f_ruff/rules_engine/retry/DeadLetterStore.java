@@ -0,0 +1,79 @@
+package io.github.robert_f_ruff.rules_engine.retry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded store of the actions given up on after every retry failed. When the store is full, the
+ * oldest dead letter is discarded to make room for the newest.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public class DeadLetterStore {
+  private final ArrayDeque<DeadLetter> letters;
+  private final int capacity;
+  private long discarded;
+
+  /**
+   * Returns the number of dead letters held.
+   * @return Number of dead letters
+   * @since 1.2
+   */
+  public synchronized int size() {
+    return letters.size();
+  }
+
+  /**
+   * Returns the number of dead letters discarded to make room for newer ones.
+   * @return Number of discarded dead letters
+   * @since 1.2
+   */
+  public synchronized long getDiscarded() {
+    return discarded;
+  }
+
+  /**
+   * Adds a dead letter, discarding the oldest if the store is full.
+   * @param letter The dead letter to add
+   * @since 1.2
+   */
+  public synchronized void add(DeadLetter letter) {
+    if (letters.size() == capacity) {
+      letters.removeFirst();
+      discarded++;
+    }
+    letters.addLast(letter);
+  }
+
+  /**
+   * Returns the dead letters held, oldest first.
+   * @return Copy of the store's contents
+   * @since 1.2
+   */
+  public synchronized List<DeadLetter> list() {
+    return new ArrayList<>(letters);
+  }
+
+  /**
+   * Removes and returns every dead letter held, oldest first.
+   * @return The store's former contents
+   * @since 1.2
+   */
+  public synchronized List<DeadLetter> drain() {
+    List<DeadLetter> drained = new ArrayList<>(letters);
+    letters.clear();
+    return drained;
+  }
+
+  /**
+   * New instance of DeadLetterStore.
+   * @param capacity Number of dead letters held before the oldest are discarded
+   * @since 1.2
+   */
+  public DeadLetterStore(int capacity) {
+    this.capacity = Math.max(capacity, 1);
+    this.letters = new ArrayDeque<>(this.capacity);
+    this.discarded = 0;
+  }
+}
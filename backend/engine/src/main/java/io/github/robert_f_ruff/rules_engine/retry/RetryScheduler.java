@@ -0,0 +1,216 @@
+package io.github.robert_f_ruff.rules_engine.retry;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import io.github.robert_f_ruff.rules_engine.actions.Action;
+import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionExecutor;
+
+/**
+ * Retries the actions of a rule that failed part way through its sequence. The failed action and
+ * those that were to follow it are retried in order after an exponentially growing, jittered
+ * delay, resuming from whichever action fails next. Pending retries wait in a timer wheel that a
+ * background thread advances; after the configured number of retries, the remaining actions are
+ * placed in the dead-letter store.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Component
+public class RetryScheduler {
+  /**
+   * Name of the gauge reporting the number of pending retries.
+   * @since 1.2
+   */
+  public static final String PENDING_GAUGE = "rules_engine.retry.pending";
+  /**
+   * Name of the gauge reporting the number of dead letters held.
+   * @since 1.2
+   */
+  public static final String DEAD_LETTER_GAUGE = "rules_engine.retry.dead_letters";
+  private static final class Retry {
+    private final String rule;
+    private final Action[] actions;
+    private final ActionExecutor executor;
+    private int position;
+    private int attempts;
+
+    private Retry(String rule, Action[] actions, ActionExecutor executor) {
+      this.rule = rule;
+      this.actions = actions;
+      this.executor = executor;
+    }
+  }
+  private int maxAttempts;
+  private long initialDelay;
+  private long maxDelay;
+  private long tickDuration;
+  private LongSupplier clock;
+  private TimerWheel<Retry> wheel;
+  private DeadLetterStore deadLetters;
+  private ScheduledExecutorService ticker;
+  private Logger logger;
+
+  /**
+   * Returns the number of retries waiting for their delay to pass.
+   * @return Number of pending retries
+   * @since 1.2
+   */
+  public int getPendingCount() {
+    return wheel.size();
+  }
+
+  /**
+   * Returns the store of actions given up on.
+   * @return The dead-letter store
+   * @since 1.2
+   */
+  public DeadLetterStore getDeadLetters() {
+    return deadLetters;
+  }
+
+  /**
+   * Schedules the retry of a rule's actions. Nothing is scheduled if retries are disabled.
+   * @param rule Name of the rule the actions belong to
+   * @param actions The action that failed and those that were to follow it, in execution order
+   * @param executor Performs the actions when they are retried
+   * @since 1.2
+   */
+  public void schedule(String rule, Action[] actions, ActionExecutor executor) {
+    if (maxAttempts <= 0 || actions.length == 0) return;
+    Retry retry = new Retry(rule, actions, executor);
+    wheel.schedule(retry, clock.getAsLong() + delay(1));
+  }
+
+  /**
+   * Performs every retry whose delay has passed; called periodically by the background thread.
+   * @return Number of retries performed
+   * @since 1.2
+   */
+  public synchronized int runDue() {
+    return wheel.advance(clock.getAsLong(), this::attempt);
+  }
+
+  private void attempt(Retry retry) {
+    retry.attempts++;
+    for (; retry.position < retry.actions.length; retry.position++) {
+      try {
+        retry.executor.execute(retry.actions[retry.position]);
+      } catch (ActionException e) {
+        if (retry.attempts >= maxAttempts) {
+          deadLetters.add(new DeadLetter(retry.rule, Arrays.asList(Arrays.copyOfRange(
+              retry.actions, retry.position, retry.actions.length)), e.getMessage(),
+              retry.attempts, Instant.now()));
+          logger.error("Rule " + retry.rule + " actions abandoned after " + retry.attempts
+              + " retries: " + e.getMessage());
+        } else {
+          wheel.schedule(retry, clock.getAsLong() + delay(retry.attempts + 1));
+        }
+        return;
+      }
+    }
+  }
+
+  private long delay(int attempt) {
+    long delay = initialDelay << Math.min(attempt - 1, 62);
+    if (delay <= 0 || delay > maxDelay) delay = maxDelay;
+    return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+  }
+
+  /**
+   * Starts the background thread that performs retries as they fall due.
+   * @since 1.2
+   */
+  @PostConstruct
+  public void start() {
+    if (maxAttempts <= 0 || ticker != null) return;
+    ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "action-retry");
+      thread.setDaemon(true);
+      return thread;
+    });
+    ticker.scheduleWithFixedDelay(this::runDue, tickDuration, tickDuration, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Stops the background thread; pending retries are abandoned.
+   * @since 1.2
+   */
+  @PreDestroy
+  public void stop() {
+    if (ticker == null) return;
+    ticker.shutdownNow();
+    ticker = null;
+    if (wheel.size() > 0) logger.warn("Abandoned " + wheel.size() + " pending action retries");
+  }
+
+  /**
+   * New instance of RetryScheduler.
+   * @param maxAttempts Number of times a rule's actions are retried before they are placed in
+   *     the dead-letter store; zero disables retries
+   * @param initialDelay Milliseconds before the first retry; each later retry waits twice as
+   *     long as the one before, randomly shortened by up to half
+   * @param maxDelay Maximum milliseconds between retries
+   * @param tickDuration Milliseconds between checks for retries that have fallen due
+   * @param wheelSize Number of buckets in the timer wheel
+   * @param deadLetterCapacity Number of dead letters held before the oldest are discarded
+   * @param registry Registry the queue size gauges are registered with
+   * @since 1.2
+   */
+  @Autowired
+  public RetryScheduler(@Value("${rules_engine.retry.max_attempts:5}") int maxAttempts,
+      @Value("${rules_engine.retry.initial_delay:1000}") long initialDelay,
+      @Value("${rules_engine.retry.max_delay:300000}") long maxDelay,
+      @Value("${rules_engine.retry.tick:100}") long tickDuration,
+      @Value("${rules_engine.retry.wheel_size:512}") int wheelSize,
+      @Value("${rules_engine.retry.dead_letter_capacity:1000}") int deadLetterCapacity,
+      MeterRegistry registry) {
+    this(maxAttempts, initialDelay, maxDelay, tickDuration, wheelSize, deadLetterCapacity, registry,
+        System::nanoTime);
+  }
+
+  /**
+   * New instance of RetryScheduler that retries nothing.
+   * @since 1.2
+   */
+  public RetryScheduler() {
+    this(0, 0, 0, 1, 2, 1, new CompositeMeterRegistry(), System::nanoTime);
+  }
+
+  RetryScheduler(int maxAttempts, long initialDelay, long maxDelay, long tickDuration,
+      int wheelSize, int deadLetterCapacity, MeterRegistry registry, LongSupplier clock) {
+    this.maxAttempts = maxAttempts;
+    this.initialDelay = Math.max(TimeUnit.MILLISECONDS.toNanos(initialDelay), 1);
+    this.maxDelay = Math.max(TimeUnit.MILLISECONDS.toNanos(maxDelay), this.initialDelay);
+    this.tickDuration = Math.max(TimeUnit.MILLISECONDS.toNanos(tickDuration), 1);
+    this.clock = clock;
+    this.wheel = new TimerWheel<>(this.tickDuration, wheelSize, clock.getAsLong());
+    this.deadLetters = new DeadLetterStore(deadLetterCapacity);
+    this.ticker = null;
+    this.logger = LoggerFactory.getLogger(this.getClass().getName());
+    Gauge.builder(PENDING_GAUGE, wheel, TimerWheel::size)
+        .description("Number of failed actions waiting to be retried")
+        .register(registry);
+    Gauge.builder(DEAD_LETTER_GAUGE, deadLetters, DeadLetterStore::size)
+        .description("Number of actions given up on after every retry failed")
+        .register(registry);
+  }
+}
@@ -0,0 +1,114 @@
+package io.github.robert_f_ruff.rules_engine.retry;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel holding tasks until their deadlines. Time is divided into ticks and the
+ * wheel into a fixed number of buckets, each a linked list of the tasks due in the ticks that map
+ * to it, so scheduling a task costs the same however many are pending. Any thread may schedule a
+ * task; a single thread advances the wheel.
+ * @author Robert F. Ruff
+ * @version 1.2
+ * @param <T> The type of task held in the wheel
+ */
+public class TimerWheel<T> {
+  private static final class Entry<T> {
+    private final T task;
+    private final long deadline;
+    private Entry<T> next;
+
+    private Entry(T task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+  }
+  private final Entry<T>[] buckets;
+  private final int mask;
+  private final long tickDuration;
+  private final long start;
+  private final ConcurrentLinkedQueue<Entry<T>> scheduled;
+  private final AtomicInteger size;
+  private long tick;
+
+  /**
+   * Returns the number of tasks waiting for their deadlines.
+   * @return Number of pending tasks
+   * @since 1.2
+   */
+  public int size() {
+    return size.get();
+  }
+
+  /**
+   * Adds a task to the wheel; safe to call from any thread.
+   * @param task The task to add
+   * @param deadline When the task is due, in nanoseconds on the clock passed to {@code advance()}
+   * @since 1.2
+   */
+  public void schedule(T task, long deadline) {
+    scheduled.add(new Entry<>(task, deadline));
+    size.incrementAndGet();
+  }
+
+  /**
+   * Moves the wheel forward to the given time, handing every task that has fallen due to the
+   * consumer; must only be called by a single thread.
+   * @param now The current time, in nanoseconds
+   * @param expired Receives each task that has fallen due
+   * @return Number of tasks that fell due
+   * @since 1.2
+   */
+  public int advance(long now, Consumer<T> expired) {
+    Entry<T> entry;
+    while ((entry = scheduled.poll()) != null) {
+      long due = Math.max(Math.floorDiv(entry.deadline - start + tickDuration - 1, tickDuration),
+          tick + 1);
+      int bucket = (int) (due & mask);
+      entry.next = buckets[bucket];
+      buckets[bucket] = entry;
+    }
+    long current = Math.floorDiv(now - start, tickDuration);
+    int count = 0;
+    for (long next = tick + 1, last = Math.min(current, tick + mask + 1); next <= last; next++) {
+      int bucket = (int) (next & mask);
+      Entry<T> remaining = null;
+      entry = buckets[bucket];
+      while (entry != null) {
+        Entry<T> following = entry.next;
+        if (entry.deadline - now <= 0) {
+          size.decrementAndGet();
+          expired.accept(entry.task);
+          count++;
+        } else {
+          entry.next = remaining;
+          remaining = entry;
+        }
+        entry = following;
+      }
+      buckets[bucket] = remaining;
+    }
+    if (current > tick) tick = current;
+    return count;
+  }
+
+  /**
+   * New instance of TimerWheel.
+   * @param tickDuration Length of a tick, in nanoseconds
+   * @param wheelSize Minimum number of buckets; rounded up to a power of two
+   * @param start The current time, in nanoseconds
+   * @since 1.2
+   */
+  @SuppressWarnings("unchecked")
+  public TimerWheel(long tickDuration, int wheelSize, long start) {
+    int size = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+    this.buckets = (Entry<T>[]) new Entry<?>[size];
+    this.mask = size - 1;
+    this.tickDuration = Math.max(tickDuration, 1);
+    this.start = start;
+    this.scheduled = new ConcurrentLinkedQueue<>();
+    this.size = new AtomicInteger();
+    this.tick = 0;
+  }
+}
@@ -0,0 +1,4 @@
+/**
+ * Delayed retry of failed actions and the store of those that never succeeded
+ */
+package io.github.robert_f_ruff.rules_engine.retry;
@@ -0,0 +1,304 @@
+package io.github.robert_f_ruff.rules_engine.spool;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+
+/**
+ * Reads patient and observation records directly from the bytes of a spooled file. Numbers and
+ * dates are decoded in place, so the only string created for a record is its patient identifier.
+ * A record is one line, either a flat JSON object or comma separated values:
+ * <table><caption>Record Formats</caption>
+ * <tr><th>Format</th><th>Example</th></tr>
+ * <tr><td>JSON</td><td>{@code {"type":"patient","patientId":"A1","gender":"FEMALE",
+ * "birthDate":"1950-01-01"}}</td></tr>
+ * <tr><td>JSON</td><td>{@code {"type":"observation","patientId":"A1","bodyWeight":180.5,
+ * "bloodGlucose":65,"observedAt":"2024-01-01T08:00:00Z"}}</td></tr>
+ * <tr><td>CSV</td><td>{@code patient,A1,FEMALE,1950-01-01}</td></tr>
+ * <tr><td>CSV</td><td>{@code observation,A1,180.5,65,2024-01-01T08:00:00Z}</td></tr>
+ * </table>
+ * The patient identifier and the time of an observation may be left empty or omitted. Blank lines
+ * and lines starting with {@code #} are skipped.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public final class RecordParser {
+  private static final int TYPE = 0;
+  private static final int PATIENT_ID = 1;
+  private static final int GENDER = 2;
+  private static final int BIRTH_DATE = 3;
+  private static final int BODY_WEIGHT = 4;
+  private static final int BLOOD_GLUCOSE = 5;
+  private static final int OBSERVED_AT = 6;
+  private static final byte[][] KEYS = {
+      ascii("type"), ascii("patientId"), ascii("gender"), ascii("birthDate"),
+      ascii("bodyWeight"), ascii("bloodGlucose"), ascii("observedAt")
+  };
+  private static final byte[] PATIENT = ascii("patient");
+  private static final byte[] OBSERVATION = ascii("observation");
+  private static final byte[] FEMALE = ascii("FEMALE");
+  private static final byte[] MALE = ascii("MALE");
+  private static final byte[] NULL = ascii("null");
+
+  /**
+   * A view of a span of ASCII bytes as characters, so that the date and time parsers can read
+   * them without copying.
+   */
+  private static final class AsciiSequence implements CharSequence {
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int end;
+
+    private AsciiSequence(ByteBuffer buffer, int start, int end) {
+      this.buffer = buffer;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public int length() {
+      return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+      return (char) (buffer.get(start + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+      return new AsciiSequence(buffer, start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+      return new StringBuilder(this).toString();
+    }
+  }
+
+  private static byte[] ascii(String text) {
+    return text.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private static boolean matches(ByteBuffer buffer, int start, int end, byte[] expected) {
+    if (end - start != expected.length) return false;
+    for (int index = 0; index < expected.length; index++) {
+      if (buffer.get(start + index) != expected[index]) return false;
+    }
+    return true;
+  }
+
+  private static int skipSpace(ByteBuffer buffer, int position, int end) {
+    while (position < end && (buffer.get(position) == ' ' || buffer.get(position) == '\t'
+        || buffer.get(position) == '\r')) {
+      position++;
+    }
+    return position;
+  }
+
+  /**
+   * Reads the record in a span of bytes.
+   * @param buffer The bytes of the spooled file
+   * @param start Position of the first byte of the record
+   * @param end Position just past the last byte of the record, excluding the line terminator
+   * @return An instance of {@code PatientData} or {@code ObservationData}, or {@code null} if
+   *     the line is blank or a comment
+   * @since 1.2
+   * @throws SpoolRecordException The record is malformed
+   */
+  public static Object parse(ByteBuffer buffer, int start, int end) throws SpoolRecordException {
+    start = skipSpace(buffer, start, end);
+    while (end > start && (buffer.get(end - 1) == ' ' || buffer.get(end - 1) == '\t'
+        || buffer.get(end - 1) == '\r')) {
+      end--;
+    }
+    if (start == end || buffer.get(start) == '#') return null;
+    int[] spans = new int[KEYS.length * 2];
+    Arrays.fill(spans, -1);
+    if (buffer.get(start) == '{') {
+      readObject(buffer, start, end, spans);
+    } else {
+      readValues(buffer, start, end, spans);
+    }
+    if (spans[TYPE * 2] < 0) throw new SpoolRecordException("missing type");
+    String patientId = null;
+    if (spans[PATIENT_ID * 2] >= 0 && spans[PATIENT_ID * 2 + 1] > spans[PATIENT_ID * 2]) {
+      byte[] bytes = new byte[spans[PATIENT_ID * 2 + 1] - spans[PATIENT_ID * 2]];
+      buffer.get(spans[PATIENT_ID * 2], bytes);
+      patientId = new String(bytes, StandardCharsets.UTF_8);
+    }
+    if (matches(buffer, spans[TYPE * 2], spans[TYPE * 2 + 1], PATIENT)) {
+      return new PatientData(readGender(buffer, spans), readDate(buffer, spans, BIRTH_DATE),
+          patientId);
+    }
+    if (matches(buffer, spans[TYPE * 2], spans[TYPE * 2 + 1], OBSERVATION)) {
+      return new ObservationData(readDecimal(buffer, spans, BODY_WEIGHT),
+          readDecimal(buffer, spans, BLOOD_GLUCOSE), patientId, readInstant(buffer, spans));
+    }
+    throw new SpoolRecordException("unknown type");
+  }
+
+  private static void readValues(ByteBuffer buffer, int start, int end, int[] spans)
+      throws SpoolRecordException {
+    int[] order = { TYPE, PATIENT_ID, -1, -1, -1 };
+    int field = 0;
+    int position = start;
+    while (position <= end) {
+      int comma = position;
+      while (comma < end && buffer.get(comma) != ',') comma++;
+      if (field == 2) {
+        if (matches(buffer, spans[TYPE * 2], spans[TYPE * 2 + 1], PATIENT)) {
+          order = new int[] { TYPE, PATIENT_ID, GENDER, BIRTH_DATE };
+        } else {
+          order = new int[] { TYPE, PATIENT_ID, BODY_WEIGHT, BLOOD_GLUCOSE, OBSERVED_AT };
+        }
+      }
+      if (field >= order.length) throw new SpoolRecordException("too many values");
+      spans[order[field] * 2] = skipSpace(buffer, position, comma);
+      int valueEnd = comma;
+      while (valueEnd > spans[order[field] * 2] && buffer.get(valueEnd - 1) == ' ') valueEnd--;
+      spans[order[field] * 2 + 1] = valueEnd;
+      field++;
+      position = comma + 1;
+    }
+  }
+
+  private static void readObject(ByteBuffer buffer, int start, int end, int[] spans)
+      throws SpoolRecordException {
+    int position = skipSpace(buffer, start + 1, end);
+    if (position < end && buffer.get(position) == '}') return;
+    while (position < end) {
+      if (buffer.get(position) != '"') throw new SpoolRecordException("expected a key");
+      int keyEnd = closingQuote(buffer, position + 1, end);
+      int key = -1;
+      for (int index = 0; index < KEYS.length; index++) {
+        if (matches(buffer, position + 1, keyEnd, KEYS[index])) key = index;
+      }
+      position = skipSpace(buffer, keyEnd + 1, end);
+      if (position >= end || buffer.get(position) != ':') throw new SpoolRecordException("expected ':'");
+      position = skipSpace(buffer, position + 1, end);
+      int valueStart;
+      int valueEnd;
+      if (position < end && buffer.get(position) == '"') {
+        valueStart = position + 1;
+        valueEnd = closingQuote(buffer, valueStart, end);
+        position = valueEnd + 1;
+      } else {
+        valueStart = position;
+        while (position < end && buffer.get(position) != ',' && buffer.get(position) != '}'
+            && buffer.get(position) != ' ') {
+          position++;
+        }
+        valueEnd = position;
+        if (matches(buffer, valueStart, valueEnd, NULL)) valueEnd = valueStart;
+      }
+      if (key >= 0) {
+        spans[key * 2] = valueStart;
+        spans[key * 2 + 1] = valueEnd;
+      }
+      position = skipSpace(buffer, position, end);
+      if (position >= end) break;
+      if (buffer.get(position) == '}') return;
+      if (buffer.get(position) != ',') throw new SpoolRecordException("expected ',' or '}'");
+      position = skipSpace(buffer, position + 1, end);
+    }
+    throw new SpoolRecordException("unterminated object");
+  }
+
+  private static int closingQuote(ByteBuffer buffer, int position, int end)
+      throws SpoolRecordException {
+    while (position < end && buffer.get(position) != '"') {
+      if (buffer.get(position) == '\\') throw new SpoolRecordException("escaped characters");
+      position++;
+    }
+    if (position >= end) throw new SpoolRecordException("unterminated string");
+    return position;
+  }
+
+  private static PatientData.Gender readGender(ByteBuffer buffer, int[] spans)
+      throws SpoolRecordException {
+    int start = spans[GENDER * 2];
+    int end = spans[GENDER * 2 + 1];
+    if (matches(buffer, start, end, FEMALE)) return PatientData.Gender.FEMALE;
+    if (matches(buffer, start, end, MALE)) return PatientData.Gender.MALE;
+    throw new SpoolRecordException("invalid gender");
+  }
+
+  private static LocalDate readDate(ByteBuffer buffer, int[] spans, int field)
+      throws SpoolRecordException {
+    int start = spans[field * 2];
+    if (start < 0 || spans[field * 2 + 1] - start != 10 || buffer.get(start + 4) != '-'
+        || buffer.get(start + 7) != '-') {
+      throw new SpoolRecordException("invalid date");
+    }
+    try {
+      return LocalDate.of(readDigits(buffer, start, start + 4),
+          readDigits(buffer, start + 5, start + 7), readDigits(buffer, start + 8, start + 10));
+    } catch (DateTimeException e) {
+      throw new SpoolRecordException("invalid date");
+    }
+  }
+
+  private static int readDigits(ByteBuffer buffer, int start, int end)
+      throws SpoolRecordException {
+    int value = 0;
+    for (int position = start; position < end; position++) {
+      int digit = buffer.get(position) - '0';
+      if (digit < 0 || digit > 9) throw new SpoolRecordException("invalid digit");
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  private static BigDecimal readDecimal(ByteBuffer buffer, int[] spans, int field)
+      throws SpoolRecordException {
+    int position = spans[field * 2];
+    int end = spans[field * 2 + 1];
+    if (position < 0 || position == end) throw new SpoolRecordException("missing number");
+    boolean negative = buffer.get(position) == '-';
+    if (negative || buffer.get(position) == '+') position++;
+    long unscaled = 0;
+    int scale = -1;
+    int digits = 0;
+    for (; position < end; position++) {
+      byte current = buffer.get(position);
+      if (current == '.' && scale < 0) {
+        scale = 0;
+        continue;
+      }
+      if (current < '0' || current > '9' || ++digits > 18) {
+        throw new SpoolRecordException("invalid number");
+      }
+      unscaled = unscaled * 10 + (current - '0');
+      if (scale >= 0) scale++;
+    }
+    if (digits == 0) throw new SpoolRecordException("invalid number");
+    return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+  }
+
+  private static Instant readInstant(ByteBuffer buffer, int[] spans)
+      throws SpoolRecordException {
+    int start = spans[OBSERVED_AT * 2];
+    int end = spans[OBSERVED_AT * 2 + 1];
+    if (start < 0 || start == end) return null;
+    try {
+      return DateTimeFormatter.ISO_INSTANT.parse(new AsciiSequence(buffer, start, end),
+          Instant::from);
+    } catch (DateTimeException e) {
+      throw new SpoolRecordException("invalid time");
+    }
+  }
+
+  // Ensure Jacoco reports accurate code coverage percentage
+  private RecordParser() {
+
+  }
+}
@@ -0,0 +1,309 @@
+package io.github.robert_f_ruff.rules_engine.spool;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import io.github.robert_f_ruff.rules_engine.Engine;
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+
+/**
+ * Evaluates the records of files dropped in a spool directory. A background thread polls the
+ * directory for files ending in {@code .ndjson}, {@code .jsonl} or {@code .csv}, in name order;
+ * files should be moved into the directory once complete. Each file is memory mapped and read a
+ * batch of records at a time. The records of a batch are evaluated in parallel lanes, each
+ * patient's records always in the same lane and in file order. Once a batch has been evaluated,
+ * the offset just past it is checkpointed in the {@code .checkpoints} subdirectory, so that after
+ * a restart the file is resumed from the first unevaluated batch; only records of a batch
+ * interrupted part way are evaluated again. Finished files are moved to the {@code processed}
+ * subdirectory. In columnar mode, each lane's share of a batch is handed to the engine at once, so
+ * that its threshold criteria are judged column by column.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Component
+public class SpoolIngester {
+  /**
+   * Name of the subdirectory holding the checkpoints of partly evaluated files.
+   * @since 1.2
+   */
+  public static final String CHECKPOINT_DIRECTORY = ".checkpoints";
+  /**
+   * Name of the subdirectory finished files are moved to.
+   * @since 1.2
+   */
+  public static final String PROCESSED_DIRECTORY = "processed";
+  private static final long SEGMENT_SIZE = 1L << 28;
+  private final Path directory;
+  private final long pollInterval;
+  private final int batchSize;
+  private final Consumer<Object> sink;
+  private final Consumer<List<Object>> batchSink;
+  private final ExecutorService[] lanes;
+  private final AtomicLong recordsEvaluated;
+  private final AtomicLong recordsRejected;
+  private final Logger logger;
+  private ScheduledExecutorService poller;
+
+  /**
+   * Returns the number of records evaluated since startup.
+   * @return Number of records evaluated
+   * @since 1.2
+   */
+  public long getRecordsEvaluated() {
+    return recordsEvaluated.get();
+  }
+
+  /**
+   * Returns the number of malformed records skipped since startup.
+   * @return Number of records skipped
+   * @since 1.2
+   */
+  public long getRecordsRejected() {
+    return recordsRejected.get();
+  }
+
+  /**
+   * Evaluates every file waiting in the spool directory.
+   * @since 1.2
+   */
+  public void poll() {
+    if (directory == null) return;
+    List<Path> files;
+    try (Stream<Path> listing = Files.list(directory)) {
+      files = listing.filter(SpoolIngester::isSpooled).sorted().toList();
+    } catch (IOException e) {
+      logger.error("Unable to list spool directory " + directory + ": " + e.getMessage());
+      return;
+    }
+    for (Path file : files) {
+      try {
+        ingest(file);
+      } catch (IOException e) {
+        logger.error("Unable to ingest spooled file " + file + ": " + e.getMessage());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private static boolean isSpooled(Path file) {
+    String name = file.getFileName().toString();
+    return Files.isRegularFile(file) && ! name.startsWith(".")
+        && (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".csv"));
+  }
+
+  void ingest(Path file) throws IOException, InterruptedException {
+    Path checkpoint = directory.resolve(CHECKPOINT_DIRECTORY).resolve(file.getFileName() + ".offset");
+    long offset = Files.exists(checkpoint)
+        ? Long.parseLong(Files.readString(checkpoint, StandardCharsets.US_ASCII).trim()) : 0;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      while (offset < size) {
+        long length = Math.min(size - offset, SEGMENT_SIZE);
+        MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        boolean last = offset + length == size;
+        int position = 0;
+        while (position < length) {
+          int consumed = evaluateBatch(segment, position, (int) length, last, offset);
+          if (consumed == 0) break;
+          position += consumed;
+          writeCheckpoint(checkpoint, offset + position);
+        }
+        if (position == 0) throw new IOException("Record at offset " + offset + " is too long");
+        offset += position;
+      }
+    }
+    Files.createDirectories(directory.resolve(PROCESSED_DIRECTORY));
+    Files.move(file, directory.resolve(PROCESSED_DIRECTORY).resolve(file.getFileName()),
+        StandardCopyOption.REPLACE_EXISTING);
+    Files.deleteIfExists(checkpoint);
+  }
+
+  private int evaluateBatch(MappedByteBuffer segment, int start, int limit, boolean last,
+      long offset) throws InterruptedException {
+    @SuppressWarnings("unchecked")
+    List<Object>[] batches = new List[lanes.length];
+    for (int lane = 0; lane < lanes.length; lane++) {
+      batches[lane] = new ArrayList<>();
+    }
+    int position = start;
+    for (int count = 0; count < batchSize && position < limit; count++) {
+      int end = position;
+      while (end < limit && segment.get(end) != '\n') end++;
+      if (end == limit && ! last) break;
+      try {
+        Object record = RecordParser.parse(segment, position, end);
+        if (record != null) batches[laneOf(record)].add(record);
+      } catch (SpoolRecordException e) {
+        recordsRejected.incrementAndGet();
+        logger.warn(e.getMessage() + " at offset " + (offset + position));
+      }
+      position = Math.min(end + 1, limit);
+    }
+    ArrayList<Future<?>> pending = new ArrayList<>(lanes.length);
+    for (int lane = 0; lane < lanes.length; lane++) {
+      List<Object> batch = batches[lane];
+      if (batch.isEmpty()) continue;
+      pending.add(lanes[lane].submit(() -> {
+        if (batchSink != null) {
+          try {
+            batchSink.accept(batch);
+          } catch (RuntimeException e) {
+            logger.error("Evaluation of spooled records failed: " + e.getMessage());
+          }
+          recordsEvaluated.addAndGet(batch.size());
+          return;
+        }
+        for (Object record : batch) {
+          try {
+            sink.accept(record);
+          } catch (RuntimeException e) {
+            logger.error("Evaluation of spooled record failed: " + e.getMessage());
+          }
+          recordsEvaluated.incrementAndGet();
+        }
+      }));
+    }
+    for (Future<?> future : pending) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        logger.error("Evaluation of spooled records failed: " + e.getCause().getMessage());
+      }
+    }
+    return position - start;
+  }
+
+  private int laneOf(Object record) {
+    String patientId = record instanceof PatientData patient ? patient.getPatientId()
+        : ((ObservationData) record).getPatientId();
+    return patientId == null ? 0 : Math.floorMod(patientId.hashCode(), lanes.length);
+  }
+
+  private void writeCheckpoint(Path checkpoint, long offset) throws IOException {
+    Files.createDirectories(checkpoint.getParent());
+    Path pending = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+    Files.writeString(pending, Long.toString(offset), StandardCharsets.US_ASCII);
+    Files.move(pending, checkpoint, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Starts the background thread that polls the spool directory, if one is configured.
+   * @since 1.2
+   */
+  @PostConstruct
+  public void start() {
+    if (directory == null || poller != null) return;
+    poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "spool-poller");
+      thread.setDaemon(true);
+      return thread;
+    });
+    poller.scheduleWithFixedDelay(this::poll, 0, pollInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops polling and evaluating; a file being read resumes from its checkpoint on restart.
+   * @since 1.2
+   */
+  @PreDestroy
+  public void stop() {
+    if (poller != null) {
+      poller.shutdownNow();
+      poller = null;
+    }
+    for (ExecutorService lane : lanes) {
+      lane.shutdownNow();
+    }
+  }
+
+  /**
+   * New instance of SpoolIngester.
+   * @param directory Path of the spool directory; empty disables spool ingestion
+   * @param pollInterval Milliseconds between checks of the spool directory for new files
+   * @param threads Number of lanes records are evaluated in
+   * @param batchSize Number of records read and evaluated between checkpoints
+   * @param engine The engine that evaluates each record
+   * @since 1.2
+   */
+  public SpoolIngester(String directory, long pollInterval, int threads, int batchSize,
+      Engine engine) {
+    this(directory, pollInterval, threads, batchSize, false, engine);
+  }
+
+  /**
+   * New instance of SpoolIngester.
+   * @param directory Path of the spool directory; empty disables spool ingestion
+   * @param pollInterval Milliseconds between checks of the spool directory for new files
+   * @param threads Number of lanes records are evaluated in
+   * @param batchSize Number of records read and evaluated between checkpoints
+   * @param columnar Whether each lane's records are evaluated as a batch with columnar threshold
+   *     criteria, rather than one at a time
+   * @param engine The engine that evaluates each record
+   * @since 1.2
+   */
+  @Autowired
+  public SpoolIngester(@Value("${rules_engine.spool.directory:}") String directory,
+      @Value("${rules_engine.spool.poll_interval:1000}") long pollInterval,
+      @Value("${rules_engine.spool.threads:4}") int threads,
+      @Value("${rules_engine.spool.batch_size:1024}") int batchSize,
+      @Value("${rules_engine.spool.columnar:false}") boolean columnar, Engine engine) {
+    this(directory.isBlank() ? null : Path.of(directory), pollInterval, threads, batchSize,
+        engine::run, columnar ? engine::runBatch : null);
+  }
+
+  SpoolIngester(Path directory, long pollInterval, int threads, int batchSize,
+      Consumer<Object> sink) {
+    this(directory, pollInterval, threads, batchSize, sink, null);
+  }
+
+  SpoolIngester(Path directory, long pollInterval, int threads, int batchSize,
+      Consumer<Object> sink, Consumer<List<Object>> batchSink) {
+    this.directory = directory;
+    this.pollInterval = Math.max(pollInterval, 1);
+    this.batchSize = Math.max(batchSize, 1);
+    this.sink = sink;
+    this.batchSink = batchSink;
+    this.lanes = new ExecutorService[directory == null ? 0 : Math.max(threads, 1)];
+    for (int lane = 0; lane < lanes.length; lane++) {
+      String name = "spool-lane-" + lane;
+      lanes[lane] = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    this.recordsEvaluated = new AtomicLong();
+    this.recordsRejected = new AtomicLong();
+    this.logger = LoggerFactory.getLogger(this.getClass().getName());
+  }
+}
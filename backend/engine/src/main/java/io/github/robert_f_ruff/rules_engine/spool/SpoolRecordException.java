@@ -0,0 +1,17 @@
+package io.github.robert_f_ruff.rules_engine.spool;
+
+/**
+ * Error occurred while reading a spooled record: the record is malformed.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public class SpoolRecordException extends Exception {
+  /**
+   * New instance of SpoolRecordException.
+   * @param message What is wrong with the record
+   * @since 1.2
+   */
+  public SpoolRecordException(String message) {
+    super("Malformed record: " + message);
+  }
+}
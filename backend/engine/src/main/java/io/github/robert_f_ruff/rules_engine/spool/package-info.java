@@ -0,0 +1,4 @@
+/**
+ * Ingestion of patient and observation records from files dropped in a spool directory
+ */
+package io.github.robert_f_ruff.rules_engine.spool;
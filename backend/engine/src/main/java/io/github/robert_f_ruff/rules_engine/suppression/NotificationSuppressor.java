@@ -0,0 +1,105 @@
+package io.github.robert_f_ruff.rules_engine.suppression;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.github.robert_f_ruff.rules_engine.actions.Action;
+import io.github.robert_f_ruff.rules_engine.actions.ActionFilter;
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientObservation;
+
+/**
+ * Suppresses an action that the same rule has already performed for the same patient within a
+ * quiet period, however the patient's measurements have changed and whenever they were observed;
+ * an observation joined with the patient's data counts as the patient's. Data without a patient
+ * ID is identified by its {@code toString()} instead, and the action's identity is that of
+ * {@code Action.hashCode()}, so equal actions share a quiet period. Patients are told apart by a
+ * 64-bit hash of their whole ID. Quiet periods are held in a {@code SuppressionStore} of fixed
+ * size; when it is full, the quiet periods closest to ending are forgotten first.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Component
+public class NotificationSuppressor implements ActionFilter {
+  private long quietPeriod;
+  private SuppressionStore store;
+  private LongSupplier clock;
+
+  /**
+   * Returns the configured quiet period.
+   * @return Length of the quiet period, in nanoseconds; zero if nothing is suppressed
+   * @since 1.2
+   */
+  public long getQuietPeriod() {
+    return quietPeriod;
+  }
+
+  /**
+   * Decides whether an action is outside its quiet period, starting a new quiet period if it is.
+   * @param ruleId The unique identifier number of the rule the action belongs to
+   * @param data The data the rule was found applicable to
+   * @param action The action about to be performed
+   * @return Whether the action should be performed
+   * @since 1.2
+   */
+  @Override
+  public boolean permits(Long ruleId, Object data, Action action) {
+    if (quietPeriod <= 0) return true;
+    long key = (ruleId == null ? 0 : ruleId) * 0x9E3779B97F4A7C15L;
+    String patientId = patientId(data);
+    key = (key ^ hash(patientId == null ? data.toString() : patientId)) * 0xBF58476D1CE4E5B9L;
+    key = (key ^ action.hashCode()) * 0x94D049BB133111EBL;
+    return store.admit(key ^ (key >>> 31), clock.getAsLong(), quietPeriod);
+  }
+
+  private static long hash(String value) {
+    long hash = 0xCBF29CE484222325L;
+    for (int index = 0; index < value.length(); index++) {
+      hash = (hash ^ value.charAt(index)) * 0x100000001B3L;
+    }
+    return hash;
+  }
+
+  private static String patientId(Object data) {
+    if (data instanceof PatientData patient) return patient.getPatientId();
+    if (data instanceof ObservationData observation) return observation.getPatientId();
+    if (data instanceof PatientObservation joined) return joined.observation().getPatientId();
+    return null;
+  }
+
+  /**
+   * New instance of NotificationSuppressor.
+   * @param quietPeriod Milliseconds during which a repeated action is suppressed; zero disables
+   *     suppression
+   * @param capacity Number of quiet periods held at once
+   * @param offHeap Whether quiet periods are held outside the Java heap
+   * @since 1.2
+   */
+  @Autowired
+  public NotificationSuppressor(@Value("${rules_engine.suppression.quiet_period:0}") long quietPeriod,
+      @Value("${rules_engine.suppression.capacity:65536}") int capacity,
+      @Value("${rules_engine.suppression.off_heap:false}") boolean offHeap) {
+    this(quietPeriod, capacity, offHeap, System::nanoTime);
+  }
+
+  /**
+   * New instance of NotificationSuppressor that suppresses nothing.
+   * @since 1.2
+   */
+  public NotificationSuppressor() {
+    this.quietPeriod = 0;
+    this.store = null;
+    this.clock = System::nanoTime;
+  }
+
+  NotificationSuppressor(long quietPeriod, int capacity, boolean offHeap, LongSupplier clock) {
+    this.quietPeriod = TimeUnit.MILLISECONDS.toNanos(Math.max(quietPeriod, 0));
+    this.store = this.quietPeriod > 0 ? new SuppressionStore(capacity, offHeap) : null;
+    this.clock = clock;
+  }
+}
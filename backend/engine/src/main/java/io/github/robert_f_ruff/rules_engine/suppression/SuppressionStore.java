@@ -0,0 +1,79 @@
+package io.github.robert_f_ruff.rules_engine.suppression;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * Fixed-size hash table of keys and the times their quiet periods end. Keys and times are held
+ * as pairs of longs in a single buffer, on or off the heap, so the table costs sixteen bytes per
+ * slot however many keys pass through it. A key is looked for in a short run of slots; when the
+ * run is full, the entry whose quiet period ends first is evicted.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public final class SuppressionStore {
+  /**
+   * Number of consecutive slots searched for a key.
+   * @since 1.2
+   */
+  public static final int PROBES = 8;
+  private static final long EMPTY = 0;
+  private final LongBuffer slots;
+  private final int mask;
+
+  /**
+   * Returns the number of slots in the table.
+   * @return Maximum number of keys held at once
+   * @since 1.2
+   */
+  public int capacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Decides whether a key is outside its quiet period, starting a new quiet period if it is.
+   * @param key The key to look for
+   * @param now The current time, in nanoseconds
+   * @param quietPeriod Length of the quiet period to start, in nanoseconds
+   * @return Whether the key's quiet period had ended or the key was not held
+   * @since 1.2
+   */
+  public synchronized boolean admit(long key, long now, long quietPeriod) {
+    if (key == EMPTY) key = 1;
+    int start = (int) (key ^ (key >>> 32)) & mask;
+    int victim = -1;
+    long victimRemaining = Long.MAX_VALUE;
+    for (int probe = 0; probe < PROBES; probe++) {
+      int slot = (start + probe) & mask;
+      long stored = slots.get(slot << 1);
+      long remaining = stored == EMPTY ? Long.MIN_VALUE : slots.get((slot << 1) + 1) - now;
+      if (stored == key) {
+        if (remaining > 0) return false;
+        victim = slot;
+        break;
+      }
+      if (remaining < victimRemaining) {
+        victim = slot;
+        victimRemaining = remaining;
+      }
+    }
+    slots.put(victim << 1, key);
+    slots.put((victim << 1) + 1, now + quietPeriod);
+    return true;
+  }
+
+  /**
+   * New instance of SuppressionStore.
+   * @param capacity Minimum number of keys held at once; rounded up to a power of two
+   * @param offHeap Whether the table is allocated outside the Java heap
+   * @since 1.2
+   */
+  public SuppressionStore(int capacity, boolean offHeap) {
+    int size = Integer.highestOneBit(Math.max(capacity, PROBES) - 1) << 1;
+    this.mask = size - 1;
+    this.slots = offHeap
+        ? ByteBuffer.allocateDirect(size * 2 * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer()
+        : LongBuffer.allocate(size * 2);
+  }
+}
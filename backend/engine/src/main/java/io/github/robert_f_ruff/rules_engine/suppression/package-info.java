@@ -0,0 +1,4 @@
+/**
+ * Suppression of repeated actions within a quiet period
+ */
+package io.github.robert_f_ruff.rules_engine.suppression;
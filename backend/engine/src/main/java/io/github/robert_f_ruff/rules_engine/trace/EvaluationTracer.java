@@ -0,0 +1,198 @@
+package io.github.robert_f_ruff.rules_engine.trace;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import io.github.robert_f_ruff.rules_engine.loader.EvaluationContext;
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
+
+/**
+ * Decides which evaluations are traced and collects their trace records. Records are placed in
+ * a bounded ring buffer and written to the log by a background thread, so evaluations that are
+ * not traced pay only for the {@code sample()} check.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Component
+public class EvaluationTracer {
+  /**
+   * Milliseconds between drains of the trace buffer.
+   * @since 1.2
+   */
+  public static final long DRAIN_INTERVAL = 1000;
+  private record TracedRules(RuleSet ruleSet, boolean[] positions, boolean any) {}
+  private TraceLevel level;
+  private int sampleRate;
+  private Long[] ruleIds;
+  private volatile TracedRules tracedRules;
+  private TraceBuffer<TraceRecord> buffer;
+  private ScheduledExecutorService drainer;
+  private Logger logger;
+
+  /**
+   * Returns the configured trace level.
+   * @return Which evaluations are traced
+   * @since 1.2
+   */
+  public TraceLevel getLevel() {
+    return level;
+  }
+
+  /**
+   * Decides whether the evaluation about to start is traced.
+   * @return Whether the caller should time the evaluation and pass it to {@code record()}
+   * @since 1.2
+   */
+  public boolean sample() {
+    switch (level) {
+      case OFF:
+        return false;
+      case SAMPLED:
+        return sampleRate <= 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+      default:
+        return true;
+    }
+  }
+
+  /**
+   * Records a traced evaluation. Under {@code TraceLevel.RULES} only the opted-in rules and
+   * their criteria are recorded, and nothing is recorded if the rule set contains none of them.
+   * @param data The evaluated data; only its type is recorded
+   * @param ruleSet The evaluated rule set
+   * @param context Criterion results and rule outcomes of the evaluation
+   * @param durationNanos Duration of the evaluation in nanoseconds
+   * @since 1.2
+   */
+  public void record(Object data, RuleSet ruleSet, EvaluationContext context, long durationNanos) {
+    boolean[] positions = null;
+    if (level == TraceLevel.RULES) {
+      TracedRules traced = tracedRules(ruleSet);
+      if (! traced.any()) return;
+      positions = traced.positions();
+    }
+    buffer.offer(new TraceRecord(data.getClass().getSimpleName(), durationNanos, ruleSet,
+        context, positions));
+  }
+
+  private TracedRules tracedRules(RuleSet ruleSet) {
+    TracedRules traced = tracedRules;
+    if (traced == null || traced.ruleSet() != ruleSet) {
+      boolean[] positions = new boolean[ruleSet.getRuleCount()];
+      boolean any = false;
+      for (int index = 0; index < positions.length; index++) {
+        Long id = ruleSet.getRule(index).getId();
+        for (Long ruleId : ruleIds) {
+          if (ruleId.equals(id)) {
+            positions[index] = true;
+            any = true;
+          }
+        }
+      }
+      traced = new TracedRules(ruleSet, positions, any);
+      tracedRules = traced;
+    }
+    return traced;
+  }
+
+  /**
+   * Writes every buffered trace record to the log.
+   * @return Number of records written
+   * @since 1.2
+   */
+  public int drain() {
+    int count = 0;
+    TraceRecord record;
+    while ((record = buffer.poll()) != null) {
+      logger.info(record.toString());
+      count++;
+    }
+    long dropped = buffer.takeDropped();
+    if (dropped > 0) {
+      logger.warn("Trace buffer full; dropped " + dropped + " records");
+    }
+    return count;
+  }
+
+  /**
+   * Starts the background thread that drains the trace buffer.
+   * @since 1.2
+   */
+  @PostConstruct
+  public void start() {
+    if (level == TraceLevel.OFF || drainer != null) return;
+    drainer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "evaluation-tracer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    drainer.scheduleWithFixedDelay(this::drain, DRAIN_INTERVAL, DRAIN_INTERVAL,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the background thread and writes any remaining trace records to the log.
+   * @since 1.2
+   */
+  @PreDestroy
+  public void stop() {
+    if (drainer == null) return;
+    drainer.shutdown();
+    try {
+      drainer.awaitTermination(DRAIN_INTERVAL, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException error) {
+      Thread.currentThread().interrupt();
+    }
+    drainer = null;
+    drain();
+  }
+
+  /**
+   * New instance of EvaluationTracer.
+   * @param level Which evaluations are traced
+   * @param sampleRate Under {@code TraceLevel.SAMPLED}, one in this many evaluations is traced
+   * @param rules Comma-separated identifiers of the rules traced under {@code TraceLevel.RULES}
+   * @param bufferSize Number of trace records held before new ones are dropped
+   * @since 1.2
+   */
+  @Autowired
+  public EvaluationTracer(@Value("${rules_engine.trace.level:OFF}") TraceLevel level,
+      @Value("${rules_engine.trace.sample_rate:100}") int sampleRate,
+      @Value("${rules_engine.trace.rules:}") String rules,
+      @Value("${rules_engine.trace.buffer_size:1024}") int bufferSize) {
+    this();
+    this.level = level;
+    this.sampleRate = sampleRate;
+    String[] ids = rules.isBlank() ? new String[0] : rules.split(",");
+    this.ruleIds = new Long[ids.length];
+    for (int index = 0; index < ids.length; index++) {
+      ruleIds[index] = Long.valueOf(ids[index].trim());
+    }
+    this.buffer = new TraceBuffer<>(bufferSize);
+  }
+
+  /**
+   * New instance of EvaluationTracer that traces nothing.
+   * @since 1.2
+   */
+  public EvaluationTracer() {
+    this.level = TraceLevel.OFF;
+    this.sampleRate = 1;
+    this.ruleIds = new Long[0];
+    this.tracedRules = null;
+    this.buffer = new TraceBuffer<>(2);
+    this.drainer = null;
+    this.logger = LoggerFactory.getLogger(this.getClass().getName());
+  }
+}
@@ -0,0 +1,88 @@
+package io.github.robert_f_ruff.rules_engine.trace;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock-free ring buffer that many threads write to and a single thread drains. Each
+ * slot carries a sequence number that tells writers and the reader whose turn it is, so neither
+ * side ever blocks; when the buffer is full, new entries are dropped and counted.
+ * @author Robert F. Ruff
+ * @version 1.2
+ * @param <T> The type of entry held in the buffer
+ */
+public class TraceBuffer<T> {
+  private final Object[] entries;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong tail;
+  private final AtomicLong dropped;
+  private long head;
+
+  /**
+   * Adds an entry to the buffer; safe to call from any thread.
+   * @param entry The entry to add
+   * @return Whether the entry was added; {@code false} if the buffer was full
+   * @since 1.2
+   */
+  public boolean offer(T entry) {
+    while (true) {
+      long position = tail.get();
+      int slot = (int) (position & mask);
+      long difference = sequences.get(slot) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          entries[slot] = entry;
+          sequences.set(slot, position + 1);
+          return true;
+        }
+      } else if (difference < 0) {
+        dropped.incrementAndGet();
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Removes the oldest entry from the buffer; must only be called by the draining thread.
+   * @return The oldest entry, or {@code null} if the buffer is empty
+   * @since 1.2
+   */
+  @SuppressWarnings("unchecked")
+  public T poll() {
+    int slot = (int) (head & mask);
+    if (sequences.get(slot) != head + 1) return null;
+    T entry = (T) entries[slot];
+    entries[slot] = null;
+    sequences.set(slot, head + mask + 1);
+    head++;
+    return entry;
+  }
+
+  /**
+   * Returns the number of entries dropped because the buffer was full, and resets the count.
+   * @return Number of dropped entries since the previous call
+   * @since 1.2
+   */
+  public long takeDropped() {
+    return dropped.getAndSet(0);
+  }
+
+  /**
+   * New instance of TraceBuffer.
+   * @param capacity Minimum number of entries the buffer holds; rounded up to a power of two
+   * @since 1.2
+   */
+  public TraceBuffer(int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+    this.entries = new Object[size];
+    this.sequences = new AtomicLongArray(size);
+    for (int slot = 0; slot < size; slot++) {
+      sequences.set(slot, slot);
+    }
+    this.mask = size - 1;
+    this.tail = new AtomicLong();
+    this.dropped = new AtomicLong();
+    this.head = 0;
+  }
+}
@@ -0,0 +1,29 @@
+package io.github.robert_f_ruff.rules_engine.trace;
+
+/**
+ * Identifies which evaluations are traced.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public enum TraceLevel {
+  /**
+   * No evaluation is traced.
+   * @since 1.2
+   */
+  OFF,
+  /**
+   * One in every {@code rules_engine.trace.sample_rate} evaluations is traced.
+   * @since 1.2
+   */
+  SAMPLED,
+  /**
+   * Only the rules listed in {@code rules_engine.trace.rules}, and their criteria, are traced.
+   * @since 1.2
+   */
+  RULES,
+  /**
+   * Every evaluation is traced.
+   * @since 1.2
+   */
+  FULL
+}
@@ -0,0 +1,143 @@
+package io.github.robert_f_ruff.rules_engine.trace;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import io.github.robert_f_ruff.rules_engine.loader.EvaluationContext;
+import io.github.robert_f_ruff.rules_engine.loader.Rule;
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
+
+/**
+ * Captures the outcome of a single traced evaluation. The record holds only the type of the
+ * evaluated data, never its values, so that traces do not carry patient data.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public class TraceRecord {
+  private static final String[] RESULT_NAMES = {"not evaluated", "false", "true"};
+  private final Instant timestamp;
+  private final String factType;
+  private final long durationNanos;
+  private final String[] criteria;
+  private final byte[] criterionResults;
+  private final String[] rules;
+  private final Rule.Applicability[] ruleOutcomes;
+
+  /**
+   * Returns when the evaluation finished.
+   * @return The time the evaluation finished
+   * @since 1.2
+   */
+  public Instant getTimestamp() {
+    return timestamp;
+  }
+
+  /**
+   * Returns the type of the evaluated data.
+   * @return Simple class name of the evaluated data
+   * @since 1.2
+   */
+  public String getFactType() {
+    return factType;
+  }
+
+  /**
+   * Returns how long the evaluation took.
+   * @return Duration of the evaluation in nanoseconds
+   * @since 1.2
+   */
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  /**
+   * Returns the names of the traced rules.
+   * @return Names of the traced rules
+   * @since 1.2
+   */
+  public String[] getRules() {
+    return rules;
+  }
+
+  /**
+   * Returns the outcomes of the traced rules.
+   * @return Applicability of each traced rule, in the same order as {@code getRules()}
+   * @since 1.2
+   */
+  public Rule.Applicability[] getRuleOutcomes() {
+    return ruleOutcomes;
+  }
+
+  /**
+   * New instance of TraceRecord, copying the results of the traced criteria and rules out of
+   * the evaluation context.
+   * @param factType Simple class name of the evaluated data
+   * @param durationNanos Duration of the evaluation in nanoseconds
+   * @param ruleSet The evaluated rule set
+   * @param context Criterion results and rule outcomes of the evaluation
+   * @param tracedRules Which rules to include, by position in the rule set; {@code null} for all
+   * @since 1.2
+   */
+  public TraceRecord(String factType, long durationNanos, RuleSet ruleSet,
+      EvaluationContext context, boolean[] tracedRules) {
+    this.timestamp = Instant.now();
+    this.factType = factType;
+    this.durationNanos = durationNanos;
+    boolean[] tracedCriteria = new boolean[ruleSet.getCriterionCount()];
+    int ruleCount = 0;
+    for (int index = 0; index < ruleSet.getRuleCount(); index++) {
+      if (tracedRules != null && ! tracedRules[index]) continue;
+      ruleCount++;
+      for (int position : ruleSet.getRuleCriteria(index)) {
+        tracedCriteria[position] = true;
+      }
+    }
+    if (tracedRules == null) Arrays.fill(tracedCriteria, true);
+    int criterionCount = 0;
+    for (boolean traced : tracedCriteria) {
+      if (traced) criterionCount++;
+    }
+    this.criteria = new String[criterionCount];
+    this.criterionResults = new byte[criterionCount];
+    int next = 0;
+    for (int index = 0; index < tracedCriteria.length; index++) {
+      if (! tracedCriteria[index]) continue;
+      criteria[next] = ruleSet.getCriterion(index).getName();
+      criterionResults[next] = context.getResult(index);
+      next++;
+    }
+    this.rules = new String[ruleCount];
+    this.ruleOutcomes = new Rule.Applicability[ruleCount];
+    next = 0;
+    for (int index = 0; index < ruleSet.getRuleCount(); index++) {
+      if (tracedRules != null && ! tracedRules[index]) continue;
+      rules[next] = ruleSet.getRule(index).getName();
+      ruleOutcomes[next] = context.getApplicability(index);
+      next++;
+    }
+  }
+
+  /**
+   * Returns a structured, single-line representation of the record.
+   * @return The record formatted as {@code key=value} pairs
+   * @since 1.2
+   */
+  @Override
+  public String toString() {
+    StringBuilder line = new StringBuilder(128);
+    line.append("timestamp=").append(timestamp)
+        .append(" fact=").append(factType)
+        .append(" durationMicros=").append(durationNanos / 1000)
+        .append(" criteria=[");
+    for (int index = 0; index < criteria.length; index++) {
+      if (index > 0) line.append(", ");
+      line.append('"').append(criteria[index]).append("\":").append(RESULT_NAMES[criterionResults[index]]);
+    }
+    line.append("] rules=[");
+    for (int index = 0; index < rules.length; index++) {
+      if (index > 0) line.append(", ");
+      line.append('"').append(rules[index]).append("\":").append(ruleOutcomes[index]);
+    }
+    return line.append(']').toString();
+  }
+}
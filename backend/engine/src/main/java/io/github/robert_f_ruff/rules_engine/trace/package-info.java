@@ -0,0 +1,4 @@
+/**
+ * Structured, sampled tracing of rule set evaluations
+ */
+package io.github.robert_f_ruff.rules_engine.trace;
@@ -0,0 +1,160 @@
+package io.github.robert_f_ruff.rules_engine.warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.github.robert_f_ruff.rules_engine.Engine;
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+import io.github.robert_f_ruff.rules_engine.replay.CapturedFact;
+import io.github.robert_f_ruff.rules_engine.replay.TrafficLog;
+import io.github.robert_f_ruff.rules_engine.replay.TrafficReplayer;
+
+/**
+ * Warms up a newly loaded rule set before it goes live, so that the first requests after a
+ * restart or reload do not pay for interpreted code and cold caches. A corpus of facts, either a
+ * traffic log or a synthetic one, is replayed against the rule set with actions stubbed out, in
+ * the live engine's evaluation mode and working memory setting, round after round, until the 99th percentile latency of a round differs from that of the round
+ * before by no more than the tolerance, or the round limit is reached. The rule repository only
+ * publishes the rule set afterwards; since the first load happens while the application starts,
+ * readiness is not reported until the first rule set is warm.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Component
+public class SnapshotWarmer {
+  private static final Instant SYNTHETIC_START = Instant.parse("2024-01-01T00:00:00Z");
+  private final boolean enabled;
+  private final Path corpusFile;
+  private final int syntheticFacts;
+  private final int maxRounds;
+  private final double tolerance;
+  private final TrafficReplayer replayer;
+  private final Logger logger;
+  private List<CapturedFact> corpus;
+
+  /**
+   * Replays the corpus against a rule set until its latency has stabilized.
+   * @param ruleSet The newly loaded rule set
+   * @return Number of rounds replayed; zero if warm-up is disabled
+   * @since 1.2
+   */
+  public int warm(RuleSet ruleSet) {
+    if (! enabled || ruleSet.getRuleCount() == 0) return 0;
+    List<CapturedFact> facts = corpus();
+    long start = System.nanoTime();
+    long previous = -1;
+    int rounds = 0;
+    while (rounds < maxRounds) {
+      long latency = replayer.replay(facts, ruleSet, false).getLatencyPercentile(99);
+      rounds++;
+      if (previous >= 0 && Math.abs(latency - previous) <= tolerance * previous) {
+        logger.info("Rule set warmed up in " + rounds + " rounds and "
+            + Duration.ofNanos(System.nanoTime() - start).toMillis() + " ms; p99 latency "
+            + latency + " ns");
+        return rounds;
+      }
+      previous = latency;
+    }
+    logger.warn("Rule set latency did not stabilize within " + maxRounds
+        + " warm-up rounds; publishing it anyway");
+    return rounds;
+  }
+
+  private synchronized List<CapturedFact> corpus() {
+    if (corpus == null) {
+      if (corpusFile != null) {
+        try {
+          corpus = TrafficLog.readAll(corpusFile);
+        } catch (IOException e) {
+          logger.error("Unable to read warm-up corpus " + corpusFile + ": " + e.getMessage()
+              + "; using synthetic facts");
+        }
+      }
+      if (corpus == null || corpus.isEmpty()) corpus = synthesize(syntheticFacts);
+    }
+    return corpus;
+  }
+
+  /**
+   * Creates facts of a hundred patients spread over the range of plausible values, the same on
+   * every call.
+   * @param count Number of facts
+   * @return The facts, a minute apart
+   */
+  static List<CapturedFact> synthesize(int count) {
+    Random random = new Random(count);
+    ArrayList<CapturedFact> facts = new ArrayList<>(count);
+    for (int fact = 0; fact < count; fact++) {
+      String patientId = "warmup-" + (fact % 100);
+      Instant now = SYNTHETIC_START.plusSeconds(fact * 60L);
+      if (fact % 10 < 2) {
+        facts.add(new CapturedFact(now.toEpochMilli(), new PatientData(
+            random.nextBoolean() ? PatientData.Gender.FEMALE : PatientData.Gender.MALE,
+            LocalDate.of(1920 + random.nextInt(100), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+            patientId)));
+      } else {
+        facts.add(new CapturedFact(now.toEpochMilli(), new ObservationData(
+            BigDecimal.valueOf(800 + random.nextInt(3000), 1),
+            BigDecimal.valueOf(30 + random.nextInt(400)), patientId, now)));
+      }
+    }
+    return facts;
+  }
+
+  /**
+   * New instance of SnapshotWarmer.
+   * @param enabled Whether newly loaded rule sets are warmed up before going live
+   * @param corpus Path of the traffic log replayed during warm-up; empty to replay synthetic facts
+   * @param syntheticFacts Number of synthetic facts replayed each round when there is no traffic
+   *     log
+   * @param maxRounds Most rounds replayed before the rule set goes live regardless
+   * @param tolerance Largest relative change in 99th percentile latency between rounds at which
+   *     latency counts as stable
+   * @param mode How many applicable rules the live engine executes the actions of
+   * @param limit Under {@code Engine.Mode.TOP_N}, how many applicable rules the live engine
+   *     executes the actions of
+   * @param joined Whether the live engine joins facts of a patient in working memory
+   * @since 1.2
+   */
+  @Autowired
+  public SnapshotWarmer(@Value("${rules_engine.warmup.enabled:false}") boolean enabled,
+      @Value("${rules_engine.warmup.corpus:}") String corpus,
+      @Value("${rules_engine.warmup.synthetic_facts:2000}") int syntheticFacts,
+      @Value("${rules_engine.warmup.max_rounds:50}") int maxRounds,
+      @Value("${rules_engine.warmup.tolerance:0.1}") double tolerance,
+      @Value("${rules_engine.evaluation.mode:ALL}") Engine.Mode mode,
+      @Value("${rules_engine.evaluation.top_n:1}") int limit,
+      @Value("${rules_engine.working_memory.enabled:false}") boolean joined) {
+    this.enabled = enabled;
+    this.corpusFile = corpus.isBlank() ? null : Path.of(corpus);
+    this.syntheticFacts = Math.max(syntheticFacts, 1);
+    this.maxRounds = Math.max(maxRounds, 1);
+    this.tolerance = tolerance;
+    this.replayer = new TrafficReplayer(null, mode, limit, joined);
+    this.logger = LoggerFactory.getLogger(this.getClass().getName());
+    this.corpus = null;
+  }
+
+  /**
+   * New instance of SnapshotWarmer that warms up nothing.
+   * @since 1.2
+   */
+  public SnapshotWarmer() {
+    this(false, "", 1, 1, 0, Engine.Mode.ALL, 1, false);
+  }
+}
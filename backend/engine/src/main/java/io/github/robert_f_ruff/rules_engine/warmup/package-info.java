@@ -0,0 +1,4 @@
+/**
+ * Warm-up of newly loaded rule sets before they go live
+ */
+package io.github.robert_f_ruff.rules_engine.warmup;
@@ -0,0 +1,174 @@
+package io.github.robert_f_ruff.rules_engine.window;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import io.github.robert_f_ruff.rules_engine.logic.Window;
+
+/**
+ * One patient's most recent observations of a measure, with the window's aggregate maintained as
+ * observations are added and expire. The values are held in a ring that grows up to a fixed
+ * size, the running sum and count alongside them, and the minimum and maximum in monotonic
+ * queues, so adding an observation costs the same however many the window holds. Not safe for use
+ * by several threads at once.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+public class SlidingWindow {
+  private static final int INITIAL_CAPACITY = 8;
+  private final Window window;
+  private final long span;
+  private final int capacity;
+  private long[] times;
+  private BigDecimal[] values;
+  private long[] minimums;
+  private long[] maximums;
+  private long head;
+  private long tail;
+  private long minimumHead;
+  private long minimumTail;
+  private long maximumHead;
+  private long maximumTail;
+  private BigDecimal sum;
+  private int counted;
+
+  /**
+   * Returns the number of observations in the window.
+   * @return Number of observations held
+   * @since 1.2
+   */
+  public int size() {
+    return (int) (tail - head);
+  }
+
+  /**
+   * Adds an observation to the window, first expiring those that have fallen out of it. An
+   * observation earlier than the latest one is treated as simultaneous with it.
+   * @param time When the observation was made, in milliseconds since the epoch
+   * @param value The observed value
+   * @since 1.2
+   */
+  public void add(long time, BigDecimal value) {
+    if (tail > head) time = Math.max(time, times[slot(tail - 1)]);
+    while (tail > head && span > 0 && time - times[slot(head)] > span) {
+      removeOldest();
+    }
+    if (tail - head == capacity) {
+      removeOldest();
+    } else if (tail - head == times.length) {
+      grow();
+    }
+    int slot = slot(tail);
+    times[slot] = time;
+    values[slot] = value;
+    sum = sum.add(value);
+    if (isCounted(value)) counted++;
+    while (minimumTail > minimumHead
+        && values[slot(minimums[slot(minimumTail - 1)])].compareTo(value) >= 0) {
+      minimumTail--;
+    }
+    minimums[slot(minimumTail++)] = tail;
+    while (maximumTail > maximumHead
+        && values[slot(maximums[slot(maximumTail - 1)])].compareTo(value) <= 0) {
+      maximumTail--;
+    }
+    maximums[slot(maximumTail++)] = tail;
+    tail++;
+  }
+
+  /**
+   * Returns the window's aggregate of the observations it holds.
+   * @return The aggregate, or {@code null} if the window is empty or, for
+   *     {@code Window.Aggregate.CHANGE_PERCENT}, the earliest value is zero
+   * @since 1.2
+   */
+  public BigDecimal aggregate() {
+    if (tail == head) return null;
+    BigDecimal oldest = values[slot(head)];
+    BigDecimal newest = values[slot(tail - 1)];
+    switch (window.aggregate()) {
+      case COUNT_BELOW:
+      case COUNT_ABOVE:
+        return BigDecimal.valueOf(counted);
+      case MINIMUM:
+        return values[slot(minimums[slot(minimumHead)])];
+      case MAXIMUM:
+        return values[slot(maximums[slot(maximumHead)])];
+      case AVERAGE:
+        return sum.divide(BigDecimal.valueOf(tail - head), MathContext.DECIMAL64);
+      case CHANGE:
+        return newest.subtract(oldest);
+      default:
+        if (oldest.signum() == 0) return null;
+        return newest.subtract(oldest).multiply(BigDecimal.valueOf(100))
+            .divide(oldest, MathContext.DECIMAL64);
+    }
+  }
+
+  private boolean isCounted(BigDecimal value) {
+    switch (window.aggregate()) {
+      case COUNT_BELOW:
+        return value.compareTo(window.bound()) < 0;
+      case COUNT_ABOVE:
+        return value.compareTo(window.bound()) > 0;
+      default:
+        return false;
+    }
+  }
+
+  private void removeOldest() {
+    int slot = slot(head);
+    sum = sum.subtract(values[slot]);
+    if (isCounted(values[slot])) counted--;
+    if (minimums[slot(minimumHead)] == head) minimumHead++;
+    if (maximums[slot(maximumHead)] == head) maximumHead++;
+    values[slot] = null;
+    head++;
+  }
+
+  private int slot(long sequence) {
+    return (int) (sequence % times.length);
+  }
+
+  private void grow() {
+    int length = (int) Math.min((long) times.length * 2, capacity);
+    long[] grownTimes = new long[length];
+    BigDecimal[] grownValues = new BigDecimal[length];
+    long[] grownMinimums = new long[length];
+    long[] grownMaximums = new long[length];
+    for (long sequence = head; sequence < tail; sequence++) {
+      grownTimes[(int) (sequence % length)] = times[slot(sequence)];
+      grownValues[(int) (sequence % length)] = values[slot(sequence)];
+    }
+    for (long position = minimumHead; position < minimumTail; position++) {
+      grownMinimums[(int) (position % length)] = minimums[slot(position)];
+    }
+    for (long position = maximumHead; position < maximumTail; position++) {
+      grownMaximums[(int) (position % length)] = maximums[slot(position)];
+    }
+    times = grownTimes;
+    values = grownValues;
+    minimums = grownMinimums;
+    maximums = grownMaximums;
+  }
+
+  /**
+   * New instance of SlidingWindow.
+   * @param window The window to maintain
+   * @param maxSamples Most observations held; when a window covers a length of time in which
+   *     more were made, or a greater number of observations, only the latest are aggregated
+   * @since 1.2
+   */
+  public SlidingWindow(Window window, int maxSamples) {
+    this.window = window;
+    this.span = window.span() == null ? 0 : window.span().toMillis();
+    this.capacity = Math.max(window.span() == null ? Math.min(window.count(), maxSamples)
+        : maxSamples, 1);
+    int length = Math.min(capacity, INITIAL_CAPACITY);
+    this.times = new long[length];
+    this.values = new BigDecimal[length];
+    this.minimums = new long[length];
+    this.maximums = new long[length];
+    this.sum = BigDecimal.ZERO;
+  }
+}
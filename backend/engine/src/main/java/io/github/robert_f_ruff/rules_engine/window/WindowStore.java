@@ -0,0 +1,224 @@
+package io.github.robert_f_ruff.rules_engine.window;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.Window;
+import io.github.robert_f_ruff.rules_engine.logic.WindowedObservation;
+
+/**
+ * Holds every patient's windows of recent observations, and returns their aggregates for each
+ * observation of the patient to be judged with. Patients are held in a concurrent map and each
+ * patient's windows are locked on their own, so observations of different patients are recorded
+ * in parallel; a patient's windows sit in slots matching the rule set's windows, so recording an
+ * observation costs the same however many patients are held. A patient's windows are forgotten
+ * once no observation of the patient has been recorded for the idle timeout, or, when the store
+ * holds more than the configured number of patients, once the patient is among those least
+ * recently observed. Observations that do not identify their patient are not recorded.
+ * @author Robert F. Ruff
+ * @version 1.2
+ */
+@Component
+public class WindowStore {
+  private static final class PatientWindows {
+    private Window[] windows = new Window[0];
+    private SlidingWindow[] slides = new SlidingWindow[0];
+    private long lastSeen;
+    private volatile long lastUsed;
+    private boolean evicted;
+
+    PatientWindows(long lastUsed) {
+      this.lastUsed = lastUsed;
+    }
+  }
+  private final int maxSamples;
+  private final long idleTimeout;
+  private final int maxPatients;
+  private final ConcurrentHashMap<String, PatientWindows> patients;
+  private final AtomicLong sequence;
+  private final AtomicLong lastSweep;
+  private final LongSupplier clock;
+
+  /**
+   * Returns the number of patients whose windows are held.
+   * @return Number of patients
+   * @since 1.2
+   */
+  public int size() {
+    long now = clock.getAsLong();
+    lastSweep.set(now);
+    evictIdle(now);
+    return patients.size();
+  }
+
+  /**
+   * Adds an observation to its patient's windows and returns the windows' aggregates.
+   * Data other than an identified observation, or a rule set without windows, is not recorded.
+   * @param data The data about to be judged
+   * @param windows The windows the rule set's criteria aggregate over
+   * @param aggregates Slots to fill with the aggregates, reused from one observation to the next
+   * @return The filled aggregates, or {@code null} if nothing was recorded
+   * @since 1.2
+   */
+  public WindowedObservation record(Object data, Window[] windows,
+      WindowedObservation aggregates) {
+    if (windows.length == 0 || data.getClass() != ObservationData.class) return null;
+    ObservationData observation = (ObservationData) data;
+    String patientId = observation.getPatientId();
+    if (patientId == null) return null;
+    long now = clock.getAsLong();
+    long swept = lastSweep.get();
+    if (now - swept > idleTimeout && lastSweep.compareAndSet(swept, now)) evictIdle(now);
+    long time = observation.getObservedAt() == null ? now
+        : observation.getObservedAt().toEpochMilli();
+    aggregates.reset(observation, windows);
+    while (true) {
+      PatientWindows patient = patients.get(patientId);
+      if (patient == null) {
+        patient = patients.computeIfAbsent(patientId,
+            key -> new PatientWindows(sequence.incrementAndGet()));
+        if (patients.size() > maxPatients) evictLeastRecent();
+      }
+      synchronized (patient) {
+        if (patient.evicted) continue;
+        if (now - patient.lastSeen > idleTimeout) patient.windows = new Window[0];
+        patient.lastSeen = now;
+        patient.lastUsed = sequence.incrementAndGet();
+        align(patient, windows);
+        for (int slot = 0; slot < windows.length; slot++) {
+          BigDecimal value = windows[slot].field().of(observation);
+          if (value != null) patient.slides[slot].add(time, value);
+          aggregates.setAggregate(slot, patient.slides[slot].aggregate());
+        }
+      }
+      return aggregates;
+    }
+  }
+
+  /**
+   * Returns the aggregates of an observation's patient's windows, without adding the observation
+   * to them.
+   * @param data The data about to be judged
+   * @param windows The windows the rule set's criteria aggregate over
+   * @param aggregates Slots to fill with the aggregates, reused from one observation to the next
+   * @return The filled aggregates, without a value for windows the patient has no observations
+   *     in, or {@code null} if the data is not an identified observation
+   * @since 1.2
+   */
+  public WindowedObservation peek(Object data, Window[] windows, WindowedObservation aggregates) {
+    if (windows.length == 0 || data.getClass() != ObservationData.class) return null;
+    ObservationData observation = (ObservationData) data;
+    if (observation.getPatientId() == null) return null;
+    aggregates.reset(observation, windows);
+    PatientWindows patient = patients.get(observation.getPatientId());
+    if (patient == null) return aggregates;
+    long now = clock.getAsLong();
+    synchronized (patient) {
+      if (patient.evicted || now - patient.lastSeen > idleTimeout) return aggregates;
+      for (int slot = 0; slot < windows.length; slot++) {
+        for (int held = 0; held < patient.windows.length; held++) {
+          if (patient.windows[held] == windows[slot]
+              || patient.windows[held].equals(windows[slot])) {
+            aggregates.setAggregate(slot, patient.slides[held].aggregate());
+            break;
+          }
+        }
+      }
+    }
+    return aggregates;
+  }
+
+  private void align(PatientWindows patient, Window[] windows) {
+    if (patient.windows == windows) return;
+    SlidingWindow[] slides = new SlidingWindow[windows.length];
+    for (int slot = 0; slot < windows.length; slot++) {
+      for (int held = 0; held < patient.windows.length; held++) {
+        if (patient.windows[held].equals(windows[slot])) {
+          slides[slot] = patient.slides[held];
+          break;
+        }
+      }
+      if (slides[slot] == null) slides[slot] = new SlidingWindow(windows[slot], maxSamples);
+    }
+    patient.windows = windows;
+    patient.slides = slides;
+  }
+
+  private void evictIdle(long now) {
+    for (Map.Entry<String, PatientWindows> entry : patients.entrySet()) {
+      PatientWindows patient = entry.getValue();
+      synchronized (patient) {
+        if (now - patient.lastSeen > idleTimeout) evict(entry.getKey(), patient);
+      }
+    }
+  }
+
+  private synchronized void evictLeastRecent() {
+    int excess = patients.size() - maxPatients;
+    if (excess <= 0) return;
+    // Evict a sixteenth of the patients at once, so that the scan is shared by many insertions
+    excess += maxPatients / 16;
+    long[] used = new long[patients.size()];
+    int count = 0;
+    Iterator<PatientWindows> held = patients.values().iterator();
+    while (held.hasNext() && count < used.length) {
+      used[count++] = held.next().lastUsed;
+    }
+    if (count == 0) return;
+    Arrays.sort(used, 0, count);
+    long cutoff = used[Math.min(excess, count) - 1];
+    for (Map.Entry<String, PatientWindows> entry : patients.entrySet()) {
+      PatientWindows patient = entry.getValue();
+      synchronized (patient) {
+        if (patient.lastUsed <= cutoff) evict(entry.getKey(), patient);
+      }
+    }
+  }
+
+  private void evict(String patientId, PatientWindows patient) {
+    if (patients.remove(patientId, patient)) patient.evicted = true;
+  }
+
+  /**
+   * New instance of WindowStore.
+   * @param maxSamples Most observations held in each of a patient's windows
+   * @param idleTimeout Milliseconds without an observation after which a patient's windows are
+   *     forgotten
+   * @param maxPatients Most patients whose windows are held at once
+   * @since 1.2
+   */
+  @Autowired
+  public WindowStore(@Value("${rules_engine.windows.max_samples:1024}") int maxSamples,
+      @Value("${rules_engine.windows.idle_timeout:604800000}") long idleTimeout,
+      @Value("${rules_engine.windows.max_patients:100000}") int maxPatients) {
+    this(maxSamples, idleTimeout, maxPatients, System::currentTimeMillis);
+  }
+
+  /**
+   * New instance of WindowStore with the default limits.
+   * @since 1.2
+   */
+  public WindowStore() {
+    this(1024, 604800000L, 100000);
+  }
+
+  WindowStore(int maxSamples, long idleTimeout, int maxPatients, LongSupplier clock) {
+    this.maxSamples = Math.max(maxSamples, 1);
+    this.idleTimeout = idleTimeout;
+    this.maxPatients = Math.max(maxPatients, 1);
+    this.patients = new ConcurrentHashMap<>();
+    this.sequence = new AtomicLong();
+    this.lastSweep = new AtomicLong(clock.getAsLong());
+    this.clock = clock;
+  }
+}
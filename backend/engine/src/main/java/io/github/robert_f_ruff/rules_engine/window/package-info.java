@@ -0,0 +1,4 @@
+/**
+ * Per-patient sliding windows of recent observations and their aggregates
+ */
+package io.github.robert_f_ruff.rules_engine.window;
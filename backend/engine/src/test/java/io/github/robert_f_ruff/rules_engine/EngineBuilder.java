@@ -0,0 +1,78 @@
+package io.github.robert_f_ruff.rules_engine;
+
+import io.github.robert_f_ruff.rules_engine.dispatch.ActionDispatcher;
+import io.github.robert_f_ruff.rules_engine.loader.RuleRepository;
+import io.github.robert_f_ruff.rules_engine.memory.WorkingMemory;
+import io.github.robert_f_ruff.rules_engine.metrics.EngineMetrics;
+import io.github.robert_f_ruff.rules_engine.suppression.NotificationSuppressor;
+import io.github.robert_f_ruff.rules_engine.trace.EvaluationTracer;
+import io.github.robert_f_ruff.rules_engine.window.WindowStore;
+
+class EngineBuilder {
+  private RuleRepository repository;
+  private EvaluationTracer tracer;
+  private EngineMetrics metrics;
+  private Engine.Mode mode;
+  private int limit;
+  private NotificationSuppressor suppressor;
+  private ActionDispatcher dispatcher;
+  private WindowStore windows;
+  private WorkingMemory memory;
+
+  static EngineBuilder anEngine(RuleRepository repository) {
+    return new EngineBuilder(repository);
+  }
+
+  EngineBuilder withTracer(EvaluationTracer tracer) {
+    this.tracer = tracer;
+    return this;
+  }
+
+  EngineBuilder withMetrics(EngineMetrics metrics) {
+    this.metrics = metrics;
+    return this;
+  }
+
+  EngineBuilder withMode(Engine.Mode mode, int limit) {
+    this.mode = mode;
+    this.limit = limit;
+    return this;
+  }
+
+  EngineBuilder withSuppressor(NotificationSuppressor suppressor) {
+    this.suppressor = suppressor;
+    return this;
+  }
+
+  EngineBuilder withDispatcher(ActionDispatcher dispatcher) {
+    this.dispatcher = dispatcher;
+    return this;
+  }
+
+  EngineBuilder withWindows(WindowStore windows) {
+    this.windows = windows;
+    return this;
+  }
+
+  EngineBuilder withMemory(WorkingMemory memory) {
+    this.memory = memory;
+    return this;
+  }
+
+  Engine build() {
+    return new Engine(repository,
+        tracer == null ? new EvaluationTracer() : tracer,
+        metrics == null ? new EngineMetrics() : metrics,
+        mode, limit,
+        suppressor == null ? new NotificationSuppressor() : suppressor,
+        dispatcher == null ? new ActionDispatcher() : dispatcher,
+        windows == null ? new WindowStore() : windows,
+        memory == null ? new WorkingMemory() : memory);
+  }
+
+  EngineBuilder(RuleRepository repository) {
+    this.repository = repository;
+    this.mode = Engine.Mode.ALL;
+    this.limit = 1;
+  }
+}
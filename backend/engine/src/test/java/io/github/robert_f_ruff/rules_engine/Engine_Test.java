@@ -4,34 +4,54 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static io.github.robert_f_ruff.rules_engine.EngineBuilder.anEngine;
 import static io.github.robert_f_ruff.rules_engine.loader.CriterionBuilder.aCriterion;
 import static io.github.robert_f_ruff.rules_engine.loader.LogicBuilder.aLogic;
 import static io.github.robert_f_ruff.rules_engine.loader.RuleBuilder.aRule;
 
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.mockito.Mockito;
+import org.slf4j.helpers.NOPLogger;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 
+import io.github.robert_f_ruff.rules_engine.actions.Action;
 import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionFactory;
 import io.github.robert_f_ruff.rules_engine.actions.ActionFactoryException;
 import io.github.robert_f_ruff.rules_engine.actions.ActionStub;
 import io.github.robert_f_ruff.rules_engine.actions.ParameterException;
 import io.github.robert_f_ruff.rules_engine.loader.Criterion;
 import io.github.robert_f_ruff.rules_engine.loader.CriterionBuilder;
+import io.github.robert_f_ruff.rules_engine.loader.Expression;
+import io.github.robert_f_ruff.rules_engine.loader.ExpressionException;
 import io.github.robert_f_ruff.rules_engine.loader.LogicBuilder;
 import io.github.robert_f_ruff.rules_engine.loader.Rule;
 import io.github.robert_f_ruff.rules_engine.loader.RuleRepository;
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
 import io.github.robert_f_ruff.rules_engine.logic.LogicFactoryException;
 import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
 import io.github.robert_f_ruff.rules_engine.logic.PatientData;
 import io.github.robert_f_ruff.rules_engine.logic.PatientData.Gender;
+import io.github.robert_f_ruff.rules_engine.memory.WorkingMemory;
+import io.github.robert_f_ruff.rules_engine.metrics.EngineMetrics;
+import io.github.robert_f_ruff.rules_engine.suppression.NotificationSuppressor;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @TestInstance(value = TestInstance.Lifecycle.PER_CLASS)
 @DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
@@ -47,6 +67,7 @@ class Engine_Test {
     Mockito.when(repository.getCriteria()).thenReturn(criteria);
     rules = new HashMap<>();
     Mockito.when(repository.getRules()).thenReturn(rules);
+    Mockito.when(repository.getRuleSet()).thenAnswer(invocation -> new RuleSet(criteria, rules));
   }
 
   @BeforeEach
@@ -177,9 +198,561 @@ class Engine_Test {
     assertFalse(action1.getExecuted());
   }
 
+  @Test
+  void test_Explain_Does_Not_Execute_Actions() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    Criterion patientIsFemale = aCriterion().build();
+    criteria.add(patientIsFemale);
+    Criterion patientOlderThan22 = aCriterion()
+      .withName("Patient older than 22")
+      .withLogicMethod("AgeGreaterThan")
+      .withCheckValue("22")
+      .build();
+    criteria.add(patientOlderThan22);
+    Criterion bodyWeightGreaterThan225 = aCriterion()
+      .withName("Body weight greater than 225")
+      .withLogicClass(aLogic().withObservationClass())
+      .withLogicMethod("BodyWeightGreaterThan")
+      .withCheckValue("225")
+      .build();
+    criteria.add(bodyWeightGreaterThan225);
+    ActionStub action1Rule1 = new ActionStub();
+    rules.put(1L, aRule()
+      .withCriterion(patientIsFemale)
+      .withCriterion(patientOlderThan22)
+      .withAction(1, action1Rule1)
+      .build());
+    rules.put(2L, aRule()
+      .withID(2L)
+      .withName("Rule #2")
+      .withCriterion(patientOlderThan22)
+      .withCriterion(bodyWeightGreaterThan225)
+      .withAction(1, new ActionStub())
+      .build());
+    rules.put(3L, aRule()
+      .withID(3L)
+      .withName("Rule #3")
+      .withCriterion(patientIsFemale)
+      .withAction(1, new ActionStub())
+      .build());
+    Engine engine = new Engine(repository);
+    Explanation explanation = engine.explain(new PatientData(Gender.MALE, "1994-03-23"));
+
+    assertFalse(action1Rule1.getExecuted());
+    assertEquals("PatientData", explanation.factType());
+    assertEquals(3, explanation.criteria().size());
+    assertEquals("false", explanation.criteria().get(0).result());
+    assertEquals("true", explanation.criteria().get(1).result());
+    assertEquals("not evaluated", explanation.criteria().get(2).result());
+    Explanation.RuleResult rule1 = explanation.rules().stream().filter(rule -> rule.id() == 1L).findFirst().orElseThrow();
+    assertEquals("NOT_APPLICABLE", rule1.applicability());
+    assertEquals("Patient is female", rule1.decidingCriterion());
+    assertTrue(rule1.actions().isEmpty());
+    Explanation.RuleResult rule2 = explanation.rules().stream().filter(rule -> rule.id() == 2L).findFirst().orElseThrow();
+    assertEquals("UNDETERMINED", rule2.applicability());
+    assertEquals("Body weight greater than 225", rule2.decidingCriterion());
+    explanation = engine.explain(new PatientData(Gender.FEMALE, "1994-03-23"));
+    rule1 = explanation.rules().stream().filter(rule -> rule.id() == 1L).findFirst().orElseThrow();
+    assertEquals("APPLICABLE", rule1.applicability());
+    assertEquals(null, rule1.decidingCriterion());
+    assertEquals(List.of(new Explanation.ActionDescription(1, "ActionStub", false)), rule1.actions());
+    assertFalse(action1Rule1.getExecuted());
+  }
+
+  @Test
+  void test_Explain_Rule_With_Expression() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException, ExpressionException {
+    Criterion patientIsFemale = aCriterion().build();
+    Criterion patientOlderThan40 = aCriterion()
+      .withName("Patient older than 40")
+      .withLogicMethod("AgeGreaterThan")
+      .withCheckValue("40")
+      .build();
+    criteria.add(patientIsFemale);
+    criteria.add(patientOlderThan40);
+    Rule rule1 = aRule()
+      .withCriterion(patientIsFemale)
+      .withCriterion(patientOlderThan40)
+      .withAction(1, new ActionStub())
+      .build();
+    rule1.setExpression(Expression.parse("\"Patient older than 40\" AND NOT \"Patient is female\"",
+        Map.of(patientIsFemale.getName(), patientIsFemale, patientOlderThan40.getName(), patientOlderThan40)));
+    rules.put(1L, rule1);
+    Engine engine = new Engine(repository);
+    Explanation.RuleResult rule = engine.explain(new PatientData(Gender.MALE, "2000-01-01")).rules().get(0);
+    assertEquals("NOT_APPLICABLE", rule.applicability());
+    assertEquals("Patient older than 40", rule.decidingCriterion());
+    rule = engine.explain(new PatientData(Gender.FEMALE, "1950-01-01")).rules().get(0);
+    assertEquals("NOT_APPLICABLE", rule.applicability());
+    assertEquals("Patient is female", rule.decidingCriterion());
+  }
+
+  @Test
+  void test_Explain_Marks_Actions_Performed_Earlier() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    JavaMailSender mailSender = mock(JavaMailSender.class);
+    ActionFactory actionFactory = new ActionFactory(mailSender, "postmaster@spacely.com");
+    Criterion patientIsFemale = aCriterion().build();
+    criteria.add(patientIsFemale);
+    for (long id = 1; id <= 2; id++) {
+      Action sendEmail = actionFactory.createInstance("SendEmail");
+      sendEmail.addParameter("Send Email to", "george.jetson@spacely.com");
+      rules.put(id, aRule()
+        .withID(id)
+        .withName("Rule #" + id)
+        .withCriterion(patientIsFemale)
+        .withAction(1, sendEmail)
+        .withAction(2, new ActionStub())
+        .build());
+    }
+    Engine engine = new Engine(repository);
+    Explanation explanation = engine.explain(new PatientData(Gender.FEMALE, "2000-01-01"));
+    assertEquals(List.of(new Explanation.ActionDescription(1, "SendEmail", false),
+        new Explanation.ActionDescription(2, "ActionStub", false)), explanation.rules().get(0).actions());
+    assertEquals(List.of(new Explanation.ActionDescription(1, "SendEmail", true),
+        new Explanation.ActionDescription(2, "ActionStub", false)), explanation.rules().get(1).actions());
+    Mockito.verify(mailSender, Mockito.never()).send(Mockito.any(MimeMessagePreparator.class));
+  }
+
   @Test
   void test_Engine_Status_Idle() {
     Engine engine = new Engine(repository);
     assertEquals(Engine.Status.IDLE, engine.getStatus());
   }
+
+  @Test
+  void test_Decision_Diagram_Skips_Pruned_Criteria() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    Criterion patientIsFemale = aCriterion().build();
+    criteria.add(patientIsFemale);
+    ActionStub[] actions = new ActionStub[50];
+    for (int age = 20; age < 70; age++) {
+      Criterion patientOlderThan = aCriterion()
+        .withName("Patient older than " + age)
+        .withLogicMethod("AgeGreaterThan")
+        .withCheckValue(Integer.toString(age))
+        .build();
+      criteria.add(patientOlderThan);
+      actions[age - 20] = new ActionStub();
+      rules.put((long) age, aRule()
+        .withID((long) age)
+        .withName("Rule #" + age)
+        .withCriterion(patientIsFemale)
+        .withCriterion(patientOlderThan)
+        .withAction(1, actions[age - 20])
+        .build());
+    }
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Engine engine = anEngine(repository).withMetrics(new EngineMetrics(registry)).build();
+    engine.run(new PatientData(Gender.MALE, "1990-03-23"));
+    assertEquals(1, criteriaJudged(registry));
+    assertFalse(actions[0].getExecuted());
+    String birthDate = LocalDate.now().minusYears(40).minusDays(1).toString();
+    engine.run(new PatientData(Gender.FEMALE, birthDate));
+    assertEquals(1 + 1 + 50, criteriaJudged(registry));
+    assertTrue(actions[0].getExecuted());
+    assertTrue(actions[39 - 20].getExecuted());
+    assertFalse(actions[40 - 20].getExecuted());
+  }
+
+  @Test
+  void test_Rule_With_Expression() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException, ExpressionException {
+    Criterion patientIsFemale = aCriterion().build();
+    Criterion patientOlderThan40 = aCriterion()
+      .withName("Patient older than 40")
+      .withLogicMethod("AgeGreaterThan")
+      .withCheckValue("40")
+      .build();
+    criteria.add(patientIsFemale);
+    criteria.add(patientOlderThan40);
+    ActionStub action1 = new ActionStub();
+    Rule rule1 = aRule()
+      .withCriterion(patientIsFemale)
+      .withCriterion(patientOlderThan40)
+      .withAction(1, action1)
+      .build();
+    rule1.setExpression(Expression.parse("\"Patient is female\" OR \"Patient older than 40\"",
+        Map.of(patientIsFemale.getName(), patientIsFemale, patientOlderThan40.getName(), patientOlderThan40)));
+    rules.put(1L, rule1);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Engine engine = anEngine(repository).withMetrics(new EngineMetrics(registry)).build();
+    engine.run(new ObservationData(new BigDecimal(180), new BigDecimal(90)));
+    assertFalse(action1.getExecuted());
+    engine.run(new PatientData(Gender.MALE, "2000-01-01"));
+    assertFalse(action1.getExecuted());
+    assertEquals(2, criteriaJudged(registry));
+    engine.run(new PatientData(Gender.FEMALE, "2000-01-01"));
+    assertTrue(action1.getExecuted());
+    assertEquals(3, criteriaJudged(registry));
+  }
+
+  @Test
+  void test_First_Match_Fires_Highest_Priority_Rule() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    ActionStub[] actions = addPrioritizedRules();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Engine engine = anEngine(repository).withMetrics(new EngineMetrics(registry))
+        .withMode(Engine.Mode.FIRST_MATCH, 1).build();
+    engine.run(new PatientData(Gender.FEMALE, LocalDate.now().minusYears(50).toString()));
+    assertFalse(actions[0].getExecuted());
+    assertTrue(actions[1].getExecuted());
+    assertFalse(actions[2].getExecuted());
+    assertEquals(1, criteriaJudged(registry));
+  }
+
+  @Test
+  void test_Top_N_Fires_Highest_Priority_Rules() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    ActionStub[] actions = addPrioritizedRules();
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Engine engine = anEngine(repository).withMetrics(new EngineMetrics(registry))
+        .withMode(Engine.Mode.TOP_N, 2).build();
+    engine.run(new PatientData(Gender.FEMALE, "2000-01-01"));
+    assertTrue(actions[0].getExecuted());
+    assertFalse(actions[1].getExecuted());
+    assertTrue(actions[2].getExecuted());
+    assertEquals(2, criteriaJudged(registry));
+  }
+
+  ActionStub[] addPrioritizedRules() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    Criterion patientIsFemale = aCriterion().build();
+    Criterion patientOlderThan40 = aCriterion()
+      .withName("Patient older than 40")
+      .withLogicMethod("AgeGreaterThan")
+      .withCheckValue("40")
+      .build();
+    criteria.add(patientIsFemale);
+    criteria.add(patientOlderThan40);
+    ActionStub[] actions = { new ActionStub(), new ActionStub(), new ActionStub() };
+    rules.put(1L, aRule()
+      .withID(1L)
+      .withCriterion(patientIsFemale)
+      .withAction(1, actions[0])
+      .build());
+    rules.put(2L, aRule()
+      .withID(2L)
+      .withName("Rule #2")
+      .withPriority(5)
+      .withCriterion(patientOlderThan40)
+      .withAction(1, actions[1])
+      .build());
+    rules.put(3L, aRule()
+      .withID(3L)
+      .withName("Rule #3")
+      .withPriority(-1)
+      .withCriterion(patientIsFemale)
+      .withAction(1, actions[2])
+      .build());
+    return actions;
+  }
+
+  @Test
+  void test_Equal_Actions_Sent_Once() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    JavaMailSender mailSender = mock(JavaMailSender.class);
+    ActionFactory actionFactory = new ActionFactory(mailSender, "postmaster@spacely.com");
+    Criterion patientIsFemale = aCriterion().build();
+    criteria.add(patientIsFemale);
+    for (long id = 1; id <= 3; id++) {
+      Action sendEmail = actionFactory.createInstance("SendEmail");
+      sendEmail.addParameter("Send Email to", "george.jetson@spacely.com");
+      rules.put(id, aRule()
+        .withID(id)
+        .withName("Rule #" + id)
+        .withCriterion(patientIsFemale)
+        .withAction(1, sendEmail)
+        .build());
+    }
+    Engine engine = new Engine(repository);
+    engine.run(new PatientData(Gender.FEMALE, "2000-01-01"));
+    Mockito.verify(mailSender, Mockito.times(1)).send(Mockito.any(MimeMessagePreparator.class));
+    engine.run(new PatientData(Gender.FEMALE, "2000-01-01"));
+    Mockito.verify(mailSender, Mockito.times(2)).send(Mockito.any(MimeMessagePreparator.class));
+  }
+
+  @Test
+  void test_Repeated_Action_Suppressed() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    Criterion patientIsFemale = aCriterion().build();
+    criteria.add(patientIsFemale);
+    rules.put(1L, aRule()
+      .withCriterion(patientIsFemale)
+      .withAction(1, new ActionStub())
+      .build());
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Engine engine = anEngine(repository).withMetrics(new EngineMetrics(registry))
+        .withSuppressor(new NotificationSuppressor(60000, 1024, false)).build();
+    engine.run(new PatientData(Gender.FEMALE, "2000-01-01"));
+    engine.run(new PatientData(Gender.FEMALE, "2000-01-01"));
+    engine.run(new PatientData(Gender.FEMALE, "1990-01-01"));
+    assertEquals(2, registry.get(EngineMetrics.ACTION_TIMER).tag(EngineMetrics.OUTCOME_TAG, "success").timer().count());
+    assertEquals(1, registry.get(EngineMetrics.ACTION_SUPPRESSED).counter().count());
+  }
+
+  @Test
+  void test_Repeated_Low_Glucose_Within_Window() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    Criterion repeatedLowGlucose = aCriterion()
+      .withName("Glucose below 70 three times within 6 hours")
+      .withLogicClass(aLogic().withObservationWindowClass())
+      .withLogicMethod("BloodGlucoseCountBelowAtLeast")
+      .withCheckValue("70,3,PT6H")
+      .build();
+    criteria.add(repeatedLowGlucose);
+    rules.put(1L, aRule()
+      .withCriterion(repeatedLowGlucose)
+      .withAction(1, new ActionStub())
+      .build());
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Engine engine = anEngine(repository).withMetrics(new EngineMetrics(registry)).build();
+    engine.run(new ObservationData(new BigDecimal(180), new BigDecimal(65), "A", null));
+    engine.run(new ObservationData(new BigDecimal(180), new BigDecimal(60), "A", null));
+    engine.run(new ObservationData(new BigDecimal(180), new BigDecimal(60), "B", null));
+    Explanation explanation = engine.explain(new ObservationData(new BigDecimal(180),
+        new BigDecimal(62), "A", null));
+    assertEquals("false", explanation.criteria().get(0).result());
+    assertFalse(registry.find(EngineMetrics.ACTION_TIMER).timers().stream().anyMatch(timer -> timer.count() > 0));
+    engine.run(new ObservationData(new BigDecimal(180), new BigDecimal(62), "A", null));
+    assertEquals(1, registry.get(EngineMetrics.ACTION_TIMER).tag(EngineMetrics.OUTCOME_TAG, "success").timer().count());
+  }
+
+  @Test
+  void test_Patient_Joined_With_Observation() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    Criterion patientIsFemale = aCriterion().build();
+    Criterion lowGlucose = aCriterion()
+      .withName("Glucose below 70")
+      .withLogicClass(aLogic().withObservationClass())
+      .withLogicMethod("BloodGlucoseLessThan")
+      .withCheckValue("70")
+      .build();
+    criteria.add(patientIsFemale);
+    criteria.add(lowGlucose);
+    rules.put(1L, aRule()
+      .withCriterion(patientIsFemale)
+      .withCriterion(lowGlucose)
+      .withAction(1, new ActionStub())
+      .build());
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Engine engine = anEngine(repository).withMetrics(new EngineMetrics(registry))
+        .withMemory(new WorkingMemory(true, 60000, 100)).build();
+    engine.run(new ObservationData(new BigDecimal(180), new BigDecimal(65), "A", null));
+    engine.run(new PatientData(Gender.FEMALE, "1950-01-01", "B"));
+    engine.run(new PatientData(Gender.MALE, "1950-01-01", "A"));
+    assertFalse(registry.find(EngineMetrics.ACTION_TIMER).timers().stream().anyMatch(timer -> timer.count() > 0));
+    engine.run(new PatientData(Gender.FEMALE, "1950-01-01", "A"));
+    assertEquals(1, registry.get(EngineMetrics.ACTION_TIMER).tag(EngineMetrics.OUTCOME_TAG, "success").timer().count());
+    engine.run(new ObservationData(new BigDecimal(180), new BigDecimal(90), "A", null));
+    engine.run(new ObservationData(new BigDecimal(180), new BigDecimal(60), "A", null));
+    assertEquals(2, registry.get(EngineMetrics.ACTION_TIMER).tag(EngineMetrics.OUTCOME_TAG, "success").timer().count());
+  }
+
+  @Test
+  void test_Check_Value_Finer_Than_Fixed_Point() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    Criterion bodyWeightGreaterThan = aCriterion()
+      .withName("Body weight greater than 100.12345")
+      .withLogicClass(aLogic().withObservationClass())
+      .withLogicMethod("BodyWeightGreaterThan")
+      .withCheckValue("100.12345")
+      .build();
+    criteria.add(bodyWeightGreaterThan);
+    ActionStub action = new ActionStub();
+    rules.put(1L, aRule()
+      .withCriterion(bodyWeightGreaterThan)
+      .withAction(1, action)
+      .build());
+    Engine engine = new Engine(repository);
+    engine.run(new ObservationData(new BigDecimal("100.12345"), new BigDecimal(90)));
+    assertFalse(action.getExecuted());
+    engine.runBatch(List.of(new ObservationData(new BigDecimal("100.123451"), new BigDecimal(90))));
+    assertTrue(action.getExecuted());
+  }
+
+  @Test
+  void test_Run_Batch_Matches_Run() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    addThresholdRules(4);
+    Criterion patientIsFemale = aCriterion().build();
+    criteria.add(patientIsFemale);
+    rules.put(100L, aRule()
+      .withID(100L)
+      .withName("Rule #100")
+      .withCriterion(patientIsFemale)
+      .withAction(1, new ActionStub())
+      .build());
+    List<Object> facts = new ArrayList<>(observations(500));
+    facts.add(250, new PatientData(Gender.FEMALE, "2000-01-01"));
+    facts.add(new ObservationData(null, new BigDecimal(90)));
+    SimpleMeterRegistry perRecord = new SimpleMeterRegistry();
+    Engine engine = anEngine(repository).withMetrics(new EngineMetrics(perRecord)).build();
+    for (Object fact : facts) {
+      engine.run(fact);
+    }
+    SimpleMeterRegistry batch = new SimpleMeterRegistry();
+    anEngine(repository).withMetrics(new EngineMetrics(batch)).build().runBatch(facts);
+
+    Map<String, Double> rulesFired = rulesFired(perRecord);
+    assertTrue(rulesFired.get("Rule #1") > 0);
+    assertEquals(1.0, rulesFired.get("Rule #100"));
+    assertEquals(rulesFired, rulesFired(batch));
+    assertEquals(facts.size(), batch.find(EngineMetrics.EVALUATION_TIMER).timers().stream()
+        .mapToLong(Timer::count).sum());
+    assertTrue(criteriaJudged(batch) < criteriaJudged(perRecord));
+  }
+
+  void addThresholdRules(int perMeasure) throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    for (int threshold = 0; threshold < perMeasure; threshold++) {
+      String weight = String.valueOf(150 + threshold * 20);
+      String glucose = String.valueOf(60 + threshold * 15);
+      Criterion bodyWeightGreaterThan = aCriterion()
+        .withName("Body weight greater than " + weight)
+        .withLogicClass(aLogic().withObservationClass())
+        .withLogicMethod("BodyWeightGreaterThan")
+        .withCheckValue(weight)
+        .build();
+      Criterion bloodGlucoseLessThan = aCriterion()
+        .withName("Blood glucose less than " + glucose)
+        .withLogicClass(aLogic().withObservationClass())
+        .withLogicMethod("BloodGlucoseLessThan")
+        .withCheckValue(glucose)
+        .build();
+      criteria.add(bodyWeightGreaterThan);
+      criteria.add(bloodGlucoseLessThan);
+      long id = threshold + 1;
+      rules.put(id, aRule()
+        .withID(id)
+        .withName("Rule #" + id)
+        .withCriterion(bodyWeightGreaterThan)
+        .withCriterion(bloodGlucoseLessThan)
+        .withAction(1, new ActionStub())
+        .build());
+    }
+  }
+
+  List<ObservationData> observations(int count) {
+    Random random = new Random(count);
+    ArrayList<ObservationData> facts = new ArrayList<>(count);
+    for (int fact = 0; fact < count; fact++) {
+      facts.add(new ObservationData(BigDecimal.valueOf(800 + random.nextInt(3000), 1),
+          BigDecimal.valueOf(30 + random.nextInt(200))));
+    }
+    return facts;
+  }
+
+  Map<String, Double> rulesFired(SimpleMeterRegistry registry) {
+    HashMap<String, Double> fired = new HashMap<>();
+    registry.find(EngineMetrics.RULE_FIRED).counters()
+        .forEach(counter -> fired.put(counter.getId().getTag(EngineMetrics.RULE_TAG), counter.count()));
+    return fired;
+  }
+
+  long criteriaJudged(SimpleMeterRegistry registry) {
+    return registry.find(EngineMetrics.CRITERION_TIMER).timers().stream().mapToLong(Timer::count).sum();
+  }
+
+  @Test
+  void test_Patient_Joined_With_Observation_By_Expression() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException, ExpressionException {
+    Criterion patientIsFemale = aCriterion().build();
+    Criterion lowGlucose = aCriterion()
+      .withName("Glucose below 70")
+      .withLogicClass(aLogic().withObservationClass())
+      .withLogicMethod("BloodGlucoseLessThan")
+      .withCheckValue("70")
+      .build();
+    criteria.add(patientIsFemale);
+    criteria.add(lowGlucose);
+    Map<String, Criterion> named = Map.of(patientIsFemale.getName(), patientIsFemale,
+        lowGlucose.getName(), lowGlucose);
+    Rule both = aRule()
+      .withCriterion(patientIsFemale)
+      .withCriterion(lowGlucose)
+      .withAction(1, new ActionStub())
+      .build();
+    both.setExpression(Expression.parse("\"Patient is female\" AND \"Glucose below 70\"", named));
+    rules.put(1L, both);
+    Rule either = aRule()
+      .withID(2L)
+      .withName("Rule #2")
+      .withCriterion(patientIsFemale)
+      .withCriterion(lowGlucose)
+      .withAction(1, new ActionStub())
+      .build();
+    either.setExpression(Expression.parse("\"Patient is female\" OR \"Glucose below 70\"", named));
+    rules.put(2L, either);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Engine engine = anEngine(repository).withMetrics(new EngineMetrics(registry))
+        .withMemory(new WorkingMemory(true, 60000, 100)).build();
+    engine.run(new PatientData(Gender.FEMALE, "1950-01-01", "A"));
+    assertEquals(Map.of("Rule #1", 0.0, "Rule #2", 1.0), rulesFired(registry));
+    engine.run(new ObservationData(new BigDecimal(180), new BigDecimal(90), "A", null));
+    assertEquals(Map.of("Rule #1", 0.0, "Rule #2", 2.0), rulesFired(registry));
+    engine.run(new ObservationData(new BigDecimal(180), new BigDecimal(65), "A", null));
+    assertEquals(Map.of("Rule #1", 1.0, "Rule #2", 3.0), rulesFired(registry));
+  }
+
+  @Test
+  @Tag("allocation")
+  void test_Steady_State_Run_Does_Not_Allocate() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    assertRunDoesNotAllocate(new EngineMetrics());
+  }
+
+  @Test
+  @Tag("allocation")
+  void test_Steady_State_Measured_Run_Does_Not_Allocate() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    assertRunDoesNotAllocate(new EngineMetrics(registry));
+    assertEquals(30_000, registry.get(EngineMetrics.EVALUATION_TIMER).timer().count());
+    assertEquals(30_000, registry.get(EngineMetrics.ACTION_TIMER)
+        .tag(EngineMetrics.OUTCOME_TAG, "success").timer().count());
+  }
+
+  void assertRunDoesNotAllocate(EngineMetrics metrics) throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    Criterion bodyWeightGreaterThan225 = aCriterion()
+      .withName("Body weight greater than 225")
+      .withLogicClass(aLogic().withObservationClass())
+      .withLogicMethod("BodyWeightGreaterThan")
+      .withCheckValue("225")
+      .build();
+    criteria.add(bodyWeightGreaterThan225);
+    Criterion bloodGlucoseLessThan100 = aCriterion()
+      .withName("Blood glucose less than 100")
+      .withLogicClass(aLogic().withObservationClass())
+      .withLogicMethod("BloodGlucoseLessThan")
+      .withCheckValue("100")
+      .build();
+    criteria.add(bloodGlucoseLessThan100);
+    Criterion patientOlderThan22 = aCriterion()
+      .withName("Patient older than 22")
+      .withLogicMethod("AgeGreaterThan")
+      .withCheckValue("22")
+      .build();
+    criteria.add(patientOlderThan22);
+    ActionStub action1 = new ActionStub();
+    rules.put(1L, aRule()
+      .withCriterion(bloodGlucoseLessThan100)
+      .withAction(1, action1)
+      .build());
+    rules.put(2L, aRule()
+      .withID(2L)
+      .withName("Rule #2")
+      .withCriterion(bodyWeightGreaterThan225)
+      .withCriterion(bloodGlucoseLessThan100)
+      .build());
+    rules.put(3L, aRule()
+      .withID(3L)
+      .withName("Rule #3")
+      .withCriterion(patientOlderThan22)
+      .build());
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    Engine engine = anEngine(new RuleRepository() {
+      @Override
+      public RuleSet getRuleSet() {
+        return ruleSet;
+      }
+    }).withMetrics(metrics).build();
+    engine.logger = NOPLogger.NOP_LOGGER;
+    ObservationData observation = new ObservationData(new BigDecimal(180), new BigDecimal(90));
+    for (int run = 0; run < 20_000; run++) {
+      engine.run(observation);
+    }
+    com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    final int runs = 10_000;
+    long before = threads.getCurrentThreadAllocatedBytes();
+    for (int run = 0; run < runs; run++) {
+      engine.run(observation);
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+    assertTrue(action1.getExecuted());
+    assertTrue(allocated / runs == 0, "Allocated " + allocated + " bytes over " + runs + " runs");
+  }
 }
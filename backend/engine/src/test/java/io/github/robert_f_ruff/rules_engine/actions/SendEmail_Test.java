@@ -99,6 +99,28 @@ public class SendEmail_Test {
     assertEquals("An applicable rule sent this message.", rosieReceived.getContent());
   }
   
+  @Test
+  void test_Prepared_Message_Sent_Repeatedly() throws ActionException, ParameterException, MessagingException, IOException {
+    greenMail.setUser("rosie.robot@spacely.com", "secret-pwd");
+
+    SendEmail action = new SendEmail(javaMailSender, new InternetAddress("postmaster@spacely.com"));
+    action.addParameter("Send Email to", "george.jetson@spacely.com");
+    action.prepare();
+    action.execute();
+    action.execute();
+    action.addParameter("Copy Email to", "rosie.robot@spacely.com");
+    action.execute();
+    Message[] receivedMessages = greenMail.getReceivedMessagesForDomain("spacely.com");
+    assertEquals(4, receivedMessages.length);
+    for (int index = 0; index < 2; index++) {
+      assertEquals("george.jetson@spacely.com", receivedMessages[index].getRecipients(RecipientType.TO)[0].toString());
+      assertNull(receivedMessages[index].getRecipients(RecipientType.CC));
+      assertEquals("Rules Engine", receivedMessages[index].getSubject());
+      assertEquals("An applicable rule sent this message.", receivedMessages[index].getContent());
+    }
+    assertEquals("rosie.robot@spacely.com", receivedMessages[2].getRecipients(RecipientType.CC)[0].toString());
+  }
+
   @Test
   void test_Send_Email() throws ActionException, ParameterException, MessagingException, IOException {
     SendEmail action = new SendEmail(javaMailSender, new InternetAddress("postmaster@spacely.com"));
@@ -0,0 +1,133 @@
+package io.github.robert_f_ruff.rules_engine.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.github.robert_f_ruff.rules_engine.actions.Action;
+import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionStub;
+import io.github.robert_f_ruff.rules_engine.actions.ParameterException;
+import io.github.robert_f_ruff.rules_engine.retry.RetryScheduler;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ActionDispatcher_Test {
+  long now;
+  ActionDispatcher dispatcher;
+  CountDownLatch release = new CountDownLatch(1);
+
+  class BlockedAction implements Action {
+    @Override
+    public void addParameter(String name, String value) { }
+
+    @Override
+    public void execute() throws ActionException {
+      while (release.getCount() > 0) {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          continue;
+        }
+      }
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    if (dispatcher != null) dispatcher.stop();
+  }
+
+  @Test
+  void test_Disabled_Performs_On_Calling_Thread() throws ActionException {
+    dispatcher = new ActionDispatcher();
+    ActionStub action = new ActionStub();
+    dispatcher.execute(action);
+    assertTrue(action.getExecuted());
+    assertNull(dispatcher.getBreaker(ActionStub.class));
+  }
+
+  @Test
+  void test_Action_Performed_On_Its_Own_Threads() throws ActionException {
+    dispatcher = new ActionDispatcher(true, 2, 4, 1000, 5, 1000, new RetryScheduler(), () -> now);
+    ActionStub action = new ActionStub();
+    dispatcher.execute(action);
+    assertTrue(action.getExecuted());
+    assertEquals(CircuitBreaker.State.CLOSED, dispatcher.getBreaker(ActionStub.class).getState());
+  }
+
+  @Test
+  void test_Slow_Action_Times_Out() {
+    dispatcher = new ActionDispatcher(true, 1, 1, 50, 5, 1000, new RetryScheduler(), () -> now);
+    long start = System.nanoTime();
+    ActionException error = assertThrows(ActionException.class,
+        () -> dispatcher.execute(new BlockedAction()));
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+    assertEquals("BlockedAction - Timed out after 50 ms", error.getMessage());
+  }
+
+  @Test
+  void test_Saturated_Pool_Refuses_Action() {
+    dispatcher = new ActionDispatcher(true, 1, 1, 20, 5, 1000, new RetryScheduler(), () -> now);
+    assertThrows(ActionException.class, () -> dispatcher.execute(new BlockedAction()));
+    assertThrows(ActionException.class, () -> dispatcher.execute(new BlockedAction()));
+    ActionException error = assertThrows(ActionException.class,
+        () -> dispatcher.execute(new BlockedAction()));
+    assertEquals("BlockedAction - Too many actions in progress; not attempted", error.getMessage());
+  }
+
+  @Test
+  void test_Refused_Action_Not_Counted_Against_Breaker() {
+    dispatcher = new ActionDispatcher(true, 1, 1, 20, 3, 1000, new RetryScheduler(), () -> now);
+    assertThrows(ActionException.class, () -> dispatcher.execute(new BlockedAction()));
+    assertThrows(ActionException.class, () -> dispatcher.execute(new BlockedAction()));
+    for (int refused = 0; refused < 3; refused++) {
+      assertThrows(ActionException.class, () -> dispatcher.execute(new BlockedAction()));
+    }
+    assertEquals(CircuitBreaker.State.CLOSED, dispatcher.getBreaker(BlockedAction.class).getState());
+  }
+
+  @Test
+  void test_Open_Breaker_Fails_Fast() throws ParameterException, ActionException {
+    dispatcher = new ActionDispatcher(true, 1, 4, 1000, 2, 1000, new RetryScheduler(), () -> now);
+    ActionStub failing = new ActionStub();
+    failing.addParameter("throw_exception", "YES");
+    for (int attempt = 0; attempt < 2; attempt++) {
+      ActionException error = assertThrows(ActionException.class, () -> dispatcher.execute(failing));
+      assertEquals("Fake action failure", error.getMessage());
+    }
+    ActionStub action = new ActionStub();
+    ActionException error = assertThrows(ActionException.class, () -> dispatcher.execute(action));
+    assertEquals("ActionStub - Circuit open; not attempted", error.getMessage());
+    now = TimeUnit.MILLISECONDS.toNanos(1000);
+    dispatcher.execute(action);
+    assertTrue(action.getExecuted());
+    assertEquals(CircuitBreaker.State.CLOSED, dispatcher.getBreaker(ActionStub.class).getState());
+  }
+
+  @Test
+  void test_Interrupted_Trial_Call_Does_Not_Cut_Off_Action_Type() throws ActionException {
+    dispatcher = new ActionDispatcher(true, 1, 4, 50, 1, 1000, new RetryScheduler(), () -> now);
+    assertThrows(ActionException.class, () -> dispatcher.execute(new BlockedAction()));
+    CircuitBreaker breaker = dispatcher.getBreaker(BlockedAction.class);
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    now = TimeUnit.MILLISECONDS.toNanos(1000);
+    Thread.currentThread().interrupt();
+    ActionException error = assertThrows(ActionException.class, () -> dispatcher.execute(new BlockedAction()));
+    assertTrue(Thread.interrupted());
+    assertEquals("BlockedAction - Interrupted while waiting for completion", error.getMessage());
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    release.countDown();
+    dispatcher.execute(new BlockedAction());
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+}
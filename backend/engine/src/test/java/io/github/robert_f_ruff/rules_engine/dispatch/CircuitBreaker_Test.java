@@ -0,0 +1,53 @@
+package io.github.robert_f_ruff.rules_engine.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CircuitBreaker_Test {
+  @Test
+  void test_Consecutive_Failures_Open_Breaker() {
+    CircuitBreaker breaker = new CircuitBreaker(3, 100);
+    assertFalse(breaker.recordFailure(0));
+    breaker.recordSuccess();
+    assertFalse(breaker.recordFailure(0));
+    assertFalse(breaker.recordFailure(0));
+    assertTrue(breaker.allowRequest(0));
+    assertTrue(breaker.recordFailure(10));
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertFalse(breaker.allowRequest(109));
+  }
+
+  @Test
+  void test_Trial_Call_Closes_Or_Reopens_Breaker() {
+    CircuitBreaker breaker = new CircuitBreaker(1, 100);
+    assertTrue(breaker.recordFailure(0));
+    assertTrue(breaker.allowRequest(100));
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    assertFalse(breaker.allowRequest(100));
+    assertTrue(breaker.recordFailure(150));
+    assertFalse(breaker.allowRequest(200));
+    assertTrue(breaker.allowRequest(250));
+    breaker.recordSuccess();
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    assertTrue(breaker.allowRequest(250));
+  }
+
+  @Test
+  void test_Abandoned_Trial_Call_Reopens_Breaker() {
+    CircuitBreaker breaker = new CircuitBreaker(1, 100);
+    assertTrue(breaker.recordFailure(0));
+    assertTrue(breaker.allowRequest(100));
+    breaker.recordAbandoned();
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertTrue(breaker.allowRequest(150));
+    breaker.recordSuccess();
+    breaker.recordAbandoned();
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+  }
+}
@@ -0,0 +1,89 @@
+package io.github.robert_f_ruff.rules_engine.events;
+
+import static io.github.robert_f_ruff.rules_engine.loader.CriterionBuilder.aCriterion;
+import static io.github.robert_f_ruff.rules_engine.loader.RuleBuilder.aRule;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.github.robert_f_ruff.rules_engine.Engine;
+import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionFactoryException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionStub;
+import io.github.robert_f_ruff.rules_engine.actions.ParameterException;
+import io.github.robert_f_ruff.rules_engine.loader.Criterion;
+import io.github.robert_f_ruff.rules_engine.loader.Rule;
+import io.github.robert_f_ruff.rules_engine.loader.RuleRepository;
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
+import io.github.robert_f_ruff.rules_engine.logic.LogicFactoryException;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData.Gender;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class EngineEvents_Test {
+  @Test
+  void test_Events_Recorded() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException, IOException {
+    Criterion patientIsFemale = aCriterion().build();
+    ArrayList<Criterion> criteria = new ArrayList<>();
+    criteria.add(patientIsFemale);
+    LinkedHashMap<Long, Rule> rules = new LinkedHashMap<>();
+    rules.put(1L, aRule()
+      .withCriterion(patientIsFemale)
+      .withAction(1, new ActionStub())
+      .build());
+    RuleRepository repository = mock();
+    Mockito.when(repository.getRuleSet()).thenReturn(new RuleSet(criteria, rules));
+    Engine engine = new Engine(repository);
+    Path file = Files.createTempFile("engine-events", ".jfr");
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable(EngineRunEvent.class);
+      recording.enable(CriterionEvaluateEvent.class);
+      recording.enable(RuleFireEvent.class);
+      recording.enable(ActionExecuteEvent.class);
+      recording.start();
+      engine.run(new PatientData(Gender.FEMALE, "1994-03-23"));
+      recording.stop();
+      recording.dump(file);
+      events = RecordingFile.readAllEvents(file);
+    } finally {
+      Files.delete(file);
+    }
+
+    RecordedEvent run = find(events, "EngineRun");
+    assertEquals("PatientData", run.getClass("factType").getName().replaceAll(".*\\.", ""));
+    assertEquals(1, run.getInt("criteriaEvaluated"));
+    assertEquals(1, run.getInt("rulesFired"));
+    RecordedEvent criterion = find(events, "CriterionEvaluate");
+    assertEquals("Patient is female", criterion.getString("criterion"));
+    assertTrue(criterion.getBoolean("result"));
+    RecordedEvent fire = find(events, "RuleFire");
+    assertEquals(1L, fire.getLong("ruleId"));
+    assertEquals(1, fire.getInt("actionsCompleted"));
+    RecordedEvent action = find(events, "ActionExecute");
+    assertEquals(1, action.getInt("sequenceNumber"));
+    assertTrue(action.getBoolean("succeeded"));
+  }
+
+  RecordedEvent find(List<RecordedEvent> events, String name) {
+    return events.stream()
+      .filter(event -> event.getEventType().getName().equals("io.github.robert_f_ruff.rules_engine." + name))
+      .findFirst()
+      .orElseThrow();
+  }
+}
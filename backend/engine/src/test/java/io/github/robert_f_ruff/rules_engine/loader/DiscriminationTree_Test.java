@@ -0,0 +1,72 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class DiscriminationTree_Test {
+
+  @Test
+  void test_Walk_Decides_Every_Rule() {
+    Random random = new Random(1234);
+    int criterionCount = 8;
+    for (int trial = 0; trial < 20; trial++) {
+      int[][] ruleCriteria = new int[12][];
+      for (int rule = 0; rule < ruleCriteria.length; rule++) {
+        ruleCriteria[rule] = IntStream.generate(() -> random.nextInt(criterionCount))
+            .limit(1 + random.nextInt(4)).toArray();
+      }
+      DiscriminationTree tree = new DiscriminationTree(ruleCriteria,
+          random.doubles(criterionCount, 0.1, 1.0).toArray());
+      for (int outcomes = 0; outcomes < 1 << criterionCount; outcomes++) {
+        final int results = outcomes;
+        boolean[] judged = new boolean[criterionCount];
+        int node = 0;
+        while (node < tree.size()) {
+          int criterion = tree.getCriterion(node);
+          judged[criterion] = true;
+          node = tree.next(node, (results & 1 << criterion) != 0);
+        }
+        for (int[] rule : ruleCriteria) {
+          boolean applicable = Arrays.stream(rule).allMatch(criterion -> (results & 1 << criterion) != 0);
+          boolean decided = applicable
+              ? Arrays.stream(rule).allMatch(criterion -> judged[criterion])
+              : Arrays.stream(rule).anyMatch(criterion -> judged[criterion] && (results & 1 << criterion) == 0);
+          assertTrue(decided, "Rule " + Arrays.toString(rule) + " for outcomes " + Integer.toBinaryString(results));
+        }
+      }
+    }
+  }
+
+  @Test
+  void test_Shared_Criterion_Judged_First() {
+    int[][] ruleCriteria = {{1, 0}, {2, 0}, {3, 0}, {4}};
+    DiscriminationTree tree = new DiscriminationTree(ruleCriteria, new double[] {1, 1, 1, 1, 1});
+    assertEquals(5, tree.size());
+    assertEquals(0, tree.getCriterion(0));
+    int node = tree.next(0, false);
+    assertEquals(4, tree.getCriterion(node));
+    assertEquals(tree.size(), tree.next(node, false));
+  }
+
+  @Test
+  void test_Cheaper_Criterion_Judged_First() {
+    DiscriminationTree tree = new DiscriminationTree(new int[][] {{0, 1}}, new double[] {1.0, 0.5});
+    assertEquals(1, tree.getCriterion(0));
+    assertEquals(tree.size(), tree.next(0, false));
+  }
+
+  @Test
+  void test_Unreferenced_Criterion_Not_Judged() {
+    DiscriminationTree tree = new DiscriminationTree(new int[][] {{0}}, new double[] {1.0, 1.0});
+    assertEquals(1, tree.size());
+  }
+}
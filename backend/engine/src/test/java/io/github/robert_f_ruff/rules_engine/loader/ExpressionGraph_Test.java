@@ -0,0 +1,114 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import static io.github.robert_f_ruff.rules_engine.loader.CriterionBuilder.aCriterion;
+import static io.github.robert_f_ruff.rules_engine.loader.RuleBuilder.aRule;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionFactoryException;
+import io.github.robert_f_ruff.rules_engine.actions.ParameterException;
+import io.github.robert_f_ruff.rules_engine.logic.LogicFactoryException;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ExpressionGraph_Test {
+  ArrayList<Criterion> criteria;
+  HashMap<String, Criterion> names;
+  LinkedHashMap<Long, Rule> rules;
+
+  @BeforeEach
+  void init() throws LogicFactoryException {
+    criteria = new ArrayList<>();
+    names = new HashMap<>();
+    rules = new LinkedHashMap<>();
+    for (String age : new String[] {"20", "40", "60"}) {
+      Criterion criterion = aCriterion()
+        .withName("Older than " + age)
+        .withLogicMethod("AgeGreaterThan")
+        .withCheckValue(age)
+        .build();
+      criteria.add(criterion);
+      names.put(criterion.getName(), criterion);
+    }
+  }
+
+  void addRule(long id, String expression) throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException, ExpressionException {
+    Rule rule = aRule().withID(id).withName("Rule #" + id).build();
+    rule.getCriteria().clear();
+    rule.setExpression(Expression.parse(expression, names));
+    rules.put(id, rule);
+  }
+
+  @Test
+  void test_Common_Subexpressions_Shared() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException, ExpressionException {
+    addRule(1L, "(\"Older than 20\" OR \"Older than 40\") AND \"Older than 60\"");
+    addRule(2L, "(\"Older than 40\" OR \"Older than 20\" OR \"Older than 20\") AND NOT NOT NOT \"Older than 60\"");
+    addRule(3L, "\"Older than 60\" AND (\"Older than 20\" OR \"Older than 40\")");
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    ExpressionGraph graph = ruleSet.getExpressionGraph();
+    // Three criteria, two orderings of the OR, NOT, and three ANDs
+    assertEquals(3 + 2 + 1 + 3, graph.size());
+    assertEquals(3, ruleSet.getRuleCriteria(0).length);
+  }
+
+  @Test
+  void test_Short_Circuit() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException, ExpressionException {
+    addRule(1L, "\"Older than 20\" OR \"Older than 40\"");
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    ExpressionGraph graph = ruleSet.getExpressionGraph();
+    EvaluationContext context = new EvaluationContext(4);
+    context.reset(ruleSet);
+    int root = graph.getRoot(0);
+    assertEquals(0, graph.evaluate(root, context));
+    context.setResult(0, true);
+    assertEquals(-1, graph.evaluate(root, context));
+    assertEquals(EvaluationContext.TRUE, graph.getResult(root, context));
+    assertEquals(Rule.Applicability.APPLICABLE, ruleSet.resolve(0, context));
+  }
+
+  @Test
+  void test_Unknown_Criterion() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException, ExpressionException {
+    addRule(1L, "\"Older than 20\" OR \"Older than 40\"");
+    addRule(2L, "\"Older than 20\" AND \"Older than 60\"");
+    addRule(3L, "NOT \"Older than 20\" OR \"Older than 60\"");
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    EvaluationContext context = new EvaluationContext(4);
+    context.reset(ruleSet);
+    context.setResult(1, true);
+    context.setResult(2, false);
+    assertEquals(Rule.Applicability.APPLICABLE, ruleSet.resolve(0, context));
+    assertEquals(Rule.Applicability.NOT_APPLICABLE, ruleSet.resolve(1, context));
+    assertEquals(Rule.Applicability.UNDETERMINED, ruleSet.resolve(2, context));
+    assertEquals(0, context.getPendingCriterion());
+  }
+
+  @Test
+  void test_Deciding_Criterion() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException, ExpressionException {
+    addRule(1L, "\"Older than 20\" AND (\"Older than 40\" OR \"Older than 60\")");
+    addRule(2L, "NOT \"Older than 20\" OR \"Older than 60\"");
+    addRule(3L, "\"Older than 60\" AND \"Older than 40\"");
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    ExpressionGraph graph = ruleSet.getExpressionGraph();
+    EvaluationContext context = new EvaluationContext(4);
+    context.reset(ruleSet);
+    context.setResult(0, true);
+    context.setResult(1, false);
+    context.setResult(2, false);
+    assertEquals(Rule.Applicability.NOT_APPLICABLE, ruleSet.resolve(0, context));
+    assertEquals(1, graph.getDecidingCriterion(graph.getRoot(0), context));
+    assertEquals(Rule.Applicability.NOT_APPLICABLE, ruleSet.resolve(1, context));
+    assertEquals(0, graph.getDecidingCriterion(graph.getRoot(1), context));
+    context.reset(ruleSet);
+    context.setResult(1, true);
+    assertEquals(Rule.Applicability.UNDETERMINED, ruleSet.resolve(2, context));
+    assertEquals(2, graph.getDecidingCriterion(graph.getRoot(2), context));
+  }
+}
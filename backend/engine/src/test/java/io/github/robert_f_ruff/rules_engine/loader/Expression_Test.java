@@ -0,0 +1,80 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import static io.github.robert_f_ruff.rules_engine.loader.CriterionBuilder.aCriterion;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.github.robert_f_ruff.rules_engine.logic.LogicCriterionException;
+import io.github.robert_f_ruff.rules_engine.logic.LogicDataTypeException;
+import io.github.robert_f_ruff.rules_engine.logic.LogicFactoryException;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData.Gender;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class Expression_Test {
+  Criterion female;
+  Criterion olderThan40;
+  Map<String, Criterion> criteria;
+
+  @BeforeEach
+  void init() throws LogicFactoryException {
+    female = aCriterion().build();
+    olderThan40 = aCriterion()
+      .withName("Patient older than 40")
+      .withLogicMethod("AgeGreaterThan")
+      .withCheckValue("40")
+      .build();
+    criteria = Map.of(female.getName(), female, olderThan40.getName(), olderThan40);
+  }
+
+  @Test
+  void test_Operator_Precedence() throws ExpressionException {
+    Expression expression = Expression.parse(
+        "not \"Patient is female\" or \"Patient is female\" AND \"Patient older than 40\"", criteria);
+    assertEquals(Expression.or(List.of(
+        Expression.not(Expression.of(female)),
+        Expression.and(List.of(Expression.of(female), Expression.of(olderThan40))))), expression);
+  }
+
+  @Test
+  void test_Grouping() throws ExpressionException {
+    Expression expression = Expression.parse(
+        "NOT (\"Patient is female\" OR \"Patient older than 40\")", criteria);
+    assertEquals("NOT (\"Patient is female\" OR \"Patient older than 40\")", expression.toString());
+    assertEquals(List.of(female, olderThan40), expression.getCriteria());
+  }
+
+  @Test
+  void test_Invalid_Expressions() {
+    assertThrows(ExpressionException.class, () -> Expression.parse("\"Patient is male\"", criteria));
+    assertThrows(ExpressionException.class, () -> Expression.parse("(\"Patient is female\"", criteria));
+    assertThrows(ExpressionException.class, () -> Expression.parse("\"Patient is female\" AND", criteria));
+    assertThrows(ExpressionException.class, () -> Expression.parse("\"Patient is female\" XOR \"Patient older than 40\"", criteria));
+    assertThrows(ExpressionException.class, () -> Expression.parse("Patient is female", criteria));
+  }
+
+  @Test
+  void test_Evaluate() throws ExpressionException, LogicCriterionException, LogicDataTypeException, CriterionNotEvaluatedException {
+    Expression expression = Expression.parse("\"Patient is female\" OR NOT \"Patient older than 40\"", criteria);
+    PatientData patient = new PatientData(Gender.MALE, "1960-01-01");
+    female.evaluate(patient);
+    olderThan40.evaluate(patient);
+    assertFalse(expression.evaluate());
+    patient = new PatientData(Gender.MALE, "2000-01-01");
+    female.reset();
+    olderThan40.reset();
+    female.evaluate(patient);
+    olderThan40.evaluate(patient);
+    assertTrue(expression.evaluate());
+  }
+}
@@ -0,0 +1,79 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class JdbcRuleReader_Test {
+  @Test
+  void test_Read_Criteria() throws SQLException {
+    Statement statement = mock();
+    DataSource dataSource = dataSource(statement);
+    ResultSet rows = mock();
+    Mockito.when(statement.executeQuery(RuleRepository.RULE_CRITERIA_QUERY)).thenReturn(rows);
+    Mockito.when(rows.next()).thenReturn(true, false);
+    Mockito.when(rows.getLong(1)).thenReturn(7L);
+    Mockito.when(rows.getString(2)).thenReturn("Rule");
+    Mockito.when(rows.getString(3)).thenReturn(null);
+    Mockito.when(rows.getInt(4)).thenReturn(3);
+    Mockito.when(rows.getString(5)).thenReturn("Patient is Female");
+    Mockito.when(rows.getString(6)).thenReturn("Patient.IsFemale");
+    JdbcRuleReader reader = new JdbcRuleReader(true, dataSource, 250);
+    assertTrue(reader.isEnabled());
+    List<RuleCriterionDataTransfer> records = reader.readCriteria();
+    assertEquals(1, records.size());
+    assertEquals(7L, records.get(0).getRuleId());
+    assertEquals("Rule", records.get(0).getRuleName());
+    assertEquals(3, records.get(0).getRulePriority());
+    assertEquals("Patient is Female", records.get(0).getCriterionName());
+    Mockito.verify(statement).setFetchSize(250);
+  }
+
+  @Test
+  void test_Read_Actions() throws SQLException {
+    Statement statement = mock();
+    DataSource dataSource = dataSource(statement);
+    ResultSet rows = mock();
+    Mockito.when(statement.executeQuery(RuleRepository.RULE_ACTIONS_QUERY)).thenReturn(rows);
+    Mockito.when(rows.next()).thenReturn(true, true, false);
+    Mockito.when(rows.getLong(1)).thenReturn(7L);
+    Mockito.when(rows.getShort(2)).thenReturn((short) 1, (short) 2);
+    Mockito.when(rows.getString(3)).thenReturn("Send Email");
+    Mockito.when(rows.getString(4)).thenReturn("SendEmail");
+    Mockito.when(rows.getString(5)).thenReturn("recipient");
+    Mockito.when(rows.getString(6)).thenReturn("nurse@example.com");
+    List<RuleActionDataTransfer> records = new JdbcRuleReader(true, dataSource, 250).readActions();
+    assertEquals(2, records.size());
+    assertEquals(1, records.get(0).getActionSequenceNumber());
+    assertEquals(2, records.get(1).getActionSequenceNumber());
+    assertEquals("SendEmail", records.get(1).getActionFunction());
+  }
+
+  @Test
+  void test_Disabled_By_Default() {
+    assertFalse(new JdbcRuleReader().isEnabled());
+  }
+
+  private static DataSource dataSource(Statement statement) throws SQLException {
+    DataSource dataSource = mock();
+    Connection connection = mock();
+    Mockito.when(dataSource.getConnection()).thenReturn(connection);
+    Mockito.when(connection.createStatement()).thenReturn(statement);
+    return dataSource;
+  }
+}
@@ -27,6 +27,11 @@ public class LogicBuilder {
     return this;
   }
 
+  public LogicBuilder withObservationWindowClass() {
+    this.logicClass = "ObservationWindow";
+    return this;
+  }
+
   public Logic build() throws LogicFactoryException {
     return LogicFactory.createInstance(logicClass);
   }
@@ -12,6 +12,7 @@ import io.github.robert_f_ruff.rules_engine.logic.LogicFactoryException;
 public class RuleBuilder {
   private Long id;
   private String name;
+  private int priority;
   ArrayList<Criterion> criteria;
   TreeMap<Integer, Action> actions;
   
@@ -29,6 +30,11 @@ public class RuleBuilder {
     return this;
   }
 
+  public RuleBuilder withPriority(int priority) {
+    this.priority = priority;
+    return this;
+  }
+
   public RuleBuilder withCriterion(Criterion criterion) {
     criteria.add(criterion);
     return this;
@@ -50,7 +56,7 @@ public class RuleBuilder {
   }
 
   public Rule build() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
-    Rule rule = new Rule(id, name);
+    Rule rule = new Rule(id, name, priority);
     if (criteria.size() == 0) criteria.add(new CriterionBuilder().build());
     rule.getCriteria().addAll(criteria);
     if (actions.size() == 0) actions.put(1, new ActionBuilder().build());
@@ -63,6 +69,7 @@ public class RuleBuilder {
   public RuleBuilder() {
     id = 1L;
     name = "Rule #1";
+    priority = 0;
     criteria = new ArrayList<>();
     actions = new TreeMap<>();
   }
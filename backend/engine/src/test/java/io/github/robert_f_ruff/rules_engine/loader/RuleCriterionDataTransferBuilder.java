@@ -3,6 +3,8 @@ package io.github.robert_f_ruff.rules_engine.loader;
 public class RuleCriterionDataTransferBuilder {
   private Long ruleId;
   private String ruleName;
+  private String ruleExpression;
+  private int rulePriority;
   private String criterionName;
   private String criterionLogic;
 
@@ -20,6 +22,16 @@ public class RuleCriterionDataTransferBuilder {
     return this;
   }
 
+  public RuleCriterionDataTransferBuilder withRuleExpression(String expression) {
+    this.ruleExpression = expression;
+    return this;
+  }
+
+  public RuleCriterionDataTransferBuilder withRulePriority(int priority) {
+    this.rulePriority = priority;
+    return this;
+  }
+
   public RuleCriterionDataTransferBuilder withCriterionName(String name) {
     this.criterionName = name;
     return this;
@@ -31,12 +43,15 @@ public class RuleCriterionDataTransferBuilder {
   }
 
   public RuleCriterionDataTransfer build() {
-    return new RuleCriterionDataTransfer(ruleId, ruleName, criterionName, criterionLogic);
+    return new RuleCriterionDataTransfer(ruleId, ruleName, ruleExpression, rulePriority, criterionName,
+        criterionLogic);
   }
 
   public RuleCriterionDataTransferBuilder() {
     ruleId = 1L;
     ruleName = "Rule #1";
+    ruleExpression = null;
+    rulePriority = 0;
     criterionName = "Patient is Female";
     criterionLogic = "Patient.IsFemale";
   }
@@ -36,6 +36,8 @@ import io.github.robert_f_ruff.rules_engine.actions.ActionFactoryException;
 import io.github.robert_f_ruff.rules_engine.actions.ActionStub;
 import io.github.robert_f_ruff.rules_engine.actions.ParameterException;
 import io.github.robert_f_ruff.rules_engine.logic.LogicFactoryException;
+import io.github.robert_f_ruff.rules_engine.metrics.EngineMetrics;
+import io.github.robert_f_ruff.rules_engine.warmup.SnapshotWarmer;
 import jakarta.persistence.Tuple;
 
 @TestInstance(value = Lifecycle.PER_CLASS)
@@ -301,6 +303,76 @@ class RuleRepository_Test {
     assertEquals(0, repository.getRules().size());
   }
 
+  @Test
+  void test_Rule_With_Expression() {
+    RuleCriterionDataTransferBuilder record = aRuleCriterionRecord()
+        .withRuleExpression("\"Patient is Female\" OR NOT \"Age Greater Than 40\"");
+    ruleCriteria.add(record.build());
+    ruleCriteria.add(record
+        .withCriterionName("Age Greater Than 40")
+        .withCriterionLogic("Patient.AgeGreaterThan=40")
+        .build());
+    ruleActions.add(aRuleActionRecord().build());
+    RuleRepository repository = new RuleRepository(sessionFactory, actionFactory);
+    Rule rule = repository.getRules().get(1L);
+    assertEquals(Expression.Operator.OR, rule.getExpression().operator());
+    assertEquals("(\"Patient is Female\" OR NOT \"Age Greater Than 40\")", rule.getExpression().toString());
+    assertTrue(rule.getExpression().getCriteria().get(0) == rule.getCriteria().get(0));
+  }
+
+  @Test
+  void test_Rule_With_Priority() {
+    ruleCriteria.add(aRuleCriterionRecord().withRulePriority(10).build());
+    ruleActions.add(aRuleActionRecord().build());
+    RuleRepository repository = new RuleRepository(sessionFactory, actionFactory);
+    assertEquals(10, repository.getRules().get(1L).getPriority());
+    assertEquals(10, repository.getRuleSet().getRule(0).getPriority());
+  }
+
+  @Test
+  void test_Rule_With_Invalid_Expression() {
+    ruleCriteria.add(aRuleCriterionRecord()
+        .withRuleExpression("\"Patient is Female\" OR \"Unlinked Criterion\"")
+        .build());
+    ruleActions.add(aRuleActionRecord().build());
+    RuleRepository repository = new RuleRepository(sessionFactory, actionFactory);
+    assertEquals(0, repository.getCriteria().size());
+    assertEquals(0, repository.getRules().size());
+  }
+
+  @Test
+  void test_Rule_Set_Warmed_Before_Published() {
+    ruleCriteria.add(aRuleCriterionRecord().build());
+    ruleActions.add(aRuleActionRecord().build());
+    SnapshotWarmer warmer = mock();
+    RuleRepository repository = new RuleRepository(sessionFactory, actionFactory, new EngineMetrics(),
+        warmer, new JdbcRuleReader());
+    RuleSet first = repository.getRuleSet();
+    Mockito.verify(warmer).warm(first);
+    Mockito.when(warmer.warm(Mockito.any())).thenAnswer(invocation -> {
+      assertTrue(repository.getRuleSet() == first);
+      return 1;
+    });
+    repository.reloadRules();
+    assertFalse(repository.getRuleSet() == first);
+    Mockito.verify(warmer).warm(repository.getRuleSet());
+  }
+
+  @Test
+  void test_Rules_Read_Through_JDBC() {
+    SessionFactory unused = mock();
+    JdbcRuleReader reader = mock();
+    Mockito.when(reader.isEnabled()).thenReturn(true);
+    Mockito.when(reader.readCriteria()).thenReturn(List.of(aRuleCriterionRecord().build()));
+    Mockito.when(reader.readActions()).thenReturn(List.of(aRuleActionRecord().build()));
+    RuleRepository repository = new RuleRepository(unused, actionFactory, new EngineMetrics(),
+        new SnapshotWarmer(), reader);
+    assertEquals(1, repository.getRules().size());
+    assertEquals(1, repository.getCriteria().size());
+    assertEquals(1, repository.getRuleSet().getRuleCount());
+    Mockito.verify(unused, Mockito.never()).openSession();
+  }
+
   @Test
   void test_Reload_Rules() {
     ruleCriteria.add(aRuleCriterionRecord().build());
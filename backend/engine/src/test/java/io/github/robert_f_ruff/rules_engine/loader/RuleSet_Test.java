@@ -0,0 +1,261 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import static io.github.robert_f_ruff.rules_engine.loader.ActionBuilder.anAction;
+import static io.github.robert_f_ruff.rules_engine.loader.CriterionBuilder.aCriterion;
+import static io.github.robert_f_ruff.rules_engine.loader.LogicBuilder.aLogic;
+import static io.github.robert_f_ruff.rules_engine.loader.RuleBuilder.aRule;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.github.robert_f_ruff.rules_engine.actions.Action;
+import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionExecutor;
+import io.github.robert_f_ruff.rules_engine.actions.ActionFactoryException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionStub;
+import io.github.robert_f_ruff.rules_engine.actions.ParameterException;
+import io.github.robert_f_ruff.rules_engine.logic.LogicFactoryException;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class RuleSet_Test {
+  Criterion patientIsFemale;
+  Criterion patientOlderThan22;
+  Criterion bodyWeightGreaterThan225;
+  ArrayList<Criterion> criteria;
+  LinkedHashMap<Long, Rule> rules;
+
+  @BeforeEach
+  void init() throws LogicFactoryException {
+    patientIsFemale = aCriterion().build();
+    patientOlderThan22 = aCriterion()
+      .withName("Patient older than 22")
+      .withLogicMethod("AgeGreaterThan")
+      .withCheckValue("22")
+      .build();
+    bodyWeightGreaterThan225 = aCriterion()
+      .withName("Body weight greater than 225")
+      .withLogicClass(aLogic().withObservationClass())
+      .withLogicMethod("BodyWeightGreaterThan")
+      .withCheckValue("225")
+      .build();
+    criteria = new ArrayList<>();
+    criteria.add(patientIsFemale);
+    criteria.add(patientOlderThan22);
+    rules = new LinkedHashMap<>();
+  }
+
+  @Test
+  void test_Rule_Criteria_Positions() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    rules.put(1L, aRule()
+      .withCriterion(patientOlderThan22)
+      .withCriterion(patientIsFemale)
+      .build());
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    assertEquals(2, ruleSet.getCriterionCount());
+    assertEquals(1, ruleSet.getRuleCount());
+    assertSame(rules.get(1L), ruleSet.getRule(0));
+    assertArrayEquals(new int[] {1, 0}, ruleSet.getRuleCriteria(0));
+  }
+
+  @Test
+  void test_Unlisted_Criterion_Added() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    rules.put(1L, aRule()
+      .withCriterion(bodyWeightGreaterThan225)
+      .build());
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    assertEquals(3, ruleSet.getCriterionCount());
+    assertSame(bodyWeightGreaterThan225, ruleSet.getCriterion(2));
+    assertArrayEquals(new int[] {2}, ruleSet.getRuleCriteria(0));
+  }
+
+  @Test
+  void test_Resolve() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    ActionStub action = new ActionStub();
+    rules.put(1L, aRule()
+      .withCriterion(patientIsFemale)
+      .withCriterion(patientOlderThan22)
+      .withAction(1, action)
+      .build());
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    EvaluationContext context = new EvaluationContext(1);
+    context.reset(ruleSet);
+    context.setResult(0, true);
+    assertEquals(Rule.Applicability.UNDETERMINED, ruleSet.resolve(0, context));
+    assertEquals(1, context.getPendingCriterion());
+    context.setResult(1, false);
+    assertEquals(Rule.Applicability.NOT_APPLICABLE, ruleSet.resolve(0, context));
+    context.setResult(1, true);
+    assertEquals(Rule.Applicability.APPLICABLE, ruleSet.resolve(0, context));
+    assertThrows(ActionException.class, () -> ruleSet.getRule(0).executeActions());
+    ruleSet.executeActions(0, context, null);
+    assertEquals(true, action.getExecuted());
+    context.reset(ruleSet);
+    assertEquals(EvaluationContext.NOT_EVALUATED, context.getResult(0));
+    assertEquals(Rule.Applicability.UNDETERMINED, context.getApplicability(0));
+    assertEquals(-1, context.getPendingCriterion());
+  }
+
+  @Test
+  void test_Rules_Ordered_By_Priority() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    rules.put(3L, aRule().withID(3L).build());
+    rules.put(1L, aRule().withID(1L).withPriority(-2).build());
+    rules.put(2L, aRule().withID(2L).withPriority(7).build());
+    rules.put(4L, aRule().withID(4L).build());
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    assertSame(rules.get(2L), ruleSet.getRule(0));
+    assertSame(rules.get(3L), ruleSet.getRule(1));
+    assertSame(rules.get(4L), ruleSet.getRule(2));
+    assertSame(rules.get(1L), ruleSet.getRule(3));
+  }
+
+  @Test
+  void test_Distinct_Windows_Collected() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    CriterionBuilder lowGlucose = aCriterion()
+      .withLogicClass(aLogic().withObservationWindowClass())
+      .withLogicMethod("BloodGlucoseMinimumLessThan");
+    criteria.add(lowGlucose.withName("Glucose below 70").withCheckValue("70,PT6H").build());
+    criteria.add(lowGlucose.withName("Glucose below 60").withCheckValue("60,PT6H").build());
+    criteria.add(lowGlucose.withName("Glucose below 60 today").withCheckValue("60,P1D").build());
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    assertEquals(2, ruleSet.getWindows().length);
+    assertEquals(0, new RuleSet().getWindows().length);
+  }
+
+  @Test
+  void test_Join_Rules_Listed() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    rules.put(1L, aRule().withID(1L).withCriterion(patientIsFemale).withCriterion(patientOlderThan22).build());
+    rules.put(2L, aRule().withID(2L).withCriterion(patientIsFemale).withCriterion(bodyWeightGreaterThan225).build());
+    rules.put(3L, aRule().withID(3L).withCriterion(bodyWeightGreaterThan225).build());
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    assertArrayEquals(new int[] { 1 }, ruleSet.getJoinRules());
+  }
+
+  @Test
+  void test_Equal_Actions_Performed_Once() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    ActionStub action = new ActionStub();
+    rules.put(1L, aRule()
+      .withID(1L)
+      .withCriterion(patientIsFemale)
+      .withAction(1, anAction())
+      .withAction(2, action)
+      .build());
+    rules.put(2L, aRule()
+      .withID(2L)
+      .withCriterion(patientIsFemale)
+      .withAction(1, action)
+      .withAction(2, anAction())
+      .build());
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    assertEquals(2, ruleSet.getActionCount());
+    assertArrayEquals(new int[] {0, 1}, ruleSet.getRuleActions(0));
+    assertArrayEquals(new int[] {1, 0}, ruleSet.getRuleActions(1));
+    EvaluationContext context = new EvaluationContext(1);
+    context.reset(ruleSet);
+    context.setResult(0, true);
+    ruleSet.resolve(0, context);
+    ruleSet.resolve(1, context);
+    int[] performed = new int[1];
+    ruleSet.executeActions(0, context, (performedAction, durationNanos, succeeded) -> performed[0]++);
+    ruleSet.executeActions(1, context, (performedAction, durationNanos, succeeded) -> performed[0]++);
+    assertEquals(2, performed[0]);
+    assertEquals(true, action.getExecuted());
+    context.reset(ruleSet);
+    ruleSet.executeActions(1, context, (performedAction, durationNanos, succeeded) -> performed[0]++);
+    assertEquals(4, performed[0]);
+  }
+
+  @Test
+  void test_Failed_Action_Deferred_With_Remaining() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    ActionStub failing = new ActionStub();
+    failing.addParameter("throw_exception", "YES");
+    ActionStub following = new ActionStub();
+    rules.put(1L, aRule()
+      .withCriterion(patientIsFemale)
+      .withAction(1, new ActionStub())
+      .withAction(2, failing)
+      .withAction(3, following)
+      .build());
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    EvaluationContext context = new EvaluationContext(1);
+    context.reset(ruleSet);
+    context.setResult(0, true);
+    ruleSet.resolve(0, context);
+    ArrayList<Action> deferred = new ArrayList<>();
+    ActionExecutor executor = new ActionExecutor() {
+      @Override
+      public void execute(Action action) throws ActionException {
+        action.execute();
+      }
+
+      @Override
+      public void defer(String rule, Action[] actions) {
+        deferred.addAll(List.of(actions));
+      }
+    };
+    assertThrows(ActionException.class,
+        () -> ruleSet.executeActions(0, null, context, null, null, executor));
+    assertEquals(List.of(failing, following), deferred);
+    assertEquals(false, following.getExecuted());
+  }
+
+  @Test
+  void test_Actions_Skipped_This_Run_Not_Deferred() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    ActionStub shared = new ActionStub();
+    ActionStub failing = new ActionStub();
+    failing.addParameter("throw_exception", "YES");
+    ActionStub suppressed = new ActionStub();
+    ActionStub following = new ActionStub();
+    rules.put(1L, aRule()
+      .withID(1L)
+      .withCriterion(patientIsFemale)
+      .withAction(1, shared)
+      .build());
+    rules.put(2L, aRule()
+      .withID(2L)
+      .withCriterion(patientIsFemale)
+      .withAction(1, failing)
+      .withAction(2, shared)
+      .withAction(3, suppressed)
+      .withAction(4, following)
+      .build());
+    RuleSet ruleSet = new RuleSet(criteria, rules);
+    EvaluationContext context = new EvaluationContext(1);
+    context.reset(ruleSet);
+    context.setResult(0, true);
+    ruleSet.resolve(0, context);
+    ruleSet.resolve(1, context);
+    ArrayList<Action> deferred = new ArrayList<>();
+    ActionExecutor executor = new ActionExecutor() {
+      @Override
+      public void execute(Action action) throws ActionException {
+        action.execute();
+      }
+
+      @Override
+      public void defer(String rule, Action[] actions) {
+        deferred.addAll(List.of(actions));
+      }
+    };
+    ruleSet.executeActions(0, null, context, null, null, executor);
+    assertThrows(ActionException.class, () -> ruleSet.executeActions(1, null, context, null,
+        (ruleId, data, action) -> action != suppressed, executor));
+    assertEquals(List.of(failing, following), deferred);
+  }
+
+  @Test
+  void test_Empty_Rule_Set() {
+    RuleSet ruleSet = new RuleSet();
+    assertEquals(0, ruleSet.getCriterionCount());
+    assertEquals(0, ruleSet.getRuleCount());
+  }
+}
@@ -7,6 +7,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
@@ -147,6 +150,26 @@ class Rule_Test {
     assertTrue(rule1Action2.getExecuted());
   }
 
+  @Test
+  void test_Action_Listener_Notified() throws LogicFactoryException, LogicCriterionException, LogicDataTypeException, CriterionNotEvaluatedException, ParameterException {
+    Rule rule1 = new Rule(1L, "Rule #1");
+    Logic patientLogic = LogicFactory.createInstance("Patient");
+    Criterion patientIsFemale = new Criterion("Patient is female", patientLogic, "IsFemale", "");
+    rule1.addCriterion(patientIsFemale);
+    ActionStub rule1Action1 = new ActionStub();
+    rule1.addAction(1, rule1Action1);
+    ActionStub rule1Action2 = new ActionStub();
+    rule1Action2.addParameter("throw_exception", "YES");
+    rule1.addAction(2, rule1Action2);
+    PatientData patient1 = new PatientData(Gender.FEMALE, "1994-03-23");
+    patientIsFemale.evaluate(patient1);
+    rule1.getApplicable();
+    ArrayList<Boolean> outcomes = new ArrayList<>();
+    assertThrows(ActionException.class,
+        () -> rule1.executeActions((action, duration, succeeded) -> outcomes.add(succeeded)));
+    assertEquals(List.of(true, false), outcomes);
+  }
+
   @Test
   void test_Same_Object() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
     Rule object1 = aRule().build();
@@ -0,0 +1,133 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import static io.github.robert_f_ruff.rules_engine.loader.CriterionBuilder.aCriterion;
+import static io.github.robert_f_ruff.rules_engine.loader.LogicBuilder.aLogic;
+import static io.github.robert_f_ruff.rules_engine.loader.RuleBuilder.aRule;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionFactoryException;
+import io.github.robert_f_ruff.rules_engine.actions.ParameterException;
+import io.github.robert_f_ruff.rules_engine.logic.FixedPoint;
+import io.github.robert_f_ruff.rules_engine.logic.LogicCriterionException;
+import io.github.robert_f_ruff.rules_engine.logic.LogicDataTypeException;
+import io.github.robert_f_ruff.rules_engine.logic.LogicFactoryException;
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+import io.github.robert_f_ruff.rules_engine.logic.Threshold;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ThresholdColumns_Test {
+  static final String[] WEIGHTS = {"225", "150", "200.5"};
+  static final String[] GLUCOSE_LEVELS = {"100", "70"};
+  ArrayList<Criterion> criteria;
+  RuleSet ruleSet;
+
+  @BeforeEach
+  void init() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    criteria = new ArrayList<>();
+    LinkedHashMap<Long, Rule> rules = new LinkedHashMap<>();
+    for (String weight : WEIGHTS) {
+      criteria.add(aCriterion()
+        .withName("Body weight greater than " + weight)
+        .withLogicClass(aLogic().withObservationClass())
+        .withLogicMethod("BodyWeightGreaterThan")
+        .withCheckValue(weight)
+        .build());
+    }
+    for (String glucose : GLUCOSE_LEVELS) {
+      criteria.add(aCriterion()
+        .withName("Blood glucose less than " + glucose)
+        .withLogicClass(aLogic().withObservationClass())
+        .withLogicMethod("BloodGlucoseLessThan")
+        .withCheckValue(glucose)
+        .build());
+    }
+    criteria.add(aCriterion().build());
+    for (int index = 0; index < criteria.size(); index++) {
+      rules.put((long) index, aRule()
+        .withID((long) index)
+        .withCriterion(criteria.get(index))
+        .build());
+    }
+    ruleSet = new RuleSet(criteria, rules);
+  }
+
+  @Test
+  void test_Vector_Comparator_Selected_With_Vector_Module() {
+    assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+        "Needs the vector profile");
+    assertEquals("VectorComparator", ColumnComparator.select().getClass().getSimpleName());
+  }
+
+  @Test
+  void test_Selected_Comparator_Matches_Scalar() {
+    ColumnComparator selected = ColumnComparator.select();
+    ColumnComparator scalar = new ScalarComparator();
+    Random random = new Random(50);
+    long[] column = new long[203];
+    for (int record = 0; record < column.length; record++) {
+      column[record] = record % 17 == 0 ? FixedPoint.NONE
+          : FixedPoint.of(BigDecimal.valueOf(random.nextInt(4000), 1));
+    }
+    for (Threshold.Comparison comparison : Threshold.Comparison.values()) {
+      Threshold threshold = new Threshold(comparison, FixedPoint.parse("200"), data -> 0);
+      long[] expected = new long[4];
+      long[] actual = new long[4];
+      scalar.compare(column, column.length, threshold, expected);
+      selected.compare(column, column.length, threshold, actual);
+      assertArrayEquals(expected, actual, comparison.toString());
+    }
+  }
+
+  @Test
+  void test_Seeded_Results_Match_Criteria() throws LogicCriterionException, LogicDataTypeException {
+    String[] values = {"69.9", "70", "100", "150", "200.5", "200.50001", "225", "226"};
+    ArrayList<Object> facts = new ArrayList<>();
+    for (String weight : values) {
+      for (String glucose : values) {
+        facts.add(new ObservationData(new BigDecimal(weight), new BigDecimal(glucose)));
+      }
+    }
+    facts.add(new PatientData());
+    ThresholdColumns columns = new ThresholdColumns(ruleSet, facts);
+    assertEquals(facts.size(), columns.size());
+    EvaluationContext context = new EvaluationContext(criteria.size());
+    for (int record = 0; record < facts.size() - 1; record++) {
+      context.reset(ruleSet);
+      assertEquals(criteria.size() - 1, columns.seed(record, context));
+      for (int index = 0; index < criteria.size() - 1; index++) {
+        byte expected = criteria.get(index).test(facts.get(record)) ? EvaluationContext.TRUE : EvaluationContext.FALSE;
+        assertEquals(expected, context.getResult(index), criteria.get(index).getName() + " for " + facts.get(record));
+      }
+      assertEquals(EvaluationContext.NOT_EVALUATED, context.getResult(criteria.size() - 1));
+    }
+    context.reset(ruleSet);
+    assertEquals(0, columns.seed(facts.size() - 1, context));
+  }
+
+  @Test
+  void test_Missing_Measurement_Satisfies_No_Threshold() {
+    ThresholdColumns columns = new ThresholdColumns(ruleSet,
+        List.of(new ObservationData(new BigDecimal(250), null)), new ScalarComparator());
+    EvaluationContext context = new EvaluationContext(criteria.size());
+    context.reset(ruleSet);
+    columns.seed(0, context);
+    assertEquals(EvaluationContext.TRUE, context.getResult(0));
+    assertEquals(EvaluationContext.FALSE, context.getResult(3));
+    assertEquals(EvaluationContext.FALSE, context.getResult(4));
+  }
+}
@@ -0,0 +1,99 @@
+package io.github.robert_f_ruff.rules_engine.loader;
+
+import static io.github.robert_f_ruff.rules_engine.loader.CriterionBuilder.aCriterion;
+import static io.github.robert_f_ruff.rules_engine.loader.LogicBuilder.aLogic;
+import static io.github.robert_f_ruff.rules_engine.loader.RuleBuilder.aRule;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionFactoryException;
+import io.github.robert_f_ruff.rules_engine.actions.ParameterException;
+import io.github.robert_f_ruff.rules_engine.logic.LogicCriterionException;
+import io.github.robert_f_ruff.rules_engine.logic.LogicDataTypeException;
+import io.github.robert_f_ruff.rules_engine.logic.LogicFactoryException;
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ThresholdIndex_Test {
+  static final String[] WEIGHTS = {"225", "150", "200", "200.0", "175"};
+  static final String[] GLUCOSE_LEVELS = {"100", "70", "140"};
+  ArrayList<Criterion> criteria;
+  RuleSet ruleSet;
+
+  @BeforeEach
+  void init() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    criteria = new ArrayList<>();
+    LinkedHashMap<Long, Rule> rules = new LinkedHashMap<>();
+    for (String weight : WEIGHTS) {
+      criteria.add(aCriterion()
+        .withName("Body weight greater than " + weight)
+        .withLogicClass(aLogic().withObservationClass())
+        .withLogicMethod("BodyWeightGreaterThan")
+        .withCheckValue(weight)
+        .build());
+    }
+    for (String glucose : GLUCOSE_LEVELS) {
+      criteria.add(aCriterion()
+        .withName("Blood glucose less than " + glucose)
+        .withLogicClass(aLogic().withObservationClass())
+        .withLogicMethod("BloodGlucoseLessThan")
+        .withCheckValue(glucose)
+        .build());
+    }
+    criteria.add(aCriterion().build());
+    for (int index = 0; index < criteria.size(); index++) {
+      rules.put((long) index, aRule()
+        .withID((long) index)
+        .withCriterion(criteria.get(index))
+        .build());
+    }
+    ruleSet = new RuleSet(criteria, rules);
+  }
+
+  @Test
+  void test_Criteria_Grouped() {
+    assertEquals(2, ruleSet.getIndexCount());
+    assertEquals(WEIGHTS.length, ruleSet.getIndex(0).size());
+    assertEquals(GLUCOSE_LEVELS.length, ruleSet.getIndex(1).size());
+    assertTrue(ruleSet.isIndexed(0));
+    assertFalse(ruleSet.isIndexed(criteria.size() - 1));
+    assertEquals(1, ruleSet.getIndex(0).getCriterion(0));
+  }
+
+  @Test
+  void test_Index_Matches_Criteria() throws LogicCriterionException, LogicDataTypeException {
+    String[] values = {"100", "150", "175.5", "200", "225", "226", "70", "140"};
+    EvaluationContext context = new EvaluationContext(criteria.size());
+    for (String weight : values) {
+      for (String glucose : values) {
+        ObservationData observation = new ObservationData(new BigDecimal(weight), new BigDecimal(glucose));
+        context.reset(ruleSet);
+        for (int group = 0; group < ruleSet.getIndexCount(); group++) {
+          ruleSet.getIndex(group).evaluate(observation, context);
+        }
+        for (int index = 0; index < criteria.size() - 1; index++) {
+          byte expected = criteria.get(index).test(observation) ? EvaluationContext.TRUE : EvaluationContext.FALSE;
+          assertEquals(expected, context.getResult(index),
+              criteria.get(index).getName() + " for weight " + weight + ", glucose " + glucose);
+        }
+      }
+    }
+  }
+
+  @Test
+  void test_Incompatible_Data() {
+    assertFalse(ruleSet.getIndex(0).accepts(new PatientData()));
+  }
+}
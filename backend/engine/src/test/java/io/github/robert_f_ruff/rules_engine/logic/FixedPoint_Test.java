@@ -0,0 +1,48 @@
+package io.github.robert_f_ruff.rules_engine.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class FixedPoint_Test {
+  @Test
+  void test_Comparison_Values() {
+    assertEquals(3_610_000, FixedPoint.parse("180.5"));
+    assertEquals(3_610_000, FixedPoint.parse("180.50000"));
+    assertEquals(-2, FixedPoint.parse("-0.0001"));
+    assertThrows(NumberFormatException.class, () -> FixedPoint.parse("180.00001"));
+    assertThrows(NumberFormatException.class, () -> FixedPoint.parse("1e20"));
+    assertThrows(NumberFormatException.class, () -> FixedPoint.parse("heavy"));
+    assertTrue(FixedPoint.fits(new BigDecimal("180.50000")));
+    assertFalse(FixedPoint.fits(new BigDecimal("180.00001")));
+    assertFalse(FixedPoint.fits(new BigDecimal("1e20")));
+  }
+
+  @Test
+  void test_Measurements_Keep_Finer_Digits() {
+    long threshold = FixedPoint.parse("180");
+    assertFalse(FixedPoint.greaterThan(FixedPoint.of(new BigDecimal("180.0000")), threshold));
+    assertTrue(FixedPoint.greaterThan(FixedPoint.of(new BigDecimal("180.00001")), threshold));
+    assertFalse(FixedPoint.lessThan(FixedPoint.of(new BigDecimal("180.00001")), threshold));
+    assertTrue(FixedPoint.lessThan(FixedPoint.of(new BigDecimal("179.99999")), threshold));
+    assertTrue(FixedPoint.lessThan(FixedPoint.of(new BigDecimal("-0.00001")), FixedPoint.parse("0")));
+  }
+
+  @Test
+  void test_Extreme_And_Missing_Measurements() {
+    long threshold = FixedPoint.parse("100000000");
+    assertTrue(FixedPoint.greaterThan(FixedPoint.of(new BigDecimal("1e40")), threshold));
+    assertTrue(FixedPoint.lessThan(FixedPoint.of(new BigDecimal("-1e40")), threshold));
+    assertEquals(FixedPoint.NONE, FixedPoint.of(null));
+    assertFalse(FixedPoint.greaterThan(FixedPoint.NONE, threshold));
+    assertFalse(FixedPoint.lessThan(FixedPoint.NONE, threshold));
+  }
+}
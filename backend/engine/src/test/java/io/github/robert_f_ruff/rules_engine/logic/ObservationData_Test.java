@@ -5,10 +5,17 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.github.robert_f_ruff.rules_engine.logic.PatientData.Gender;
 
@@ -24,7 +31,8 @@ public class ObservationData_Test {
   @Test
   void test_toString_Method() {
     ObservationData object1 = new ObservationData(new BigDecimal(150), new BigDecimal(100));
-    assertEquals("ObservationData [weight=150, glucose=100]", object1.toString());
+    assertEquals("ObservationData [weight=150, glucose=100, patientId=null, observedAt=null]",
+        object1.toString());
   }
 
   @Test
@@ -66,5 +74,21 @@ public class ObservationData_Test {
     ObservationData object3 = new ObservationData(new BigDecimal(150), new BigDecimal(90));
     assertFalse(object1.equals(object3));
     assertFalse(object1.hashCode() == object3.hashCode());
+    ObservationData object4 = new ObservationData(new BigDecimal(150), new BigDecimal(100), "A",
+        null);
+    assertFalse(object1.equals(object4));
+  }
+
+  @Test
+  void test_JSON_Binding() throws JsonProcessingException {
+    ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    ObservationData object1 = mapper.readValue("{\"bodyWeight\":180.50,\"bloodGlucose\":65,"
+        + "\"patientId\":\"A\",\"observedAt\":\"2024-01-01T08:00:00Z\"}", ObservationData.class);
+    assertEquals(new ObservationData(new BigDecimal("180.50"), new BigDecimal(65), "A",
+        Instant.parse("2024-01-01T08:00:00Z")), object1);
+    assertEquals(FixedPoint.parse("180.5"), object1.getFixedBodyWeight());
+    assertEquals(FixedPoint.parse("65"), object1.getFixedBloodGlucose());
+    assertEquals(Set.of("bodyWeight", "bloodGlucose", "patientId", "observedAt"),
+        mapper.convertValue(object1, Map.class).keySet());
   }
 }
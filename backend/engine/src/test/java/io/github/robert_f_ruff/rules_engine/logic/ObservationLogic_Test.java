@@ -51,6 +51,83 @@ public class ObservationLogic_Test {
     assertEquals("Unknown criterion: Invalid Criterion", exception.getMessage());
   }
 
+  @Test
+  void test_Compiled_Weight_Greater_Than() throws LogicCriterionException, LogicDataTypeException {
+    LogicPredicate weightOver180 = new ObservationLogic().compile("BodyWeightGreaterThan", "180");
+    assertTrue(weightOver180.test(new ObservationData(new BigDecimal(200), new BigDecimal(80))));
+    assertFalse(weightOver180.test(new ObservationData(new BigDecimal("180.0"), new BigDecimal(80))));
+  }
+
+  @Test
+  void test_Compiled_Glucose_Less_Than() throws LogicCriterionException, LogicDataTypeException {
+    LogicPredicate glucoseUnder100 = new ObservationLogic().compile("BloodGlucoseLessThan", "100");
+    assertTrue(glucoseUnder100.test(new ObservationData(new BigDecimal(200), new BigDecimal(80))));
+    assertFalse(glucoseUnder100.test(new ObservationData(new BigDecimal(200), new BigDecimal(100))));
+  }
+
+  @Test
+  void test_Compiled_LogicCriterionException() {
+    ObservationLogic logic = new ObservationLogic();
+    Exception exception = assertThrows(LogicCriterionException.class, () -> logic.compile("Invalid Criterion", "180"));
+    assertEquals("Unknown criterion: Invalid Criterion", exception.getMessage());
+  }
+
+  @Test
+  void test_Joined_Observation_Judged() throws LogicCriterionException, LogicDataTypeException {
+    PatientObservation joined = new PatientObservation(new PatientData(),
+        new ObservationData(new BigDecimal(200), new BigDecimal(60), "A", null));
+    ObservationLogic logic = new ObservationLogic();
+    assertTrue(logic.accepts(joined));
+    assertTrue(logic.compile("BloodGlucoseLessThan", "70").test(joined));
+    assertTrue(logic.evaluate("BodyWeightGreaterThan", "180", joined));
+    assertEquals(ObservationData.class, logic.factType());
+  }
+
+  @Test
+  void test_Compiled_LogicDataTypeException() throws LogicCriterionException {
+    LogicPredicate weightOver180 = new ObservationLogic().compile("BodyWeightGreaterThan", "180");
+    Exception exception = assertThrows(LogicDataTypeException.class, () -> weightOver180.test(new PatientData()));
+    assertEquals("Parameter data is not of type ObservationData", exception.getMessage());
+    assertFalse(new ObservationLogic().accepts(new PatientData()));
+  }
+
+  @Test
+  void test_Check_Value_Finer_Than_Fixed_Point() throws LogicCriterionException, LogicDataTypeException {
+    ObservationLogic logic = new ObservationLogic();
+    LogicPredicate weightOver100 = logic.compile("BodyWeightGreaterThan", "100.12345");
+    assertTrue(weightOver100.test(new ObservationData(new BigDecimal("100.12346"), new BigDecimal(80))));
+    assertFalse(weightOver100.test(new ObservationData(new BigDecimal("100.12345"), new BigDecimal(80))));
+    assertFalse(weightOver100.test(new ObservationData(null, new BigDecimal(80))));
+    LogicPredicate glucoseUnder70 = logic.compile("BloodGlucoseLessThan", "69.99999");
+    assertTrue(glucoseUnder70.test(new ObservationData(new BigDecimal(200), new BigDecimal("69.99998"))));
+    assertFalse(glucoseUnder70.test(new ObservationData(new BigDecimal(200), new BigDecimal("69.99999"))));
+    assertTrue(logic.evaluate("BodyWeightGreaterThan", "100.12345",
+        new ObservationData(new BigDecimal("100.1235"), new BigDecimal(80))));
+    assertEquals(null, logic.threshold("BodyWeightGreaterThan", "100.12345"));
+  }
+
+  @Test
+  void test_Threshold_Weight_Greater_Than() throws LogicCriterionException, LogicDataTypeException {
+    Threshold threshold = new ObservationLogic().threshold("BodyWeightGreaterThan", "180");
+    ObservationData observation = new ObservationData(new BigDecimal(200), new BigDecimal(80));
+    assertEquals(Threshold.Comparison.GREATER_THAN, threshold.comparison());
+    assertEquals(FixedPoint.of(new BigDecimal(200)), threshold.measure().of(observation));
+    assertTrue(threshold.test(threshold.measure().of(observation)));
+    assertFalse(threshold.test(FixedPoint.of(new BigDecimal("180.0"))));
+    assertTrue(threshold.test(FixedPoint.of(new BigDecimal("180.00001"))));
+  }
+
+  @Test
+  void test_Threshold_Glucose_Less_Than() throws LogicCriterionException, LogicDataTypeException {
+    Threshold threshold = new ObservationLogic().threshold("BloodGlucoseLessThan", "100");
+    assertEquals(Threshold.Comparison.LESS_THAN, threshold.comparison());
+    assertTrue(threshold.test(FixedPoint.of(new BigDecimal(80))));
+    assertFalse(threshold.test(FixedPoint.of(new BigDecimal(100))));
+    assertTrue(threshold.test(FixedPoint.of(new BigDecimal("99.99999"))));
+    assertFalse(threshold.test(FixedPoint.NONE));
+    assertThrows(LogicCriterionException.class, () -> new ObservationLogic().threshold("Invalid Criterion", "100"));
+  }
+
   @Test
   void test_Same_Object() throws LogicFactoryException {
     Logic object1 = aLogic().withObservationClass().build();
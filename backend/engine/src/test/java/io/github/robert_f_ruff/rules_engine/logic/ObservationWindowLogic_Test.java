@@ -0,0 +1,92 @@
+package io.github.robert_f_ruff.rules_engine.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+public class ObservationWindowLogic_Test {
+  static WindowedObservation withAggregate(Window window, BigDecimal aggregate) {
+    WindowedObservation observation = new WindowedObservation(1);
+    observation.reset(new ObservationData(new BigDecimal(200), new BigDecimal(80), "A", null),
+        new Window[] { window });
+    observation.setAggregate(0, aggregate);
+    return observation;
+  }
+
+  @Test
+  void test_Count_Window() throws LogicCriterionException {
+    Window window = new ObservationWindowLogic().window("BloodGlucoseCountBelowAtLeast",
+        "70,3,PT6H");
+    assertEquals(new Window(Window.Field.BLOOD_GLUCOSE, Window.Aggregate.COUNT_BELOW,
+        new BigDecimal(70), Duration.ofHours(6), 0), window);
+  }
+
+  @Test
+  void test_Observation_Count_Window() throws LogicCriterionException {
+    Window window = new ObservationWindowLogic().window("BodyWeightAverageGreaterThan", "200,5");
+    assertEquals(new Window(Window.Field.BODY_WEIGHT, Window.Aggregate.AVERAGE, null, null, 5),
+        window);
+  }
+
+  @Test
+  void test_Compiled_Count_At_Least() throws LogicCriterionException, LogicDataTypeException {
+    ObservationWindowLogic logic = new ObservationWindowLogic();
+    LogicPredicate predicate = logic.compile("BloodGlucoseCountBelowAtLeast", "70,3,PT6H");
+    Window window = logic.window("BloodGlucoseCountBelowAtLeast", "70,3,PT6H");
+    assertTrue(predicate.test(withAggregate(window, new BigDecimal(3))));
+    assertFalse(predicate.test(withAggregate(window, new BigDecimal(2))));
+  }
+
+  @Test
+  void test_Change_Percent_Greater_Than() throws LogicCriterionException, LogicDataTypeException {
+    ObservationWindowLogic logic = new ObservationWindowLogic();
+    Window window = logic.window("BodyWeightChangePercentGreaterThan", "5,P7D");
+    assertTrue(logic.evaluate("BodyWeightChangePercentGreaterThan", "5,P7D",
+        withAggregate(window, new BigDecimal("5.5"))));
+    assertFalse(logic.evaluate("BodyWeightChangePercentGreaterThan", "5,P7D",
+        withAggregate(window, new BigDecimal(5))));
+  }
+
+  @Test
+  void test_Observation_Without_Aggregates() throws LogicCriterionException, LogicDataTypeException {
+    LogicPredicate predicate = new ObservationWindowLogic().compile("BloodGlucoseMinimumLessThan",
+        "70,PT1H");
+    assertFalse(predicate.test(new ObservationData(new BigDecimal(200), new BigDecimal(60))));
+  }
+
+  @Test
+  void test_LogicCriterionException() {
+    ObservationWindowLogic logic = new ObservationWindowLogic();
+    Exception exception = assertThrows(LogicCriterionException.class,
+        () -> logic.compile("BloodGlucoseMedianLessThan", "70,PT1H"));
+    assertEquals("Unknown criterion: BloodGlucoseMedianLessThan", exception.getMessage());
+  }
+
+  @Test
+  void test_Invalid_Window() {
+    ObservationWindowLogic logic = new ObservationWindowLogic();
+    assertThrows(NumberFormatException.class,
+        () -> logic.compile("BloodGlucoseMinimumLessThan", "70,six hours"));
+    assertThrows(NumberFormatException.class,
+        () -> logic.compile("BloodGlucoseCountBelowAtLeast", "70,PT6H"));
+  }
+
+  @Test
+  void test_LogicDataTypeException() throws LogicCriterionException {
+    LogicPredicate predicate = new ObservationWindowLogic().compile("BloodGlucoseMinimumLessThan",
+        "70,PT1H");
+    Exception exception = assertThrows(LogicDataTypeException.class,
+        () -> predicate.test(new PatientData()));
+    assertEquals("Parameter data is not of type ObservationData", exception.getMessage());
+    assertFalse(new ObservationWindowLogic().accepts(new PatientData()));
+  }
+}
@@ -6,10 +6,16 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.github.robert_f_ruff.rules_engine.logic.PatientData.Gender;
 
@@ -25,7 +31,8 @@ public class PatientData_Test {
   @Test
   void test_toString_Method() {
     PatientData object1 = new PatientData(Gender.FEMALE, "1999-04-15");
-    assertEquals("PatientData [gender=FEMALE, birthDate=1999-04-15]", object1.toString());
+    assertEquals("PatientData [gender=FEMALE, birthDate=1999-04-15, patientId=null]",
+        object1.toString());
   }
 
   @Test
@@ -68,4 +75,16 @@ public class PatientData_Test {
     assertFalse(object1.equals(object3));
     assertFalse(object1.hashCode() == object3.hashCode());
   }
+
+  @Test
+  void test_JSON_Binding() throws JsonProcessingException {
+    ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    PatientData object1 = mapper.readValue(
+        "{\"gender\":\"FEMALE\",\"birthDate\":\"1970-01-11\",\"patientId\":\"A\"}",
+        PatientData.class);
+    assertEquals(new PatientData(Gender.FEMALE, "1970-01-11", "A"), object1);
+    assertEquals(10, object1.getBirthEpochDay());
+    assertEquals(Set.of("gender", "birthDate", "patientId"),
+        mapper.convertValue(object1, Map.class).keySet());
+  }
 }
@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
+
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.Test;
@@ -51,6 +53,56 @@ public class PatientLogic_Test {
     assertEquals("Unknown criterion: Invalid Criterion", exception.getMessage());
   }
 
+  @Test
+  void test_Compiled_Is_Female() throws LogicCriterionException, LogicDataTypeException {
+    LogicPredicate isFemale = new PatientLogic().compile("IsFemale", "");
+    assertTrue(isFemale.test(new PatientData(Gender.FEMALE, "1990-03-23")));
+    assertFalse(isFemale.test(new PatientData(Gender.MALE, "1990-03-23")));
+  }
+
+  @Test
+  void test_Compiled_Age_Matches_Evaluate() throws LogicCriterionException, LogicDataTypeException {
+    PatientLogic logic = new PatientLogic();
+    LogicPredicate olderThan22 = logic.compile("AgeGreaterThan", "22");
+    LocalDate today = LocalDate.now();
+    for (int offset = -3; offset <= 3; offset++) {
+      PatientData patient = new PatientData(Gender.MALE, today.minusYears(23).plusDays(offset).toString());
+      assertEquals(logic.evaluate("AgeGreaterThan", "22", patient), olderThan22.test(patient));
+    }
+  }
+
+  @Test
+  void test_Compiled_Age_Without_Birth_Date() throws LogicCriterionException, LogicDataTypeException {
+    LogicPredicate olderThan22 = new PatientLogic().compile("AgeGreaterThan", "22");
+    assertFalse(olderThan22.test(new PatientData(Gender.MALE, (LocalDate) null, "A")));
+  }
+
+  @Test
+  void test_Compiled_LogicCriterionException() {
+    PatientLogic logic = new PatientLogic();
+    Exception exception = assertThrows(LogicCriterionException.class, () -> logic.compile("Invalid Criterion", ""));
+    assertEquals("Unknown criterion: Invalid Criterion", exception.getMessage());
+  }
+
+  @Test
+  void test_Compiled_LogicDataTypeException() throws LogicCriterionException {
+    LogicPredicate isFemale = new PatientLogic().compile("IsFemale", "");
+    Exception exception = assertThrows(LogicDataTypeException.class, () -> isFemale.test(new ObservationData()));
+    assertEquals("Parameter data is not of type PatientData", exception.getMessage());
+    assertFalse(new PatientLogic().accepts(new ObservationData()));
+  }
+
+  @Test
+  void test_Joined_Patient_Judged() throws LogicCriterionException, LogicDataTypeException {
+    PatientObservation joined = new PatientObservation(new PatientData(Gender.FEMALE, "1950-01-01", "A"),
+        new ObservationData());
+    PatientLogic logic = new PatientLogic();
+    assertTrue(logic.accepts(joined));
+    assertTrue(logic.compile("IsFemale", "").test(joined));
+    assertTrue(logic.evaluate("AgeGreaterThan", "65", joined));
+    assertEquals(PatientData.class, logic.factType());
+  }
+
   @Test
   void test_Same_Object() throws LogicFactoryException {
     Logic object1 = aLogic().withPatientClass().build();
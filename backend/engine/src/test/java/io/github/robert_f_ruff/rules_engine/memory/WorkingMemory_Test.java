@@ -0,0 +1,77 @@
+package io.github.robert_f_ruff.rules_engine.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData.Gender;
+import io.github.robert_f_ruff.rules_engine.logic.PatientObservation;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class WorkingMemory_Test {
+  long now;
+  WorkingMemory memory;
+
+  static ObservationData observation(String patientId) {
+    return new ObservationData(new BigDecimal(180), new BigDecimal(65), patientId, null);
+  }
+
+  @BeforeEach
+  void init() {
+    now = 0;
+    memory = new WorkingMemory(true, 1000, 2, () -> now);
+  }
+
+  @Test
+  void test_Disabled_Joins_Nothing() {
+    WorkingMemory disabled = new WorkingMemory();
+    disabled.join(new PatientData(Gender.FEMALE, "1950-01-01", "A"));
+    assertNull(disabled.join(observation("A")));
+  }
+
+  @Test
+  void test_Latest_Facts_Joined() {
+    assertNull(memory.join(new PatientData(Gender.MALE, "1950-01-01", "A")));
+    PatientData patient = new PatientData(Gender.FEMALE, "1950-01-01", "A");
+    assertNull(memory.join(patient));
+    ObservationData observation = observation("A");
+    PatientObservation joined = memory.join(observation);
+    assertSame(patient, joined.patient());
+    assertSame(observation, joined.observation());
+    PatientData updated = new PatientData(Gender.FEMALE, "1950-01-02", "A");
+    assertSame(observation, memory.join(updated).observation());
+  }
+
+  @Test
+  void test_Patients_Joined_Separately() {
+    memory.join(new PatientData(Gender.FEMALE, "1950-01-01", "A"));
+    assertNull(memory.join(observation("B")));
+    assertNull(memory.join(observation(null)));
+  }
+
+  @Test
+  void test_Idle_Patients_Forgotten() {
+    memory.join(new PatientData(Gender.FEMALE, "1950-01-01", "A"));
+    now = 1001;
+    assertNull(memory.join(observation("A")));
+    assertEquals(1, memory.size());
+  }
+
+  @Test
+  void test_Least_Recent_Patient_Forgotten_When_Full() {
+    memory.join(new PatientData(Gender.FEMALE, "1950-01-01", "A"));
+    memory.join(new PatientData(Gender.FEMALE, "1950-01-01", "B"));
+    memory.join(new PatientData(Gender.FEMALE, "1950-01-01", "C"));
+    assertEquals(2, memory.size());
+    assertNull(memory.join(observation("A")));
+  }
+}
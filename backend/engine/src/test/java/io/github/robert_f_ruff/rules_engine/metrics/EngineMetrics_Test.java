@@ -0,0 +1,118 @@
+package io.github.robert_f_ruff.rules_engine.metrics;
+
+import static io.github.robert_f_ruff.rules_engine.loader.CriterionBuilder.aCriterion;
+import static io.github.robert_f_ruff.rules_engine.loader.RuleBuilder.aRule;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionFactoryException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionStub;
+import io.github.robert_f_ruff.rules_engine.actions.ParameterException;
+import io.github.robert_f_ruff.rules_engine.loader.Criterion;
+import io.github.robert_f_ruff.rules_engine.loader.Rule;
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
+import io.github.robert_f_ruff.rules_engine.logic.LogicFactoryException;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData.Gender;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class EngineMetrics_Test {
+  SimpleMeterRegistry registry;
+  EngineMetrics metrics;
+  RuleSet ruleSet;
+
+  @BeforeEach
+  void init() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    registry = new SimpleMeterRegistry();
+    metrics = new EngineMetrics(registry);
+    Criterion patientIsFemale = aCriterion().build();
+    ArrayList<Criterion> criteria = new ArrayList<>();
+    criteria.add(patientIsFemale);
+    LinkedHashMap<Long, Rule> rules = new LinkedHashMap<>();
+    rules.put(1L, aRule()
+      .withCriterion(patientIsFemale)
+      .build());
+    ruleSet = new RuleSet(criteria, rules);
+  }
+
+  @Test
+  void test_Evaluation() {
+    metrics.evaluationStarted();
+    assertEquals(1, registry.get(EngineMetrics.EVALUATIONS_ACTIVE).gauge().value());
+    metrics.evaluationFinished(new PatientData(Gender.FEMALE, "1994-03-23"), 2_000_000);
+    assertEquals(0, registry.get(EngineMetrics.EVALUATIONS_ACTIVE).gauge().value());
+    assertEquals(1, registry.get(EngineMetrics.EVALUATION_TIMER)
+        .tag(EngineMetrics.FACT_TAG, "PatientData").timer().count());
+  }
+
+  @Test
+  void test_Criteria_And_Rules() {
+    RuleSetMeters meters = metrics.getMeters(ruleSet);
+    assertSame(meters, metrics.getMeters(ruleSet));
+    meters.criterionEvaluated(0, true, 1000);
+    meters.criterionEvaluated(0, false, 1000);
+    meters.criterionEvaluated(0, true, 1000);
+    meters.ruleFired(0);
+    assertEquals(3, registry.get(EngineMetrics.CRITERION_TIMER)
+        .tag(EngineMetrics.CRITERION_TAG, "Patient is female").timer().count());
+    assertEquals(2, registry.get(EngineMetrics.CRITERION_RESULTS)
+        .tag(EngineMetrics.CRITERION_TAG, "Patient is female")
+        .tag(EngineMetrics.RESULT_TAG, "true").counter().count());
+    assertEquals(1, registry.get(EngineMetrics.RULE_FIRED)
+        .tag(EngineMetrics.RULE_TAG, "Rule #1").counter().count());
+  }
+
+  @Test
+  void test_Replaced_Rule_Set_Meters_Removed() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    metrics.getMeters(ruleSet).ruleFired(0);
+    Criterion patientIsFemale = aCriterion().build();
+    ArrayList<Criterion> criteria = new ArrayList<>();
+    criteria.add(patientIsFemale);
+    LinkedHashMap<Long, Rule> rules = new LinkedHashMap<>();
+    rules.put(2L, aRule()
+      .withID(2L)
+      .withName("Rule #2")
+      .withCriterion(patientIsFemale)
+      .build());
+    RuleSet reloaded = new RuleSet(criteria, rules);
+    metrics.getMeters(ruleSet).criterionEvaluated(0, true, 1000);
+    metrics.getMeters(reloaded).criterionEvaluated(0, true, 1000);
+    assertNull(registry.find(EngineMetrics.RULE_FIRED)
+        .tag(EngineMetrics.RULE_TAG, "Rule #1").counter());
+    assertEquals(0, registry.get(EngineMetrics.RULE_FIRED)
+        .tag(EngineMetrics.RULE_TAG, "Rule #2").counter().count());
+    assertEquals(2, registry.get(EngineMetrics.CRITERION_TIMER)
+        .tag(EngineMetrics.CRITERION_TAG, "Patient is female").timer().count());
+  }
+
+  @Test
+  void test_Actions() {
+    ActionStub action = new ActionStub();
+    metrics.actionCompleted(action, 1000, true);
+    metrics.actionCompleted(action, 1000, false);
+    metrics.actionCompleted(action, 1000, false);
+    assertEquals(2, registry.get(EngineMetrics.ACTION_TIMER)
+        .tag(EngineMetrics.TYPE_TAG, "ActionStub")
+        .tag(EngineMetrics.OUTCOME_TAG, "failure").timer().count());
+  }
+
+  @Test
+  void test_Rule_Set_Loaded() {
+    metrics.ruleSetLoaded(ruleSet, 5_000_000);
+    assertEquals(1, registry.get(EngineMetrics.RULE_COUNT).gauge().value());
+    assertEquals(1, registry.get(EngineMetrics.CRITERION_COUNT).gauge().value());
+    assertEquals(1, registry.get(EngineMetrics.RELOAD_TIMER).timer().count());
+  }
+}
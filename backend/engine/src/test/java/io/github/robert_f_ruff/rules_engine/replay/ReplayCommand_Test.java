@@ -0,0 +1,56 @@
+package io.github.robert_f_ruff.rules_engine.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ReplayCommand_Test {
+  @Test
+  void test_Replay_Compared_With_Baseline(@TempDir Path directory) throws IOException {
+    Path baseline = directory.resolve("baseline.txt");
+    Files.writeString(baseline, "1\n\n");
+    ReplayReport report = mock();
+    when(report.getFacts()).thenReturn(2);
+    when(report.diff(Mockito.any())).thenReturn(
+        List.of(new RuleDifference(1, "ObservationData", List.of(2L), List.of())));
+    TrafficReplayer replayer = mock();
+    when(replayer.replay(Path.of("traffic.log"), false)).thenReturn(report);
+    ReplayCommand command = new ReplayCommand(replayer, mock(), "traffic.log", false,
+        directory.resolve("report.txt").toString(), baseline.toString());
+    assertEquals(1, command.replay());
+    verify(report).write(directory.resolve("report.txt"));
+  }
+
+  @Test
+  void test_Replay_Without_Differences() throws IOException {
+    ReplayReport report = mock();
+    TrafficReplayer replayer = mock();
+    when(replayer.replay(Path.of("traffic.log"), true)).thenReturn(report);
+    ReplayCommand command = new ReplayCommand(replayer, mock(), "traffic.log", true, "", "");
+    assertEquals(0, command.replay());
+    verify(report, never()).write(Mockito.any());
+    verify(report, never()).diff(Mockito.any());
+  }
+
+  @Test
+  void test_Replay_Failed() throws IOException {
+    TrafficReplayer replayer = mock();
+    when(replayer.replay(Path.of("missing.log"), false)).thenThrow(new IOException("missing"));
+    ReplayCommand command = new ReplayCommand(replayer, mock(), "missing.log", false, "", "");
+    assertEquals(2, command.replay());
+  }
+}
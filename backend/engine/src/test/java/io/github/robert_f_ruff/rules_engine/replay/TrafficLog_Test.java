@@ -0,0 +1,70 @@
+package io.github.robert_f_ruff.rules_engine.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class TrafficLog_Test {
+  @TempDir
+  Path directory;
+
+  @Test
+  void test_Facts_Read_Back() throws IOException {
+    PatientData patient = new PatientData(PatientData.Gender.FEMALE, "1950-01-01", "A");
+    ObservationData observation = new ObservationData(new BigDecimal("180.5"),
+        new BigDecimal(-65), "A", Instant.parse("2024-01-01T08:00:00.123Z"));
+    ObservationData anonymous = new ObservationData(new BigDecimal(180), null);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream output = new DataOutputStream(bytes);
+    output.writeInt(TrafficLog.MARKER);
+    TrafficLog.write(output, 1000, patient);
+    TrafficLog.write(output, 2000, observation);
+    TrafficLog.write(output, 3000, anonymous);
+    Path file = directory.resolve("traffic.log");
+    Files.write(file, bytes.toByteArray());
+    List<CapturedFact> facts = TrafficLog.readAll(file);
+    assertEquals(List.of(new CapturedFact(1000, patient), new CapturedFact(2000, observation),
+        new CapturedFact(3000, anonymous)), facts);
+  }
+
+  @Test
+  void test_End_Of_Log() throws IOException {
+    assertNull(TrafficLog.read(new DataInputStream(new ByteArrayInputStream(new byte[0]))));
+  }
+
+  @Test
+  void test_Malformed_Log() throws IOException {
+    Path file = directory.resolve("traffic.log");
+    Files.write(file, new byte[] { 1, 2, 3, 4 });
+    assertThrows(IOException.class, () -> TrafficLog.readAll(file));
+    byte[] unknown = { 9, 0, 0, 0, 0, 0, 0, 0, 0, 0 };
+    assertThrows(IOException.class,
+        () -> TrafficLog.read(new DataInputStream(new ByteArrayInputStream(unknown))));
+  }
+
+  @Test
+  void test_Unknown_Fact_Rejected() {
+    assertThrows(IllegalArgumentException.class,
+        () -> TrafficLog.write(new DataOutputStream(new ByteArrayOutputStream()), 0, "fact"));
+  }
+}
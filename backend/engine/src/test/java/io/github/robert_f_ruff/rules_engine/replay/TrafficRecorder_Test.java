@@ -0,0 +1,55 @@
+package io.github.robert_f_ruff.rules_engine.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class TrafficRecorder_Test {
+  @TempDir
+  Path directory;
+  long now;
+
+  @Test
+  void test_Facts_Appended_Across_Restarts() throws IOException {
+    Path file = directory.resolve("traffic.log");
+    PatientData patient = new PatientData(PatientData.Gender.MALE, "1960-05-05", "A");
+    ObservationData observation = new ObservationData(new BigDecimal(200), new BigDecimal(90), "A",
+        null);
+    TrafficRecorder recorder = new TrafficRecorder(file, 1000, () -> now);
+    now = 10;
+    recorder.record(patient);
+    recorder.stop();
+    recorder = new TrafficRecorder(file, 1000, () -> now);
+    now = 20;
+    recorder.record(observation);
+    recorder.flush();
+    assertEquals(1, recorder.getRecorded());
+    assertEquals(List.of(new CapturedFact(10, patient), new CapturedFact(20, observation)),
+        TrafficLog.readAll(file));
+    recorder.stop();
+  }
+
+  @Test
+  void test_Nothing_Recorded_When_Off() {
+    TrafficRecorder recorder = new TrafficRecorder("", 1000);
+    recorder.start();
+    recorder.record(new ObservationData(new BigDecimal(200), new BigDecimal(90)));
+    recorder.stop();
+    assertEquals(0, recorder.getRecorded());
+    assertFalse(Files.exists(directory.resolve("traffic.log")));
+  }
+}
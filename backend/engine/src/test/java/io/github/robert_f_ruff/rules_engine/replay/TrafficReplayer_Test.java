@@ -0,0 +1,116 @@
+package io.github.robert_f_ruff.rules_engine.replay;
+
+import static io.github.robert_f_ruff.rules_engine.loader.CriterionBuilder.aCriterion;
+import static io.github.robert_f_ruff.rules_engine.loader.LogicBuilder.aLogic;
+import static io.github.robert_f_ruff.rules_engine.loader.RuleBuilder.aRule;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.robert_f_ruff.rules_engine.Engine;
+import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionFactoryException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionStub;
+import io.github.robert_f_ruff.rules_engine.actions.ParameterException;
+import io.github.robert_f_ruff.rules_engine.loader.Criterion;
+import io.github.robert_f_ruff.rules_engine.loader.Rule;
+import io.github.robert_f_ruff.rules_engine.loader.RuleRepository;
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
+import io.github.robert_f_ruff.rules_engine.logic.LogicFactoryException;
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class TrafficReplayer_Test {
+  static final List<CapturedFact> FACTS = List.of(
+      new CapturedFact(0, new PatientData(PatientData.Gender.FEMALE, "1950-01-01", "A")),
+      new CapturedFact(20, new ObservationData(new BigDecimal(180), new BigDecimal(65), "A", null)),
+      new CapturedFact(40, new ObservationData(new BigDecimal(180), new BigDecimal(90), "A", null)));
+  @TempDir
+  Path directory;
+  ActionStub action = new ActionStub();
+
+  RuleSet ruleSet(String glucoseBound) throws LogicFactoryException, ActionFactoryException,
+      ParameterException, ActionException {
+    Criterion patientIsFemale = aCriterion().build();
+    Criterion lowGlucose = aCriterion()
+      .withName("Glucose low")
+      .withLogicClass(aLogic().withObservationClass())
+      .withLogicMethod("BloodGlucoseLessThan")
+      .withCheckValue(glucoseBound)
+      .build();
+    HashMap<Long, Rule> rules = new HashMap<>();
+    rules.put(1L, aRule().withID(1L).withCriterion(patientIsFemale).withAction(1, action).build());
+    rules.put(2L, aRule().withID(2L).withCriterion(lowGlucose).withAction(1, action).build());
+    return new RuleSet(List.of(patientIsFemale, lowGlucose), rules);
+  }
+
+  @Test
+  void test_Fired_Rules_Reported_Without_Actions() throws Exception {
+    ReplayReport report = new TrafficReplayer().replay(FACTS, ruleSet("70"), false);
+    assertEquals(3, report.getFacts());
+    assertArrayEquals(new long[] { 1 }, report.getFiredRules(0));
+    assertArrayEquals(new long[] { 2 }, report.getFiredRules(1));
+    assertArrayEquals(new long[0], report.getFiredRules(2));
+    assertFalse(action.getExecuted());
+    assertTrue(report.getThroughput() > 0);
+    assertTrue(report.getLatencyPercentile(50) <= report.getLatencyPercentile(99));
+  }
+
+  @Test
+  void test_Rule_Set_Versions_Compared() throws Exception {
+    TrafficReplayer replayer = new TrafficReplayer();
+    Path baseline = directory.resolve("baseline.txt");
+    replayer.replay(FACTS, ruleSet("70"), false).write(baseline);
+    ReplayReport report = replayer.replay(FACTS, ruleSet("95"), false);
+    assertEquals(List.of(new RuleDifference(2, "ObservationData", List.of(2L), List.of())),
+        report.diff(ReplayReport.readFiredRules(baseline)));
+    report = replayer.replay(FACTS.subList(0, 2), ruleSet("60"), false);
+    assertEquals(List.of(new RuleDifference(1, "ObservationData", List.of(), List.of(2L))),
+        report.diff(ReplayReport.readFiredRules(baseline)));
+  }
+
+  @Test
+  void test_Mode_Limits_Fired_Rules() throws Exception {
+    Criterion patientIsFemale = aCriterion().build();
+    HashMap<Long, Rule> rules = new HashMap<>();
+    rules.put(1L, aRule().withID(1L).withCriterion(patientIsFemale).withAction(1, action).build());
+    rules.put(2L, aRule().withID(2L).withCriterion(patientIsFemale).withAction(1, action).build());
+    RuleSet ruleSet = new RuleSet(List.of(patientIsFemale), rules);
+    ReplayReport report = new TrafficReplayer().replay(FACTS, ruleSet, false);
+    assertArrayEquals(new long[] { 1, 2 }, report.getFiredRules(0));
+    report = new TrafficReplayer(null, Engine.Mode.FIRST_MATCH, 1, false).replay(FACTS, ruleSet,
+        false);
+    assertEquals(1, report.getFiredRules(0).length);
+  }
+
+  @Test
+  void test_Original_Pacing_Kept() throws Exception {
+    ReplayReport report = new TrafficReplayer().replay(FACTS, ruleSet("70"), true);
+    assertTrue(report.getElapsedNanos() >= 40_000_000);
+  }
+
+  @Test
+  void test_Log_Replayed_Against_Loaded_Rules() throws IOException {
+    Path log = directory.resolve("traffic.log");
+    TrafficRecorder recorder = new TrafficRecorder(log, 1000, () -> 0);
+    recorder.record(FACTS.get(1).fact());
+    recorder.stop();
+    ReplayReport report = new TrafficReplayer(new RuleRepository(), Engine.Mode.ALL, 1, false)
+        .replay(log, false);
+    assertEquals(1, report.getFacts());
+    assertArrayEquals(new long[0], report.getFiredRules(0));
+  }
+}
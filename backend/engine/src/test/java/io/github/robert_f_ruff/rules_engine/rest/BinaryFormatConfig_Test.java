@@ -0,0 +1,54 @@
+package io.github.robert_f_ruff.rules_engine.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class BinaryFormatConfig_Test {
+  BinaryFormatConfig config = new BinaryFormatConfig();
+
+  @Test
+  void test_Smile_Body_Bound() throws IOException {
+    AbstractJackson2HttpMessageConverter converter =
+        config.smileMessageConverter(Jackson2ObjectMapperBuilder.json());
+    MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+    assertTrue(converter.canRead(PatientData.class, smile));
+    PatientData patient = new PatientData(PatientData.Gender.FEMALE, "1994-03-23", "A");
+    assertEquals(patient, roundTrip(converter, patient, smile));
+  }
+
+  @Test
+  void test_Cbor_Body_Bound() throws IOException {
+    AbstractJackson2HttpMessageConverter converter =
+        config.cborMessageConverter(Jackson2ObjectMapperBuilder.json());
+    assertTrue(converter.canRead(ObservationData.class, MediaType.APPLICATION_CBOR));
+    ObservationData observation = new ObservationData(new BigDecimal("180.5"), new BigDecimal(65),
+        "A", Instant.parse("2024-01-01T08:00:00Z"));
+    assertEquals(observation, roundTrip(converter, observation, MediaType.APPLICATION_CBOR));
+  }
+
+  private static Object roundTrip(AbstractJackson2HttpMessageConverter converter, Object fact,
+      MediaType type) throws IOException {
+    MockHttpOutputMessage output = new MockHttpOutputMessage();
+    converter.write(fact, type, output);
+    MockHttpInputMessage input = new MockHttpInputMessage(output.getBodyAsBytes());
+    input.getHeaders().setContentType(type);
+    return converter.read(fact.getClass(), null, input);
+  }
+}
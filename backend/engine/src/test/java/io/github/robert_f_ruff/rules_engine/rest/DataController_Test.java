@@ -2,14 +2,21 @@ package io.github.robert_f_ruff.rules_engine.rest;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import io.github.robert_f_ruff.rules_engine.Engine;
+import io.github.robert_f_ruff.rules_engine.Explanation;
 import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
 import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+import io.github.robert_f_ruff.rules_engine.replay.TrafficRecorder;
 
 public class DataController_Test {
   @Test
@@ -32,6 +39,42 @@ public class DataController_Test {
     assertEquals("OK", response.getStatus());
   }
 
+  @Test
+  void test_Explain_PatientData() {
+    PatientData data = mock();
+    Engine engine = mock();
+    Explanation explanation = new Explanation("PatientData", 0, List.of(), List.of());
+    when(engine.explain(data)).thenReturn(explanation);
+    DataController resource = new DataController(engine);
+    assertSame(explanation, resource.explainPatient(data));
+    verify(engine, never()).run(data);
+  }
+
+  @Test
+  void test_Explain_ObservationData() {
+    ObservationData data = mock();
+    Engine engine = mock();
+    Explanation explanation = new Explanation("ObservationData", 0, List.of(), List.of());
+    when(engine.explain(data)).thenReturn(explanation);
+    DataController resource = new DataController(engine);
+    assertSame(explanation, resource.explainObservation(data));
+    verify(engine, never()).run(data);
+  }
+
+  @Test
+  void test_Received_Data_Recorded() {
+    PatientData patient = mock();
+    ObservationData observation = mock();
+    Engine engine = mock();
+    TrafficRecorder recorder = mock();
+    DataController resource = new DataController(engine, recorder);
+    resource.processPatient(patient);
+    resource.processObservation(observation);
+    verify(recorder).record(patient);
+    verify(recorder).record(observation);
+    verify(engine).run(observation);
+  }
+
   @Test
   void test_Default_Constructor() {
     assertDoesNotThrow(() -> new DataController());
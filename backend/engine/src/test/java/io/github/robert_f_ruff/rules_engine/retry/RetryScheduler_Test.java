@@ -0,0 +1,99 @@
+package io.github.robert_f_ruff.rules_engine.retry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.github.robert_f_ruff.rules_engine.actions.Action;
+import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class RetryScheduler_Test {
+  long now;
+  SimpleMeterRegistry registry;
+
+  class FlakyAction implements Action {
+    int failures;
+    int executions;
+
+    @Override
+    public void addParameter(String name, String value) { }
+
+    @Override
+    public void execute() throws ActionException {
+      executions++;
+      if (failures-- > 0) throw new ActionException("Flaky action failure");
+    }
+
+    FlakyAction(int failures) {
+      this.failures = failures;
+    }
+  }
+
+  @BeforeEach
+  void init() {
+    now = 0;
+    registry = new SimpleMeterRegistry();
+  }
+
+  void advance(long milliseconds) {
+    now += TimeUnit.MILLISECONDS.toNanos(milliseconds);
+  }
+
+  @Test
+  void test_Remaining_Actions_Retried_In_Order() {
+    RetryScheduler scheduler = new RetryScheduler(3, 100, 1000, 10, 64, 10, registry, () -> now);
+    FlakyAction flaky = new FlakyAction(1);
+    ActionStub following = new ActionStub();
+    scheduler.schedule("Rule #1", new Action[] {flaky, following}, Action::execute);
+    assertEquals(1, scheduler.getPendingCount());
+    assertEquals(1.0, registry.get(RetryScheduler.PENDING_GAUGE).gauge().value());
+    advance(40);
+    assertEquals(0, scheduler.runDue());
+    advance(70);
+    assertEquals(1, scheduler.runDue());
+    assertEquals(1, flaky.executions);
+    assertEquals(false, following.getExecuted());
+    advance(210);
+    assertEquals(1, scheduler.runDue());
+    assertEquals(2, flaky.executions);
+    assertTrue(following.getExecuted());
+    assertEquals(0, scheduler.getPendingCount());
+    assertEquals(0, scheduler.getDeadLetters().size());
+  }
+
+  @Test
+  void test_Exhausted_Actions_Dead_Lettered() {
+    RetryScheduler scheduler = new RetryScheduler(2, 100, 150, 10, 64, 10, registry, () -> now);
+    FlakyAction flaky = new FlakyAction(Integer.MAX_VALUE);
+    scheduler.schedule("Rule #1", new Action[] {flaky}, Action::execute);
+    for (int tick = 0; tick < 10; tick++) {
+      advance(160);
+      scheduler.runDue();
+    }
+    assertEquals(2, flaky.executions);
+    assertEquals(0, scheduler.getPendingCount());
+    assertEquals(1, scheduler.getDeadLetters().size());
+    assertEquals(1.0, registry.get(RetryScheduler.DEAD_LETTER_GAUGE).gauge().value());
+    DeadLetter letter = scheduler.getDeadLetters().drain().get(0);
+    assertEquals("Rule #1", letter.rule());
+    assertEquals(flaky, letter.actions().get(0));
+    assertEquals("Flaky action failure", letter.error());
+    assertEquals(2, letter.attempts());
+  }
+
+  @Test
+  void test_Disabled_Schedules_Nothing() {
+    RetryScheduler scheduler = new RetryScheduler();
+    scheduler.schedule("Rule #1", new Action[] {new ActionStub()}, Action::execute);
+    assertEquals(0, scheduler.getPendingCount());
+  }
+}
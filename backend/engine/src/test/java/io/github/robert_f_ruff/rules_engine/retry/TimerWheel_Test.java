@@ -0,0 +1,56 @@
+package io.github.robert_f_ruff.rules_engine.retry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class TimerWheel_Test {
+  @Test
+  void test_Tasks_Expire_At_Deadline() {
+    TimerWheel<String> wheel = new TimerWheel<>(10, 8, 1000);
+    List<String> expired = new ArrayList<>();
+    wheel.schedule("first", 1025);
+    wheel.schedule("second", 1050);
+    assertEquals(2, wheel.size());
+    assertEquals(0, wheel.advance(1020, expired::add));
+    assertEquals(1, wheel.advance(1030, expired::add));
+    assertEquals(List.of("first"), expired);
+    assertEquals(1, wheel.advance(1050, expired::add));
+    assertEquals(List.of("first", "second"), expired);
+    assertEquals(0, wheel.size());
+  }
+
+  @Test
+  void test_Tasks_Beyond_One_Revolution() {
+    TimerWheel<String> wheel = new TimerWheel<>(10, 4, 0);
+    List<String> expired = new ArrayList<>();
+    wheel.schedule("later", 95);
+    wheel.schedule("sooner", 15);
+    wheel.advance(0, expired::add);
+    for (long now = 10; now < 100; now += 10) {
+      wheel.advance(now, expired::add);
+      if (now < 20) assertEquals(List.of(), expired);
+      if (now >= 20 && now < 100) assertEquals(List.of("sooner"), expired);
+    }
+    wheel.advance(100, expired::add);
+    assertEquals(List.of("sooner", "later"), expired);
+  }
+
+  @Test
+  void test_Overdue_Tasks_Expire_After_Long_Pause() {
+    TimerWheel<Integer> wheel = new TimerWheel<>(1, 16, 0);
+    List<Integer> expired = new ArrayList<>();
+    for (int task = 0; task < 1000; task++) {
+      wheel.schedule(task, task);
+    }
+    assertEquals(1000, wheel.advance(5000, expired::add));
+    assertEquals(1000, expired.size());
+    assertEquals(0, wheel.size());
+  }
+}
@@ -0,0 +1,65 @@
+package io.github.robert_f_ruff.rules_engine.spool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData.Gender;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class RecordParser_Test {
+  static Object parse(String line) throws SpoolRecordException {
+    ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+    return RecordParser.parse(buffer, 0, buffer.limit());
+  }
+
+  @Test
+  void test_Json_Patient() throws SpoolRecordException {
+    assertEquals(new PatientData(Gender.FEMALE, LocalDate.of(1950, 1, 2), "A1"),
+        parse("{\"type\": \"patient\", \"patientId\": \"A1\", \"gender\": \"FEMALE\", \"birthDate\": \"1950-01-02\"}"));
+  }
+
+  @Test
+  void test_Json_Observation() throws SpoolRecordException {
+    assertEquals(new ObservationData(new BigDecimal("180.5"), new BigDecimal(65), "A1",
+        Instant.parse("2024-01-01T08:00:00Z")),
+        parse("{\"type\":\"observation\",\"patientId\":\"A1\",\"bodyWeight\":180.5,\"bloodGlucose\":65,\"observedAt\":\"2024-01-01T08:00:00Z\",\"note\":true}"));
+  }
+
+  @Test
+  void test_Csv_Records() throws SpoolRecordException {
+    assertEquals(new PatientData(Gender.MALE, LocalDate.of(1999, 4, 15), "B2"),
+        parse("patient,B2,MALE,1999-04-15\r"));
+    assertEquals(new ObservationData(new BigDecimal(200), new BigDecimal("-1.25"), null, null),
+        parse("observation,,200,-1.25"));
+  }
+
+  @Test
+  void test_Blank_And_Comment_Lines_Skipped() throws SpoolRecordException {
+    assertNull(parse("   "));
+    assertNull(parse("# exported 2024-01-01"));
+  }
+
+  @Test
+  void test_Malformed_Records() {
+    assertThrows(SpoolRecordException.class, () -> parse("patient,A1,OTHER,1950-01-01"));
+    assertThrows(SpoolRecordException.class, () -> parse("observation,A1,heavy,65"));
+    assertThrows(SpoolRecordException.class, () -> parse("observation,A1,180,65,yesterday"));
+    assertThrows(SpoolRecordException.class, () -> parse("visit,A1"));
+    SpoolRecordException exception = assertThrows(SpoolRecordException.class,
+        () -> parse("{\"type\":\"patient\""));
+    assertEquals("Malformed record: unterminated object", exception.getMessage());
+  }
+}
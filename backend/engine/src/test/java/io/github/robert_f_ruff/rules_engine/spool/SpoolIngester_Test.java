@@ -0,0 +1,113 @@
+package io.github.robert_f_ruff.rules_engine.spool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class SpoolIngester_Test {
+  static final String RECORDS = "patient,A,FEMALE,1950-01-01\n"
+      + "observation,A,180,65\n"
+      + "observation,B,200,90\n"
+      + "observation,A,181,60\n"
+      + "not a record\n"
+      + "observation,A,182,55";
+  @TempDir
+  Path directory;
+  List<Object> evaluated;
+  SpoolIngester ingester;
+
+  @BeforeEach
+  void init() {
+    evaluated = Collections.synchronizedList(new ArrayList<>());
+    ingester = new SpoolIngester(directory, 1000, 3, 2, evaluated::add);
+  }
+
+  @AfterEach
+  void cleanup() {
+    ingester.stop();
+  }
+
+  List<String> patientRecords(String patientId) {
+    ArrayList<String> records = new ArrayList<>();
+    synchronized (evaluated) {
+      for (Object record : evaluated) {
+        if (record instanceof ObservationData observation && patientId.equals(observation.getPatientId())) {
+          records.add(observation.getBodyWeight().toString());
+        } else if (record instanceof PatientData patient && patientId.equals(patient.getPatientId())) {
+          records.add(patient.getGender().toString());
+        }
+      }
+    }
+    return records;
+  }
+
+  @Test
+  void test_File_Evaluated_And_Moved() throws IOException {
+    Files.writeString(directory.resolve("feed.csv"), RECORDS, StandardCharsets.UTF_8);
+    Files.writeString(directory.resolve("notes.txt"), "ignored", StandardCharsets.UTF_8);
+    ingester.poll();
+    assertEquals(5, ingester.getRecordsEvaluated());
+    assertEquals(1, ingester.getRecordsRejected());
+    assertEquals(List.of("FEMALE", "180", "181", "182"), patientRecords("A"));
+    assertFalse(Files.exists(directory.resolve("feed.csv")));
+    assertTrue(Files.exists(directory.resolve(SpoolIngester.PROCESSED_DIRECTORY).resolve("feed.csv")));
+    assertTrue(Files.exists(directory.resolve("notes.txt")));
+    assertFalse(Files.exists(directory.resolve(SpoolIngester.CHECKPOINT_DIRECTORY).resolve("feed.csv.offset")));
+  }
+
+  @Test
+  void test_Resumed_From_Checkpoint() throws IOException {
+    Files.writeString(directory.resolve("feed.ndjson"),
+        "{\"type\":\"observation\",\"patientId\":\"A\",\"bodyWeight\":180,\"bloodGlucose\":65}\n"
+        + "{\"type\":\"observation\",\"patientId\":\"A\",\"bodyWeight\":181,\"bloodGlucose\":60}\n",
+        StandardCharsets.UTF_8);
+    Path checkpoints = Files.createDirectories(directory.resolve(SpoolIngester.CHECKPOINT_DIRECTORY));
+    Files.writeString(checkpoints.resolve("feed.ndjson.offset"), "74", StandardCharsets.US_ASCII);
+    ingester.poll();
+    assertEquals(List.of("181"), patientRecords("A"));
+  }
+
+  @Test
+  void test_Lane_Batches_Evaluated_Together() throws IOException {
+    List<List<Object>> batches = Collections.synchronizedList(new ArrayList<>());
+    SpoolIngester columnar = new SpoolIngester(directory, 1000, 3, 2, evaluated::add, batches::add);
+    Files.writeString(directory.resolve("feed.csv"), RECORDS, StandardCharsets.UTF_8);
+    columnar.poll();
+    columnar.stop();
+    assertEquals(5, columnar.getRecordsEvaluated());
+    assertTrue(evaluated.isEmpty());
+    synchronized (batches) {
+      batches.forEach(evaluated::addAll);
+    }
+    assertEquals(5, evaluated.size());
+    assertEquals(List.of("FEMALE", "180", "181", "182"), patientRecords("A"));
+  }
+
+  @Test
+  void test_Disabled_Without_Directory() {
+    SpoolIngester disabled = new SpoolIngester(null, 1000, 3, 2, evaluated::add);
+    disabled.start();
+    disabled.poll();
+    disabled.stop();
+    assertEquals(0, disabled.getRecordsEvaluated());
+  }
+}
@@ -0,0 +1,87 @@
+package io.github.robert_f_ruff.rules_engine.suppression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.github.robert_f_ruff.rules_engine.actions.Action;
+import io.github.robert_f_ruff.rules_engine.actions.ActionStub;
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientObservation;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData.Gender;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class NotificationSuppressor_Test {
+  long now;
+  Action action;
+
+  @BeforeEach
+  void init() {
+    now = 0;
+    action = new ActionStub();
+  }
+
+  @Test
+  void test_Disabled_Permits_Everything() {
+    NotificationSuppressor suppressor = new NotificationSuppressor();
+    PatientData patient = new PatientData(Gender.FEMALE, "2000-01-01");
+    assertTrue(suppressor.permits(1L, patient, action));
+    assertTrue(suppressor.permits(1L, patient, action));
+  }
+
+  @Test
+  void test_Repeated_Action_Suppressed() {
+    NotificationSuppressor suppressor = new NotificationSuppressor(1000, 64, false, () -> now);
+    assertTrue(suppressor.permits(1L, new PatientData(Gender.FEMALE, "2000-01-01"), action));
+    now = 999_000_000L;
+    assertFalse(suppressor.permits(1L, new PatientData(Gender.FEMALE, "2000-01-01"), action));
+    assertTrue(suppressor.permits(2L, new PatientData(Gender.FEMALE, "2000-01-01"), action));
+    assertTrue(suppressor.permits(1L, new PatientData(Gender.FEMALE, "1990-01-01"), action));
+    assertTrue(suppressor.permits(1L, new PatientData(Gender.FEMALE, "2000-01-01"), new ActionStub()));
+    now = 1_000_000_000L;
+    assertTrue(suppressor.permits(1L, new PatientData(Gender.FEMALE, "2000-01-01"), action));
+  }
+
+  @Test
+  void test_Same_Patient_Suppressed_Despite_New_Measurements() {
+    NotificationSuppressor suppressor = new NotificationSuppressor(1000, 64, false, () -> now);
+    assertTrue(suppressor.permits(1L, new ObservationData(new BigDecimal(180), new BigDecimal("69.9"), "A", null), action));
+    now = 500_000_000L;
+    assertFalse(suppressor.permits(1L, new ObservationData(new BigDecimal(180), new BigDecimal("69.8"), "A", null), action));
+    assertTrue(suppressor.permits(1L, new ObservationData(new BigDecimal(180), new BigDecimal("69.8"), "B", null), action));
+    assertTrue(suppressor.permits(1L, new PatientData(Gender.FEMALE, "2000-01-01", "C"), action));
+    assertFalse(suppressor.permits(1L, new PatientData(Gender.MALE, "1990-01-01", "C"), action));
+  }
+
+  @Test
+  void test_Observations_Of_Patient_At_Different_Times_Suppressed() {
+    NotificationSuppressor suppressor = new NotificationSuppressor(1000, 64, false, () -> now);
+    Instant observedAt = Instant.parse("2024-01-01T00:00:00Z");
+    ObservationData first = new ObservationData(new BigDecimal(180), new BigDecimal(65), "A", observedAt);
+    assertTrue(suppressor.permits(1L, first, action));
+    now = 500_000_000L;
+    ObservationData second = new ObservationData(new BigDecimal(180), new BigDecimal(65), "A",
+        observedAt.plusSeconds(300));
+    assertFalse(suppressor.permits(1L, second, action));
+    PatientData patient = new PatientData(Gender.FEMALE, "2000-01-01", "A");
+    assertFalse(suppressor.permits(1L, new PatientObservation(patient, second), action));
+  }
+
+  @Test
+  void test_Patients_With_Colliding_ID_Hashes_Kept_Apart() {
+    assertEquals("Aa".hashCode(), "BB".hashCode());
+    NotificationSuppressor suppressor = new NotificationSuppressor(1000, 64, false, () -> now);
+    assertTrue(suppressor.permits(1L, new PatientData(Gender.FEMALE, "2000-01-01", "Aa"), action));
+    assertTrue(suppressor.permits(1L, new PatientData(Gender.FEMALE, "2000-01-01", "BB"), action));
+    assertFalse(suppressor.permits(1L, new PatientData(Gender.FEMALE, "2000-01-01", "BB"), action));
+  }
+}
@@ -0,0 +1,51 @@
+package io.github.robert_f_ruff.rules_engine.suppression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class SuppressionStore_Test {
+  @Test
+  void test_Key_Suppressed_Until_Quiet_Period_Ends() {
+    SuppressionStore store = new SuppressionStore(16, false);
+    assertTrue(store.admit(42L, 1000, 100));
+    assertFalse(store.admit(42L, 1050, 100));
+    assertTrue(store.admit(43L, 1050, 100));
+    assertFalse(store.admit(42L, 1099, 100));
+    assertTrue(store.admit(42L, 1100, 100));
+    assertFalse(store.admit(42L, 1150, 100));
+  }
+
+  @Test
+  void test_Capacity_Rounded_Up() {
+    assertEquals(8, new SuppressionStore(1, false).capacity());
+    assertEquals(16, new SuppressionStore(9, false).capacity());
+    assertEquals(1024, new SuppressionStore(1024, false).capacity());
+  }
+
+  @Test
+  void test_Full_Store_Evicts_Earliest_Ending() {
+    SuppressionStore store = new SuppressionStore(8, false);
+    for (long key = 1; key <= 8; key++) {
+      assertTrue(store.admit(key, key, 100));
+    }
+    assertTrue(store.admit(9L, 50, 100));
+    assertFalse(store.admit(9L, 50, 100));
+    assertFalse(store.admit(8L, 50, 100));
+    assertTrue(store.admit(1L, 50, 100));
+  }
+
+  @Test
+  void test_Off_Heap_Store() {
+    SuppressionStore store = new SuppressionStore(65536, true);
+    assertEquals(65536, store.capacity());
+    assertTrue(store.admit(0L, -500, 100));
+    assertFalse(store.admit(0L, -450, 100));
+    assertTrue(store.admit(0L, -400, 100));
+  }
+}
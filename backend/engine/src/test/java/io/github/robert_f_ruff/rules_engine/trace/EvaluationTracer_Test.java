@@ -0,0 +1,105 @@
+package io.github.robert_f_ruff.rules_engine.trace;
+
+import static io.github.robert_f_ruff.rules_engine.loader.CriterionBuilder.aCriterion;
+import static io.github.robert_f_ruff.rules_engine.loader.RuleBuilder.aRule;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionFactoryException;
+import io.github.robert_f_ruff.rules_engine.actions.ParameterException;
+import io.github.robert_f_ruff.rules_engine.loader.Criterion;
+import io.github.robert_f_ruff.rules_engine.loader.EvaluationContext;
+import io.github.robert_f_ruff.rules_engine.loader.Rule;
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
+import io.github.robert_f_ruff.rules_engine.logic.LogicFactoryException;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData.Gender;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class EvaluationTracer_Test {
+  RuleSet ruleSet;
+  EvaluationContext context;
+  PatientData patient;
+
+  @BeforeEach
+  void init() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    Criterion patientIsFemale = aCriterion().build();
+    Criterion patientOlderThan22 = aCriterion()
+      .withName("Patient older than 22")
+      .withLogicMethod("AgeGreaterThan")
+      .withCheckValue("22")
+      .build();
+    ArrayList<Criterion> criteria = new ArrayList<>();
+    criteria.add(patientIsFemale);
+    criteria.add(patientOlderThan22);
+    LinkedHashMap<Long, Rule> rules = new LinkedHashMap<>();
+    rules.put(1L, aRule()
+      .withCriterion(patientIsFemale)
+      .build());
+    rules.put(2L, aRule()
+      .withID(2L)
+      .withName("Rule #2")
+      .withCriterion(patientOlderThan22)
+      .build());
+    ruleSet = new RuleSet(criteria, rules);
+    context = new EvaluationContext(2);
+    context.reset(ruleSet);
+    context.setResult(0, true);
+    ruleSet.resolve(0, context);
+    ruleSet.resolve(1, context);
+    patient = new PatientData(Gender.FEMALE, "1994-03-23");
+  }
+
+  @Test
+  void test_Off() {
+    EvaluationTracer tracer = new EvaluationTracer();
+    assertEquals(TraceLevel.OFF, tracer.getLevel());
+    assertFalse(tracer.sample());
+  }
+
+  @Test
+  void test_Full() {
+    EvaluationTracer tracer = new EvaluationTracer(TraceLevel.FULL, 100, "", 16);
+    assertTrue(tracer.sample());
+    tracer.record(patient, ruleSet, context, 1500);
+    assertEquals(1, tracer.drain());
+  }
+
+  @Test
+  void test_Sampled_Every_Evaluation() {
+    EvaluationTracer tracer = new EvaluationTracer(TraceLevel.SAMPLED, 1, "", 16);
+    assertTrue(tracer.sample());
+  }
+
+  @Test
+  void test_Rules_Filter() {
+    EvaluationTracer tracer = new EvaluationTracer(TraceLevel.RULES, 100, "2, 7", 16);
+    tracer.record(patient, ruleSet, context, 1500);
+    assertEquals(1, tracer.drain());
+    EvaluationTracer untraced = new EvaluationTracer(TraceLevel.RULES, 100, "7", 16);
+    untraced.record(patient, ruleSet, context, 1500);
+    assertEquals(0, untraced.drain());
+  }
+
+  @Test
+  void test_Record_Omits_Data_Values() {
+    TraceRecord record = new TraceRecord("PatientData", 1500, ruleSet, context,
+        new boolean[] {false, true});
+    assertEquals(1, record.getRules().length);
+    assertEquals(Rule.Applicability.UNDETERMINED, record.getRuleOutcomes()[0]);
+    String line = record.toString();
+    assertTrue(line.contains("fact=PatientData durationMicros=1 criteria=[\"Patient older than 22\":not evaluated]"));
+    assertTrue(line.endsWith("rules=[\"Rule #2\":UNDETERMINED]"));
+    assertFalse(line.contains("1994"));
+  }
+}
@@ -0,0 +1,60 @@
+package io.github.robert_f_ruff.rules_engine.trace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class TraceBuffer_Test {
+  @Test
+  void test_Entries_Returned_In_Order() {
+    TraceBuffer<String> buffer = new TraceBuffer<>(4);
+    assertTrue(buffer.offer("first"));
+    assertTrue(buffer.offer("second"));
+    assertEquals("first", buffer.poll());
+    assertEquals("second", buffer.poll());
+    assertNull(buffer.poll());
+  }
+
+  @Test
+  void test_Full_Buffer_Drops_Entries() {
+    TraceBuffer<String> buffer = new TraceBuffer<>(3);
+    for (int count = 0; count < 4; count++) {
+      assertTrue(buffer.offer("entry " + count));
+    }
+    assertFalse(buffer.offer("entry 4"));
+    assertFalse(buffer.offer("entry 5"));
+    assertEquals(2, buffer.takeDropped());
+    assertEquals(0, buffer.takeDropped());
+    assertEquals("entry 0", buffer.poll());
+    assertTrue(buffer.offer("entry 6"));
+  }
+
+  @Test
+  void test_Concurrent_Writers() throws InterruptedException {
+    TraceBuffer<Integer> buffer = new TraceBuffer<>(4096);
+    Thread[] writers = new Thread[4];
+    for (int index = 0; index < writers.length; index++) {
+      writers[index] = new Thread(() -> {
+        for (int count = 0; count < 1000; count++) {
+          buffer.offer(count);
+        }
+      });
+      writers[index].start();
+    }
+    for (Thread writer : writers) {
+      writer.join();
+    }
+    int received = 0;
+    while (buffer.poll() != null) {
+      received++;
+    }
+    assertEquals(4000, received);
+    assertEquals(0, buffer.takeDropped());
+  }
+}
@@ -0,0 +1,74 @@
+package io.github.robert_f_ruff.rules_engine.warmup;
+
+import static io.github.robert_f_ruff.rules_engine.loader.CriterionBuilder.aCriterion;
+import static io.github.robert_f_ruff.rules_engine.loader.RuleBuilder.aRule;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.github.robert_f_ruff.rules_engine.Engine;
+import io.github.robert_f_ruff.rules_engine.actions.ActionException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionFactoryException;
+import io.github.robert_f_ruff.rules_engine.actions.ActionStub;
+import io.github.robert_f_ruff.rules_engine.actions.ParameterException;
+import io.github.robert_f_ruff.rules_engine.loader.Criterion;
+import io.github.robert_f_ruff.rules_engine.loader.Rule;
+import io.github.robert_f_ruff.rules_engine.loader.RuleSet;
+import io.github.robert_f_ruff.rules_engine.logic.LogicFactoryException;
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.PatientData;
+import io.github.robert_f_ruff.rules_engine.replay.CapturedFact;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class SnapshotWarmer_Test {
+  RuleSet ruleSet;
+  ActionStub action;
+
+  @BeforeEach
+  void init() throws LogicFactoryException, ActionFactoryException, ParameterException, ActionException {
+    action = new ActionStub();
+    Criterion patientIsFemale = aCriterion().build();
+    HashMap<Long, Rule> rules = new HashMap<>();
+    rules.put(1L, aRule().withID(1L).withCriterion(patientIsFemale).withAction(1, action).build());
+    ruleSet = new RuleSet(List.of(patientIsFemale), rules);
+  }
+
+  @Test
+  void test_Nothing_Warmed_When_Disabled() {
+    assertEquals(0, new SnapshotWarmer().warm(ruleSet));
+  }
+
+  @Test
+  void test_Warmed_Until_Stable() {
+    assertEquals(2, new SnapshotWarmer(true, "", 200, 5, Double.MAX_VALUE, Engine.Mode.ALL, 1, false).warm(ruleSet));
+    assertEquals(5, new SnapshotWarmer(true, "", 200, 5, -1, Engine.Mode.ALL, 1, false).warm(ruleSet));
+    assertFalse(action.getExecuted());
+  }
+
+  @Test
+  void test_Warmed_In_Live_Mode_With_Working_Memory() {
+    assertEquals(2, new SnapshotWarmer(true, "", 200, 5, Double.MAX_VALUE, Engine.Mode.FIRST_MATCH,
+        1, true).warm(ruleSet));
+    assertFalse(action.getExecuted());
+  }
+
+  @Test
+  void test_Synthetic_Facts_When_Corpus_Unreadable() {
+    assertEquals(2, new SnapshotWarmer(true, "missing.log", 200, 5, Double.MAX_VALUE, Engine.Mode.ALL, 1, false).warm(ruleSet));
+  }
+
+  @Test
+  void test_Synthetic_Facts_Repeatable() {
+    List<CapturedFact> facts = SnapshotWarmer.synthesize(100);
+    assertEquals(facts, SnapshotWarmer.synthesize(100));
+    assertEquals(20, facts.stream().filter(fact -> fact.fact() instanceof PatientData).count());
+    assertEquals(80, facts.stream().filter(fact -> fact.fact() instanceof ObservationData).count());
+  }
+}
@@ -0,0 +1,96 @@
+package io.github.robert_f_ruff.rules_engine.window;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.github.robert_f_ruff.rules_engine.logic.Window;
+import io.github.robert_f_ruff.rules_engine.logic.Window.Aggregate;
+import io.github.robert_f_ruff.rules_engine.logic.Window.Field;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class SlidingWindow_Test {
+  static final long HOUR = 3_600_000L;
+
+  static SlidingWindow hours(Aggregate aggregate, BigDecimal bound, int hours) {
+    return new SlidingWindow(new Window(Field.BLOOD_GLUCOSE, aggregate, bound,
+        Duration.ofHours(hours), 0), 1024);
+  }
+
+  @Test
+  void test_Empty_Window_Has_No_Aggregate() {
+    assertNull(hours(Aggregate.MINIMUM, null, 6).aggregate());
+  }
+
+  @Test
+  void test_Count_Below_Expires_With_Time() {
+    SlidingWindow window = hours(Aggregate.COUNT_BELOW, new BigDecimal(70), 6);
+    window.add(0, new BigDecimal(65));
+    window.add(HOUR, new BigDecimal(90));
+    window.add(2 * HOUR, new BigDecimal(60));
+    window.add(3 * HOUR, new BigDecimal(68));
+    assertEquals(new BigDecimal(3), window.aggregate());
+    window.add(6 * HOUR + 1, new BigDecimal(100));
+    assertEquals(new BigDecimal(2), window.aggregate());
+    assertEquals(4, window.size());
+  }
+
+  @Test
+  void test_Minimum_And_Maximum_Follow_Expiry() {
+    SlidingWindow minimum = hours(Aggregate.MINIMUM, null, 2);
+    SlidingWindow maximum = hours(Aggregate.MAXIMUM, null, 2);
+    int[] readings = { 80, 60, 120, 90, 100 };
+    for (int hour = 0; hour < readings.length; hour++) {
+      minimum.add(hour * HOUR, new BigDecimal(readings[hour]));
+      maximum.add(hour * HOUR, new BigDecimal(readings[hour]));
+    }
+    assertEquals(new BigDecimal(90), minimum.aggregate());
+    assertEquals(new BigDecimal(120), maximum.aggregate());
+  }
+
+  @Test
+  void test_Count_Window_Keeps_Latest_Observations() {
+    SlidingWindow window = new SlidingWindow(new Window(Field.BODY_WEIGHT, Aggregate.AVERAGE,
+        null, null, 3), 1024);
+    for (int reading = 1; reading <= 20; reading++) {
+      window.add(reading, new BigDecimal(reading));
+    }
+    assertEquals(3, window.size());
+    assertEquals(new BigDecimal(19), window.aggregate());
+  }
+
+  @Test
+  void test_Change_Percent() {
+    SlidingWindow window = new SlidingWindow(new Window(Field.BODY_WEIGHT,
+        Aggregate.CHANGE_PERCENT, null, Duration.ofDays(7), 0), 1024);
+    window.add(0, new BigDecimal(200));
+    window.add(3 * 24 * HOUR, new BigDecimal(205));
+    window.add(6 * 24 * HOUR, new BigDecimal(212));
+    assertEquals(0, new BigDecimal(6).compareTo(window.aggregate()));
+  }
+
+  @Test
+  void test_Samples_Bounded() {
+    SlidingWindow window = new SlidingWindow(new Window(Field.BLOOD_GLUCOSE, Aggregate.MINIMUM,
+        null, Duration.ofDays(1), 0), 100);
+    for (int reading = 0; reading < 1000; reading++) {
+      window.add(reading, new BigDecimal(reading));
+    }
+    assertEquals(100, window.size());
+    assertEquals(new BigDecimal(900), window.aggregate());
+  }
+
+  @Test
+  void test_Late_Observation_Treated_As_Latest() {
+    SlidingWindow window = hours(Aggregate.CHANGE, null, 1);
+    window.add(2 * HOUR, new BigDecimal(100));
+    window.add(0, new BigDecimal(110));
+    assertEquals(new BigDecimal(10), window.aggregate());
+  }
+}
@@ -0,0 +1,148 @@
+package io.github.robert_f_ruff.rules_engine.window;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+
+import io.github.robert_f_ruff.rules_engine.logic.ObservationData;
+import io.github.robert_f_ruff.rules_engine.logic.Window;
+import io.github.robert_f_ruff.rules_engine.logic.Window.Aggregate;
+import io.github.robert_f_ruff.rules_engine.logic.Window.Field;
+import io.github.robert_f_ruff.rules_engine.logic.WindowedObservation;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class WindowStore_Test {
+  static final Window LOW_GLUCOSE = new Window(Field.BLOOD_GLUCOSE, Aggregate.COUNT_BELOW,
+      new BigDecimal(70), Duration.ofHours(6), 0);
+  long now;
+  WindowStore store;
+  WindowedObservation aggregates;
+
+  static ObservationData glucose(String patientId, int glucose) {
+    return new ObservationData(new BigDecimal(180), new BigDecimal(glucose), patientId,
+        null);
+  }
+
+  @BeforeEach
+  void init() {
+    now = 0;
+    store = new WindowStore(1024, 1000, 2, () -> now);
+    aggregates = new WindowedObservation(1);
+  }
+
+  @Test
+  void test_Patients_Recorded_Separately() {
+    Window[] windows = { LOW_GLUCOSE };
+    store.record(glucose("A", 60), windows, aggregates);
+    store.record(glucose("B", 60), windows, aggregates);
+    WindowedObservation recorded = store.record(glucose("A", 65), windows, aggregates);
+    assertEquals(new BigDecimal(2), recorded.getAggregate(LOW_GLUCOSE));
+  }
+
+  @Test
+  void test_Anonymous_Observation_Not_Recorded() {
+    assertNull(store.record(glucose(null, 60), new Window[] { LOW_GLUCOSE }, aggregates));
+    assertEquals(0, store.size());
+  }
+
+  @Test
+  void test_Observed_At_Used_For_Window() {
+    Window[] windows = { LOW_GLUCOSE };
+    Instant start = Instant.parse("2024-01-01T00:00:00Z");
+    store.record(new ObservationData(null, new BigDecimal(60), "A", start), windows, aggregates);
+    ObservationData observation = new ObservationData(null, new BigDecimal(60), "A",
+        start.plus(Duration.ofHours(7)));
+    WindowedObservation recorded = store.record(observation, windows, aggregates);
+    assertSame(observation, recorded.getObservation());
+    assertEquals(BigDecimal.ONE, recorded.getAggregate(LOW_GLUCOSE));
+  }
+
+  @Test
+  void test_Peek_Does_Not_Record() {
+    Window[] windows = { LOW_GLUCOSE };
+    store.record(glucose("A", 60), windows, aggregates);
+    ObservationData observation = glucose("A", 60);
+    assertEquals(BigDecimal.ONE,
+        store.peek(observation, windows, aggregates).getAggregate(LOW_GLUCOSE));
+    assertEquals(BigDecimal.ONE,
+        store.peek(observation, windows, aggregates).getAggregate(LOW_GLUCOSE));
+    assertNull(store.peek(glucose("B", 60), windows, aggregates).getAggregate(LOW_GLUCOSE));
+  }
+
+  @Test
+  void test_Windows_Kept_When_Rule_Set_Reloaded() {
+    Window average = new Window(Field.BODY_WEIGHT, Aggregate.AVERAGE, null, null, 3);
+    store.record(glucose("A", 60), new Window[] { LOW_GLUCOSE }, aggregates);
+    WindowedObservation recorded = store.record(glucose("A", 60),
+        new Window[] { average, LOW_GLUCOSE }, aggregates);
+    assertEquals(new BigDecimal(2), recorded.getAggregate(LOW_GLUCOSE));
+    assertEquals(new BigDecimal(180), recorded.getAggregate(average));
+  }
+
+  @Test
+  void test_Idle_Patients_Evicted() {
+    Window[] windows = { LOW_GLUCOSE };
+    store.record(glucose("A", 60), windows, aggregates);
+    now = 600;
+    store.record(glucose("B", 60), windows, aggregates);
+    now = 1200;
+    assertEquals(1, store.size());
+    WindowedObservation recorded = store.record(glucose("A", 60), windows, aggregates);
+    assertEquals(BigDecimal.ONE, recorded.getAggregate(LOW_GLUCOSE));
+  }
+
+  @Test
+  void test_Idle_Patient_Forgotten_Before_Eviction() {
+    Window[] windows = { LOW_GLUCOSE };
+    store.record(glucose("A", 60), windows, aggregates);
+    now = 1001;
+    assertNull(store.peek(glucose("A", 60), windows, aggregates).getAggregate(LOW_GLUCOSE));
+    WindowedObservation recorded = store.record(glucose("A", 60), windows, aggregates);
+    assertEquals(BigDecimal.ONE, recorded.getAggregate(LOW_GLUCOSE));
+  }
+
+  @Test
+  void test_Least_Recently_Observed_Evicted_When_Full() {
+    Window[] windows = { LOW_GLUCOSE };
+    store.record(glucose("A", 60), windows, aggregates);
+    store.record(glucose("B", 60), windows, aggregates);
+    store.record(glucose("A", 60), windows, aggregates);
+    store.record(glucose("C", 60), windows, aggregates);
+    assertEquals(2, store.size());
+    WindowedObservation recorded = store.record(glucose("B", 60), windows, aggregates);
+    assertEquals(BigDecimal.ONE, recorded.getAggregate(LOW_GLUCOSE));
+  }
+
+  @Test
+  void test_Patients_Recorded_Concurrently() throws InterruptedException {
+    WindowStore shared = new WindowStore(1024, 1000, 100, () -> 0);
+    Window[] windows = { LOW_GLUCOSE };
+    Thread[] threads = new Thread[4];
+    for (int thread = 0; thread < threads.length; thread++) {
+      String patientId = Integer.toString(thread % 2);
+      threads[thread] = new Thread(() -> {
+        WindowedObservation slots = new WindowedObservation(1);
+        for (int observation = 0; observation < 500; observation++) {
+          shared.record(glucose(patientId, 60), windows, slots);
+        }
+      });
+      threads[thread].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(new BigDecimal(1000),
+        shared.peek(glucose("0", 60), windows, aggregates).getAggregate(LOW_GLUCOSE));
+    assertEquals(new BigDecimal(1000),
+        shared.peek(glucose("1", 60), windows, aggregates).getAggregate(LOW_GLUCOSE));
+  }
+}
@@ -0,0 +1,78 @@
+#!/bin/bash
+usage="$(basename "$0") [-h] [-r runs] [-p port] -- compare the time to the first evaluated request of the default and fast-startup launches
+
+where:
+    -h: show this help text
+    -r: number of times each launch is timed (default 5)
+    -p: port the engine listens on (default 8080)
+
+Build the engine with 'mvn -Pfast-startup package' first. Both launches read their
+settings from config/application-nc.properties, so the database and mail server it
+names must be running."
+
+runs=5
+port=8080
+config="optional:file:config/application-nc.properties"
+observation='{"bodyWeight":180,"bloodGlucose":65}'
+
+function time_first_request {
+  local start=$(date +%s%N)
+  java "$@" -Dspring.config.additional-location=$config -Dserver.port=$port > /dev/null 2>&1 &
+  local engine=$!
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' -X POST -H 'Content-Type: application/json' \
+      -d "$observation" http://127.0.0.1:$port/rules_engine/data/observation)" == "200" ]; do
+    if ! kill -0 $engine 2> /dev/null; then
+      echo "engine exited before evaluating a request" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  local finish=$(date +%s%N)
+  kill $engine
+  wait $engine 2> /dev/null
+  echo $(( (finish - start) / 1000000 ))
+}
+
+function benchmark {
+  local name=$1
+  shift
+  local times=()
+  for (( run = 0; run < runs; run++ )); do
+    times+=($(time_first_request "$@"))
+  done
+  local sorted=($(printf '%s\n' "${times[@]}" | sort -n))
+  printf "%-14s median %6d ms   min %6d ms   max %6d ms\n" "$name" \
+    "${sorted[$(( runs / 2 ))]}" "${sorted[0]}" "${sorted[$(( runs - 1 ))]}"
+}
+
+while getopts ':hr:p:' option; do
+  case "$option" in
+    h) echo "$usage"
+       exit
+       ;;
+    r) runs=$OPTARG
+       ;;
+    p) port=$OPTARG
+       ;;
+    :) printf "missing argument for -%s\n" "$OPTARG" >&2
+       echo "$usage" >&2
+       exit 1
+       ;;
+    \?) printf "illegal option: -%s\n" "$OPTARG" >&2
+        echo "$usage" >&2
+        exit 1
+        ;;
+  esac
+done
+shift $((OPTIND - 1))
+cd "$(dirname "$0")"
+jar=$(ls target/*.jar 2> /dev/null | head -n 1)
+archive=target/fast-startup/application.jsa
+if [ -z "$jar" ] || [ ! -f "$archive" ]; then
+  echo "fast-startup build not found; run 'mvn -Pfast-startup package' first" >&2
+  exit 1
+fi
+echo "Time to first evaluated request over $runs launches:"
+benchmark "default" -jar "$jar"
+benchmark "fast-startup" -XX:SharedArchiveFile=$archive -Dspring.aot.enabled=true \
+  -jar "target/fast-startup/$(basename "$jar")"
@@ -17,9 +17,10 @@ class RuleForm(ModelForm):
     """
     class Meta:
         model = Rule
-        fields = ['name', 'criteria']
+        fields = ['name', 'criteria', 'expression', 'priority']
         widgets = {
             'criteria': CheckboxSelectMultiple(attrs={'class': 'form-check-input'}),
+            'expression': TextInput(),
         }
 
 
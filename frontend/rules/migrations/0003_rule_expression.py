@@ -0,0 +1,16 @@
+from django.db import migrations, models
+
+
+class Migration(migrations.Migration):
+
+    dependencies = [
+        ('rules', '0002_alter_ruleactions_options_alter_rule_criteria'),
+    ]
+
+    operations = [
+        migrations.AddField(
+            model_name='rule',
+            name='expression',
+            field=models.TextField(blank=True, default='', help_text='Optional. Combine the selected items with AND, OR, NOT and parentheses, quoting each item\'s name, e.g. "Patient Is Female" OR NOT "Age Greater Than 40". When blank, all of the selected items must evaluate as true.'),
+        ),
+    ]
@@ -0,0 +1,16 @@
+from django.db import migrations, models
+
+
+class Migration(migrations.Migration):
+
+    dependencies = [
+        ('rules', '0003_rule_expression'),
+    ]
+
+    operations = [
+        migrations.AddField(
+            model_name='rule',
+            name='priority',
+            field=models.IntegerField(default=0, help_text='Rules with a higher priority are evaluated first. When the engine executes only the first or the first few applicable rules, this decides which rules those are.'),
+        ),
+    ]
@@ -160,6 +160,18 @@ class Rule(models.Model):
                                 + 'of the selected items evaluate as true, '
                                 + 'the rule is considered applicable and the '
                                 + 'actions listed below are executed.')
+    expression = models.TextField(blank=True, default='',
+                            help_text='Optional. Combine the selected items '
+                                + 'with AND, OR, NOT and parentheses, quoting '
+                                + 'each item\'s name, e.g. "Patient Is Female" '
+                                + 'OR NOT "Age Greater Than 40". When blank, '
+                                + 'all of the selected items must evaluate as '
+                                + 'true.')
+    priority = models.IntegerField(default=0,
+                            help_text='Rules with a higher priority are '
+                                + 'evaluated first. When the engine executes '
+                                + 'only the first or the first few applicable '
+                                + 'rules, this decides which rules those are.')
     actions = models.ManyToManyField(Action, through='RuleActions')
 
     def __str__(self) -> str: